@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -76,6 +76,7 @@ import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.dom.ScopeAnalyzer;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
+import org.eclipse.jdt.internal.corext.util.TypeNameMatchIndex;
 
 
 
@@ -351,17 +352,23 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 				if (nUnresolved == 0) {
 					return false;
 				}
-				char[][] allTypes= new char[nUnresolved][];
-				int i= 0;
-				for (String string : fUnresolvedTypes.keySet()) {
-					allTypes[i++]= string.toCharArray();
-				}
 				final ArrayList<TypeNameMatch> typesFound= new ArrayList<>();
 				final IJavaProject project= fCurrPackage.getJavaProject();
 				boolean excludeTestCode= !((IPackageFragmentRoot)fCurrPackage.getParent()).getResolvedClasspathEntry().isTest();
-				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
-				TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
-				new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				TypeNameMatchIndex typeNameIndex= TypeNameMatchIndex.getShared();
+				if (typeNameIndex != null) {
+					// batch operation: look up the types searched once for all compilation units
+					typeNameIndex.findTypes(project, excludeTestCode, fUnresolvedTypes.keySet(), typesFound, monitor);
+				} else {
+					char[][] allTypes= new char[nUnresolved][];
+					int i= 0;
+					for (String string : fUnresolvedTypes.keySet()) {
+						allTypes[i++]= string.toCharArray();
+					}
+					IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
+					TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
+					new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				}
 
 				boolean is50OrHigher= JavaModelUtil.is50OrHigher(project);
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2022 Carsten Hammer.
+ * Copyright (c) 2021, 2026 Carsten Hammer.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.common;
 
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -99,8 +99,8 @@ public class HelperVisitor<E extends HelperVisitorProvider<V, T, E>,V,T> {
 	 * @param dataholder - HelperVisitorProvider providing this HelperVisitor
 	 */
 	public HelperVisitor(Set<ASTNode> nodesprocessed, E dataholder) {
-		this.predicatemap= new LinkedHashMap<>();
-		this.consumermap= new LinkedHashMap<>();
+		this.predicatemap= new EnumMap<>(VisitorEnum.class);
+		this.consumermap= new EnumMap<>(VisitorEnum.class);
 		this.predicatedata= new HashMap<>();
 		this.consumerdata= new HashMap<>();
 
@@ -0,0 +1,620 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarpackager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.jdt.core.manipulation.JavaManipulation;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
+
+/**
+ * Writes entries to a <code>JarOutputStream</code> while their content is read ahead by a pool of
+ * worker threads.
+ * <p>
+ * The workers open, read (and for archive entries inflate) the content, and compute its CRC and
+ * content hash. The entries are written to the stream on the calling thread, in the order in which
+ * they have been added, so the resulting archive does not depend on thread scheduling.
+ * </p>
+ * <p>
+ * An entry whose name has already been written with the same content is skipped, a different
+ * content with the same name is reported as duplicate. The entries and directory entries get the
+ * same compression method and modification times as with the <code>JarWriter3</code>. When the
+ * target is not compressed, the CRC and size are taken from the buffered content, so every source
+ * is read only once.
+ * </p>
+ * <p>
+ * Not thread safe, all methods must be called from the thread that exports the JAR.
+ * </p>
+ */
+public final class JarEntryPipeline {
+
+	/**
+	 * The content of an entry that is not read from an archive.
+	 */
+	public interface EntryContent {
+
+		/**
+		 * Opens the content. Called on a worker thread.
+		 *
+		 * @return the content stream, closed by the pipeline
+		 * @throws IOException if the content could not be read
+		 * @throws CoreException if the content could not be accessed
+		 */
+		InputStream open() throws IOException, CoreException;
+
+		/**
+		 * Returns the modification time of the content. Called on a worker thread.
+		 *
+		 * @return the modification time
+		 * @throws CoreException if the content could not be accessed
+		 */
+		long getLastModified() throws CoreException;
+
+		/**
+		 * Returns a label that describes the content in error messages.
+		 *
+		 * @return the label
+		 */
+		String getLabel();
+	}
+
+	/**
+	 * A modification time that stands for the time at which the entry is written.
+	 */
+	public static final long CURRENT_TIME= -1;
+
+	/**
+	 * Entries larger than this are not buffered but streamed on the writing thread.
+	 */
+	private static final long MAX_BUFFERED_SIZE= 4 * 1024 * 1024;
+
+	/**
+	 * Maximal number of bytes of read ahead content.
+	 */
+	private static final long MAX_PENDING_SIZE= 32 * 1024 * 1024;
+
+	private static final byte[] EMPTY= new byte[0];
+
+	private static final AtomicInteger fgThreadCount= new AtomicInteger();
+
+	private final JarOutputStream fJarOutputStream;
+	private final Set<String> fDirectories;
+	private final boolean fAreDirectoryEntriesIncluded;
+	private final boolean fIsCompressed;
+	private final int fMaxPendingEntries;
+
+	private ExecutorService fExecutor;
+	private final ArrayDeque<PendingEntry> fPending= new ArrayDeque<>();
+	private long fPendingSize;
+
+	/**
+	 * Content hashes of the written entries, by entry name.
+	 */
+	private final Map<String, byte[]> fWritten= new HashMap<>();
+
+	private long fStartTime;
+	private int fEntryCount;
+	private long fByteCount;
+	private int fDuplicateCount;
+
+	private interface StreamOpener {
+		InputStream open() throws IOException, CoreException;
+	}
+
+	private static final class Content {
+		final byte[] bytes;
+		final int length;
+		final long crc;
+		final byte[] hash;
+		final long time;
+
+		Content(byte[] bytes, int length, long crc, byte[] hash, long time) {
+			this.bytes= bytes;
+			this.length= length;
+			this.crc= crc;
+			this.hash= hash;
+			this.time= time;
+		}
+	}
+
+	private static final class PendingEntry {
+		final String name;
+		final int method;
+		final long size;
+		final long directoryTime;
+		final Future<Content> content;
+		final MultiStatus status;
+		final String label;
+
+		PendingEntry(String name, int method, long size, long directoryTime, Future<Content> content, MultiStatus status, String label) {
+			this.name= name;
+			this.method= method;
+			this.size= size;
+			this.directoryTime= directoryTime;
+			this.content= content;
+			this.status= status;
+			this.label= label;
+		}
+	}
+
+	/**
+	 * Creates a pipeline that writes to the given stream.
+	 *
+	 * @param jarOutputStream the destination JarOutputStream
+	 * @param directories the directories that already exist in the destination, updated by the
+	 *            pipeline
+	 * @param areDirectoryEntriesIncluded the directory entries are included
+	 * @param isCompressed the jar is compressed
+	 */
+	public JarEntryPipeline(JarOutputStream jarOutputStream, Set<String> directories, boolean areDirectoryEntriesIncluded, boolean isCompressed) {
+		fJarOutputStream= jarOutputStream;
+		fDirectories= directories;
+		fAreDirectoryEntriesIncluded= areDirectoryEntriesIncluded;
+		fIsCompressed= isCompressed;
+		fMaxPendingEntries= 4 * Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Adds a file entry. The entry is written by this or a later call, or by {@link #flush()}.
+	 *
+	 * @param path the path in the jar file
+	 * @param size the size of the content, or <code>-1</code> if unknown
+	 * @param directoryTime the modification time of all new parent directory entries, or
+	 *            {@link #CURRENT_TIME} to use the time at which each of them is written
+	 * @param content the content
+	 * @throws CoreException if writing this or a previously added entry failed
+	 */
+	public void add(String path, long size, long directoryTime, EntryContent content) throws CoreException {
+		String name= path.replace(File.separatorChar, '/');
+		int method= fIsCompressed ? ZipEntry.DEFLATED : ZipEntry.STORED;
+		if (size > MAX_BUFFERED_SIZE) {
+			flush();
+			try {
+				streamEntry(name, method, directoryTime, content.getLastModified(), size, -1, content::open);
+			} catch (IOException e) {
+				throw createWriteException(content.getLabel(), e);
+			}
+			return;
+		}
+		Callable<Content> task= () -> {
+			try (InputStream in= content.open()) {
+				return read(in, content.getLastModified(), true);
+			}
+		};
+		enqueue(new PendingEntry(name, method, size, directoryTime, submit(task), null, content.getLabel()));
+	}
+
+	/**
+	 * Copies the entries of the given archive. The manifest and signature files are skipped. Problems
+	 * are reported as warnings to the given status.
+	 *
+	 * @param zipFile the zipFile to extract
+	 * @param status the <code>MultiStatus</code> saving the warnings during the process
+	 * @param progressMonitor the progressMonitor
+	 */
+	public void writeArchive(ZipFile zipFile, MultiStatus status, IProgressMonitor progressMonitor) {
+		long startTime= System.currentTimeMillis();
+		int entryCount= fEntryCount;
+		long byteCount= fByteCount;
+		File zipFile1= new File(zipFile.getName());
+		drain(status);
+		try {
+			String zipFileCanonical= zipFile1.getCanonicalPath();
+			Enumeration<? extends ZipEntry> jarEntriesEnum= zipFile.entries();
+			while (jarEntriesEnum.hasMoreElements()) {
+				ZipEntry zipEntry= jarEntriesEnum.nextElement();
+				if (!zipEntry.isDirectory()) {
+					String entryName= zipEntry.getName();
+					File zipEntryFile= new File(zipFile1, entryName);
+					String zipEntryCanonical= zipEntryFile.getCanonicalPath();
+					if (!zipEntryCanonical.startsWith(zipFileCanonical + File.separator)) {
+						addWarning("Invalid path" + entryName, null, status); //$NON-NLS-1$
+					} else if (!isSignatureOrManifest(entryName)) {
+						addArchiveEntry(zipFile, zipEntry, status);
+					}
+				}
+				progressMonitor.worked(1);
+				if (progressMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+			}
+			drain(status);
+		} catch (IOException e) {
+			addWarning("ZipFile error" + zipFile.getName(), null, status); //$NON-NLS-1$
+		} catch (CoreException e) {
+			// only file entries throw, and these have been written before
+			status.add(e.getStatus());
+		} finally {
+			// entries of a closed archive can't be read later
+			cancelPending();
+		}
+		long elapsed= Math.max(1, System.currentTimeMillis() - startTime);
+		long bytes= fByteCount - byteCount;
+		progressMonitor.subTask(Messages.format(JarPackagerMessagesCore.JarEntryPipeline_archiveThroughput,
+				new Object[] { BasicElementLabels.getResourceName(zipFile1.getName()), Integer.valueOf(fEntryCount - entryCount),
+						Long.valueOf(bytes / 1024), Long.valueOf(bytes * 1000 / 1024 / elapsed) }));
+	}
+
+	private void addArchiveEntry(ZipFile zipFile, ZipEntry zipEntry, MultiStatus status) throws CoreException {
+		String name= zipEntry.getName();
+		int method= fIsCompressed ? ZipEntry.DEFLATED : ZipEntry.STORED;
+		long size= zipEntry.getSize();
+		if (size > MAX_BUFFERED_SIZE) {
+			drain(0);
+			try {
+				streamEntry(name, method, CURRENT_TIME, CURRENT_TIME, size, zipEntry.getCrc(), () -> zipFile.getInputStream(zipEntry));
+			} catch (IOException ex) {
+				reportArchiveProblem(zipFile.getName(), name, ex, status);
+			}
+			return;
+		}
+		Callable<Content> task= () -> {
+			try (InputStream in= zipFile.getInputStream(zipEntry)) {
+				return read(in, CURRENT_TIME, true);
+			}
+		};
+		enqueue(new PendingEntry(name, method, size, CURRENT_TIME, submit(task), status, zipFile.getName()));
+	}
+
+	/**
+	 * Writes all pending entries.
+	 *
+	 * @throws CoreException if writing a file entry failed
+	 */
+	public void flush() throws CoreException {
+		drain(0);
+	}
+
+	/**
+	 * Writes all pending entries and stops the worker threads. Does not close the stream.
+	 *
+	 * @throws CoreException if writing a file entry failed
+	 */
+	public void close() throws CoreException {
+		try {
+			flush();
+		} finally {
+			cancelPending();
+			if (fExecutor != null) {
+				fExecutor.shutdownNow();
+				fExecutor= null;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of entries written so far
+	 */
+	public int getEntryCount() {
+		return fEntryCount;
+	}
+
+	/**
+	 * @return the number of uncompressed bytes written so far
+	 */
+	public long getByteCount() {
+		return fByteCount;
+	}
+
+	/**
+	 * @return the number of entries that have been skipped because an entry with the same name and
+	 *         content had already been written
+	 */
+	public int getDuplicateCount() {
+		return fDuplicateCount;
+	}
+
+	/**
+	 * @return the time in milliseconds since the first entry has been added, or 0
+	 */
+	public long getElapsedTime() {
+		return fStartTime == 0 ? 0 : System.currentTimeMillis() - fStartTime;
+	}
+
+	private Future<Content> submit(Callable<Content> task) {
+		if (fStartTime == 0)
+			fStartTime= System.currentTimeMillis();
+		if (fMaxPendingEntries <= 4) {
+			// single processor, read on the writing thread
+			FutureTask<Content> future= new FutureTask<>(task);
+			future.run();
+			return future;
+		}
+		if (fExecutor == null) {
+			fExecutor= Executors.newFixedThreadPool(fMaxPendingEntries / 4, r -> {
+				Thread thread= new Thread(r, "JAR Export Worker " + fgThreadCount.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fExecutor.submit(task);
+	}
+
+	private void enqueue(PendingEntry entry) throws CoreException {
+		fPending.addLast(entry);
+		fPendingSize+= Math.max(0, entry.size);
+		drain(fMaxPendingEntries);
+		while (fPendingSize > MAX_PENDING_SIZE && !fPending.isEmpty())
+			writePending(fPending.removeFirst());
+	}
+
+	/**
+	 * Writes pending entries until at most the given number is left. A failed file entry is thrown
+	 * after all entries before it have been written.
+	 *
+	 * @param maxPending the maximal number of entries to leave pending
+	 * @throws CoreException if writing a file entry failed
+	 */
+	private void drain(int maxPending) throws CoreException {
+		while (fPending.size() > maxPending)
+			writePending(fPending.removeFirst());
+	}
+
+	/**
+	 * Writes all pending entries and reports failed file entries to the given status.
+	 *
+	 * @param status the status to add the problems to
+	 */
+	private void drain(MultiStatus status) {
+		while (!fPending.isEmpty()) {
+			try {
+				drain(0);
+			} catch (CoreException e) {
+				status.add(e.getStatus());
+			}
+		}
+	}
+
+	private void writePending(PendingEntry entry) throws CoreException {
+		fPendingSize-= Math.max(0, entry.size);
+		try {
+			Content content;
+			try {
+				content= entry.content.get();
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof CoreException)
+					throw (CoreException) cause;
+				if (cause instanceof IOException)
+					throw (IOException) cause;
+				throw new IOException(cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+			writeEntry(entry.name, entry.method, entry.directoryTime, content, null);
+		} catch (IOException ex) {
+			if (entry.status == null)
+				throw createWriteException(entry.label, ex);
+			reportArchiveProblem(entry.label, entry.name, ex, entry.status);
+		} catch (CoreException ex) {
+			if (entry.status == null)
+				throw ex;
+			entry.status.add(ex.getStatus());
+		}
+	}
+
+	private void cancelPending() {
+		while (!fPending.isEmpty())
+			fPending.removeFirst().content.cancel(true);
+		fPendingSize= 0;
+	}
+
+	/**
+	 * Writes a large entry without buffering its content. Large entries are not de-duplicated.
+	 *
+	 * @param name the entry name
+	 * @param method the compression method
+	 * @param directoryTime the modification time of new parent directories, or
+	 *            {@link #CURRENT_TIME}
+	 * @param time the modification time of the entry, or {@link #CURRENT_TIME}
+	 * @param size the size of the content, or <code>-1</code> if unknown
+	 * @param crc the CRC of the content, or <code>-1</code> if unknown
+	 * @param opener opens the content
+	 * @throws IOException if reading or writing failed
+	 * @throws CoreException if the content could not be accessed
+	 */
+	private void streamEntry(String name, int method, long directoryTime, long time, long size, long crc, StreamOpener opener) throws IOException, CoreException {
+		Content content;
+		if (method == ZipEntry.STORED && crc != -1 && size >= 0 && size <= Integer.MAX_VALUE) {
+			content= new Content(null, (int) size, crc, null, time);
+		} else if (method == ZipEntry.STORED) {
+			// the size and CRC of a stored entry must be known before its content is written
+			try (InputStream in= opener.open()) {
+				content= read(in, time, false);
+			}
+		} else {
+			content= new Content(null, -1, -1, null, time);
+		}
+		try (InputStream in= opener.open()) {
+			writeEntry(name, method, directoryTime, content, in);
+		}
+	}
+
+	/**
+	 * Writes an entry.
+	 *
+	 * @param name the entry name
+	 * @param method the compression method
+	 * @param directoryTime the modification time of new parent directories, or
+	 *            {@link #CURRENT_TIME}
+	 * @param content the content; if <code>stream</code> is not <code>null</code>, only its
+	 *            CRC, length and time are used
+	 * @param stream the stream to copy the content from, or <code>null</code> to write the buffered
+	 *            content
+	 * @throws IOException if writing failed
+	 */
+	private void writeEntry(String name, int method, long directoryTime, Content content, InputStream stream) throws IOException {
+		if (content.hash != null) {
+			byte[] written= fWritten.get(name);
+			if (written != null) {
+				if (Arrays.equals(written, content.hash)) {
+					fDuplicateCount++;
+					return;
+				}
+				throw new ZipException("duplicate entry: " + name); //$NON-NLS-1$
+			}
+		}
+		if (fAreDirectoryEntriesIncluded)
+			addDirectories(name, directoryTime);
+
+		JarEntry newEntry= new JarEntry(name);
+		newEntry.setMethod(method);
+		if (method == ZipEntry.STORED) {
+			newEntry.setSize(content.length);
+			newEntry.setCrc(content.crc);
+		}
+		newEntry.setTime(content.time == CURRENT_TIME ? System.currentTimeMillis() : content.time);
+		fJarOutputStream.putNextEntry(newEntry);
+		if (stream == null) {
+			fJarOutputStream.write(content.bytes, 0, content.length);
+			fByteCount+= content.length;
+		} else {
+			byte[] buffer= new byte[8192];
+			int count;
+			while ((count= stream.read(buffer)) != -1) {
+				fJarOutputStream.write(buffer, 0, count);
+				fByteCount+= count;
+			}
+		}
+		fWritten.put(name, content.hash != null ? content.hash : EMPTY);
+		fEntryCount++;
+	}
+
+	private void addDirectories(String name, long time) throws IOException {
+		String path= name;
+		int lastSlash= path.lastIndexOf('/');
+		List<JarEntry> entryDirectories= new ArrayList<>(2);
+		while (lastSlash != -1) {
+			path= path.substring(0, lastSlash + 1);
+			if (!fDirectories.add(path)) {
+				break;
+			}
+			JarEntry newEntry= new JarEntry(path);
+			newEntry.setMethod(ZipEntry.STORED);
+			newEntry.setSize(0);
+			newEntry.setCrc(0);
+			newEntry.setTime(time == CURRENT_TIME ? System.currentTimeMillis() : time);
+			entryDirectories.add(newEntry);
+
+			lastSlash= path.lastIndexOf('/', lastSlash - 1);
+		}
+
+		for (int i= entryDirectories.size() - 1; i >= 0; --i) {
+			fJarOutputStream.putNextEntry(entryDirectories.get(i));
+		}
+	}
+
+	/**
+	 * Reads the content of a stream and computes its CRC and content hash.
+	 *
+	 * @param in the stream
+	 * @param time the modification time of the content, or {@link #CURRENT_TIME}
+	 * @param keep <code>true</code> to keep the content, <code>false</code> to only compute the CRC
+	 *            and length
+	 * @return the content
+	 * @throws IOException if reading failed
+	 */
+	private static Content read(InputStream in, long time, boolean keep) throws IOException {
+		MessageDigest digest;
+		try {
+			digest= MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			digest= null;
+		}
+		CRC32 crc= new CRC32();
+		ByteArrayOutputStream out= keep ? new ByteArrayOutputStream() : null;
+		byte[] buffer= new byte[8192];
+		long length= 0;
+		int count;
+		while ((count= in.read(buffer)) != -1) {
+			crc.update(buffer, 0, count);
+			if (digest != null)
+				digest.update(buffer, 0, count);
+			if (out != null)
+				out.write(buffer, 0, count);
+			length+= count;
+		}
+		if (length > Integer.MAX_VALUE)
+			throw new IOException("Entry too large"); //$NON-NLS-1$
+		byte[] bytes= out != null ? out.toByteArray() : null;
+		return new Content(bytes, (int) length, crc.getValue(), keep && digest != null ? digest.digest() : null, time);
+	}
+
+	private static boolean isSignatureOrManifest(String path) {
+		return "META-INF/MANIFEST.MF".equalsIgnoreCase(path) //$NON-NLS-1$
+				|| (path.startsWith("META-INF/") && path.endsWith(".SF")); //$NON-NLS-1$//$NON-NLS-2$
+	}
+
+	private static void reportArchiveProblem(String archiveName, String entryName, IOException ex, MultiStatus status) {
+		if (ex instanceof ZipException && ex.getMessage() != null && ex.getMessage().startsWith("duplicate entry:")) {//$NON-NLS-1$
+			// ignore duplicates in META-INF (*.SF, *.RSA)
+			if (!entryName.startsWith("META-INF/")) { //$NON-NLS-1$
+				addWarning(ex.getMessage(), ex, status);
+			}
+		} else
+			addWarning(Messages.format(JarPackagerMessagesCore.FatJarBuilder_error_readingArchiveFile,
+					new Object[] { BasicElementLabels.getResourceName(archiveName), ex.getLocalizedMessage() }), ex, status);
+	}
+
+	private static CoreException createWriteException(String label, IOException ex) {
+		String message;
+		if (ex.getLocalizedMessage() != null)
+			message= Messages.format(JarPackagerMessagesCore.JarWriter_writeProblemWithMessage, new Object[] { label, ex.getLocalizedMessage() });
+		else
+			message= Messages.format(JarPackagerMessagesCore.JarWriter_writeProblem, label);
+		return new CoreException(new Status(IStatus.ERROR, JavaManipulation.ID_PLUGIN, IJavaStatusConstants.INTERNAL_ERROR, message, ex));
+	}
+
+	private static void addWarning(String message, Throwable error, MultiStatus status) {
+		status.add(new Status(IStatus.WARNING, JavaManipulation.ID_PLUGIN, IJavaStatusConstants.INTERNAL_ERROR, message, error));
+	}
+}
@@ -26,6 +26,8 @@ public class JarPackagerMessagesCore extends NLS {
 
 	public static String JarWriter_writeProblemWithMessage;
 
+	public static String JarEntryPipeline_archiveThroughput;
+
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, JarPackagerMessagesCore.class);
 	}
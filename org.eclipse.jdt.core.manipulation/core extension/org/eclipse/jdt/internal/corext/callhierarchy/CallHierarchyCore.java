@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -215,6 +215,21 @@ public class CallHierarchyCore {
         return pref;
     }
 
+	/**
+	 * Returns a key for the filters that are applied to the callers found by searches.
+	 *
+	 * @return a string that differs whenever the filtered callers may differ
+	 */
+	String getFilterKey() {
+		StringBuilder key= new StringBuilder();
+		key.append(isFilterTestCode());
+		if (isFilterEnabled()) {
+			String filters= getFilters();
+			key.append(':').append(filters.isEmpty() ? defaultIgnoreFilters : filters);
+		}
+		return key.toString();
+	}
+
     /**
      * Set default ignore filters to use.
      *
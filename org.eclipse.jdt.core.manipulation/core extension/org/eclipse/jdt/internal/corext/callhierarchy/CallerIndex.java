@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.corext.util.ReferenceSearchCache;
+
+/**
+ * Workspace wide memo of the callers found for members, shared by all call hierarchies.
+ * <p>
+ * An entry is discarded when a compilation unit changes that either contains one of the callers
+ * or mentions the name of the called member, since only such a unit can add or remove a call.
+ * Changes to class paths, archives or class files discard all entries.
+ * </p>
+ * <p>
+ * When the callers of a method or field are not known yet, the callers of its siblings in the
+ * hierarchy are searched as well, in a single search for all of them. The matches are assigned to
+ * the members by the name found at the match. Matches that cannot be assigned make the batch fall
+ * back to a search for the single member.
+ * </p>
+ */
+public final class CallerIndex {
+
+	private static final int MAX_ENTRIES= 2000;
+
+	private static final int MAX_BATCH_SIZE= 32;
+
+	private static CallerIndex fgDefault;
+
+	/**
+	 * @return the shared index
+	 */
+	public static synchronized CallerIndex getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new CallerIndex();
+			JavaCore.addElementChangedListener(fgDefault.fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * A search for the callers of a member.
+	 */
+	static final class Request {
+		final IMember fMember;
+		final SearchPattern fPattern;
+		final IJavaSearchScope fScope;
+		final Key fKey;
+
+		/**
+		 * @param member the called member
+		 * @param limitTo the search limit the pattern has been created with, or <code>0</code> if
+		 *            the pattern searches constructor references of a type
+		 * @param pattern the pattern that finds the calls
+		 * @param scope the scope to search in
+		 * @param scopeKey an object that is equal for equal scopes, either the scope or the element
+		 *            it has been created for
+		 */
+		Request(IMember member, int limitTo, SearchPattern pattern, IJavaSearchScope scope, Object scopeKey) {
+			fMember= member;
+			fPattern= pattern;
+			fScope= scope;
+			fKey= new Key(member.getHandleIdentifier(), limitTo, scopeKey, CallHierarchyCore.getDefault().getFilterKey());
+		}
+
+		/**
+		 * @return whether the calls can be found together with those of other members
+		 */
+		boolean isBatchable() {
+			switch (fMember.getElementType()) {
+				case IJavaElement.FIELD:
+					return true;
+				case IJavaElement.METHOD:
+					try {
+						// super(..) and this(..) calls do not contain the name of the constructor
+						return !((IMethod) fMember).isConstructor();
+					} catch (JavaModelException e) {
+						return false;
+					}
+				default:
+					return false;
+			}
+		}
+	}
+
+	private static final class Key {
+		private final String fHandle;
+		private final int fLimitTo;
+		private final Object fScope;
+		private final String fFilterKey;
+
+		Key(String handle, int limitTo, Object scope, String filterKey) {
+			fHandle= handle;
+			fLimitTo= limitTo;
+			fScope= scope;
+			fFilterKey= filterKey;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fHandle, Integer.valueOf(fLimitTo), fScope, fFilterKey);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fLimitTo == other.fLimitTo && fHandle.equals(other.fHandle) && fScope.equals(other.fScope) && fFilterKey.equals(other.fFilterKey);
+		}
+	}
+
+	/**
+	 * Collects the callers of several members and assigns every match to the member whose name is
+	 * found at the match.
+	 */
+	private static final class BatchRequestor extends SearchRequestor {
+		private final Map<String, CallSearchResultCollector> fCollectors;
+		private final ReferenceSearchCache.NameReader fNameReader= new ReferenceSearchCache.NameReader();
+		private boolean fAmbiguous;
+
+		BatchRequestor(List<Request> requests) {
+			fCollectors= new HashMap<>(requests.size() * 2);
+			for (Request request : requests)
+				fCollectors.put(request.fMember.getElementName(), new CallSearchResultCollector());
+		}
+
+		@Override
+		public void acceptSearchMatch(SearchMatch match) throws CoreException {
+			IMember member= MethodReferencesSearchRequestor.getCaller(match, true);
+			if (member == null || fAmbiguous)
+				return;
+			CallSearchResultCollector collector= fCollectors.get(fNameReader.getNameAt(member, match.getOffset(), match.getLength()));
+			if (collector == null) {
+				fAmbiguous= true;
+				return;
+			}
+			collector.addMember(member, member, match.getOffset(), match.getOffset() + match.getLength());
+		}
+
+		boolean isAmbiguous() {
+			return fAmbiguous;
+		}
+
+		Map<String, MethodCall> getCallers(Request request) {
+			return fCollectors.get(request.fMember.getElementName()).getCallers();
+		}
+	}
+
+	private final ReferenceSearchCache<Key, Map<String, MethodCall>> fEntries= new ReferenceSearchCache<>(MAX_ENTRIES);
+
+	private final IElementChangedListener fListener= event -> fEntries.elementChanged(event.getDelta());
+
+	private CallerIndex() {
+	}
+
+	/**
+	 * Returns the callers of a member, searching them if they are not known.
+	 *
+	 * @param request the search for the callers of the member
+	 * @param siblings supplies the searches for the callers of members that are likely to be asked
+	 *            for next, which may be searched together with the member; only asked for if
+	 *            the callers of the member are not known
+	 * @param monitor the progress monitor
+	 * @return a map from handle identifier ({@link String}) to {@link MethodCall}
+	 * @throws CoreException if the search failed
+	 */
+	Map<String, MethodCall> getCallers(Request request, Supplier<List<Request>> siblings, IProgressMonitor monitor) throws CoreException {
+		long generation= fEntries.getGeneration();
+		Map<String, MethodCall> callers= fEntries.get(request.fKey);
+		if (callers != null)
+			return new HashMap<>(callers);
+
+		List<Request> batch= createBatch(request, siblings);
+		if (batch.size() > 1) {
+			BatchRequestor requestor= new BatchRequestor(batch);
+			SearchPattern pattern= batch.get(0).fPattern;
+			for (int i= 1; i < batch.size(); i++)
+				pattern= SearchPattern.createOrPattern(pattern, batch.get(i).fPattern);
+			search(pattern, request.fScope, requestor, monitor);
+			if (!requestor.isAmbiguous()) {
+				for (Request each : batch)
+					put(each, requestor.getCallers(each), generation);
+				return new HashMap<>(requestor.getCallers(request));
+			}
+		}
+
+		MethodReferencesSearchRequestor requestor= new MethodReferencesSearchRequestor();
+		search(request.fPattern, request.fScope, requestor, monitor);
+		put(request, requestor.getCallers(), generation);
+		return new HashMap<>(requestor.getCallers());
+	}
+
+	/**
+	 * Discards the callers of a member.
+	 *
+	 * @param member the member
+	 */
+	public void remove(IMember member) {
+		String handle= member.getHandleIdentifier();
+		fEntries.removeIf(key -> key.fHandle.equals(handle));
+	}
+
+	/**
+	 * Discards all known callers.
+	 */
+	public void clear() {
+		fEntries.clear();
+	}
+
+	private List<Request> createBatch(Request request, Supplier<List<Request>> siblingsSupplier) {
+		List<Request> batch= new ArrayList<>();
+		batch.add(request);
+		if (!request.isBatchable())
+			return batch;
+		List<Request> siblings= siblingsSupplier.get();
+		Set<String> names= new HashSet<>();
+		names.add(request.fMember.getElementName());
+		for (Request sibling : siblings) {
+			if (batch.size() == MAX_BATCH_SIZE)
+				break;
+			// matches are told apart by name only
+			if (sibling.fKey.fScope.equals(request.fKey.fScope) && sibling.isBatchable() && !fEntries.containsKey(sibling.fKey)
+					&& names.add(sibling.fMember.getElementName()))
+				batch.add(sibling);
+		}
+		return batch;
+	}
+
+	private void put(Request request, Map<String, MethodCall> callers, long generation) {
+		Set<ICompilationUnit> units= new HashSet<>();
+		for (MethodCall call : callers.values()) {
+			ICompilationUnit unit= call.getMember().getCompilationUnit();
+			if (unit != null)
+				units.add(unit.getPrimary());
+		}
+		fEntries.put(request.fKey, new HashMap<>(callers), getCalledName(request.fMember), units, generation);
+	}
+
+	private static void search(SearchPattern pattern, IJavaSearchScope scope, SearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, requestor, monitor);
+	}
+
+	private static String getCalledName(IMember member) {
+		if (member.getElementType() == IJavaElement.METHOD) {
+			IMethod method= (IMethod) member;
+			try {
+				if (method.isConstructor())
+					return method.getDeclaringType().getElementName();
+			} catch (JavaModelException e) {
+				// fall through, constructors have the name of their type
+			}
+		} else if (member.getElementType() == IJavaElement.INITIALIZER) {
+			return member.getDeclaringType().getElementName();
+		}
+		return member.getElementName();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
@@ -36,7 +39,6 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
@@ -104,14 +106,7 @@ public class CallerMethodWrapper extends MethodWrapper {
 
 			checkCanceled(progressMonitor);
 
-			IMember member= getMember();
-			SearchPattern pattern= null;
-			IType type= null;
-			if (member instanceof IType) {
-				type= (IType) member;
-			} else if (member instanceof IInitializer && ! Flags.isStatic(member.getFlags())) {
-				type= (IType) member.getParent();
-			}
+			IType type= getCalledType();
 			if (type != null) {
 				if (type.isAnonymous()) {
 					// search engine does not find reference to anonymous, see https://bugs.eclipse.org/bugs/show_bug.cgi?id=207774
@@ -125,36 +120,14 @@ public class CallerMethodWrapper extends MethodWrapper {
 						resultCollector.addMember(type, parentMember, start, start + len);
 						return resultCollector.getCallers();
 					}
-				} else if (type.getParent() instanceof IMethod) {
-					// good enough for local types (does not find super(..) references in subtype constructors):
-					pattern= SearchPattern.createPattern(type,
-							IJavaSearchConstants.CLASS_INSTANCE_CREATION_TYPE_REFERENCE,
-							SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-				} else {
-					pattern= SearchPattern.createPattern(type.getFullyQualifiedName('.'),
-							IJavaSearchConstants.CONSTRUCTOR,
-							IJavaSearchConstants.REFERENCES,
-							SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 				}
 			}
-			if (pattern == null) {
-				int limitTo= IJavaSearchConstants.REFERENCES;
-				if (member.getElementType() == IJavaElement.FIELD)
-					limitTo= getFieldSearchMode();
-				pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-			}
-			if (pattern == null) { // e.g. for initializers
+
+			CallerIndex.Request request= createRequest();
+			if (request == null) { // e.g. for initializers
 				return new HashMap<>(0);
 			}
-
-			SearchEngine searchEngine= new SearchEngine();
-			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
-			IJavaSearchScope defaultSearchScope= getSearchScope();
-			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
-			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
-			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
-					monitor);
-			return searchRequestor.getCallers();
+			return CallerIndex.getDefault().getCallers(request, this::createSiblingRequests, monitor);
 
 		} catch (CoreException e) {
 			JavaManipulationPlugin.log(e);
@@ -162,18 +135,124 @@ public class CallerMethodWrapper extends MethodWrapper {
 		}
 	}
 
-	private IJavaSearchScope getAccurateSearchScope(IJavaSearchScope defaultSearchScope, IMember member) throws JavaModelException {
+	/**
+	 * @return the type whose constructors are called when the member of this wrapper is called,
+	 *         or <code>null</code> if the member is neither a type nor an instance initializer
+	 * @throws JavaModelException if the member does not exist
+	 */
+	private IType getCalledType() throws JavaModelException {
+		IMember member= getMember();
+		if (member instanceof IType)
+			return (IType) member;
+		if (member instanceof IInitializer && ! Flags.isStatic(member.getFlags()))
+			return (IType) member.getParent();
+		return null;
+	}
+
+	/**
+	 * Creates the search for the callers of the member of this wrapper.
+	 *
+	 * @return the search, or <code>null</code> if the callers cannot be searched
+	 * @throws JavaModelException if the member does not exist
+	 */
+	private CallerIndex.Request createRequest() throws JavaModelException {
+		IMember member= getMember();
+		SearchPattern pattern= null;
+		int limitTo= 0;
+		IType type= getCalledType();
+		if (type != null && !type.isAnonymous()) {
+			if (type.getParent() instanceof IMethod) {
+				// good enough for local types (does not find super(..) references in subtype constructors):
+				pattern= SearchPattern.createPattern(type,
+						IJavaSearchConstants.CLASS_INSTANCE_CREATION_TYPE_REFERENCE,
+						SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+			} else {
+				pattern= SearchPattern.createPattern(type.getFullyQualifiedName('.'),
+						IJavaSearchConstants.CONSTRUCTOR,
+						IJavaSearchConstants.REFERENCES,
+						SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+			}
+		}
+		if (pattern == null) {
+			limitTo= IJavaSearchConstants.REFERENCES;
+			if (member.getElementType() == IJavaElement.FIELD)
+				limitTo= getFieldSearchMode();
+			pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+		}
+		if (pattern == null) {
+			return null;
+		}
+
+		IJavaSearchScope defaultSearchScope= getSearchScope();
+		boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
+		IJavaElement scopeElement= isWorkspaceScope ? getAccurateScopeElement(member) : null;
+		if (scopeElement != null) {
+			IJavaSearchScope searchScope= SearchEngine.createJavaSearchScope(new IJavaElement[] { scopeElement });
+			return new CallerIndex.Request(member, limitTo, pattern, searchScope, scopeElement);
+		}
+		return new CallerIndex.Request(member, limitTo, pattern, defaultSearchScope, getScopeKey(defaultSearchScope, isWorkspaceScope));
+	}
+
+	/**
+	 * Returns a key that is equal for scopes that contain the same elements. The scopes of the
+	 * call hierarchy view are created anew whenever the scope is selected, so they are not
+	 * identical even if they are equal.
+	 *
+	 * @param scope the search scope
+	 * @param isWorkspaceScope <code>true</code> if the scope is the workspace scope
+	 * @return the key
+	 */
+	private static Object getScopeKey(IJavaSearchScope scope, boolean isWorkspaceScope) {
+		if (isWorkspaceScope)
+			return scope;
+		// the search scopes of JDT Core describe their elements and include mask
+		return scope.getClass().getName() + ':' + scope.toString();
+	}
+
+	/**
+	 * Creates the searches for the callers of the siblings of this wrapper, which are likely to be
+	 * expanded next.
+	 *
+	 * @return the searches
+	 */
+	private List<CallerIndex.Request> createSiblingRequests() {
+		MethodWrapper parent= getParent();
+		if (parent == null)
+			return Collections.emptyList();
+		String key= getMethodCall().getKey();
+		List<CallerIndex.Request> requests= new ArrayList<>();
+		for (MethodCall call : parent.getFoundCalls()) {
+			if (key.equals(call.getKey()))
+				continue;
+			try {
+				CallerIndex.Request request= new CallerMethodWrapper(parent, call).createRequest();
+				if (request != null)
+					requests.add(request);
+			} catch (JavaModelException e) {
+				// not searched together with this wrapper
+			}
+		}
+		return requests;
+	}
+
+	/**
+	 * @param member the member to find the callers of
+	 * @return the element that contains all callers of a private member, or <code>null</code> if
+	 *         the callers of the member can be anywhere
+	 * @throws JavaModelException if the member does not exist
+	 */
+	private IJavaElement getAccurateScopeElement(IMember member) throws JavaModelException {
 		if (! JdtFlags.isPrivate(member))
-			return defaultSearchScope;
+			return null;
 
 		if (member.getCompilationUnit() != null) {
-			return SearchEngine.createJavaSearchScope(new IJavaElement[] { member.getCompilationUnit() });
+			return member.getCompilationUnit();
 		} else if (member.getClassFile() != null) {
 			// member could be called from an inner class-> search
 			// package fragment (see also bug 109053):
-			return SearchEngine.createJavaSearchScope(new IJavaElement[] { member.getAncestor(IJavaElement.PACKAGE_FRAGMENT) });
+			return member.getAncestor(IJavaElement.PACKAGE_FRAGMENT);
 		} else {
-			return defaultSearchScope;
+			return null;
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,12 +35,26 @@ class MethodReferencesSearchRequestor extends SearchRequestor {
 
     @Override
 	public void acceptSearchMatch(SearchMatch match) {
-        if (fRequireExactMatch && (match.getAccuracy() != SearchMatch.A_ACCURATE)) {
-            return;
+        IMember member= getCaller(match, fRequireExactMatch);
+        if (member != null) {
+            fSearchResults.addMember(member, member, match.getOffset(), match.getOffset()+match.getLength());
+        }
+    }
+
+    /**
+     * Returns the member that contains a call found by a search.
+     *
+     * @param match the search match
+     * @param requireExactMatch <code>true</code> to ignore matches that are not accurate
+     * @return the calling member, or <code>null</code> if the match is not a call
+     */
+    static IMember getCaller(SearchMatch match, boolean requireExactMatch) {
+        if (requireExactMatch && (match.getAccuracy() != SearchMatch.A_ACCURATE)) {
+            return null;
         }
 
         if (match.isInsideDocComment()) {
-            return;
+            return null;
         }
 
         if (match.getElement() != null && match.getElement() instanceof IMember) {
@@ -50,9 +64,9 @@ class MethodReferencesSearchRequestor extends SearchRequestor {
                 case IJavaElement.TYPE:
                 case IJavaElement.FIELD:
                 case IJavaElement.INITIALIZER:
-                    fSearchResults.addMember(member, member, match.getOffset(), match.getOffset()+match.getLength());
-                    break;
+                    return member;
             }
         }
+        return null;
     }
 }
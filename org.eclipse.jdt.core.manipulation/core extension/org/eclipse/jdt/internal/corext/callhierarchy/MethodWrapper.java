@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -123,6 +126,17 @@ public abstract class MethodWrapper extends PlatformObject {
         return fParent;
     }
 
+    /**
+     * @return the calls found for this wrapper, or an empty collection if they have not been
+     *         searched yet
+     */
+    Collection<MethodCall> getFoundCalls() {
+        Map<String, MethodCall> elements= fElements;
+        if (elements == null)
+            return Collections.emptyList();
+        return new ArrayList<>(elements.values());
+    }
+
     public int getFieldSearchMode() {
     	if (fFieldSearchMode != 0)
     		return fFieldSearchMode;
@@ -331,6 +345,7 @@ public abstract class MethodWrapper extends PlatformObject {
 	public void removeFromCache() {
 		fElements= null;
 		fMethodCache.remove(getMethodCall().getKey());
+		CallerIndex.getDefault().remove(getMember());
 	}
 
 	@Override
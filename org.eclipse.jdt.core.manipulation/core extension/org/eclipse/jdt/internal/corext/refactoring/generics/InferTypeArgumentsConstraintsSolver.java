@@ -15,15 +15,17 @@
 package org.eclipse.jdt.internal.corext.refactoring.generics;
 
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -68,17 +70,29 @@ public class InferTypeArgumentsConstraintsSolver {
 
 	/**
 	 * The work-list used by the type constraint solver to hold the set of
-	 * nodes in the constraint graph that remain to be (re-)processed. Entries
-	 * are <code>ConstraintVariable2</code>s.
+	 * nodes in the constraint graph that remain to be (re-)processed. Bits
+	 * are positions of <code>ConstraintVariable2</code>s in {@link #fVariables}.
+	 * A variable is in the work-list at most once, no matter how often its
+	 * type estimate changes before it is processed.
 	 */
-	private LinkedList<ConstraintVariable2> fWorkList;
+	private final BitSet fWorkList= new BitSet();
+
+	/**
+	 * The constraint variables in processing order. Variables that are connected
+	 * by constraints are adjacent, see {@link #computeProcessingOrder(ConstraintVariable2[])}.
+	 */
+	private final ArrayList<ConstraintVariable2> fVariables= new ArrayList<>();
+
+	/**
+	 * The positions of the constraint variables in {@link #fVariables}.
+	 */
+	private final Map<ConstraintVariable2, Integer> fPositions= new HashMap<>();
 
 	private InferTypeArgumentsUpdate fUpdate;
 
 
 	public InferTypeArgumentsConstraintsSolver(InferTypeArgumentsTCModel typeConstraintFactory) {
 		fTCModel= typeConstraintFactory;
-		fWorkList= new LinkedList<>();
 	}
 
 	public InferTypeArgumentsUpdate solveConstraints(IProgressMonitor pm) {
@@ -122,7 +136,8 @@ public class InferTypeArgumentsConstraintsSolver {
 		initializeTypeEstimates(allConstraintVariables);
 		if (pm.isCanceled())
 			throw new OperationCanceledException();
-		fWorkList.addAll(Arrays.asList(allConstraintVariables));
+		computeProcessingOrder(allConstraintVariables);
+		fWorkList.set(0, fVariables.size());
 		runSolver(new SubProgressMonitor(pm, 1));
 		chooseTypes(allConstraintVariables, new SubProgressMonitor(pm, 1));
 		findCastsToRemove(fTCModel.getCastVariables());
@@ -186,16 +201,87 @@ public class InferTypeArgumentsConstraintsSolver {
 		}
 	}
 
+	/**
+	 * Orders the constraint variables such that variables which are connected
+	 * by type constraints or type equivalence sets are adjacent.
+	 * <p>
+	 * Type estimates are propagated across a constraint in both directions, so the
+	 * strongly connected components of the constraint graph are its connected
+	 * components. Each component is numbered in breadth-first order before the next
+	 * one is started. Since the solver processes the work-list in that order, it
+	 * finishes propagating within one component before it moves on, and revisits a
+	 * variable only when a later variable of its component has changed it again.
+	 * </p>
+	 *
+	 * @param allConstraintVariables the constraint variables
+	 */
+	private void computeProcessingOrder(ConstraintVariable2[] allConstraintVariables) {
+		ArrayDeque<ConstraintVariable2> queue= new ArrayDeque<>();
+		for (ConstraintVariable2 root : allConstraintVariables) {
+			if (fPositions.containsKey(root))
+				continue;
+			addVariable(root);
+			queue.add(root);
+			while (!queue.isEmpty()) {
+				ConstraintVariable2 cv= queue.removeFirst();
+				for (ITypeConstraint2 tc : fTCModel.getUsedIn(cv)) {
+					addNeighbors(tc.getLeft(), queue);
+					addNeighbors(tc.getRight(), queue);
+				}
+			}
+		}
+	}
+
+	private void addNeighbors(ConstraintVariable2 cv, ArrayDeque<ConstraintVariable2> queue) {
+		TypeEquivalenceSet set= cv.getTypeEquivalenceSet();
+		if (set == null) {
+			if (!fPositions.containsKey(cv)) {
+				addVariable(cv);
+				queue.add(cv);
+			}
+			return;
+		}
+		for (ConstraintVariable2 contributing : set.getContributingVariables()) {
+			if (!fPositions.containsKey(contributing)) {
+				addVariable(contributing);
+				queue.add(contributing);
+			}
+		}
+	}
+
+	private int addVariable(ConstraintVariable2 cv) {
+		int position= fVariables.size();
+		fVariables.add(cv);
+		fPositions.put(cv, Integer.valueOf(position));
+		return position;
+	}
+
+	/**
+	 * Adds the variables of a type equivalence set whose type estimate has changed
+	 * to the work-list.
+	 *
+	 * @param set the type equivalence set
+	 */
+	private void schedule(TypeEquivalenceSet set) {
+		for (ConstraintVariable2 cv : set.getContributingVariables()) {
+			Integer position= fPositions.get(cv);
+			fWorkList.set(position != null ? position.intValue() : addVariable(cv));
+		}
+	}
+
 	private void runSolver(SubProgressMonitor pm) {
-		pm.beginTask("", fWorkList.size() * 3); //$NON-NLS-1$
-		while (! fWorkList.isEmpty()) {
-			// Get a variable whose type estimate has changed
-			ConstraintVariable2 cv= fWorkList.removeFirst();
-			List<ITypeConstraint2> usedIn= fTCModel.getUsedIn(cv);
+		pm.beginTask("", fWorkList.cardinality() * 3); //$NON-NLS-1$
+		int position= fWorkList.nextSetBit(0);
+		while (position >= 0) {
+			// Get the next variable whose type estimate has changed
+			fWorkList.clear(position);
+			List<ITypeConstraint2> usedIn= fTCModel.getUsedIn(fVariables.get(position));
 			processConstraints(usedIn);
 			pm.worked(1);
 			if (pm.isCanceled())
 				throw new OperationCanceledException();
+			int next= fWorkList.nextSetBit(position + 1);
+			position= next >= 0 ? next : fWorkList.nextSetBit(0);
 		}
 		pm.done();
 	}
@@ -248,7 +334,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for LHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			leftSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(leftSet.getContributingVariables()));
+			schedule(leftSet);
 		}
 		if (! lhsSuperTypes.containsAll(rightEstimate)) {
 			TypeSet xsection= rightEstimate.intersectedWith(lhsSuperTypes);
@@ -257,7 +343,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for RHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			rightSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(rightSet.getContributingVariables()));
+			schedule(rightSet);
 		}
 	}
 
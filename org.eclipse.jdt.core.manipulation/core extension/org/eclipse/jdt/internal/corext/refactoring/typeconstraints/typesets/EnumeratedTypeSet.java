@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets;
 
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -43,6 +44,14 @@ public class EnumeratedTypeSet extends TypeSet {
 	 */
 	Set<TType> fMembers= new LinkedHashSet<>();
 
+	/**
+	 * The members as bit set of type indexes (see {@link TypeSetEnvironment#getTypeIndex(TType)}),
+	 * or <code>null</code> if not computed yet. The bit set answers subset and equality tests
+	 * with word operations instead of a hash lookup per member. It is discarded whenever the
+	 * members change.
+	 */
+	private BitSet fBits;
+
 	/**
 	 * Constructs a new EnumeratedTypeSet with the members of Set s in it.
 	 * All elements of s must be TTypes.
@@ -95,7 +104,9 @@ public class EnumeratedTypeSet extends TypeSet {
 		if (o instanceof EnumeratedTypeSet) {
 			EnumeratedTypeSet other= (EnumeratedTypeSet) o;
 
-			return fMembers.equals(other.fMembers);
+			if (other.getTypeSetEnvironment() != getTypeSetEnvironment())
+				return fMembers.equals(other.fMembers);
+			return fMembers.size() == other.fMembers.size() && getBits().equals(other.getBits());
 		} else if (o instanceof SingletonTypeSet) {
 			SingletonTypeSet other= (SingletonTypeSet) o;
 
@@ -154,6 +165,7 @@ public class EnumeratedTypeSet extends TypeSet {
 			EnumeratedTypeSet ets2= (EnumeratedTypeSet) s2;
 			fMembers= new LinkedHashSet<>();
 			fMembers.addAll(ets2.fMembers);
+			fBits= null;
 		} else
 			retainAll(s2);
 	}
@@ -214,6 +226,7 @@ public class EnumeratedTypeSet extends TypeSet {
 			fMembers= new LinkedHashSet<>();
 		else
 			fMembers.clear();
+		fBits= null;
 	}
 
 	@Override
@@ -228,6 +241,7 @@ public class EnumeratedTypeSet extends TypeSet {
 	public boolean add(TType t) {
 		// Doesn't make sense to do here what other methods do (copy-and-modify)
 		Assert.isTrue(!isUniverse(), "Someone's trying to expand the universe!"); //$NON-NLS-1$
+		fBits= null;
 		return fMembers.add(t);
 	}
 
@@ -235,12 +249,15 @@ public class EnumeratedTypeSet extends TypeSet {
 	public boolean contains(TType t) {
 		if (isUniverse())
 			return true;
+		if (fBits != null)
+			return fBits.get(getTypeSetEnvironment().getTypeIndex(t));
 		return fMembers.contains(t);
 	}
 
 	public boolean remove(TType t) {
 		if (isUniverse())
 			fMembers= cloneSet(fMembers);
+		fBits= null;
 		return fMembers.remove(t);
 	}
 
@@ -249,6 +266,7 @@ public class EnumeratedTypeSet extends TypeSet {
 	}
 
 	public boolean addAll(TypeSet s) {
+		fBits= null;
 		if (s instanceof EnumeratedTypeSet) {
 			EnumeratedTypeSet ets= (EnumeratedTypeSet) s;
 
@@ -277,13 +295,20 @@ public class EnumeratedTypeSet extends TypeSet {
 		if (s.isUniverse())
 			return false;
 		EnumeratedTypeSet ets= s.enumerate();
+		if (ets.fMembers.size() > fMembers.size())
+			return false;
+		if (ets.getTypeSetEnvironment() != getTypeSetEnvironment())
+			return fMembers.containsAll(ets.fMembers);
 
-		return fMembers.containsAll(ets.fMembers);
+		BitSet missing= (BitSet) ets.getBits().clone();
+		missing.andNot(getBits());
+		return missing.isEmpty();
 	}
 
 	public boolean removeAll(EnumeratedTypeSet s) {
 		if (isUniverse())
 			fMembers= cloneSet(fMembers);
+		fBits= null;
 		return fMembers.removeAll(s.fMembers);
 	}
 
@@ -292,11 +317,17 @@ public class EnumeratedTypeSet extends TypeSet {
 
 		EnumeratedTypeSet ets= (EnumeratedTypeSet) s;
 
+		fBits= null;
 		if (isUniverse()) {
 			fMembers= cloneSet(ets.fMembers);
 			return true;
-		} else
+		} else if (ets.getTypeSetEnvironment() != getTypeSetEnvironment()) {
 			return fMembers.retainAll(ets.fMembers);
+		} else {
+			BitSet retained= ets.getBits();
+			TypeSetEnvironment environment= getTypeSetEnvironment();
+			return fMembers.removeIf(t -> !retained.get(environment.getTypeIndex(t)));
+		}
 	}
 
 	@Override
@@ -430,6 +461,17 @@ public class EnumeratedTypeSet extends TypeSet {
 		return b.toString();
 	}
 
+	private BitSet getBits() {
+		if (fBits == null) {
+			BitSet bits= new BitSet();
+			TypeSetEnvironment environment= getTypeSetEnvironment();
+			for (TType t : fMembers)
+				bits.set(environment.getTypeIndex(t));
+			fBits= bits;
+		}
+		return fBits;
+	}
+
 	@Override
 	public EnumeratedTypeSet enumerate() {
 		return this; // (EnumeratedTypeSet) makeClone();
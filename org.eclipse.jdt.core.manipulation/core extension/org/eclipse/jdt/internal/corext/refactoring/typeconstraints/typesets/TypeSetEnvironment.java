@@ -14,6 +14,7 @@
 
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -33,6 +34,8 @@ public class TypeSetEnvironment {
 	private final Map<TType, SuperTypesOfSingleton> fSuperTypesOfSingletons= new LinkedHashMap<>();//@perf
 	private final Map<Object, SuperTypesSet> fSuperTypesSets= new LinkedHashMap<>();//@perf
 
+	private final Map<TType, Integer> fTypeIndexes= new HashMap<>();
+
 	private int fgCommonExprHits= 0;
 	private int fgCommonExprMisses= 0;
 
@@ -119,6 +122,22 @@ public class TypeSetEnvironment {
 		}
 	}
 
+	/**
+	 * Returns a dense index for the given type, which identifies the type in the
+	 * bit sets of {@link EnumeratedTypeSet}s of this environment.
+	 *
+	 * @param type the type
+	 * @return the index of the type
+	 */
+	int getTypeIndex(TType type) {
+		Integer index= fTypeIndexes.get(type);
+		if (index == null) {
+			index= Integer.valueOf(fTypeIndexes.size());
+			fTypeIndexes.put(type, index);
+		}
+		return index.intValue();
+	}
+
 	public void dumpStats() {
 		System.out.println("Common expression hits:   " + fgCommonExprHits); //$NON-NLS-1$
 		System.out.println("Common expression misses: " + fgCommonExprMisses); //$NON-NLS-1$
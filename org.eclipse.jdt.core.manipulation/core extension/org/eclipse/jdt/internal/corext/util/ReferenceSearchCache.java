@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Memo of the results of reference searches, for caches that search the references of several
+ * members in a single search.
+ * <p>
+ * Every result remembers the name that all references of the searched member contain, and the
+ * compilation units that contain the references. A result is discarded when a compilation unit
+ * changes that either contains one of the references or mentions the name, since only such a
+ * unit can add or remove a reference. Changes to class paths, archives or class files discard all
+ * results. Results of searches that overlap a change are not kept.
+ * </p>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the results
+ */
+public final class ReferenceSearchCache<K, V> {
+
+	/**
+	 * Reads the names found at search matches, so that the matches of a search for several members
+	 * can be assigned to the members.
+	 */
+	public static final class NameReader {
+		private final Map<IOpenable, IBuffer> fBuffers= new HashMap<>();
+
+		/**
+		 * Returns the identifier at the start of a match.
+		 *
+		 * @param element the element containing the match
+		 * @param offset the offset of the match
+		 * @param length the length of the match
+		 * @return the identifier, or <code>null</code> if the match does not start with one
+		 * @throws JavaModelException if the buffer of the element could not be opened
+		 */
+		public String getNameAt(IJavaElement element, int offset, int length) throws JavaModelException {
+			IOpenable openable= element.getOpenable();
+			IBuffer buffer= fBuffers.get(openable);
+			if (buffer == null && !fBuffers.containsKey(openable)) {
+				buffer= openable.getBuffer();
+				fBuffers.put(openable, buffer);
+			}
+			if (buffer == null || offset < 0)
+				return null;
+			int end= Math.min(offset + length, buffer.getLength());
+			int i= offset;
+			while (i < end && Character.isJavaIdentifierPart(buffer.getChar(i)))
+				i++;
+			return i > offset ? buffer.getText(offset, i - offset) : null;
+		}
+	}
+
+	private static final class Entry<V> {
+		final V fResult;
+		/** the name that every reference of the member contains */
+		final String fName;
+		final Set<ICompilationUnit> fUnits;
+
+		Entry(V result, String name, Set<ICompilationUnit> units) {
+			fResult= result;
+			fName= name;
+			fUnits= units;
+		}
+	}
+
+	private final LRUMap<K, Entry<V>> fEntries;
+
+	/** incremented on every change, so that results of searches that overlap a change are not kept */
+	private long fGeneration;
+
+	/**
+	 * @param maxEntries the maximum number of results
+	 */
+	public ReferenceSearchCache(int maxEntries) {
+		fEntries= new LRUMap<>(maxEntries);
+	}
+
+	/**
+	 * @param key the key
+	 * @return the result, or <code>null</code> if it is not known
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry= fEntries.get(key);
+		return entry != null ? entry.fResult : null;
+	}
+
+	/**
+	 * @param key the key
+	 * @return whether the result is known
+	 */
+	public synchronized boolean containsKey(K key) {
+		return fEntries.containsKey(key);
+	}
+
+	/**
+	 * Returns the current generation, to be passed to
+	 * {@link #put(Object, Object, String, Set, long)} once the search has finished.
+	 *
+	 * @return the generation
+	 */
+	public synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Remembers the result of a search, unless something has changed since it has been started.
+	 *
+	 * @param key the key
+	 * @param result the result
+	 * @param name the name that every reference of the searched member contains
+	 * @param units the primary compilation units containing the references
+	 * @param generation the generation at the start of the search
+	 */
+	public synchronized void put(K key, V result, String name, Set<ICompilationUnit> units, long generation) {
+		if (generation == fGeneration)
+			fEntries.put(key, new Entry<>(result, name, units));
+	}
+
+	/**
+	 * Discards the results whose keys match a filter.
+	 *
+	 * @param filter the filter
+	 */
+	public synchronized void removeIf(Predicate<K> filter) {
+		fEntries.keySet().removeIf(filter);
+	}
+
+	/**
+	 * Discards all results.
+	 */
+	public synchronized void clear() {
+		fGeneration++;
+		fEntries.clear();
+	}
+
+	/**
+	 * Discards the results that may be affected by a change.
+	 *
+	 * @param delta the delta of the change
+	 * @return <code>false</code> if all results have been discarded
+	 */
+	public boolean elementChanged(IJavaElementDelta delta) {
+		List<ICompilationUnit> units= new ArrayList<>();
+		if (!collectChangedUnits(delta, units)) {
+			clear();
+			return false;
+		}
+		invalidate(units);
+		return true;
+	}
+
+	private void invalidate(List<ICompilationUnit> units) {
+		if (units.isEmpty())
+			return;
+		List<String> sources= new ArrayList<>(units.size());
+		for (ICompilationUnit unit : units)
+			sources.add(getSource(unit));
+		synchronized (this) {
+			fGeneration++;
+			for (Iterator<Entry<V>> iter= fEntries.values().iterator(); iter.hasNext();) {
+				Entry<V> entry= iter.next();
+				for (int i= 0; i < units.size(); i++) {
+					String source= sources.get(i);
+					if (entry.fUnits.contains(units.get(i)) || (source != null && source.contains(entry.fName))) {
+						iter.remove();
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private static String getSource(ICompilationUnit unit) {
+		if (!unit.exists())
+			return null; // a removed unit does not add references
+		try {
+			String source= unit.getSource();
+			return source != null ? source : ""; //$NON-NLS-1$
+		} catch (JavaModelException e) {
+			return ""; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @param delta the delta
+	 * @param units the list to add the changed compilation units to
+	 * @return <code>false</code> if the change may affect references outside of compilation units
+	 */
+	private static boolean collectChangedUnits(IJavaElementDelta delta, List<ICompilationUnit> units) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return false;
+				if ((delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+						| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0)
+					return false;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (!collectChangedUnits(child, units))
+						return false;
+				}
+				return true;
+			case IJavaElement.COMPILATION_UNIT:
+				units.add(((ICompilationUnit) element).getPrimary());
+				return true;
+			case IJavaElement.CLASS_FILE:
+				return false;
+			default:
+				return true;
+		}
+	}
+}
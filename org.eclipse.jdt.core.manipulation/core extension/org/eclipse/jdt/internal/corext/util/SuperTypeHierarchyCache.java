@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,15 @@
 package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -26,17 +33,31 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * The cache is bounded by the total number of types in the cached hierarchies, which is what
+ * their memory use depends on. Every type of a cached hierarchy is indexed, so lookups do not
+ * depend on the number of cached hierarchies, and they don't take a lock. Removing a hierarchy
+ * only updates the index entries of its own types. A hierarchy is removed as soon as it reports
+ * a change.
+ * </p>
+ * <p>
+ * If the system property <code>jdt.superTypeHierarchySnapshot</code> is <code>true</code>, the
+ * cached hierarchies are stored when the plug-in stops, and a hierarchy that is not cached is
+ * first looked up in that snapshot.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
@@ -50,8 +71,12 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= fgAccessCounter.incrementAndGet();
 		}
 
 		public long getLastAccess() {
@@ -59,27 +84,49 @@ public class SuperTypeHierarchyCache {
 		}
 
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
 				fTypeHierarchy= null;
 			}
 		}
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			return "Super hierarchy of: " + (hierarchy != null ? hierarchy.getType().getElementName() : "<disposed>"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	/**
+	 * Maximal number of types in all cached hierarchies.
+	 */
+	private static final int MAX_CACHED_TYPES= 20000;
+
+	private static final int OVERRIDE_TESTER_CACHE_SIZE= 64;
+
+	private static final boolean SNAPSHOT_ENABLED= Boolean.getBoolean("jdt.superTypeHierarchySnapshot"); //$NON-NLS-1$
+
+	private static final AtomicLong fgAccessCounter= new AtomicLong();
+
+	/**
+	 * The cached hierarchies. Guarded by itself, which is also held when {@link #fgTypeIndex} is
+	 * modified.
+	 */
+	private static final Set<HierarchyCacheEntry> fgHierarchyCache= new HashSet<>();
+	/**
+	 * The cached hierarchies containing a type, in the order they have been added. The arrays are
+	 * never modified, so they can be read without a lock.
+	 */
+	private static final Map<IType, HierarchyCacheEntry[]> fgTypeIndex= new ConcurrentHashMap<>();
+	private static int fgCachedTypes= 0;
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(OVERRIDE_TESTER_CACHE_SIZE);
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static final AtomicInteger fgCacheHits= new AtomicInteger();
+	private static final AtomicInteger fgCacheMisses= new AtomicInteger();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -140,42 +187,75 @@ public class SuperTypeHierarchyCache {
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
 		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
 		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
+			fgCacheMisses.incrementAndGet();
+			hierarchy= loadTypeHierarchyFromSnapshot(type, progressMonitor);
+			if (hierarchy == null)
+				hierarchy= type.newSupertypeHierarchy(progressMonitor);
 			addTypeHierarchyToCache(hierarchy);
 		} else {
-			fgCacheHits++;
+			fgCacheHits.incrementAndGet();
 		}
 		return hierarchy;
 	}
 
+	private static ITypeHierarchy loadTypeHierarchyFromSnapshot(IType type, IProgressMonitor progressMonitor) {
+		if (!SNAPSHOT_ENABLED)
+			return null;
+		SuperTypeHierarchySnapshot snapshot= SuperTypeHierarchySnapshot.getDefault();
+		return snapshot != null ? snapshot.load(type, progressMonitor) : null;
+	}
+
+	/**
+	 * Stores the cached hierarchies, if the snapshot is enabled. Called when the plug-in stops.
+	 */
+	public static void saveSnapshot() {
+		if (!SNAPSHOT_ENABLED)
+			return;
+		SuperTypeHierarchySnapshot snapshot= SuperTypeHierarchySnapshot.getDefault();
+		if (snapshot == null)
+			return;
+		List<ITypeHierarchy> hierarchies= new ArrayList<>();
+		synchronized (fgHierarchyCache) {
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+				if (hierarchy != null)
+					hierarchies.add(hierarchy);
+			}
+		}
+		snapshot.save(hierarchies);
+	}
+
 	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
 		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
+			// hierarchies that are contained in the new one are obsolete
+			List<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>();
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (curr == null || !curr.exists() || hierarchy.contains(curr.getType())) {
+					obsoleteHierarchies.add(entry);
+				}
+			}
+			for (HierarchyCacheEntry obsoleteHierarchy : obsoleteHierarchies) {
+				removeHierarchyEntryFromCache(obsoleteHierarchy);
+			}
+			while (fgCachedTypes + newEntry.getTypes().length > MAX_CACHED_TYPES && !fgHierarchyCache.isEmpty()) {
+				// remove the entry that was least recently accessed
 				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
 				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
-					}
-				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
+					if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
+						oldest= entry;
 					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
 				}
+				removeHierarchyEntryFromCache(oldest);
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+			if (newEntry.getTypeHierarchy() == null)
+				return;
 			fgHierarchyCache.add(newEntry);
+			fgCachedTypes+= newEntry.getTypes().length;
+			for (IType type : newEntry.getTypes()) {
+				fgTypeIndex.merge(type, new HierarchyCacheEntry[] { newEntry }, SuperTypeHierarchyCache::concat);
+			}
 		}
 	}
 
@@ -191,38 +271,60 @@ public class SuperTypeHierarchyCache {
 
 
 	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
-			}
+		HierarchyCacheEntry[] entries= fgTypeIndex.get(type);
+		if (entries == null)
+			return null;
+		HierarchyCacheEntry entry= entries[entries.length - 1];
+		ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+		if (hierarchy == null) {
+			// removed concurrently
+			return null;
 		}
-		return null;
+		if (!hierarchy.exists()) {
+			removeHierarchyEntryFromCache(entry);
+			return null;
+		}
+		entry.markAsAccessed();
+		return hierarchy;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
 		synchronized (fgHierarchyCache) {
+			if (!fgHierarchyCache.remove(entry)) {
+				// changed before it has been added
+				entry.dispose();
+				return;
+			}
+			fgCachedTypes-= entry.getTypes().length;
+			// another cached hierarchy may contain the types as well
+			for (IType type : entry.getTypes()) {
+				fgTypeIndex.computeIfPresent(type, (key, entries) -> without(entries, entry));
+			}
 			removeMethodOverrideTester(entry.getTypeHierarchy());
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
 		}
 	}
 
+	private static HierarchyCacheEntry[] concat(HierarchyCacheEntry[] entries, HierarchyCacheEntry[] added) {
+		HierarchyCacheEntry[] result= Arrays.copyOf(entries, entries.length + added.length);
+		System.arraycopy(added, 0, result, entries.length, added.length);
+		return result;
+	}
+
+	private static HierarchyCacheEntry[] without(HierarchyCacheEntry[] entries, HierarchyCacheEntry removed) {
+		if (entries.length == 1)
+			return entries[0] == removed ? null : entries;
+		List<HierarchyCacheEntry> result= new ArrayList<>(Arrays.asList(entries));
+		result.remove(removed);
+		return result.toArray(new HierarchyCacheEntry[result.size()]);
+	}
 
 	/**
 	 * Gets the number of times the hierarchy could be taken from the hierarchy.
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +332,17 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of cached hierarchies.
+	 * @return the number of cached hierarchies
+	 */
+	public static int getCacheSize() {
+		synchronized (fgHierarchyCache) {
+			return fgHierarchyCache.size();
+		}
 	}
 
 	private SuperTypeHierarchyCache() {
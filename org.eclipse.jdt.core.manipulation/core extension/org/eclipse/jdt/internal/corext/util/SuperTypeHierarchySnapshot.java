@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * On-disk snapshot of super type hierarchies, used to warm the {@link SuperTypeHierarchyCache}
+ * after a restart.
+ * <p>
+ * Every hierarchy is stored in its own file, named after the handle of its focus type. A file
+ * holds the handle, a stamp and the hierarchy as written by
+ * {@link ITypeHierarchy#store(java.io.OutputStream, IProgressMonitor)}. The stamp combines the
+ * resolved classpath of the project with the time stamps of the files that define the types of
+ * the hierarchy, so a hierarchy is only reused if none of its types has changed since it has been
+ * stored.
+ * </p>
+ */
+final class SuperTypeHierarchySnapshot {
+
+	private static final int MAGIC= 0x53544843;
+
+	private static final int VERSION= 1;
+
+	private static final String SNAPSHOT_FOLDER= "superTypeHierarchies"; //$NON-NLS-1$
+
+	private static final String SNAPSHOT_EXTENSION= ".hierarchy"; //$NON-NLS-1$
+
+	private final File fDirectory;
+
+	private SuperTypeHierarchySnapshot(File directory) {
+		fDirectory= directory;
+	}
+
+	/**
+	 * @return the snapshot in the state location of the plug-in, or <code>null</code> if the
+	 *         plug-in is not running
+	 */
+	static SuperTypeHierarchySnapshot getDefault() {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		try {
+			return new SuperTypeHierarchySnapshot(plugin.getStateLocation().append(SNAPSHOT_FOLDER).toFile());
+		} catch (IllegalStateException e) {
+			// no instance location
+			return null;
+		}
+	}
+
+	/**
+	 * Loads the stored hierarchy of the given type.
+	 *
+	 * @param type the focus type
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the hierarchy, or <code>null</code> if none has been stored or it is stale
+	 */
+	ITypeHierarchy load(IType type, IProgressMonitor monitor) {
+		String handle= type.getHandleIdentifier();
+		File file= getFile(handle);
+		if (!file.isFile())
+			return null;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || !handle.equals(in.readUTF()))
+				return null;
+			long stamp= in.readLong();
+			ITypeHierarchy hierarchy= type.loadTypeHierachy(in, monitor);
+			if (hierarchy == null || !hierarchy.exists() || computeStamp(type, hierarchy) != stamp)
+				return null;
+			return hierarchy;
+		} catch (IOException | JavaModelException | RuntimeException e) {
+			// corrupt or incompatible, the hierarchy is computed again
+			return null;
+		}
+	}
+
+	/**
+	 * Replaces the snapshot by the given hierarchies.
+	 *
+	 * @param hierarchies the hierarchies to store
+	 */
+	void save(Collection<ITypeHierarchy> hierarchies) {
+		File[] oldFiles= fDirectory.listFiles();
+		if (oldFiles != null) {
+			for (File oldFile : oldFiles) {
+				if (oldFile.getName().endsWith(SNAPSHOT_EXTENSION))
+					oldFile.delete();
+			}
+		}
+		if (hierarchies.isEmpty())
+			return;
+		fDirectory.mkdirs();
+		for (ITypeHierarchy hierarchy : hierarchies) {
+			IType type= hierarchy.getType();
+			if (type == null || !hierarchy.exists())
+				continue;
+			String handle= type.getHandleIdentifier();
+			File file= getFile(handle);
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(handle);
+				out.writeLong(computeStamp(type, hierarchy));
+				hierarchy.store(out, null);
+			} catch (IOException | JavaModelException e) {
+				file.delete();
+			}
+		}
+	}
+
+	private File getFile(String handle) {
+		return new File(fDirectory, Integer.toHexString(handle.hashCode()) + SNAPSHOT_EXTENSION);
+	}
+
+	private static long computeStamp(IType focus, ITypeHierarchy hierarchy) throws JavaModelException {
+		long stamp= 17;
+		IJavaProject project= focus.getJavaProject();
+		for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+			stamp= 31 * stamp + entry.getEntryKind();
+			stamp= 31 * stamp + entry.getPath().hashCode();
+		}
+		// independent of the order of the types, which may differ in a loaded hierarchy
+		long typesStamp= 0;
+		for (IType type : hierarchy.getAllTypes()) {
+			long typeStamp= 31L * type.getHandleIdentifier().hashCode() + getTimeStamp(type);
+			typesStamp+= typeStamp * 0x9E3779B97F4A7C15L ^ (typeStamp >>> 29);
+		}
+		return 31 * stamp + typesStamp;
+	}
+
+	/**
+	 * @param type a type
+	 * @return the time stamp of the compilation unit, class file or archive that defines the type
+	 */
+	private static long getTimeStamp(IType type) {
+		IResource resource= type.getResource();
+		if (resource == null) {
+			// inside an archive
+			IPackageFragmentRoot root= JavaModelUtil.getPackageFragmentRoot(type);
+			resource= root != null ? root.getResource() : null;
+		}
+		if (resource != null)
+			return resource.getLocalTimeStamp();
+		// external archive or class folder
+		return type.getPath().toFile().lastModified();
+	}
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.manipulation.TypeNameMatchCollector;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+/**
+ * Index from simple type names to the types visible in a project, shared by the compilation
+ * units of a batch operation like organizing the imports of a source folder.
+ * <p>
+ * A batch is started with {@link #beginBatch()} and ended with {@link #endBatch()}. While a batch
+ * is running, {@link #getShared()} returns the index. The types of a project are searched once,
+ * when they are first asked for, instead of once per compilation unit. The index is safe to be
+ * used by several threads. Java element changes that add, remove or change types, or change
+ * classpaths, discard the indexed types.
+ * </p>
+ */
+public final class TypeNameMatchIndex {
+
+	private static final Object fgLock= new Object();
+
+	private static int fgBatchCount;
+
+	private static TypeNameMatchIndex fgShared;
+
+	/**
+	 * Starts a batch. Every call must be followed by a call to {@link #endBatch()}.
+	 */
+	public static void beginBatch() {
+		synchronized (fgLock) {
+			if (fgBatchCount++ == 0) {
+				fgShared= new TypeNameMatchIndex();
+				JavaCore.addElementChangedListener(fgShared.fListener, ElementChangedEvent.POST_CHANGE);
+			}
+		}
+	}
+
+	/**
+	 * Ends a batch. The index is released when the last batch has ended.
+	 */
+	public static void endBatch() {
+		synchronized (fgLock) {
+			if (fgBatchCount == 0)
+				return;
+			if (--fgBatchCount == 0) {
+				JavaCore.removeElementChangedListener(fgShared.fListener);
+				fgShared= null;
+			}
+		}
+	}
+
+	/**
+	 * @return the index of the running batch, or <code>null</code> if no batch is running
+	 */
+	public static TypeNameMatchIndex getShared() {
+		synchronized (fgLock) {
+			return fgShared;
+		}
+	}
+
+	private static final class Key {
+		private final IJavaProject fProject;
+		private final boolean fExcludeTestCode;
+
+		Key(IJavaProject project, boolean excludeTestCode) {
+			fProject= project;
+			fExcludeTestCode= excludeTestCode;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fProject, Boolean.valueOf(fExcludeTestCode));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fExcludeTestCode == other.fExcludeTestCode && fProject.equals(other.fProject);
+		}
+	}
+
+	/**
+	 * The types visible in a project, built on first access.
+	 */
+	private static final class ProjectTypes {
+		private final Key fKey;
+		private Map<String, TypeNameMatch[]> fTypesByName;
+
+		ProjectTypes(Key key) {
+			fKey= key;
+		}
+
+		synchronized Map<String, TypeNameMatch[]> getTypesByName(IProgressMonitor monitor) throws JavaModelException {
+			if (fTypesByName == null) {
+				List<TypeNameMatch> matches= new ArrayList<>();
+				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(fKey.fExcludeTestCode, new IJavaElement[] { fKey.fProject }, true);
+				new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH, IJavaSearchConstants.TYPE, scope,
+						new TypeNameMatchCollector(matches), IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+
+				Map<String, List<TypeNameMatch>> lists= new HashMap<>();
+				for (TypeNameMatch match : matches)
+					lists.computeIfAbsent(match.getSimpleTypeName(), k -> new ArrayList<>(1)).add(match);
+				Map<String, TypeNameMatch[]> typesByName= new HashMap<>(lists.size() * 4 / 3 + 1);
+				for (Map.Entry<String, List<TypeNameMatch>> entry : lists.entrySet())
+					typesByName.put(entry.getKey(), entry.getValue().toArray(new TypeNameMatch[entry.getValue().size()]));
+				fTypesByName= typesByName;
+			}
+			return fTypesByName;
+		}
+	}
+
+	private final ConcurrentHashMap<Key, ProjectTypes> fProjectTypes= new ConcurrentHashMap<>();
+
+	private final IElementChangedListener fListener= event -> {
+		if (affectsTypeNames(event.getDelta()))
+			fProjectTypes.clear();
+	};
+
+	private TypeNameMatchIndex() {
+	}
+
+	/**
+	 * Adds the types with one of the given simple names that are visible in a project, as found by
+	 * {@link SearchEngine#searchAllTypeNames(char[][], char[][], IJavaSearchScope, org.eclipse.jdt.core.search.TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * with a {@link TypeNameMatchCollector}.
+	 *
+	 * @param project the project
+	 * @param excludeTestCode whether types in test code are excluded
+	 * @param simpleNames the case-sensitive simple names
+	 * @param result the collection to add the types to
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @throws JavaModelException if the types of the project could not be searched
+	 */
+	public void findTypes(IJavaProject project, boolean excludeTestCode, Collection<String> simpleNames, Collection<TypeNameMatch> result, IProgressMonitor monitor) throws JavaModelException {
+		Key key= new Key(project, excludeTestCode);
+		Map<String, TypeNameMatch[]> typesByName= fProjectTypes.computeIfAbsent(key, ProjectTypes::new).getTypesByName(monitor);
+		for (String simpleName : simpleNames) {
+			TypeNameMatch[] matches= typesByName.get(simpleName);
+			if (matches != null) {
+				for (TypeNameMatch match : matches)
+					result.add(match);
+			}
+		}
+	}
+
+	private static boolean affectsTypeNames(IJavaElementDelta delta) {
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED)
+					return true;
+				if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+						| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0)
+					return true;
+				return affectsTypeNames(delta.getAffectedChildren());
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind != IJavaElementDelta.CHANGED)
+					return true;
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+					return true; // the changed types are not known
+				return affectsTypeNames(delta.getAffectedChildren());
+			case IJavaElement.CLASS_FILE:
+				return true;
+			case IJavaElement.TYPE:
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_MODIFIERS) != 0)
+					return true;
+				return affectsTypeNames(delta.getAffectedChildren());
+			default:
+				// imports, package declarations, members
+				return false;
+		}
+	}
+
+	private static boolean affectsTypeNames(IJavaElementDelta[] deltas) {
+		for (IJavaElementDelta delta : deltas) {
+			if (affectsTypeNames(delta))
+				return true;
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.util.TestVerdictCache;
 
 /**
  * The plug-in runtime class for the JUnit core plug-in.
@@ -144,6 +145,7 @@ public class JUnitCorePlugin extends Plugin {
 		try {
 			InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).flush();
 			fJUnitModel.stop();
+			TestVerdictCache.shutdown();
 		} finally {
 			super.stop(context);
 		}
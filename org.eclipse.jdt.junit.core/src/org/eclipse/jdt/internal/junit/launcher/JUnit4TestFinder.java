@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2022 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,6 +58,7 @@ import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
+import org.eclipse.jdt.internal.junit.util.TestVerdictCache;
 
 
 public class JUnit4TestFinder implements ITestFinder {
@@ -214,6 +215,18 @@ public class JUnit4TestFinder implements ITestFinder {
 	}
 
 	private boolean internalIsTest(IType type, IProgressMonitor monitor) throws JavaModelException {
+		TestVerdictCache cache= TestVerdictCache.getDefault();
+		Boolean verdict= cache.get(TestKindRegistry.JUNIT4_TEST_KIND_ID, type);
+		if (verdict != null) {
+			return verdict.booleanValue();
+		}
+		int generation= cache.getGeneration();
+		boolean isTest= computeIsTest(type, monitor);
+		cache.put(TestKindRegistry.JUNIT4_TEST_KIND_ID, type, isTest, generation);
+		return isTest;
+	}
+
+	private boolean computeIsTest(IType type, IProgressMonitor monitor) throws JavaModelException {
 		if (CoreTestSearchEngine.isAccessibleClass(type)) {
 			if (CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
 				return true;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2022 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -43,6 +47,7 @@ import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
+import org.eclipse.jdt.internal.junit.util.TestVerdictCache;
 
 public class JUnit5TestFinder implements ITestFinder {
 
@@ -216,9 +221,38 @@ public class JUnit5TestFinder implements ITestFinder {
 		ITypeHierarchy hierarchy= JavaCore.newTypeHierarchy(region, null, subMonitor.split(1));
 		IType[] allClasses= hierarchy.getAllClasses();
 
-		// search for all types with references to RunWith and Test and all subclasses
+		// only classes with annotations and their subclasses can be tests, unless they implement JUnit 3.8's Test interface
+		Set<IType> candidates= CoreTestSearchEngine.findAnnotatedTypeCandidates(hierarchy, allClasses, subMonitor.split(1));
+
+		TestVerdictCache cache= TestVerdictCache.getDefault();
+		int generation= cache.getGeneration();
+		Map<IType, Boolean> verdicts= new HashMap<>();
+		List<IType> unresolved= new ArrayList<>();
+		for (IType type : allClasses) {
+			if (candidates.contains(type) && region.contains(type) && CoreTestSearchEngine.isAccessibleClass(type, TestKindRegistry.JUNIT5_TEST_KIND_ID)) {
+				Boolean verdict= cache.get(TestKindRegistry.JUNIT5_TEST_KIND_ID, type);
+				if (verdict == null && CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
+					verdict= Boolean.TRUE;
+				}
+				if (verdict != null) {
+					verdicts.put(type, verdict);
+				} else {
+					unresolved.add(type);
+				}
+			}
+		}
+
+		// resolve the remaining candidates together, so that they share the bindings of their super types
+		Map<IType, Boolean> resolved= new HashMap<>();
+		CoreTestSearchEngine.resolveTests(unresolved, this::isTest, resolved, subMonitor.split(1));
+		for (Map.Entry<IType, Boolean> entry : resolved.entrySet()) {
+			cache.put(TestKindRegistry.JUNIT5_TEST_KIND_ID, entry.getKey(), entry.getValue().booleanValue(), generation);
+		}
+		verdicts.putAll(resolved);
+
+		// add all types that are tests and their subclasses
 		for (IType type : allClasses) {
-			if (region.contains(type) && internalIsTest(type, pm)) {
+			if (Boolean.TRUE.equals(verdicts.get(type))) {
 				addTypeAndSubtypes(type, result, hierarchy);
 			}
 		}
@@ -248,9 +282,33 @@ public class JUnit5TestFinder implements ITestFinder {
 	}
 
 	private boolean internalIsTest(IType type, IProgressMonitor monitor) throws JavaModelException {
+		TestVerdictCache cache= TestVerdictCache.getDefault();
+		Boolean verdict= cache.get(TestKindRegistry.JUNIT5_TEST_KIND_ID, type);
+		if (verdict != null) {
+			return verdict.booleanValue();
+		}
+		int generation= cache.getGeneration();
+		verdict= computeIsTest(type, monitor);
+		if (verdict == null) {
+			// not cached, the binding may be resolved later, e.g. after the class path has been fixed
+			return false;
+		}
+		cache.put(TestKindRegistry.JUNIT5_TEST_KIND_ID, type, verdict.booleanValue(), generation);
+		return verdict.booleanValue();
+	}
+
+	/**
+	 * Decides whether a type is a test.
+	 *
+	 * @param type the type
+	 * @param monitor the progress monitor
+	 * @return whether the type is a test, or <code>null</code> if its binding could not be resolved
+	 * @throws JavaModelException if the type could not be accessed
+	 */
+	private Boolean computeIsTest(IType type, IProgressMonitor monitor) throws JavaModelException {
 		if (CoreTestSearchEngine.isAccessibleClass(type, TestKindRegistry.JUNIT5_TEST_KIND_ID)) {
 			if (CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
-				return true;
+				return Boolean.TRUE;
 			}
 			ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
 			if (type.getCompilationUnit() != null) {
@@ -260,9 +318,9 @@ public class JUnit5TestFinder implements ITestFinder {
 				IBinding[] bindings= parser.createBindings(new IJavaElement[] { type }, monitor);
 				if (bindings.length == 1 && bindings[0] instanceof ITypeBinding) {
 					ITypeBinding binding= (ITypeBinding) bindings[0];
-					return isTest(binding);
+					return Boolean.valueOf(isTest(binding));
 				}
-				return false;
+				return null;
 			} else {
 				parser.setSource(type.getClassFile());
 			}
@@ -273,12 +331,12 @@ public class JUnit5TestFinder implements ITestFinder {
 			if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
 				ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
 				if (binding != null) {
-					return isTest(binding);
+					return Boolean.valueOf(isTest(binding));
 				}
 			}
+			return null;
 		}
-		return false;
-
+		return Boolean.FALSE;
 	}
 
 	private static boolean isAvailable(ISourceRange range) {
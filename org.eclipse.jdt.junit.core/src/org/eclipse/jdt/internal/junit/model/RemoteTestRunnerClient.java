@@ -15,21 +15,26 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.io.PushbackReader;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageIds;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
@@ -71,6 +76,10 @@ public class RemoteTestRunnerClient {
 	            fFailedRerunTrace.setLength(0);
 	            return fRerunState;
 	        }
+	        if (message.startsWith(MessageIds.PROTOCOL_SWITCH)) {
+	            switchToBinaryProtocol(message.substring(MessageIds.MSG_HEADER_LENGTH));
+	            return this;
+	        }
 	        String arg= message.substring(MessageIds.MSG_HEADER_LENGTH);
 	        if (message.startsWith(MessageIds.TEST_RUN_START)) {
 	            // version < 2 format: count
@@ -89,11 +98,13 @@ public class RemoteTestRunnerClient {
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_START)) {
-	            notifyTestStarted(arg);
+	            String s[]= extractTestId(arg);
+	            notifyTestStarted(s[0], s[1]);
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_END)) {
-	            notifyTestEnded(arg);
+	            String s[]= extractTestId(arg);
+	            notifyTestEnded(s[0], s[1]);
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_ERROR)) {
@@ -227,8 +238,24 @@ public class RemoteTestRunnerClient {
 	private Socket fSocket;
 	private int fPort= -1;
 	private PrintWriter fWriter;
-	private PushbackReader fPushbackReader;
+	private InputStream fInputStream;
 	private String fLastLineDelimiter;
+	/**
+	 * Bytes of the line that is currently read with the text protocol
+	 */
+	private byte[] fLineBuffer= new byte[128];
+	/**
+	 * Is the RemoteTestRunner sending with the binary protocol
+	 */
+	private boolean fBinaryProtocol= false;
+	/**
+	 * The interned strings of the binary protocol
+	 */
+	private final ArrayList<String> fStrings= new ArrayList<>();
+	/**
+	 * The frame that is currently read with the binary protocol
+	 */
+	private byte[] fFrameBuffer= new byte[64 * 1024];
 	/**
 	 * The protocol version
 	 */
@@ -266,11 +293,19 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				fInputStream= new BufferedInputStream(fSocket.getInputStream(), 64 * 1024);
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
+				// runtimes that don't know the binary protocol ignore the request
+				fWriter.println(MessageIds.PROTOCOL_REQUEST + BinaryMessageIds.PROTOCOL_VERSION);
 				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+				while(fInputStream != null && !fBinaryProtocol && (message= readMessage(fInputStream)) != null)
 					receiveMessage(message);
+				if (fBinaryProtocol) {
+					DataInputStream in= new DataInputStream(fInputStream);
+					while (fInputStream != null && readFrame(in)) {
+						// continue
+					}
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -320,9 +355,9 @@ public class RemoteTestRunnerClient {
 			fWriter= null;
 		}
 		try {
-			if (fPushbackReader != null) {
-				fPushbackReader.close();
-				fPushbackReader= null;
+			if (fInputStream != null) {
+				fInputStream.close();
+				fInputStream= null;
 			}
 		} catch(IOException e) {
 		}
@@ -346,32 +381,142 @@ public class RemoteTestRunnerClient {
 		return fSocket != null;
 	}
 
-	private String readMessage(PushbackReader in) throws IOException {
-		StringBuilder buf= new StringBuilder(128);
+	/**
+	 * Reads a line of the text protocol. Works on bytes, since the stream may continue with the
+	 * binary protocol. Line delimiters never occur inside a multi-byte UTF-8 sequence.
+	 *
+	 * @param in the input stream, must support mark
+	 * @return the message or <code>null</code> at the end of the stream
+	 * @throws IOException if reading fails
+	 */
+	private String readMessage(InputStream in) throws IOException {
+		int length= 0;
 		int ch;
 		while ((ch= in.read()) != -1) {
 			switch (ch) {
 			case '\n':
 				fLastLineDelimiter= "\n"; //$NON-NLS-1$
-				return buf.toString();
+				return new String(fLineBuffer, 0, length, StandardCharsets.UTF_8);
 			case '\r':
+				in.mark(1);
 				ch= in.read();
 				if (ch == '\n') {
 					fLastLineDelimiter= "\r\n"; //$NON-NLS-1$
 				} else {
-					in.unread(ch);
+					in.reset();
 					fLastLineDelimiter= "\r"; //$NON-NLS-1$
 				}
-				return buf.toString();
+				return new String(fLineBuffer, 0, length, StandardCharsets.UTF_8);
 			default:
-				buf.append((char) ch);
+				if (length == fLineBuffer.length)
+					fLineBuffer= Arrays.copyOf(fLineBuffer, length * 2);
+				fLineBuffer[length++]= (byte) ch;
 				break;
 			}
 		}
 		fLastLineDelimiter= null;
-		if (buf.length() == 0)
+		if (length == 0)
 			return null;
-		return buf.toString();
+		return new String(fLineBuffer, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private void switchToBinaryProtocol(String version) {
+		try {
+			if (Integer.parseInt(version.trim()) == BinaryMessageIds.PROTOCOL_VERSION)
+				fBinaryProtocol= true;
+		} catch (NumberFormatException e) {
+			// not a runner we requested the binary protocol from
+		}
+	}
+
+	/**
+	 * Reads and dispatches a frame of the binary protocol.
+	 *
+	 * @param in the input stream
+	 * @return <code>false</code> at the end of the stream
+	 * @throws IOException if reading fails
+	 * @see BinaryMessageIds
+	 */
+	private boolean readFrame(DataInputStream in) throws IOException {
+		int length;
+		try {
+			length= in.readInt();
+		} catch (EOFException e) {
+			return false;
+		}
+		if (length > fFrameBuffer.length)
+			fFrameBuffer= new byte[Math.max(length, fFrameBuffer.length * 2)];
+		in.readFully(fFrameBuffer, 0, length);
+		ByteBuffer frame= ByteBuffer.wrap(fFrameBuffer, 0, length);
+		while (frame.hasRemaining()) {
+			byte kind= frame.get();
+			switch (kind) {
+				case BinaryMessageIds.STRING:
+					fStrings.add(readString(frame));
+					break;
+				case BinaryMessageIds.TEST_RUN_START: {
+					int count= frame.getInt();
+					fVersion= readString(frame);
+					notifyTestRunStarted(count);
+					break;
+				}
+				case BinaryMessageIds.TEST_START:
+					notifyTestStarted(Integer.toString(frame.getInt()), fStrings.get(frame.getInt()));
+					break;
+				case BinaryMessageIds.TEST_END:
+					notifyTestEnded(Integer.toString(frame.getInt()), fStrings.get(frame.getInt()));
+					break;
+				case BinaryMessageIds.TEST_ERROR:
+				case BinaryMessageIds.TEST_FAILED:
+					fFailedTestId= Integer.toString(frame.getInt());
+					fFailedTest= fStrings.get(frame.getInt());
+					fFailureKind= kind == BinaryMessageIds.TEST_ERROR ? ITestRunListener2.STATUS_ERROR : ITestRunListener2.STATUS_FAILURE;
+					break;
+				case BinaryMessageIds.TEST_RUN_END:
+					testRunEnded(frame.getLong());
+					break;
+				case BinaryMessageIds.TEST_STOPPED:
+					notifyTestRunStopped(frame.getLong());
+					shutDown();
+					return false;
+				case BinaryMessageIds.TEST_TREE:
+					notifyTestTreeEntry(readString(frame));
+					break;
+				case BinaryMessageIds.TRACE:
+					fFailedTrace.setLength(0);
+					fFailedTrace.append(readString(frame));
+					notifyTestFailed();
+					fFailedTrace.setLength(0);
+					fActualResult.setLength(0);
+					fExpectedResult.setLength(0);
+					break;
+				case BinaryMessageIds.EXPECTED:
+					fExpectedResult.setLength(0);
+					fExpectedResult.append(readString(frame));
+					break;
+				case BinaryMessageIds.ACTUAL:
+					fActualResult.setLength(0);
+					fActualResult.append(readString(frame));
+					break;
+				case BinaryMessageIds.RERUN_TRACE:
+					fFailedRerunTrace.setLength(0);
+					fFailedRerunTrace.append(readString(frame));
+					break;
+				case BinaryMessageIds.TEXT:
+					receiveMessage(readString(frame));
+					break;
+				default:
+					throw new IOException("Unknown binary message: " + kind); //$NON-NLS-1$
+			}
+		}
+		return true;
+	}
+
+	private static String readString(ByteBuffer frame) {
+		int length= frame.getInt();
+		String s= new String(frame.array(), frame.arrayOffset() + frame.position(), length, StandardCharsets.UTF_8);
+		frame.position(frame.position() + length);
+		return s;
 	}
 
 	private void receiveMessage(String message) {
@@ -512,29 +657,27 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
-	private void notifyTestEnded(final String test) {
+	private void notifyTestEnded(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testEnded(s[0], s[1]);
+					listener.testEnded(testId, testName);
 				}
 			});
 		}
 	}
 
-	private void notifyTestStarted(final String test) {
+	private void notifyTestStarted(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testStarted(s[0], s[1]);
+					listener.testStarted(testId, testName);
 				}
 			});
 		}
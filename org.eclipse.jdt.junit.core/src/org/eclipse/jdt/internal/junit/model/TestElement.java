@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -194,6 +194,13 @@ public abstract class TestElement implements ITestElement {
 	private String fExpected;
 	private String fActual;
 
+	/**
+	 * The swap file that holds the trace, expected and actual value, or <code>null</code> if they
+	 * are in memory.
+	 */
+	private TestRunSessionSwapFile fFailureSwapFile;
+	private long fFailureOffset;
+
 	private boolean fAssumptionFailed;
 
 	/**
@@ -261,6 +268,7 @@ public abstract class TestElement implements ITestElement {
 	@Override
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
+		loadFailure();
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
 				|| (testResult == Result.IGNORED && fTrace != null)) {
 			return new FailureTrace(fTrace, fExpected, fActual);
@@ -304,6 +312,7 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
+		loadFailure();
 		if (trace != null && fTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
 			fTrace= fTrace + trace;
@@ -320,21 +329,59 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getTrace() {
+		loadFailure();
 		return fTrace;
 	}
 
 	public String getExpected() {
+		loadFailure();
 		return fExpected;
 	}
 
 	public String getActual() {
+		loadFailure();
 		return fActual;
 	}
 
 	public boolean isComparisonFailure() {
+		loadFailure();
 		return fExpected != null && fActual != null;
 	}
 
+	/**
+	 * Restores the status and time of an element that is read from a swap file, without notifying
+	 * the parent.
+	 *
+	 * @param status the status
+	 * @param time the raw running time, see {@link #fTime}
+	 */
+	void restoreStatus(Status status, double time) {
+		fStatus= status;
+		fTime= time;
+	}
+
+	/**
+	 * Sets the location of the trace, expected and actual value in a swap file. They are read
+	 * when they are first asked for.
+	 *
+	 * @param swapFile the swap file
+	 * @param offset the offset of the failure in the swap file
+	 */
+	synchronized void setSwappedFailure(TestRunSessionSwapFile swapFile, long offset) {
+		fFailureSwapFile= swapFile;
+		fFailureOffset= offset;
+	}
+
+	private synchronized void loadFailure() {
+		if (fFailureSwapFile == null)
+			return;
+		String[] failure= fFailureSwapFile.readFailure(fFailureOffset);
+		fTrace= failure[0];
+		fExpected= failure[1];
+		fActual= failure[2];
+		fFailureSwapFile= null;
+	}
+
 	/**
 	 * @return return the class name
 	 * @see org.eclipse.jdt.internal.junit.runner.ITestIdentifier#getName()
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@
 package org.eclipse.jdt.internal.junit.model;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -368,9 +369,7 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		try {
-			File swapFile= getSwapFile();
-
-			JUnitModel.exportTestRunSession(this, swapFile);
+			new TestRunSessionSwapFile(getSwapFile()).write(this, fTestRoot);
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
@@ -379,7 +378,7 @@ public class TestRunSession implements ITestRunSession {
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
 
-		} catch (IllegalStateException | CoreException e) {
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
 		}
 	}
@@ -398,7 +397,7 @@ public class TestRunSession implements ITestRunSession {
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + ".swap"; //$NON-NLS-1$
 		return new File(historyDir, swapFileName);
 	}
 
@@ -408,11 +407,11 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
-		} catch (IllegalStateException | CoreException e) {
+			reset();
+			new TestRunSessionSwapFile(getSwapFile()).read(this, fTestRoot);
+		} catch (IllegalStateException | IOException e) {
 			JUnitCorePlugin.log(e);
-			fTestRoot= new TestRoot(this);
-			fTestResult= null;
+			reset();
 		}
 	}
 
@@ -812,6 +811,18 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Restores the counts of a session that is read from a swap file.
+	 */
+	void restoreCounts(int startedCount, int ignoredCount, int assumptionFailureCount, int errorCount, int failureCount, int totalCount) {
+		fStartedCount= startedCount;
+		fIgnoredCount= ignoredCount;
+		fAssumptionFailureCount= assumptionFailureCount;
+		fErrorCount= errorCount;
+		fFailureCount= failureCount;
+		fTotalCount= totalCount;
+	}
+
 	public void registerTestFailureStatus(TestElement testElement, Status status, String trace, String expected, String actual) {
 		testElement.setStatus(status, trace, expected, actual);
 		if (!testElement.isAssumptionFailure()) {
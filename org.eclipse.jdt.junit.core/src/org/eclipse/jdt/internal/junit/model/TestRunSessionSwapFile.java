@@ -0,0 +1,358 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Compact binary file a {@link TestRunSession} is swapped out to.
+ * <p>
+ * The failure traces, expected and actual values are written into a section of their own. The
+ * tree section only holds the offsets of the failures, so swapping a session in restores the
+ * test elements without reading a single trace. The failures are read from the file when a test
+ * element is asked for them.
+ * </p>
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version,
+ * failures: (string trace, string expected, string actual)*
+ * tree: int startedCount, int ignoredCount, int assumptionFailureCount, int errorCount,
+ *       int failureCount, int totalCount, element (pre-order, starting with the root)
+ * long treeOffset
+ *
+ * element: byte kind, [string name, string displayName, int parameterTypeCount,
+ *          string* parameterTypes, string uniqueId] (not for the root),
+ *          byte status, double time, byte flags, [long failureOffset] (if FLAG_FAILURE),
+ *          [byte childrenStatus, int childCount, element*] (suites and the root)
+ * string: int length (-1 for null), byte[] UTF-8
+ * </pre>
+ * </p>
+ * <p>
+ * Import and export of test runs use the XML format of {@link TestRunSessionSerializer} and
+ * {@link TestRunHandler}, this format is only used for the history of the current workbench
+ * session.
+ * </p>
+ */
+final class TestRunSessionSwapFile {
+
+	private static final int MAGIC= 0x4A545253;
+
+	private static final int VERSION= 1;
+
+	private static final byte KIND_ROOT= 0;
+	private static final byte KIND_SUITE= 1;
+	private static final byte KIND_CASE= 2;
+
+	private static final byte FLAG_FAILURE= 1;
+	private static final byte FLAG_ASSUMPTION_FAILED= 2;
+	private static final byte FLAG_IGNORED= 4;
+	private static final byte FLAG_DYNAMIC_TEST= 8;
+
+	private static final byte NO_STATUS= -1;
+
+	private static final Status[] STATUSES= {
+			Status.NOT_RUN, Status.OK, Status.ERROR, Status.FAILURE, Status.RUNNING, Status.RUNNING_ERROR, Status.RUNNING_FAILURE
+	};
+
+	private final File fFile;
+
+	TestRunSessionSwapFile(File file) {
+		fFile= file;
+	}
+
+	/**
+	 * Writes the test elements and counts of a session. The file is written next to the target and
+	 * then moved into place, so failures that have not been read yet from a previous swap file
+	 * with the same name remain available while writing.
+	 *
+	 * @param session the session
+	 * @param root the root of the session
+	 * @throws IOException if the file could not be written
+	 */
+	void write(TestRunSession session, TestRoot root) throws IOException {
+		File tmpFile= new File(fFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try (PositionOutputStream position= new PositionOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+				DataOutputStream out= new DataOutputStream(position)) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			ArrayDeque<Long> failureOffsets= new ArrayDeque<>();
+			writeFailures(out, position, root, failureOffsets);
+
+			long treeOffset= position.getPosition();
+			out.writeInt(session.getStartedCount());
+			out.writeInt(session.getIgnoredCount());
+			out.writeInt(session.getAssumptionFailureCount());
+			out.writeInt(session.getErrorCount());
+			out.writeInt(session.getFailureCount());
+			out.writeInt(session.getTotalCount());
+			writeElement(out, root, failureOffsets);
+			out.writeLong(treeOffset);
+		} catch (IOException e) {
+			tmpFile.delete();
+			throw e;
+		}
+		Files.move(tmpFile.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void writeFailures(DataOutputStream out, PositionOutputStream position, TestElement element, ArrayDeque<Long> failureOffsets) throws IOException {
+		if (hasFailure(element)) {
+			failureOffsets.add(Long.valueOf(position.getPosition()));
+			writeString(out, element.getTrace());
+			writeString(out, element.getExpected());
+			writeString(out, element.getActual());
+		}
+		if (element instanceof TestSuiteElement) {
+			for (ITestElement child : ((TestSuiteElement) element).getChildren())
+				writeFailures(out, position, (TestElement) child, failureOffsets);
+		}
+	}
+
+	private static void writeElement(DataOutputStream out, TestElement element, ArrayDeque<Long> failureOffsets) throws IOException {
+		Status status;
+		if (element instanceof TestRoot) {
+			out.writeByte(KIND_ROOT);
+			status= ((TestRoot) element).getSuiteStatus();
+		} else {
+			if (element instanceof TestSuiteElement) {
+				out.writeByte(KIND_SUITE);
+				status= ((TestSuiteElement) element).getSuiteStatus();
+			} else {
+				out.writeByte(KIND_CASE);
+				status= element.getStatus();
+			}
+			writeString(out, element.getTestName());
+			writeString(out, element.getDisplayName());
+			String[] parameterTypes= element.getParameterTypes();
+			if (parameterTypes == null) {
+				out.writeInt(-1);
+			} else {
+				out.writeInt(parameterTypes.length);
+				for (String parameterType : parameterTypes)
+					writeString(out, parameterType);
+			}
+			writeString(out, element.getUniqueId());
+		}
+		out.writeByte(indexOf(status));
+		out.writeDouble(element.fTime);
+
+		byte flags= 0;
+		boolean hasFailure= hasFailure(element);
+		if (hasFailure)
+			flags|= FLAG_FAILURE;
+		if (element.isAssumptionFailure())
+			flags|= FLAG_ASSUMPTION_FAILED;
+		if (element instanceof TestCaseElement) {
+			TestCaseElement testCase= (TestCaseElement) element;
+			if (testCase.isIgnored())
+				flags|= FLAG_IGNORED;
+			if (testCase.isDynamicTest())
+				flags|= FLAG_DYNAMIC_TEST;
+		}
+		out.writeByte(flags);
+		if (hasFailure)
+			out.writeLong(failureOffsets.remove().longValue());
+
+		if (element instanceof TestSuiteElement) {
+			TestSuiteElement suite= (TestSuiteElement) element;
+			Status childrenStatus= suite.getChildrenStatus();
+			out.writeByte(childrenStatus == null ? NO_STATUS : indexOf(childrenStatus));
+			ITestElement[] children= suite.getChildren();
+			out.writeInt(children.length);
+			for (ITestElement child : children)
+				writeElement(out, (TestElement) child, failureOffsets);
+		}
+	}
+
+	private static boolean hasFailure(TestElement element) {
+		return element.getTrace() != null || element.getExpected() != null || element.getActual() != null;
+	}
+
+	/**
+	 * Restores the test elements and counts of a session. The session must have been reset.
+	 *
+	 * @param session the session
+	 * @param root the new root of the session
+	 * @throws IOException if the file could not be read or is corrupt
+	 */
+	void read(TestRunSession session, TestRoot root) throws IOException {
+		long treeOffset;
+		try (RandomAccessFile file= new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+			if (file.readInt() != MAGIC || file.readInt() != VERSION)
+				throw new IOException("Not a test run swap file: " + fFile); //$NON-NLS-1$
+			file.seek(file.length() - 8);
+			treeOffset= file.readLong();
+		}
+		try (FileInputStream fileIn= new FileInputStream(fFile)) {
+			fileIn.getChannel().position(treeOffset);
+			DataInputStream in= new DataInputStream(new BufferedInputStream(fileIn));
+			int startedCount= in.readInt();
+			int ignoredCount= in.readInt();
+			int assumptionFailureCount= in.readInt();
+			int errorCount= in.readInt();
+			int failureCount= in.readInt();
+			int totalCount= in.readInt();
+			if (in.readByte() != KIND_ROOT)
+				throw new IOException("Missing test root: " + fFile); //$NON-NLS-1$
+			Status status= toStatus(in.readByte());
+			double time= in.readDouble();
+			byte flags= in.readByte();
+			readState(in, session, root, status, time, flags, new int[1]);
+			session.restoreCounts(startedCount, ignoredCount, assumptionFailureCount, errorCount, failureCount, totalCount);
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt test run swap file: " + fFile, e); //$NON-NLS-1$
+		}
+	}
+
+	private void readChild(DataInputStream in, TestRunSession session, TestSuiteElement parent, int[] nextId) throws IOException {
+		byte kind= in.readByte();
+		if (kind != KIND_SUITE && kind != KIND_CASE)
+			throw new IOException("Unexpected test element: " + kind); //$NON-NLS-1$
+		String name= readString(in);
+		String displayName= readString(in);
+		int parameterTypeCount= in.readInt();
+		String[] parameterTypes= null;
+		if (parameterTypeCount >= 0) {
+			parameterTypes= new String[parameterTypeCount];
+			for (int i= 0; i < parameterTypeCount; i++)
+				parameterTypes[i]= readString(in);
+		}
+		String uniqueId= readString(in);
+		Status status= toStatus(in.readByte());
+		double time= in.readDouble();
+		byte flags= in.readByte();
+		boolean isDynamicTest= (flags & FLAG_DYNAMIC_TEST) != 0;
+		TestElement element= session.createTestElement(parent, Integer.toString(nextId[0]++), name, kind == KIND_SUITE, 0, isDynamicTest, displayName, parameterTypes, uniqueId);
+		readState(in, session, element, status, time, flags, nextId);
+	}
+
+	private void readState(DataInputStream in, TestRunSession session, TestElement element, Status status, double time, byte flags, int[] nextId) throws IOException {
+		element.restoreStatus(status, time);
+		if ((flags & FLAG_FAILURE) != 0)
+			element.setSwappedFailure(this, in.readLong());
+		if ((flags & FLAG_ASSUMPTION_FAILED) != 0)
+			element.setAssumptionFailed(true);
+		if (element instanceof TestCaseElement) {
+			((TestCaseElement) element).setIgnored((flags & FLAG_IGNORED) != 0);
+		} else {
+			TestSuiteElement suite= (TestSuiteElement) element;
+			byte childrenStatus= in.readByte();
+			int childCount= in.readInt();
+			for (int i= 0; i < childCount; i++)
+				readChild(in, session, suite, nextId);
+			suite.restoreChildrenStatus(childrenStatus == NO_STATUS ? null : toStatus(childrenStatus));
+		}
+	}
+
+	/**
+	 * Reads the failure of a test element.
+	 *
+	 * @param offset the offset of the failure
+	 * @return the trace, expected and actual value, or an array of <code>null</code>s if the file
+	 *         could not be read
+	 */
+	String[] readFailure(long offset) {
+		String[] failure= new String[3];
+		try (RandomAccessFile file= new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+			file.seek(offset);
+			for (int i= 0; i < failure.length; i++)
+				failure[i]= readString(file);
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+		}
+		return failure;
+	}
+
+	private static byte indexOf(Status status) {
+		for (byte i= 0; i < STATUSES.length; i++) {
+			if (STATUSES[i] == status)
+				return i;
+		}
+		throw new IllegalArgumentException(String.valueOf(status));
+	}
+
+	private static Status toStatus(byte index) throws IOException {
+		if (index < 0 || index >= STATUSES.length)
+			throw new IOException("Unexpected status: " + index); //$NON-NLS-1$
+		return STATUSES[index];
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		int length= in.readInt();
+		if (length < 0)
+			return null;
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Output stream that counts the bytes written to it.
+	 */
+	private static final class PositionOutputStream extends FilterOutputStream {
+
+		private long fPosition;
+
+		PositionOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		long getPosition() {
+			return fPosition;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			fPosition++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			fPosition+= len;
+		}
+	}
+}
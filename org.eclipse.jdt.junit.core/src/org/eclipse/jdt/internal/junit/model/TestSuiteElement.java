@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -90,6 +90,24 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		return super.getStatus();
 	}
 
+	/**
+	 * @return the cumulated status of the children, or <code>null</code> if no child has changed
+	 *         its status yet
+	 */
+	Status getChildrenStatus() {
+		return fChildrenStatus;
+	}
+
+	/**
+	 * Restores the cumulated status of the children of a suite that is read from a swap file,
+	 * without notifying the parent.
+	 *
+	 * @param status the status, or <code>null</code>
+	 */
+	void restoreChildrenStatus(Status status) {
+		fChildrenStatus= status;
+	}
+
 	public void childChangedStatus(TestElement child, Status childStatus) {
 		int childCount= fChildren.size();
 		if (child == fChildren.get(0) && childStatus.isRunning()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,30 +13,49 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import org.eclipse.jdt.junit.JUnitCore;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.RecordDeclaration;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
@@ -269,6 +288,204 @@ public class CoreTestSearchEngine {
 		new SearchEngine().search(suitePattern, participants, scope, requestor, pm);
 	}
 
+	/**
+	 * Number of compilation units that are parsed together by {@link #resolveTests(Collection, Predicate, Map, IProgressMonitor)}
+	 */
+	private static final int RESOLVE_BATCH_SIZE= 200;
+
+	/** Simple names of the annotations in <code>java.lang</code>, which never mark tests */
+	private static final Set<String> JAVA_LANG_ANNOTATIONS= Set.of("Override", "SuppressWarnings", "Deprecated", "SafeVarargs", "FunctionalInterface"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	private static class AnnotatedTypesCollector extends SearchRequestor {
+
+		private final Collection<IType> fResult;
+
+		public AnnotatedTypesCollector(Collection<IType> result) {
+			fResult= result;
+		}
+
+		@Override
+		public void acceptSearchMatch(SearchMatch match) throws CoreException {
+			if (match.isInsideDocComment())
+				return;
+			Object element= match.getElement();
+			if (!(element instanceof IType || element instanceof IMethod))
+				return;
+
+			IMember member= (IMember) element;
+			if (isJavaLangAnnotation(member, match))
+				return;
+			// an annotated member type can make its declaring types tests, e.g. with @Nested
+			IType type= member.getElementType() == IJavaElement.TYPE ? (IType) member : member.getDeclaringType();
+			while (type != null && fResult.add(type)) {
+				type= type.getDeclaringType();
+			}
+		}
+
+		private static boolean isJavaLangAnnotation(IMember member, SearchMatch match) throws JavaModelException {
+			IBuffer buffer= member.getOpenable().getBuffer();
+			if (buffer == null || match.getOffset() < 0 || match.getOffset() + match.getLength() > buffer.getLength())
+				return false;
+			String name= buffer.getText(match.getOffset(), match.getLength());
+			if (name.startsWith("java.lang.")) //$NON-NLS-1$
+				name= name.substring("java.lang.".length()); //$NON-NLS-1$
+			return JAVA_LANG_ANNOTATIONS.contains(name);
+		}
+	}
+
+	/**
+	 * Finds the classes of a hierarchy that can be tests because of annotations: the classes and
+	 * interfaces that have annotations, other than the ones of <code>java.lang</code>, on
+	 * themselves or their methods, the types declaring such types, the subtypes of all of these,
+	 * for example the classes implementing test interfaces with default test methods, and the
+	 * classes that inherit from binary types other than <code>java.lang.Object</code>, whose
+	 * annotations cannot be searched.
+	 *
+	 * @param hierarchy the hierarchy of the region
+	 * @param classes the classes of the hierarchy to consider
+	 * @param pm the progress monitor
+	 * @return the candidate classes, and possibly annotated interfaces
+	 * @throws CoreException if the search failed
+	 */
+	public static Set<IType> findAnnotatedTypeCandidates(ITypeHierarchy hierarchy, IType[] classes, IProgressMonitor pm) throws CoreException {
+		Set<IType> annotated= new HashSet<>();
+		if (classes.length > 0) {
+			IType[] interfaces= hierarchy.getAllInterfaces();
+			IType[] types= new IType[classes.length + interfaces.length];
+			System.arraycopy(classes, 0, types, 0, classes.length);
+			System.arraycopy(interfaces, 0, types, classes.length, interfaces.length);
+			IJavaSearchScope scope= SearchEngine.createJavaSearchScope(types, IJavaSearchScope.SOURCES);
+			SearchPattern pattern= SearchPattern.createPattern("*", IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE, SearchPattern.R_PATTERN_MATCH); //$NON-NLS-1$
+			SearchParticipant[] participants= new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
+			new SearchEngine().search(pattern, participants, scope, new AnnotatedTypesCollector(annotated), pm);
+		}
+
+		Set<IType> result= new HashSet<>(annotated);
+		for (IType type : annotated) {
+			for (IType subtype : hierarchy.getAllSubtypes(type)) {
+				result.add(subtype);
+			}
+		}
+		for (IType type : classes) {
+			if (!result.contains(type) && hasBinarySupertype(hierarchy, type)) {
+				result.add(type);
+			}
+		}
+		return result;
+	}
+
+	private static boolean hasBinarySupertype(ITypeHierarchy hierarchy, IType type) {
+		for (IType supertype : hierarchy.getAllSupertypes(type)) {
+			if (supertype.isBinary() && !"java.lang.Object".equals(supertype.getFullyQualifiedName())) { //$NON-NLS-1$
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Decides for types whether they are tests, based on their bindings. The compilation units of
+	 * the source types of a project are parsed in batches that share the bindings, without method
+	 * bodies. The bindings of the binary types of a project are created together.
+	 *
+	 * @param types the types
+	 * @param isTest decides whether a type is a test
+	 * @param verdicts the map to which the verdicts are added, types whose bindings could not be
+	 *            resolved are not added
+	 * @param pm the progress monitor
+	 * @throws CoreException if a type could not be accessed
+	 */
+	public static void resolveTests(Collection<IType> types, Predicate<ITypeBinding> isTest, Map<IType, Boolean> verdicts, IProgressMonitor pm) throws CoreException {
+		Map<IJavaProject, Map<ICompilationUnit, List<IType>>> sourceTypes= new LinkedHashMap<>();
+		Map<IJavaProject, List<IType>> binaryTypes= new LinkedHashMap<>();
+		List<IType> classFileTypes= new ArrayList<>();
+		for (IType type : types) {
+			ICompilationUnit unit= type.getCompilationUnit();
+			if (unit != null) {
+				sourceTypes.computeIfAbsent(type.getJavaProject(), p -> new LinkedHashMap<>()).computeIfAbsent(unit, u -> new ArrayList<>()).add(type);
+			} else if (!isAvailable(type.getSourceRange())) { // class file with no source
+				binaryTypes.computeIfAbsent(type.getJavaProject(), p -> new ArrayList<>()).add(type);
+			} else {
+				classFileTypes.add(type);
+			}
+		}
+
+		SubMonitor subMonitor= SubMonitor.convert(pm, types.size());
+		for (Map.Entry<IJavaProject, Map<ICompilationUnit, List<IType>>> entry : sourceTypes.entrySet()) {
+			Map<ICompilationUnit, List<IType>> typesByUnit= entry.getValue();
+			List<ICompilationUnit> units= new ArrayList<>(typesByUnit.keySet());
+			for (int start= 0; start < units.size(); start+= RESOLVE_BATCH_SIZE) {
+				List<ICompilationUnit> batch= units.subList(start, Math.min(start + RESOLVE_BATCH_SIZE, units.size()));
+				int work= 0;
+				for (ICompilationUnit unit : batch) {
+					work+= typesByUnit.get(unit).size();
+				}
+				ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+				parser.setProject(entry.getKey());
+				parser.setResolveBindings(true);
+				parser.setIgnoreMethodBodies(true);
+				parser.createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+					@Override
+					public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+						for (IType type : typesByUnit.get(source)) {
+							putVerdict(verdicts, type, isTest(ast, type, isTest));
+						}
+					}
+				}, subMonitor.split(work));
+			}
+		}
+
+		for (Map.Entry<IJavaProject, List<IType>> entry : binaryTypes.entrySet()) {
+			List<IType> projectTypes= entry.getValue();
+			ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+			parser.setProject(entry.getKey());
+			IBinding[] bindings= parser.createBindings(projectTypes.toArray(new IJavaElement[projectTypes.size()]), subMonitor.split(projectTypes.size()));
+			for (int i= 0; i < bindings.length; i++) {
+				IBinding binding= bindings[i];
+				if (binding instanceof ITypeBinding) {
+					verdicts.put(projectTypes.get(i), Boolean.valueOf(isTest.test((ITypeBinding) binding)));
+				}
+			}
+		}
+
+		for (IType type : classFileTypes) {
+			ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+			parser.setSource(type.getClassFile());
+			parser.setFocalPosition(0);
+			parser.setResolveBindings(true);
+			CompilationUnit root= (CompilationUnit) parser.createAST(subMonitor.split(1));
+			putVerdict(verdicts, type, isTest(root, type, isTest));
+		}
+	}
+
+	private static void putVerdict(Map<IType, Boolean> verdicts, IType type, Boolean verdict) {
+		if (verdict != null) {
+			verdicts.put(type, verdict);
+		}
+	}
+
+	/**
+	 * Decides whether a type declared in a parsed compilation unit is a test.
+	 *
+	 * @param root the parsed compilation unit
+	 * @param type the type
+	 * @param isTest decides whether a type is a test
+	 * @return whether the type is a test, or <code>null</code> if its binding could not be resolved
+	 */
+	private static Boolean isTest(CompilationUnit root, IType type, Predicate<ITypeBinding> isTest) {
+		ASTNode node= root.findDeclaringNode(type.getKey());
+		if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
+			ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
+			if (binding != null) {
+				return Boolean.valueOf(isTest.test(binding));
+			}
+		}
+		return null;
+	}
+
+	private static boolean isAvailable(ISourceRange range) {
+		return range != null && range.getOffset() != -1;
+	}
 
 // --- copied from org.eclipse.jdt.internal.corext.util.JavaModelUtil: ---
 	/**
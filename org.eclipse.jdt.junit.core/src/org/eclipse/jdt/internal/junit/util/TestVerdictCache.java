@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Remembers whether types are tests, as decided by the test finders, across launches.
+ * <p>
+ * A verdict depends on the annotations, the modifiers and the members of the type and of its
+ * super types. The verdicts of the types of a compilation unit are forgotten when its structure
+ * changes. If the changes may affect other types, for example when a type or a method is added,
+ * removed or annotated differently, or when a class path changes, all verdicts are forgotten.
+ * Changes of method bodies do not invalidate any verdict.
+ * </p>
+ */
+public class TestVerdictCache implements IElementChangedListener {
+
+	private static final int MAX_VERDICTS= 20000;
+
+	private static TestVerdictCache fgDefault;
+
+	/** The verdicts by test kind id, each map in access order, guarded by <code>this</code> */
+	private final Map<String, LinkedHashMap<IType, Boolean>> fVerdicts= new HashMap<>();
+
+	/** Incremented on every invalidation, so that verdicts computed before are not stored */
+	private int fGeneration;
+
+	private TestVerdictCache() {
+	}
+
+	public static synchronized TestVerdictCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new TestVerdictCache();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * @param testKindId the id of the test kind
+	 * @param type the type
+	 * @return the verdict, or <code>null</code> if not known
+	 */
+	public synchronized Boolean get(String testKindId, IType type) {
+		LinkedHashMap<IType, Boolean> verdicts= fVerdicts.get(testKindId);
+		return verdicts != null ? verdicts.get(type) : null;
+	}
+
+	/**
+	 * @return the generation to pass to {@link #put(String, IType, boolean, int)} for verdicts that
+	 *         are computed after this call
+	 */
+	public synchronized int getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Stores a verdict unless the cache has been invalidated since the generation was read.
+	 *
+	 * @param testKindId the id of the test kind
+	 * @param type the type
+	 * @param isTest the verdict
+	 * @param generation the generation read before the verdict was computed
+	 */
+	public synchronized void put(String testKindId, IType type, boolean isTest, int generation) {
+		if (generation != fGeneration)
+			return;
+		LinkedHashMap<IType, Boolean> verdicts= fVerdicts.get(testKindId);
+		if (verdicts == null) {
+			verdicts= new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID= 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<IType, Boolean> eldest) {
+					return size() > MAX_VERDICTS;
+				}
+			};
+			fVerdicts.put(testKindId, verdicts);
+		}
+		verdicts.put(type, Boolean.valueOf(isTest));
+	}
+
+	public synchronized void clear() {
+		fGeneration++;
+		fVerdicts.clear();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		processDelta(event.getDelta());
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+						| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0
+						|| delta.getKind() != IJavaElementDelta.CHANGED) {
+					clear();
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					clear();
+					return;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				processCompilationUnitDelta((ICompilationUnit) element, delta);
+				return;
+			case IJavaElement.CLASS_FILE:
+				clear();
+				return;
+			default:
+				return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	private void processCompilationUnitDelta(ICompilationUnit unit, IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			clear();
+			return;
+		}
+		int flags= delta.getFlags();
+		if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_ANNOTATIONS)) == 0)
+			return; // e.g. a working copy has been discarded or the unit became primary
+
+		if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+			clear();
+			return;
+		}
+		if (affectsOtherTypes(delta)) {
+			clear();
+		} else if (delta.getAffectedChildren().length > 0) {
+			removeTypes(unit.getPrimary());
+		}
+	}
+
+	/**
+	 * @param delta a fine grained delta
+	 * @return <code>true</code> if the change can affect the verdicts of types declared elsewhere
+	 */
+	private static boolean affectsOtherTypes(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			int type= child.getElement().getElementType();
+			if (type == IJavaElement.TYPE || type == IJavaElement.METHOD) {
+				if (child.getKind() != IJavaElementDelta.CHANGED)
+					return true;
+				if ((child.getFlags() & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_ANNOTATIONS)) != 0)
+					return true;
+				if (type == IJavaElement.TYPE && affectsOtherTypes(child))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized void removeTypes(ICompilationUnit unit) {
+		fGeneration++;
+		for (LinkedHashMap<IType, Boolean> verdicts : fVerdicts.values()) {
+			verdicts.keySet().removeIf(type -> unit.equals(type.getCompilationUnit()));
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+/**
+ * Record identifiers of the binary protocol used by the RemoteTestRunner.
+ * <p>
+ * The binary protocol is negotiated on top of the text protocol: the client sends
+ * {@link MessageIds#PROTOCOL_REQUEST} followed by the highest binary version it understands.
+ * A runner that supports the binary protocol answers with a last text message
+ * {@link MessageIds#PROTOCOL_SWITCH} + version; everything after that line is sent as frames.
+ * </p>
+ * <p>
+ * A frame is a 4 byte big-endian length followed by that many bytes of records. Every record
+ * starts with one of the record identifiers below. Integers are 4 byte and longs 8 byte
+ * big-endian values, strings are an integer byte length followed by the UTF-8 bytes.
+ * Test names are interned: a {@link #STRING} record defines the next index of the string
+ * table, and the test records refer to names by that index.
+ * </p>
+ *
+ * @see MessageIds
+ * @see BinaryMessageWriter
+ */
+public class BinaryMessageIds {
+
+	/**
+	 * The version of the binary protocol implemented by this runtime.
+	 */
+	public static final int PROTOCOL_VERSION= 1;
+
+	/**
+	 * Defines the next entry of the string table.
+	 * STRING + string
+	 */
+	public static final byte STRING= 1;
+	/**
+	 * MessageIds.TEST_RUN_START.
+	 * TEST_RUN_START + int testCount + string version
+	 */
+	public static final byte TEST_RUN_START= 2;
+	/**
+	 * MessageIds.TEST_START.
+	 * TEST_START + int testId + int testNameIndex
+	 */
+	public static final byte TEST_START= 3;
+	/**
+	 * MessageIds.TEST_END.
+	 * TEST_END + int testId + int testNameIndex
+	 */
+	public static final byte TEST_END= 4;
+	/**
+	 * MessageIds.TEST_ERROR.
+	 * TEST_ERROR + int testId + int testNameIndex
+	 */
+	public static final byte TEST_ERROR= 5;
+	/**
+	 * MessageIds.TEST_FAILED.
+	 * TEST_FAILED + int testId + int testNameIndex
+	 */
+	public static final byte TEST_FAILED= 6;
+	/**
+	 * MessageIds.TEST_RUN_END.
+	 * TEST_RUN_END + long elapsedTime
+	 */
+	public static final byte TEST_RUN_END= 7;
+	/**
+	 * MessageIds.TEST_STOPPED.
+	 * TEST_STOPPED + long elapsedTime
+	 */
+	public static final byte TEST_STOPPED= 8;
+	/**
+	 * MessageIds.TEST_TREE.
+	 * TEST_TREE + string treeEntry
+	 */
+	public static final byte TEST_TREE= 9;
+	/**
+	 * Everything between MessageIds.TRACE_START and MessageIds.TRACE_END.
+	 * TRACE + string trace
+	 */
+	public static final byte TRACE= 10;
+	/**
+	 * Everything between MessageIds.EXPECTED_START and MessageIds.EXPECTED_END.
+	 * EXPECTED + string expected
+	 */
+	public static final byte EXPECTED= 11;
+	/**
+	 * Everything between MessageIds.ACTUAL_START and MessageIds.ACTUAL_END.
+	 * ACTUAL + string actual
+	 */
+	public static final byte ACTUAL= 12;
+	/**
+	 * Everything between MessageIds.RTRACE_START and MessageIds.RTRACE_END.
+	 * RERUN_TRACE + string trace
+	 */
+	public static final byte RERUN_TRACE= 13;
+	/**
+	 * Any other message of the text protocol, sent unchanged.
+	 * TEXT + string message
+	 */
+	public static final byte TEXT= 14;
+
+	private BinaryMessageIds() {
+	}
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * Translates the messages of the text protocol into records of the binary protocol.
+ * <p>
+ * Records are collected into a frame that is written to the output stream by a separate writer
+ * thread. The test thread never blocks on the socket (unless the client falls far behind), and
+ * all messages that arrive while the previous frame is being written are batched into the next
+ * one.
+ * </p>
+ *
+ * @see BinaryMessageIds
+ */
+public class BinaryMessageWriter implements MessageSender {
+
+	private static final int FRAME_HEADER_LENGTH= 4;
+	/**
+	 * Size at which the writer thread sends a frame even if no flush has been requested.
+	 */
+	private static final int FRAME_SIZE= 64 * 1024;
+	/**
+	 * Size at which senders wait until the writer thread has caught up.
+	 */
+	private static final int MAX_PENDING_SIZE= 4 * 1024 * 1024;
+
+	private final DataOutputStream fOutput;
+	private final HashMap<String, Integer> fStrings= new HashMap<>();
+	private final Thread fWriterThread;
+
+	/**
+	 * The frame that is being filled. Guarded by <code>this</code>.
+	 */
+	private ByteBuffer fPending;
+	/**
+	 * The frame that has been written last and can be reused, or <code>null</code>.
+	 * Guarded by <code>this</code>.
+	 */
+	private ByteBuffer fSpare;
+	private boolean fFlushRequested;
+	private boolean fClosed;
+	private IOException fWriteError;
+
+	/**
+	 * The record kind of the block that is being collected, or 0 if not inside a block.
+	 */
+	private byte fBlockKind;
+	private String fBlockEnd;
+	private final StringBuilder fBlockBody= new StringBuilder();
+
+	/**
+	 * @param output the output stream of the client socket, must not be used by others
+	 *            after the binary protocol has been started
+	 */
+	public BinaryMessageWriter(OutputStream output) {
+		fOutput= new DataOutputStream(new BufferedOutputStream(output, FRAME_SIZE));
+		fPending= newFrame(FRAME_SIZE);
+		fWriterThread= new Thread("BinaryMessageWriter") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				writeFrames();
+			}
+		};
+		fWriterThread.setDaemon(true);
+		fWriterThread.start();
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fClosed)
+			return;
+		if (fBlockKind != 0) {
+			if (msg.startsWith(fBlockEnd)) {
+				putStringRecord(fBlockKind, fBlockBody.toString());
+				fBlockKind= 0;
+				fBlockBody.setLength(0);
+			} else {
+				// same content the text protocol delivers with PrintWriter#println
+				fBlockBody.append(msg).append(System.lineSeparator());
+			}
+			return;
+		}
+		if (msg.startsWith(MessageIds.TRACE_START)) {
+			startBlock(BinaryMessageIds.TRACE, MessageIds.TRACE_END);
+		} else if (msg.startsWith(MessageIds.EXPECTED_START)) {
+			startBlock(BinaryMessageIds.EXPECTED, MessageIds.EXPECTED_END);
+		} else if (msg.startsWith(MessageIds.ACTUAL_START)) {
+			startBlock(BinaryMessageIds.ACTUAL, MessageIds.ACTUAL_END);
+		} else if (msg.startsWith(MessageIds.RTRACE_START)) {
+			startBlock(BinaryMessageIds.RERUN_TRACE, MessageIds.RTRACE_END);
+		} else if (msg.startsWith(MessageIds.TEST_START)) {
+			putTestRecord(BinaryMessageIds.TEST_START, msg);
+		} else if (msg.startsWith(MessageIds.TEST_END)) {
+			putTestRecord(BinaryMessageIds.TEST_END, msg);
+		} else if (msg.startsWith(MessageIds.TEST_ERROR)) {
+			putTestRecord(BinaryMessageIds.TEST_ERROR, msg);
+		} else if (msg.startsWith(MessageIds.TEST_FAILED)) {
+			putTestRecord(BinaryMessageIds.TEST_FAILED, msg);
+		} else if (msg.startsWith(MessageIds.TEST_TREE)) {
+			putStringRecord(BinaryMessageIds.TEST_TREE, msg.substring(MessageIds.MSG_HEADER_LENGTH));
+		} else if (msg.startsWith(MessageIds.TEST_RUN_START)) {
+			putRunStartRecord(msg);
+		} else if (msg.startsWith(MessageIds.TEST_RUN_END)) {
+			putElapsedTimeRecord(BinaryMessageIds.TEST_RUN_END, msg);
+		} else if (msg.startsWith(MessageIds.TEST_STOPPED)) {
+			putElapsedTimeRecord(BinaryMessageIds.TEST_STOPPED, msg);
+		} else {
+			putStringRecord(BinaryMessageIds.TEXT, msg);
+		}
+		if (fPending.position() >= FRAME_SIZE)
+			notifyAll();
+	}
+
+	@Override
+	public synchronized void flush() {
+		fFlushRequested= true;
+		notifyAll();
+	}
+
+	/**
+	 * Writes all pending frames and stops the writer thread. Does not close the output stream.
+	 */
+	public void close() {
+		synchronized (this) {
+			fClosed= true;
+			notifyAll();
+		}
+		try {
+			fWriterThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void startBlock(byte kind, String endMessage) {
+		fBlockKind= kind;
+		fBlockEnd= endMessage;
+		fBlockBody.setLength(0);
+	}
+
+	private void putTestRecord(byte kind, String msg) {
+		// format: testId + "," + testName
+		int comma= msg.indexOf(',', MessageIds.MSG_HEADER_LENGTH);
+		int testId;
+		try {
+			testId= comma == -1 ? -1 : Integer.parseInt(msg.substring(MessageIds.MSG_HEADER_LENGTH, comma));
+		} catch (NumberFormatException e) {
+			testId= -1;
+		}
+		if (testId < 0) {
+			putStringRecord(BinaryMessageIds.TEXT, msg);
+			return;
+		}
+		int name= internString(msg.substring(comma + 1));
+		ensureRemaining(9);
+		fPending.put(kind);
+		fPending.putInt(testId);
+		fPending.putInt(name);
+	}
+
+	private void putRunStartRecord(String msg) {
+		// format: testCount + " " + version
+		String arg= msg.substring(MessageIds.MSG_HEADER_LENGTH);
+		int v= arg.indexOf(' ');
+		try {
+			int count= Integer.parseInt(v == -1 ? arg : arg.substring(0, v));
+			byte[] version= (v == -1 ? "" : arg.substring(v + 1)).getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+			ensureRemaining(9 + version.length);
+			fPending.put(BinaryMessageIds.TEST_RUN_START);
+			fPending.putInt(count);
+			fPending.putInt(version.length);
+			fPending.put(version);
+		} catch (NumberFormatException e) {
+			putStringRecord(BinaryMessageIds.TEXT, msg);
+		}
+	}
+
+	private void putElapsedTimeRecord(byte kind, String msg) {
+		try {
+			long elapsedTime= Long.parseLong(msg.substring(MessageIds.MSG_HEADER_LENGTH));
+			ensureRemaining(9);
+			fPending.put(kind);
+			fPending.putLong(elapsedTime);
+		} catch (NumberFormatException e) {
+			putStringRecord(BinaryMessageIds.TEXT, msg);
+		}
+		fFlushRequested= true;
+	}
+
+	private int internString(String s) {
+		Integer index= fStrings.get(s);
+		if (index != null)
+			return index.intValue();
+		int newIndex= fStrings.size();
+		fStrings.put(s, Integer.valueOf(newIndex));
+		putStringRecord(BinaryMessageIds.STRING, s);
+		return newIndex;
+	}
+
+	private void putStringRecord(byte kind, String s) {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		ensureRemaining(5 + bytes.length);
+		fPending.put(kind);
+		fPending.putInt(bytes.length);
+		fPending.put(bytes);
+	}
+
+	private void ensureRemaining(int length) {
+		while (fPending.position() >= MAX_PENDING_SIZE && fWriteError == null && !fClosed) {
+			notifyAll();
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				// the test thread may be interrupted by the test itself, keep the interruption
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		if (fPending.remaining() < length) {
+			ByteBuffer larger= newFrame(Math.max(fPending.capacity() * 2, fPending.position() + length));
+			fPending.flip();
+			larger.clear();
+			larger.put(fPending);
+			fPending= larger;
+		}
+	}
+
+	private static ByteBuffer newFrame(int capacity) {
+		ByteBuffer frame= ByteBuffer.allocate(capacity);
+		frame.position(FRAME_HEADER_LENGTH);
+		return frame;
+	}
+
+	private void writeFrames() {
+		while (true) {
+			ByteBuffer frame;
+			synchronized (this) {
+				while (!fClosed && (fPending.position() == FRAME_HEADER_LENGTH || !fFlushRequested && fPending.position() < FRAME_SIZE)) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						// keep writing until closed
+					}
+				}
+				if (fPending.position() == FRAME_HEADER_LENGTH) // closed and nothing left
+					return;
+				frame= fPending;
+				fPending= fSpare != null ? fSpare : newFrame(FRAME_SIZE);
+				fSpare= null;
+				fFlushRequested= false;
+				notifyAll();
+			}
+			int length= frame.position() - FRAME_HEADER_LENGTH;
+			try {
+				if (fWriteError == null) {
+					fOutput.writeInt(length);
+					fOutput.write(frame.array(), FRAME_HEADER_LENGTH, length);
+					fOutput.flush();
+				}
+			} catch (IOException e) {
+				synchronized (this) {
+					fWriteError= e;
+					notifyAll();
+				}
+			}
+			synchronized (this) {
+				if (frame.capacity() == FRAME_SIZE) {
+					frame.clear();
+					frame.position(FRAME_HEADER_LENGTH);
+					fSpare= frame;
+				}
+			}
+		}
+	}
+}
@@ -133,6 +133,20 @@ public class MessageIds {
 	 * TEST_RERUN + testId + " " + testClass + " "+testName
 	 */
 	public static final String TEST_RERUN=	">RERUN  "; //$NON-NLS-1$
+	/**
+	 * Request to switch to the binary protocol.
+	 * PROTOCOL_REQUEST + highest supported binary protocol version
+	 *
+	 * @see BinaryMessageIds
+	 */
+	public static final String PROTOCOL_REQUEST= ">PROTO  "; //$NON-NLS-1$
+	/**
+	 * Notification that all following messages are sent with the binary protocol.
+	 * PROTOCOL_SWITCH + binary protocol version
+	 *
+	 * @see BinaryMessageIds
+	 */
+	public static final String PROTOCOL_SWITCH= "%PROTO  "; //$NON-NLS-1$
 
 	/**
 	 * MessageFormat to encode test method identifiers:
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -90,6 +91,23 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Print writer for sending messages
 	 */
 	private PrintWriter fWriter;
+	/**
+	 * Writer for sending messages after the client switched to the binary protocol,
+	 * or <code>null</code> while the text protocol is used.
+	 */
+	private volatile BinaryMessageWriter fBinaryWriter;
+	/**
+	 * Has the client requested the binary protocol
+	 */
+	private volatile boolean fBinaryProtocolRequested= false;
+	/**
+	 * Is a multi-line message (trace, expected or actual result) being sent with the text protocol
+	 */
+	private boolean fInTextBlock= false;
+	/**
+	 * Lock for switching from the text to the binary protocol
+	 */
+	private final Object fSendLock= new Object();
 	/**
 	 * Reader for incoming messages
 	 */
@@ -174,6 +192,17 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 								RemoteTestRunner.this.notifyAll();
 							}
 						}
+
+						else if (message.startsWith(MessageIds.PROTOCOL_REQUEST)) {
+							//format: highest binary protocol version supported by the client
+							try {
+								int version= Integer.parseInt(message.substring(MessageIds.MSG_HEADER_LENGTH).trim());
+								if (version >= BinaryMessageIds.PROTOCOL_VERSION && fClientSocket != null)
+									fBinaryProtocolRequested= true;
+							} catch (NumberFormatException e) {
+								// stay with the text protocol
+							}
+						}
 					}
 				}
 			} catch (Exception e) {
@@ -676,6 +705,9 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBinaryWriter != null) {
+			fBinaryWriter.close();
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -709,9 +741,24 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void sendMessage(String msg) {
+		BinaryMessageWriter binaryWriter= fBinaryWriter;
+		if (binaryWriter != null) {
+			binaryWriter.sendMessage(msg);
+			return;
+		}
 		if(fWriter == null)
 			return;
-		fWriter.println(msg);
+		synchronized (fSendLock) {
+			if (fBinaryWriter == null && fBinaryProtocolRequested && !fInTextBlock)
+				switchToBinaryProtocol();
+			if (fBinaryWriter == null) {
+				fWriter.println(msg);
+				fInTextBlock= isBlockStart(msg) || fInTextBlock && !isBlockEnd(msg);
+				return;
+			}
+			binaryWriter= fBinaryWriter;
+		}
+		binaryWriter.sendMessage(msg);
 //		if (!fConsoleMode)
 //			System.out.println(msg);
 	}
@@ -749,7 +796,40 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void flush() {
-	    fWriter.flush();
+		BinaryMessageWriter binaryWriter= fBinaryWriter;
+		if (binaryWriter != null)
+			binaryWriter.flush();
+		else
+			fWriter.flush();
+	}
+
+	/**
+	 * Sends the last message of the text protocol and continues with the binary protocol.
+	 * Must only be called between two messages, i.e. not inside a trace.
+	 */
+	private void switchToBinaryProtocol() {
+		OutputStream output;
+		try {
+			output= fClientSocket.getOutputStream();
+		} catch (IOException e) {
+			fBinaryProtocolRequested= false; // stay with the text protocol
+			return;
+		}
+		fWriter.println(MessageIds.PROTOCOL_SWITCH + BinaryMessageIds.PROTOCOL_VERSION);
+		fWriter.flush();
+		if (fDebugMode)
+			System.out.println("RemoteTestRunner: switched to binary protocol"); //$NON-NLS-1$
+		fBinaryWriter= new BinaryMessageWriter(output);
+	}
+
+	private static boolean isBlockStart(String msg) {
+		return msg.startsWith(MessageIds.TRACE_START) || msg.startsWith(MessageIds.RTRACE_START)
+				|| msg.startsWith(MessageIds.EXPECTED_START) || msg.startsWith(MessageIds.ACTUAL_START);
+	}
+
+	private static boolean isBlockEnd(String msg) {
+		return msg.startsWith(MessageIds.TRACE_END) || msg.startsWith(MessageIds.RTRACE_END)
+				|| msg.startsWith(MessageIds.EXPECTED_END) || msg.startsWith(MessageIds.ACTUAL_END);
 	}
 
 	public void runTests(TestExecution execution) {
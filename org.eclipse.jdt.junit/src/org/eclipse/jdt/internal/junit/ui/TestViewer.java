@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,13 +21,16 @@
 package org.eclipse.jdt.internal.junit.ui;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -219,6 +222,8 @@ public class TestViewer {
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
 	private HashSet<TestElement> fNeedUpdate;
+	/** Tests added since the last refresh of the tree, in the order they were added */
+	private LinkedHashSet<TestElement> fNeedAdd;
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -691,9 +696,15 @@ public class TestViewer {
 
 		} else {
 			Object[] toUpdate;
+			TestElement[] toAdd;
 			synchronized (this) {
 				toUpdate= fNeedUpdate.toArray();
 				fNeedUpdate.clear();
+				toAdd= fNeedAdd.toArray(new TestElement[fNeedAdd.size()]);
+				fNeedAdd.clear();
+			}
+			if (! fTreeNeedsRefresh && toAdd.length > 0) {
+				addElementsToTree(toAdd);
 			}
 			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
 				if (fTreeHasFilter)
@@ -722,6 +733,33 @@ public class TestViewer {
 		autoScrollInUI();
 	}
 
+	/**
+	 * Adds tests to the tree instead of refreshing the whole tree. The tests of a suite are added
+	 * together, and tests of suites whose items have not been created yet are left to the content
+	 * provider.
+	 *
+	 * @param toAdd the added tests, parents before their children
+	 */
+	private void addElementsToTree(TestElement[] toAdd) {
+		LinkedHashMap<TestSuiteElement, List<TestElement>> byParent= new LinkedHashMap<>();
+		for (TestElement element : toAdd) {
+			TestSuiteElement parent= element.getParent();
+			if (parent != null)
+				byParent.computeIfAbsent(parent, p -> new ArrayList<>()).add(element);
+		}
+		for (Map.Entry<TestSuiteElement, List<TestElement>> entry : byParent.entrySet()) {
+			TestSuiteElement parent= entry.getKey();
+			Object parentOrInput= parent instanceof TestRoot ? fTreeViewer.getInput() : parent;
+			if (parentOrInput == null)
+				continue;
+			List<TestElement> children= entry.getValue();
+			// the children of a suite expanded since they were added are already shown
+			children.removeIf(child -> fTreeViewer.testFindItem(child) != null);
+			if (!children.isEmpty())
+				fTreeViewer.add(parentOrInput, children.toArray());
+		}
+	}
+
 	private void updateElementInTree(final TestElement testElement) {
 		if (isShown(testElement)) {
 			updateShownElementInTree(testElement);
@@ -920,7 +958,12 @@ public class TestViewer {
 	}
 
 	private void clearUpdateAndExpansion() {
+		if (fNeedAdd != null && ! fNeedAdd.isEmpty()) {
+			// tests not yet added to the tree are only shown after a refresh
+			fTreeNeedsRefresh= true;
+		}
 		fNeedUpdate= new LinkedHashSet<>();
+		fNeedAdd= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
 	}
@@ -929,8 +972,9 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
+		// the tree adds the test to its parent, the flat list must keep the order of the tree
+		if (! fTreeNeedsRefresh)
+			fNeedAdd.add(testElement);
 		fTableNeedsRefresh= true;
 	}
 
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+/**
+ * Measures the time to update the folding structure of a compilation unit with 20000 lines
+ * after a statement has been added to or removed from a method body, and the time to compute
+ * the folding structure of that compilation unit from scratch.
+ */
+public class JavaFoldingUpdateTest extends TextPerformanceTestCase {
+
+	private static final Class<JavaFoldingUpdateTest> THIS= JavaFoldingUpdateTest.class;
+
+	private static final String TYPE_NAME= "FoldingUpdate";
+
+	private static final String FILE= "/" + PerformanceTestSetup.PROJECT + "/Eclipse SWT Custom Widgets/common/org/eclipse/swt/custom/" + TYPE_NAME + ".java";
+
+	private static final int LINES= 20000;
+
+	private static final int METHODS_PER_TYPE= 50;
+
+	private static final String STATEMENT= "\t\t\tc++;\n";
+
+	private static final int WARM_UP_RUNS= 4;
+
+	private static final int MEASURED_RUNS= 20;
+
+	private static final long TIMEOUT= 30000;
+
+	private JavaEditor fEditor;
+
+	/** The offset of a statement in the middle of the compilation unit */
+	private int fEditOffset;
+
+	private IElementChangedListener fStartListener;
+
+	private IElementChangedListener fStopListener;
+
+	/** The meter of the running measurement, started and stopped in the reconciler thread */
+	private volatile PerformanceMeter fMeter= getNullPerformanceMeter();
+
+	private volatile int fUpdateCount;
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		ResourceTestHelper.write(FILE, createSource());
+		EditorTestHelper.enableFolding(false);
+		fEditor= (JavaEditor) EditorTestHelper.openInEditor(ResourceTestHelper.findFile(FILE), EditorTestHelper.COMPILATION_UNIT_EDITOR_ID, true);
+		EditorTestHelper.joinBackgroundActivities(fEditor);
+
+		// the listeners are notified in the order they are added: the folding structure provider
+		// of the editor starts listening when folding gets enabled
+		fStartListener= event -> {
+			if (isFoldingUpdateEvent(event))
+				fMeter.start();
+		};
+		JavaCore.addElementChangedListener(fStartListener, ElementChangedEvent.POST_RECONCILE);
+		EditorTestHelper.enableFolding(true);
+		EditorTestHelper.runEventQueue(fEditor);
+		fStopListener= event -> {
+			if (isFoldingUpdateEvent(event)) {
+				fMeter.stop();
+				fUpdateCount++;
+			}
+		};
+		JavaCore.addElementChangedListener(fStopListener, ElementChangedEvent.POST_RECONCILE);
+
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		JavaCore.removeElementChangedListener(fStopListener);
+		JavaCore.removeElementChangedListener(fStartListener);
+		EditorTestHelper.closeAllEditors();
+		EditorTestHelper.resetFolding();
+		ResourceTestHelper.delete(FILE);
+	}
+
+	/**
+	 * Measures the time to update the folding structure after a method body has been changed.
+	 *
+	 * @throws Exception if the document could not be changed
+	 */
+	public void testUpdateFolding() throws Exception {
+		measureUpdateFolding(getNullPerformanceMeter(), getWarmUpRuns());
+		measureUpdateFolding(createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	/**
+	 * Measures the time to compute the folding structure of the whole compilation unit.
+	 */
+	public void testInitializeFolding() {
+		measureInitializeFolding(getNullPerformanceMeter(), getWarmUpRuns());
+		measureInitializeFolding(createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measureUpdateFolding(PerformanceMeter meter, int runs) throws BadLocationException {
+		IDocument document= EditorTestHelper.getDocument(fEditor);
+		fMeter= meter;
+		try {
+			for (int i= 0; i < runs; i++) {
+				final int count= fUpdateCount;
+				if (i % 2 == 0)
+					document.replace(fEditOffset, 0, STATEMENT);
+				else
+					document.replace(fEditOffset, STATEMENT.length(), "");
+
+				boolean updated= new DisplayHelper() {
+					@Override
+					protected boolean condition() {
+						return fUpdateCount > count;
+					}
+				}.waitForCondition(EditorTestHelper.getActiveDisplay(), TIMEOUT);
+				assertTrue("folding structure not updated", updated);
+			}
+		} finally {
+			fMeter= getNullPerformanceMeter();
+		}
+	}
+
+	private void measureInitializeFolding(PerformanceMeter meter, int runs) {
+		for (int i= 0; i < runs; i++) {
+			meter.start();
+			fEditor.resetProjection();
+			meter.stop();
+			EditorTestHelper.runEventQueue(fEditor);
+		}
+	}
+
+	private static boolean isFoldingUpdateEvent(ElementChangedEvent event) {
+		return (TYPE_NAME + ".java").equals(event.getDelta().getElement().getElementName());
+	}
+
+	/**
+	 * Creates a compilation unit with {@link #LINES} lines, whose methods are declared in nested
+	 * types, and remembers the offset of a statement in the middle.
+	 *
+	 * @return the source
+	 */
+	private String createSource() {
+		StringBuilder buf= new StringBuilder();
+		buf.append("/*\n");
+		buf.append(" * Header comment\n");
+		buf.append(" */\n");
+		buf.append("package org.eclipse.swt.custom;\n");
+		buf.append("\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("import java.util.List;\n");
+		buf.append("\n");
+		buf.append("public class " + TYPE_NAME + " {\n");
+		int lines= 9;
+		for (int type= 0; lines < LINES; type++) {
+			buf.append("\t/**\n");
+			buf.append("\t * Nested type " + type + ".\n");
+			buf.append("\t */\n");
+			buf.append("\tpublic static class Nested" + type + " {\n");
+			lines+= 4;
+			for (int method= 0; method < METHODS_PER_TYPE && lines < LINES; method++) {
+				buf.append("\t\t/**\n");
+				buf.append("\t\t * Returns the sum of the parameters.\n");
+				buf.append("\t\t */\n");
+				buf.append("\t\tpublic int method" + method + "(int a, int b) {\n");
+				buf.append("\t\t\tList<Integer> list= new ArrayList<>();\n");
+				buf.append("\t\t\tint c= a + b;\n");
+				if (fEditOffset == 0 && lines >= LINES / 2)
+					fEditOffset= buf.length();
+				buf.append("\t\t\treturn c + list.size();\n");
+				buf.append("\t\t}\n");
+				buf.append("\n");
+				lines+= 9;
+			}
+			buf.append("\t}\n");
+			buf.append("\n");
+			lines+= 2;
+		}
+		buf.append("}\n");
+		return buf.toString();
+	}
+}
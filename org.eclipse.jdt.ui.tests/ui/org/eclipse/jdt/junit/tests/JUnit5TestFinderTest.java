@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.StringAsserts;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.ITestFinder;
+import org.eclipse.jdt.internal.junit.launcher.ITestKind;
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+
+
+public class JUnit5TestFinderTest {
+
+	private IJavaProject fProject;
+	private IPackageFragmentRoot fRoot;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JUnitCore.JUNIT5_CONTAINER_PATH));
+		JavaProjectHelper.addRTJar18(fProject);
+		JavaProjectHelper.set18CompilerOptions(fProject);
+
+		fRoot= JavaProjectHelper.addSourceContainer(fProject, "src");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void testTestAnnotation() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("\n");
+		buf.append("public class MyTest {\n");
+		buf.append("    @Test public void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		IType validTest1= p.createCompilationUnit("MyTest.java", buf.toString(), false, null).findPrimaryType();
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class MySubTest extends MyTest {\n");
+		buf.append("}\n");
+		IType validTest2= p.createCompilationUnit("MySubTest.java", buf.toString(), false, null).findPrimaryType();
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class NoTest {\n");
+		buf.append("    @Deprecated public void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		IType invalidTest1= p.createCompilationUnit("NoTest.java", buf.toString(), false, null).findPrimaryType();
+
+		assertTestFound(validTest1, new String[] { "p.MyTest" });
+		assertTestFound(validTest2, new String[] { "p.MySubTest" });
+		assertTestFound(invalidTest1, new String[] {});
+
+		String[] validTests= { "p.MyTest", "p.MySubTest" };
+
+		assertTestFound(p, validTests);
+		assertTestFound(fRoot, validTests);
+		assertTestFound(fProject, validTests);
+	}
+
+	@Test
+	public void testTestInterface() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("\n");
+		buf.append("public interface TestInterface {\n");
+		buf.append("    @Test default void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		IType testInterface= p.createCompilationUnit("TestInterface.java", buf.toString(), false, null).findPrimaryType();
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class InterfaceTest implements TestInterface {\n");
+		buf.append("}\n");
+		IType validTest1= p.createCompilationUnit("InterfaceTest.java", buf.toString(), false, null).findPrimaryType();
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public interface SubInterface extends TestInterface {\n");
+		buf.append("}\n");
+		p.createCompilationUnit("SubInterface.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("\n");
+		buf.append("public class SubInterfaceTest implements SubInterface {\n");
+		buf.append("}\n");
+		IType validTest2= p.createCompilationUnit("SubInterfaceTest.java", buf.toString(), false, null).findPrimaryType();
+
+		assertTestFound(testInterface, new String[] {});
+		assertTestFound(validTest1, new String[] { "p.InterfaceTest" });
+		assertTestFound(validTest2, new String[] { "p.SubInterfaceTest" });
+
+		String[] validTests= { "p.InterfaceTest", "p.SubInterfaceTest" };
+
+		// twice, the second search uses the cached verdicts
+		assertTestFound(p, validTests);
+		assertTestFound(p, validTests);
+		assertTestFound(fRoot, validTests);
+		assertTestFound(fProject, validTests);
+	}
+
+	private void assertTestFound(IJavaElement container, String[] expectedTypes) throws CoreException {
+		ITestKind testKind= TestKindRegistry.getContainerTestKind(container);
+		assertEquals(TestKindRegistry.JUNIT5_TEST_KIND_ID, testKind.getId());
+
+		ITestFinder finder= testKind.getFinder();
+
+		if (container instanceof IType) {
+			IType type= (IType) container;
+			boolean isTest= expectedTypes.length == 1 && type.getFullyQualifiedName('.').equals(expectedTypes[0]);
+			assertEquals(type.getFullyQualifiedName(), isTest, finder.isTest(type));
+		}
+
+		HashSet<IType> set= new HashSet<>(Arrays.asList(JUnitCore.findTestTypes(container, null)));
+		HashSet<String> namesFound= new HashSet<>();
+		for (IType curr : set) {
+			namesFound.add(curr.getFullyQualifiedName('.'));
+		}
+		String[] actuals= namesFound.toArray(new String[namesFound.size()]);
+		StringAsserts.assertEqualStringsIgnoreOrder(actuals, expectedTypes);
+	}
+}
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageIds;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+/**
+ * Tests that the {@link RemoteTestRunnerClient} reports the same events for a test run sent with
+ * the binary protocol as with the text protocol, and that it keeps the text protocol for runners
+ * that do not switch.
+ */
+public class RemoteTestRunnerClientTest {
+
+	/**
+	 * More than one frame of the {@link BinaryMessageWriter}, and more than the initial frame buffer
+	 * of the client.
+	 */
+	private static final int TRACE_LINES= 5000;
+
+	private interface Runner {
+		void run(Socket socket, List<String> messages) throws IOException;
+	}
+
+	private static class RecordingListener implements ITestRunListener2 {
+		final List<String> fEvents= Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch fEnded= new CountDownLatch(1);
+
+		@Override
+		public void testRunStarted(int testCount) {
+			fEvents.add("testRunStarted " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			fEvents.add("testRunEnded " + elapsedTime);
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			fEvents.add("testRunStopped " + elapsedTime);
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			fEvents.add("testStarted " + testId + " " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fEvents.add("testEnded " + testId + " " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fEvents.add("testRunTerminated");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			fEvents.add("testTreeEntry " + description);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fEvents.add("testFailed " + status + " " + testId + " " + testName + "\n" + trace + "\n" + expected + "\n" + actual);
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			fEvents.add("testReran " + testId + " " + testClass + " " + testName + " " + status + "\n" + trace + "\n" + expected + "\n" + actual);
+		}
+	}
+
+	/**
+	 * @return the messages of a test run, as the RemoteTestRunner sends them with the text
+	 *         protocol
+	 */
+	private static List<String> createMessages() {
+		String suite= "pack.ÜberTest";
+		String testA= "testA(" + suite + ")";
+		String testUmlaut= "testÄ(" + suite + ")";
+		String testB= "testB(" + suite + ")";
+
+		List<String> messages= new ArrayList<>();
+		messages.add(MessageIds.TEST_RUN_START + "3 v2");
+		messages.add(MessageIds.TEST_TREE + "1," + suite + ",true,3,false,-1," + suite + ",,");
+		messages.add(MessageIds.TEST_TREE + "2," + testA + ",false,1,false,1,testA,,");
+		messages.add(MessageIds.TEST_TREE + "3," + testUmlaut + ",false,1,false,1,testÄ,,");
+		messages.add(MessageIds.TEST_TREE + "4," + testB + ",false,1,false,1,testB,,");
+
+		messages.add(MessageIds.TEST_START + "2," + testA);
+		messages.add(MessageIds.TEST_END + "2," + testA);
+
+		// a comparison failure with a long trace of multibyte characters
+		messages.add(MessageIds.TEST_START + "3," + testUmlaut);
+		messages.add(MessageIds.TEST_FAILED + "3," + testUmlaut);
+		messages.add(MessageIds.EXPECTED_START);
+		messages.add("ä");
+		messages.add("∑ 漢字 😀");
+		messages.add(MessageIds.EXPECTED_END);
+		messages.add(MessageIds.ACTUAL_START);
+		messages.add("ö");
+		messages.add(MessageIds.ACTUAL_END);
+		messages.add(MessageIds.TRACE_START);
+		messages.add("org.junit.ComparisonFailure: expected:<ä> but was:<ö>");
+		for (int i= 0; i < TRACE_LINES; i++)
+			messages.add("\tat " + suite + ".testÄ(ÜberTest.java:" + i + ") 漢字 😀");
+		messages.add(MessageIds.TRACE_END);
+		messages.add(MessageIds.TEST_END + "3," + testUmlaut);
+
+		messages.add(MessageIds.TEST_START + "4," + testB);
+		messages.add(MessageIds.TEST_ERROR + "4," + testB);
+		messages.add(MessageIds.TRACE_START);
+		messages.add("java.lang.IllegalStateException");
+		messages.add(MessageIds.TRACE_END);
+		messages.add(MessageIds.TEST_END + "4," + testB);
+
+		// test names are already in the string table of the binary protocol
+		messages.add(MessageIds.TEST_START + "5," + testA);
+		messages.add(MessageIds.TEST_END + "5," + testA);
+		messages.add(MessageIds.TEST_START + "6," + testB);
+		messages.add(MessageIds.TEST_END + "6," + testB);
+
+		// sent as text records
+		messages.add(MessageIds.RTRACE_START);
+		messages.add("java.lang.IllegalStateException: ä");
+		messages.add(MessageIds.RTRACE_END);
+		messages.add(MessageIds.TEST_RERAN + "4 " + suite + " testB ERROR");
+
+		messages.add(MessageIds.TEST_RUN_END + "1234");
+		return messages;
+	}
+
+	private static List<String> runClient(Runner runner) throws Exception {
+		int port= SocketUtil.findFreePort();
+		RecordingListener listener= new RecordingListener();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient();
+		client.startListening(new ITestRunListener2[] { listener }, port);
+		try (Socket socket= connect(port)) {
+			runner.run(socket, createMessages());
+		}
+		assertTrue("Test run has not ended", listener.fEnded.await(30, TimeUnit.SECONDS));
+		return new ArrayList<>(listener.fEvents);
+	}
+
+	private static Socket connect(int port) throws Exception {
+		for (int i= 0; i < 100; i++) {
+			try {
+				return new Socket(InetAddress.getLoopbackAddress(), port);
+			} catch (ConnectException e) {
+				// the client has not started listening yet
+				Thread.sleep(100);
+			}
+		}
+		throw new ConnectException("Cannot connect to port " + port);
+	}
+
+	private static PrintWriter createWriter(Socket socket) throws IOException {
+		return new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), false);
+	}
+
+	private static String readRequest(Socket socket) throws IOException {
+		BufferedReader reader= new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		return reader.readLine();
+	}
+
+	private static void sendText(PrintWriter writer, List<String> messages) {
+		for (String message : messages)
+			writer.println(message);
+		writer.flush();
+	}
+
+	/**
+	 * A runner that does not know the binary protocol and never reads the request.
+	 */
+	private static void runOldRunner(Socket socket, List<String> messages) throws IOException {
+		sendText(createWriter(socket), messages);
+	}
+
+	private static void runBinaryRunner(Socket socket, List<String> messages) throws IOException {
+		assertEquals(MessageIds.PROTOCOL_REQUEST + BinaryMessageIds.PROTOCOL_VERSION, readRequest(socket));
+		PrintWriter text= createWriter(socket);
+		text.println(MessageIds.PROTOCOL_SWITCH + BinaryMessageIds.PROTOCOL_VERSION);
+		text.flush();
+
+		BinaryMessageWriter writer= new BinaryMessageWriter(socket.getOutputStream());
+		for (int i= 0; i < messages.size(); i++) {
+			writer.sendMessage(messages.get(i));
+			// a frame boundary between the test tree and the tests
+			if (messages.get(i).startsWith(MessageIds.TEST_TREE) && !messages.get(i + 1).startsWith(MessageIds.TEST_TREE))
+				writer.flush();
+		}
+		writer.flush();
+		writer.close();
+	}
+
+	@Test
+	public void testBinaryProtocol() throws Exception {
+		List<String> expected= runClient(RemoteTestRunnerClientTest::runOldRunner);
+		List<String> actual= runClient(RemoteTestRunnerClientTest::runBinaryRunner);
+
+		assertEquals(expected.size(), actual.size());
+		for (int i= 0; i < expected.size(); i++)
+			assertEquals("Event " + i, expected.get(i), actual.get(i));
+	}
+
+	@Test
+	public void testTextProtocol() throws Exception {
+		List<String> events= runClient(RemoteTestRunnerClientTest::runOldRunner);
+
+		assertEquals(19, events.size());
+		assertEquals("testRunStarted 3", events.get(0));
+		assertEquals("testTreeEntry 1,pack.ÜberTest,true,3,false,-1,pack.ÜberTest,,", events.get(1));
+		String failure= events.get(8);
+		assertTrue(failure, failure.startsWith("testFailed " + ITestRunListener2.STATUS_FAILURE + " 3 testÄ(pack.ÜberTest)\norg.junit.ComparisonFailure"));
+		// event, exception, trace lines, end of trace, expected and actual lines
+		assertEquals(1 + 1 + TRACE_LINES + 1 + 2 + 1, failure.split("\n", -1).length);
+		assertTrue(failure, failure.endsWith(System.lineSeparator() + "\nä" + System.lineSeparator() + "∑ 漢字 😀\nö"));
+		assertTrue(events.get(11), events.get(11).startsWith("testFailed " + ITestRunListener2.STATUS_ERROR + " 4 testB(pack.ÜberTest)\n"));
+		assertTrue(events.get(17), events.get(17).startsWith("testReran 4 pack.ÜberTest testB " + ITestRunListener2.STATUS_ERROR + "\njava.lang.IllegalStateException: ä"));
+		assertEquals("testRunEnded 1234", events.get(18));
+	}
+
+	@Test
+	public void testRunnerWithOtherBinaryVersion() throws Exception {
+		List<String> expected= runClient(RemoteTestRunnerClientTest::runOldRunner);
+		List<String> actual= runClient((socket, messages) -> {
+			assertEquals(MessageIds.PROTOCOL_REQUEST + BinaryMessageIds.PROTOCOL_VERSION, readRequest(socket));
+			PrintWriter writer= createWriter(socket);
+			// not a version the client has requested, it stays with the text protocol
+			writer.println(MessageIds.PROTOCOL_SWITCH + (BinaryMessageIds.PROTOCOL_VERSION + 1));
+			sendText(writer, messages);
+		});
+
+		assertEquals(expected, actual);
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser.BatchStatistics;
+
+public class ASTBatchParserTest {
+
+	private static final long BUDGET= 1024 * 1024;
+
+	private IJavaProject fJProject;
+	private IPackageFragment fPack;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		JavaProjectHelper.addRTJar18(fJProject);
+		IPackageFragmentRoot src= JavaProjectHelper.addSourceContainer(fJProject, "src"); //$NON-NLS-1$
+		fPack= src.createPackageFragment("pack", true, null); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	@Test
+	public void testGrowsWhenParallelBatchIsFull() throws Exception {
+		// with a parallelism of 4, a batch is sized with a quarter of the shared budget
+		BatchStatistics statistics= new BatchStatistics(100, BUDGET / 4 - 1000, BUDGET / 4, 1000, 10);
+
+		assertEquals(BUDGET + BUDGET / 2, ASTBatchParser.adaptBudget(BUDGET, statistics));
+	}
+
+	@Test
+	public void testKeepsWhenBatchIsSmall() throws Exception {
+		BatchStatistics statistics= new BatchStatistics(3, 3000, BUDGET / 4, 1000, 10);
+
+		assertEquals(BUDGET, ASTBatchParser.adaptBudget(BUDGET, statistics));
+	}
+
+	@Test
+	public void testShrinksWhenGarbageCollectorIsBusy() throws Exception {
+		BatchStatistics statistics= new BatchStatistics(100, BUDGET / 4, BUDGET / 4, 1000, 500);
+
+		assertEquals(BUDGET / 2, ASTBatchParser.adaptBudget(BUDGET, statistics));
+	}
+
+	private ICompilationUnit[] createUnits(int count) throws Exception {
+		ICompilationUnit[] units= new ICompilationUnit[count];
+		for (int i= 0; i < count; i++) {
+			String name= "A" + i; //$NON-NLS-1$
+			units[i]= fPack.createCompilationUnit(name + ".java", "package pack;\npublic class " + name + " {\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return units;
+	}
+
+	@Test
+	public void testParallel() throws Exception {
+		int count= 20;
+		ICompilationUnit[] units= createUnits(count);
+
+		Set<ICompilationUnit> accepted= Collections.synchronizedSet(new HashSet<>());
+		ASTBatchParser parser= new ASTBatchParser();
+		parser.createASTs(units, new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				assertTrue("accepted twice: " + source.getElementName(), accepted.add(source)); //$NON-NLS-1$
+			}
+		}, 2, null);
+
+		assertEquals(count, accepted.size());
+		int parsed= 0;
+		for (BatchStatistics statistics : parser.getBatchStatistics()) {
+			assertTrue(statistics.toString(), statistics.getUnits() == 1 || statistics.getSourceBytes() <= statistics.getBudget());
+			parsed+= statistics.getUnits();
+		}
+		assertEquals(count, parsed);
+	}
+
+	@Test
+	public void testParallelFailure() throws Exception {
+		ICompilationUnit[] units= createUnits(20);
+
+		AtomicInteger accepted= new AtomicInteger();
+		ASTBatchParser parser= new ASTBatchParser();
+		try {
+			parser.createASTs(units, new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					if (accepted.incrementAndGet() == 1)
+						throw new IllegalStateException(source.getElementName());
+				}
+			}, 2, null);
+			fail();
+		} catch (IllegalStateException e) {
+			// the failure of the requestor, not the cancellation of the other batches
+		}
+
+		// the other batches have stopped before the failure was thrown
+		int count= accepted.get();
+		Thread.sleep(200);
+		assertEquals(count, accepted.get());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.After;
@@ -30,6 +31,7 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
@@ -113,6 +115,26 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedMethods, cachedCalls);
     }
 
+	@Test
+	public void callersAfterChange() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod4();
+
+        MethodWrapper wrapper= getSingleCallerRoot(method);
+        helper.assertCalls(new ArrayList<IMember>(), wrapper.getCalls(new NullProgressMonitor()));
+
+        ICompilationUnit cu= helper.getPackage2().createCompilationUnit("C.java",
+                "package pack2;\npublic class C {\n public void method5() { new B().method4(); }\n}\n", true, null);
+        IMethod method5= cu.getType("C").getMethod("method5", EMPTY);
+
+        Collection<IMember> expectedMethods= new ArrayList<>();
+        expectedMethods.add(method5);
+
+        MethodWrapper wrapper2= getSingleCallerRoot(method);
+        helper.assertCalls(expectedMethods, wrapper2.getCalls(new NullProgressMonitor()));
+    }
+
 	@Test
 	public void callees() throws Exception {
         helper.createSimpleClasses();
@@ -413,6 +435,38 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedCallers, callers);
     }
 
+	/**
+	 * Tests the callers of an instance initializer of an anonymous class.
+	 * @throws Exception
+	 */
+	@Test
+	public void anonymousInitializerCallers() throws Exception {
+        helper.createSimpleClasses();
+
+        ICompilationUnit cu= helper.getPackage1().createCompilationUnit("AnonymousInit.java",
+                "package pack1;\n" +
+                "public class AnonymousInit {\n" +
+                "  void someMethod() {\n" +
+                "  }\n" +
+                "  void creator() {\n" +
+                "    new Object() {\n" +
+                "      { someMethod(); }\n" +
+                "    };\n" +
+                "  }\n" +
+                "}\n", true, null);
+        IType type= cu.getType("AnonymousInit");
+        IMethod someMethod= type.getMethod("someMethod", EMPTY);
+        IMethod creator= type.getMethod("creator", EMPTY);
+        IInitializer initializer= creator.getType("", 1).getInitializer(1);
+
+        MethodWrapper wrapper= getSingleCallerRoot(someMethod);
+        MethodWrapper[] callers= wrapper.getCalls(new NullProgressMonitor());
+        helper.assertCalls(Collections.singletonList(initializer), callers);
+
+        MethodWrapper[] initializerCallers= callers[0].getCalls(new NullProgressMonitor());
+        helper.assertCalls(Collections.singletonList(creator), initializerCallers);
+    }
+
 	@Test
 	public void implicitConstructorCallers() throws Exception {
         helper.createSimpleClasses();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import org.eclipse.jdt.ui.tests.core.source.SourceActionTests;
 AddImportTest.class,
 SourceActionTests.class,
 ASTNodesInsertTest.class,
+ASTBatchParserTest.class,
 BindingsHierarchyTest.class,
 BindingsNameTest.class,
 CallHierarchyTest.class,
@@ -45,6 +46,7 @@ MethodOverrideTest1d8.class,
 NameProposerTest.class,
 OverrideTest.class,
 PartialASTTest.class,
+ReferenceSearchCacheTest.class,
 ScopeAnalyzerTest.class,
 TemplateStoreTest.class,
 TypeHierarchyTest.class,
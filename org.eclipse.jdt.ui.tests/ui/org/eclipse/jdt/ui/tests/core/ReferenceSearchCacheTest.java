@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.corext.util.ReferenceSearchCache;
+
+/**
+ * Tests that the results of a {@link ReferenceSearchCache} are discarded exactly when a change may
+ * affect them.
+ */
+public class ReferenceSearchCacheTest {
+
+	private IJavaProject fJProject;
+	private IPackageFragment fPack;
+	private ICompilationUnit fCaller;
+
+	private ReferenceSearchCache<String, Integer> fCache;
+	private IElementChangedListener fListener;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		IPackageFragmentRoot src= JavaProjectHelper.addSourceContainer(fJProject, "src"); //$NON-NLS-1$
+		fPack= src.createPackageFragment("pack", true, null); //$NON-NLS-1$
+		fPack.createCompilationUnit("A.java", "package pack;\npublic class A {\n\tpublic void foo() {}\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+		fCaller= fPack.createCompilationUnit("B.java", "package pack;\npublic class B {\n\tvoid bar(A a) { a.foo(); }\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+		fPack.createCompilationUnit("C.java", "package pack;\npublic class C {\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+		fCache= new ReferenceSearchCache<>(10);
+		fListener= (ElementChangedEvent event) -> fCache.elementChanged(event.getDelta());
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaCore.removeElementChangedListener(fListener);
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	private void putFoo() {
+		fCache.put("foo", Integer.valueOf(1), "foo", Collections.singleton(fCaller), fCache.getGeneration()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Integer.valueOf(1), fCache.get("foo")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testUnrelatedChange() throws Exception {
+		putFoo();
+		fPack.createCompilationUnit("C.java", "package pack;\npublic class C {\n\tint fCount;\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+		assertEquals(Integer.valueOf(1), fCache.get("foo")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testChangeMentioningName() throws Exception {
+		putFoo();
+		fPack.createCompilationUnit("C.java", "package pack;\npublic class C {\n\tvoid bar(A a) { a.foo(); }\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+		assertFalse(fCache.containsKey("foo")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testChangeOfReferencingUnit() throws Exception {
+		putFoo();
+		fPack.createCompilationUnit("B.java", "package pack;\npublic class B {\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+		assertFalse(fCache.containsKey("foo")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testClasspathChange() throws Exception {
+		putFoo();
+		JavaProjectHelper.addSourceContainer(fJProject, "src2"); //$NON-NLS-1$
+
+		assertFalse(fCache.containsKey("foo")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testStaleResult() throws Exception {
+		long generation= fCache.getGeneration();
+		// a change while the search is running
+		fPack.createCompilationUnit("C.java", "package pack;\npublic class C {\n\tint fCount;\n}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+		Set<ICompilationUnit> units= Collections.singleton(fCaller);
+		fCache.put("foo", Integer.valueOf(1), "foo", units, generation); //$NON-NLS-1$ //$NON-NLS-2$
+
+		assertFalse(fCache.containsKey("foo")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemoveIf() throws Exception {
+		putFoo();
+		fCache.put("bar", Integer.valueOf(2), "bar", Collections.emptySet(), fCache.getGeneration()); //$NON-NLS-1$ //$NON-NLS-2$
+		fCache.removeIf(key -> key.startsWith("f")); //$NON-NLS-1$
+
+		assertFalse(fCache.containsKey("foo")); //$NON-NLS-1$
+		assertTrue(fCache.containsKey("bar")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testNameReader() throws Exception {
+		ReferenceSearchCache.NameReader reader= new ReferenceSearchCache.NameReader();
+		int offset= fCaller.getSource().indexOf("foo()"); //$NON-NLS-1$
+
+		assertEquals("foo", reader.getNameAt(fCaller, offset, 5)); //$NON-NLS-1$
+		assertEquals("fo", reader.getNameAt(fCaller, offset, 2)); //$NON-NLS-1$
+		assertNull(reader.getNameAt(fCaller, offset + 3, 2));
+		assertNull(reader.getNameAt(fCaller, -1, 3));
+	}
+}
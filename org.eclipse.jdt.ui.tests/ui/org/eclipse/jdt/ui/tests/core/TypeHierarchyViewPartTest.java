@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,13 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.After;
@@ -26,6 +30,9 @@ import org.junit.Test;
 
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.ui.IWorkbenchWindow;
 
@@ -34,11 +41,14 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
 import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyViewPart;
 import org.eclipse.jdt.internal.ui.util.OpenTypeHierarchyUtil;
 
@@ -105,4 +115,40 @@ public class TypeHierarchyViewPartTest {
 		viewPart.setInputElements(javaElements2);
 		assertEquals("Wrong fourth history entry number ", 3, viewPart.getHistoryEntries().size());
     }
+
+	@Test
+	public void testIncrementalHierarchyUpdate() throws Exception {
+		IType testCase= fJProject1.findType("junit.framework.TestCase");
+		TypeHierarchyViewPart viewPart= OpenTypeHierarchyUtil.open(testCase, JavaPlugin.getActiveWorkbenchWindow());
+		TypeHierarchyLifeCycle lifeCycle= viewPart.getTypeHierarchyLifeCycle();
+		new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !lifeCycle.isRefreshJobRunning();
+			}
+		}.waitForCondition(Display.getCurrent(), 30 * 1000);
+		ITypeHierarchy hierarchy= lifeCycle.getHierarchy();
+
+		String str= "package junit.framework;\n" +
+				"\n" +
+				"public class MyTest extends TestCase {\n" +
+				"    Runnable runnable= new Runnable() {\n" +
+				"        public void run() {\n" +
+				"        }\n" +
+				"    };\n" +
+				"}\n";
+		ICompilationUnit cu= testCase.getPackageFragment().createCompilationUnit("MyTest.java", str, true, null);
+		IType myTest= cu.getType("MyTest");
+
+		// the new sub type is added without refreshing the hierarchy
+		assertSame(hierarchy, lifeCycle.getHierarchy());
+		assertTrue(hierarchy.contains(myTest));
+		assertEquals(testCase, hierarchy.getSuperclass(myTest));
+		assertTrue(Arrays.asList(hierarchy.getSubclasses(testCase)).contains(myTest));
+		assertFalse(hierarchy.contains(myTest.getField("runnable").getType("", 1)));
+
+		cu.delete(true, null);
+		assertFalse(hierarchy.contains(myTest));
+		assertFalse(Arrays.asList(hierarchy.getSubclasses(testCase)).contains(myTest));
+	}
 }
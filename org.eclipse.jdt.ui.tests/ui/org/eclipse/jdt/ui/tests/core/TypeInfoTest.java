@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.After;
@@ -33,6 +34,7 @@ import org.eclipse.jdt.testplugin.JavaTestPlugin;
 import org.eclipse.jdt.testplugin.StringAsserts;
 
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
@@ -49,6 +51,7 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -223,6 +226,40 @@ public class TypeInfoTest {
 		assertNotEquals(type1, type2);
 	}
 
+	@Test
+	public void testTypeNameIndex() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("com.oti", true, null);
+		ICompilationUnit cu1= pack1.getCompilationUnit("V.java");
+		cu1.createType("public class V {\n static class VInner {\n}\n}\n", null, true, null);
+
+		TypeNameIndex index= TypeNameIndex.getDefault();
+		assertEquals(List.of("com.oti.V", "com.oti.V.VInner"), searchIndex(index, "com.oti.V"));
+		assertEquals(List.of("com.oti.V.VInner"), searchIndex(index, "com.oti.VI"));
+		assertEquals(List.of("com.oti.V"), searchIndex(index, "com.oti.V<"));
+		assertEquals(List.of("com.oti.V.VInner"), searchIndex(index, "com.oti.*Inner"));
+
+		// changes of compilation units are applied without building the index again
+		ICompilationUnit cu2= pack1.getCompilationUnit("VectorUtil.java");
+		cu2.createType("public class VectorUtil {\n}\n", null, true, null);
+		assertEquals(List.of("com.oti.V", "com.oti.V.VInner", "com.oti.VectorUtil"), searchIndex(index, "com.oti.V"));
+
+		cu1.delete(true, null);
+		assertEquals(List.of("com.oti.VectorUtil"), searchIndex(index, "com.oti.V"));
+	}
+
+	private static List<String> searchIndex(TypeNameIndex index, String pattern) throws Exception {
+		TypeInfoFilter filter= new TypeInfoFilter(pattern, SearchEngine.createWorkspaceScope(), IJavaSearchConstants.TYPE, null);
+		List<String> result= new ArrayList<>();
+		for (int i= 0; !index.search(filter, match -> result.add(match.getFullyQualifiedName()), null); i++) {
+			assertTrue("type name index not available", i < 100);
+			Job.getJobManager().join(TypeNameIndex.FAMILY, null);
+			Thread.sleep(100);
+		}
+		Collections.sort(result);
+		return result;
+	}
+
 	@Test
 	public void testSimplifySearchText() {
 		// simple filename:
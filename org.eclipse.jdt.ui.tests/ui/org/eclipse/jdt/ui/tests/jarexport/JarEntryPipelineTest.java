@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.jarexport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.jarpackager.JarEntryPipeline;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.jarpackager.JarPackageData;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.JarWriter4;
+
+/**
+ * Tests that the {@link JarEntryPipeline} writes the same entries as the {@link JarWriter4}: in
+ * the same order, with the same compression method, content and modification times.
+ */
+public class JarEntryPipelineTest {
+
+	/**
+	 * Modification time of the source files, an even number of seconds as zip entries only keep
+	 * these.
+	 */
+	private static final long SOURCE_TIME= 1577836800000L;
+
+	/**
+	 * Precision of the modification time of a zip entry.
+	 */
+	private static final long TIME_PRECISION= 2000;
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	@Rule
+	public TemporaryFolder fTemporaryFolder= new TemporaryFolder();
+
+	private IJavaProject fProject;
+	private IFile fResource;
+	private File fFile;
+	private File fArchive;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= pts.getProject();
+		IProject project= fProject.getProject();
+
+		IFolder folderA= project.getFolder("a");
+		folderA.create(true, true, null);
+		IFolder folderB= folderA.getFolder("b");
+		folderB.create(true, true, null);
+		fResource= folderB.getFile("c.txt");
+		fResource.create(new ByteArrayInputStream("resource".getBytes(StandardCharsets.UTF_8)), true, null);
+		fResource.setLocalTimeStamp(SOURCE_TIME);
+		folderB.setLocalTimeStamp(SOURCE_TIME);
+
+		fFile= fTemporaryFolder.newFile("e.txt");
+		Files.write(fFile.toPath(), "file".getBytes(StandardCharsets.UTF_8));
+		assertTrue(fFile.setLastModified(SOURCE_TIME));
+
+		fArchive= fTemporaryFolder.newFile("lib.zip");
+		try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(fArchive))) {
+			out.putNextEntry(new ZipEntry("lib/x/deflated.txt"));
+			out.write("deflated".getBytes(StandardCharsets.UTF_8));
+
+			byte[] stored= "stored".getBytes(StandardCharsets.UTF_8);
+			CRC32 crc= new CRC32();
+			crc.update(stored);
+			ZipEntry entry= new ZipEntry("lib/x/stored.bin");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(stored.length);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(stored);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fProject, pts.getDefaultClasspath());
+	}
+
+	private JarPackageData createJarPackageData(String name, boolean compressed) {
+		JarPackageData data= new JarPackageData();
+		data.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(name + ".jar"));
+		data.setElements(new Object[] { fResource });
+		data.setExportClassFiles(true);
+		data.setOverwrite(true);
+		data.setIncludeDirectoryEntries(true);
+		data.setCompress(compressed);
+		return data;
+	}
+
+	private static Shell getShell() {
+		return PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell();
+	}
+
+	private File writeWithJarWriter(boolean compressed) throws Exception {
+		JarPackageData data= createJarPackageData("writer", compressed);
+		JarWriter4 writer= new JarWriter4(data, getShell());
+		try {
+			writer.write(fResource, new Path("a/b/c.txt"));
+			writer.write(fFile, new Path("d/e.txt"));
+			try (ZipFile zipFile= new ZipFile(fArchive)) {
+				for (Enumeration<? extends ZipEntry> entries= zipFile.entries(); entries.hasMoreElements();) {
+					ZipEntry entry= entries.nextElement();
+					writer.addZipEntry(entry, zipFile, entry.getName());
+				}
+			}
+		} finally {
+			writer.close();
+		}
+		return data.getAbsoluteJarLocation().toFile();
+	}
+
+	private File writeWithPipeline(boolean compressed) throws Exception {
+		JarPackageData data= createJarPackageData("pipeline", compressed);
+		JarWriter4 writer= new JarWriter4(data, getShell());
+		try {
+			JarEntryPipeline pipeline= new JarEntryPipeline(writer.getJarOutputStream(), writer.getDirectories(), true, compressed);
+			JarPackagerUtil.addEntry(pipeline, fResource, new Path("a/b/c.txt"));
+			JarPackagerUtil.addEntry(pipeline, fFile, new Path("d/e.txt"));
+			MultiStatus status= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.OK, "", null);
+			try (ZipFile zipFile= new ZipFile(fArchive)) {
+				pipeline.writeArchive(zipFile, status, new NullProgressMonitor());
+			}
+			pipeline.close();
+			assertTrue(status.toString(), status.isOK());
+		} finally {
+			writer.close();
+		}
+		return data.getAbsoluteJarLocation().toFile();
+	}
+
+	private static List<ZipEntry> getEntries(File jar) throws Exception {
+		List<ZipEntry> result= new ArrayList<>();
+		try (ZipFile zipFile= new ZipFile(jar)) {
+			for (Enumeration<? extends ZipEntry> entries= zipFile.entries(); entries.hasMoreElements();)
+				result.add(entries.nextElement());
+		}
+		return result;
+	}
+
+	private void assertSameEntries(boolean compressed) throws Exception {
+		long start= System.currentTimeMillis() - TIME_PRECISION;
+		List<ZipEntry> expected= getEntries(writeWithJarWriter(compressed));
+		List<ZipEntry> actual= getEntries(writeWithPipeline(compressed));
+		long end= System.currentTimeMillis() + TIME_PRECISION;
+
+		List<String> expectedNames= new ArrayList<>();
+		for (ZipEntry entry : expected)
+			expectedNames.add(entry.getName());
+		List<String> actualNames= new ArrayList<>();
+		for (ZipEntry entry : actual)
+			actualNames.add(entry.getName());
+		assertEquals(List.of("META-INF/MANIFEST.MF", "a/", "a/b/", "a/b/c.txt", "d/", "d/e.txt", "lib/", "lib/x/", "lib/x/deflated.txt", "lib/x/stored.bin"), expectedNames);
+		assertEquals(expectedNames, actualNames);
+
+		for (int i= 0; i < expected.size(); i++) {
+			ZipEntry expectedEntry= expected.get(i);
+			ZipEntry actualEntry= actual.get(i);
+			String name= expectedEntry.getName();
+			assertEquals(name, expectedEntry.getMethod(), actualEntry.getMethod());
+			assertEquals(name, expectedEntry.getCrc(), actualEntry.getCrc());
+			assertEquals(name, expectedEntry.getSize(), actualEntry.getSize());
+			if (expectedEntry.getTime() < start) {
+				// the time of the source file or folder
+				assertEquals(name, expectedEntry.getTime(), actualEntry.getTime());
+			} else {
+				// the time at which the entry has been written
+				long time= actualEntry.getTime();
+				assertTrue(name + ": " + time, start <= time && time <= end);
+			}
+		}
+	}
+
+	@Test
+	public void compressed() throws Exception {
+		assertSameEntries(true);
+
+		for (ZipEntry entry : getEntries(writeWithPipeline(true))) {
+			if (!entry.isDirectory())
+				assertEquals(entry.getName(), ZipEntry.DEFLATED, entry.getMethod());
+		}
+	}
+
+	@Test
+	public void uncompressed() throws Exception {
+		assertSameEntries(false);
+
+		for (ZipEntry entry : getEntries(writeWithPipeline(false)))
+			assertEquals(entry.getName(), ZipEntry.STORED, entry.getMethod());
+	}
+
+	@Test
+	public void sourceTimes() throws Exception {
+		List<ZipEntry> entries= getEntries(writeWithPipeline(true));
+		// the directories of a resource get the time of its folder
+		assertEquals(SOURCE_TIME, entries.get(1).getTime());
+		assertEquals(SOURCE_TIME, entries.get(2).getTime());
+		assertEquals(SOURCE_TIME, entries.get(3).getTime());
+		assertEquals(SOURCE_TIME, entries.get(5).getTime());
+	}
+}
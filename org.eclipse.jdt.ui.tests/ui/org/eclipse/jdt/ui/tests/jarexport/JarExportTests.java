@@ -20,7 +20,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	PlainJarExportTests.class,
-	FatJarExportTests.class
+	FatJarExportTests.class,
+	JarEntryPipelineTest.class
 })
 public class JarExportTests {
 }
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.packageview;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerContentProvider;
+
+/**
+ * Tests that the viewer updates of the PackageExplorerContentProvider are merged without
+ * changing their outcome.
+ */
+public class ContentProviderTests8 {
+
+	private static class TestContentProvider extends PackageExplorerContentProvider {
+
+		private final List<Runnable> fUpdates= new ArrayList<>();
+
+		TestContentProvider() {
+			super(false);
+			setIsFlatLayout(true);
+		}
+
+		void add(Object parent, Object element) {
+			postAdd(parent, element, fUpdates);
+		}
+
+		void remove(Object element) {
+			postRemove(element, fUpdates);
+		}
+
+		void runUpdates() {
+			executeRunnables(new ArrayList<>(fUpdates));
+			fUpdates.clear();
+			runPendingUpdates();
+		}
+	}
+
+	private IJavaProject fJProject;
+	private IPackageFragment fPack;
+	private ICompilationUnit fCu;
+
+	private Shell fShell;
+	private TreeViewer fViewer;
+	private TestContentProvider fProvider;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		IPackageFragmentRoot src= JavaProjectHelper.addSourceContainer(fJProject, "src"); //$NON-NLS-1$
+		fPack= src.createPackageFragment("pack", true, null); //$NON-NLS-1$
+		fCu= fPack.createCompilationUnit("A.java", "package pack;\npublic class A {}\n", true, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+		fShell= new Shell();
+		fViewer= new TreeViewer(fShell);
+		fProvider= new TestContentProvider();
+		fViewer.setContentProvider(fProvider);
+		fViewer.setLabelProvider(new LabelProvider());
+		fViewer.setInput(fJProject);
+		fProvider.runPendingUpdates();
+		fViewer.expandAll();
+		assertNotNull(fViewer.testFindItem(fCu));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fViewer.setInput(null);
+		fShell.dispose();
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	@Test
+	public void testAddRemoveAdd() throws Exception {
+		fProvider.add(fPack, fCu);
+		fProvider.remove(fCu);
+		fProvider.add(fPack, fCu);
+		fProvider.runUpdates();
+
+		assertNotNull("element removed", fViewer.testFindItem(fCu)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemoveAddRemove() throws Exception {
+		fProvider.remove(fCu);
+		fProvider.add(fPack, fCu);
+		fProvider.remove(fCu);
+		fProvider.runUpdates();
+
+		assertNull("element not removed", fViewer.testFindItem(fCu)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemoveAddTwice() throws Exception {
+		fProvider.remove(fCu);
+		fProvider.add(fPack, fCu);
+		fProvider.remove(fCu);
+		fProvider.add(fPack, fCu);
+		fProvider.runUpdates();
+
+		assertNotNull("element removed", fViewer.testFindItem(fCu)); //$NON-NLS-1$
+	}
+}
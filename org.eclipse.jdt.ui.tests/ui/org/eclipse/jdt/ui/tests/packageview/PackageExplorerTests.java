@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import org.junit.runners.Suite;
 	ContentProviderTests5.class,
 	ContentProviderTests6.class,
 	ContentProviderTests7.class,
+	ContentProviderTests8.class,
 	PackageExplorerShowInTests.class,
 	WorkingSetDropAdapterTest.class,
 	HierarchicalContentProviderTests.class,
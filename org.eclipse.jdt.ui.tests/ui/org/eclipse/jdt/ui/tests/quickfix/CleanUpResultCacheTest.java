@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpResultCache;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Tests the keys of the {@link CleanUpResultCache} and that they change with everything a clean up
+ * result depends on.
+ */
+public class CleanUpResultCacheTest {
+
+	private IJavaProject fJProject;
+	private IPackageFragmentRoot fSourceFolder;
+	private ICompilationUnit fCu;
+
+	private ICleanUp[] fCleanUps;
+	private Map<String, String> fOptions;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fJProject, "src"); //$NON-NLS-1$
+		IPackageFragment pack= fSourceFolder.createPackageFragment("test1", false, null); //$NON-NLS-1$
+		fCu= pack.createCompilationUnit("E.java", "package test1;\npublic class E {\n}\n", false, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+		fCleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		fOptions= new HashMap<>();
+		fOptions.put(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS, CleanUpOptions.TRUE);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	private String computeKey() throws Exception {
+		return CleanUpResultCache.computeKey(CleanUpResultCache.computeOptionsKey(fJProject, fCleanUps, fOptions), fCu);
+	}
+
+	@Test
+	public void testSameKey() throws Exception {
+		byte[] optionsKey= CleanUpResultCache.computeOptionsKey(fJProject, fCleanUps, fOptions);
+		// the order of the options does not matter
+		Map<String, String> options= new HashMap<>();
+		options.put(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS, CleanUpOptions.TRUE);
+		assertArrayEquals(optionsKey, CleanUpResultCache.computeOptionsKey(fJProject, fCleanUps, options));
+
+		assertEquals(computeKey(), computeKey());
+	}
+
+	@Test
+	public void testSourceChange() throws Exception {
+		String key= computeKey();
+		fCu.getBuffer().setContents("package test1;\npublic class E {\n\tint i;\n}\n"); //$NON-NLS-1$
+		fCu.save(null, true);
+
+		assertNotEquals(key, computeKey());
+	}
+
+	@Test
+	public void testCleanUpOptionsChange() throws Exception {
+		String key= computeKey();
+		fOptions.put(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS, CleanUpOptions.FALSE);
+
+		assertNotEquals(key, computeKey());
+	}
+
+	@Test
+	public void testCleanUpsChange() throws Exception {
+		String key= computeKey();
+		fCleanUps= Arrays.copyOf(fCleanUps, fCleanUps.length - 1);
+
+		assertNotEquals(key, computeKey());
+	}
+
+	@Test
+	public void testCompilerOptionsChange() throws Exception {
+		String key= computeKey();
+		Map<String, String> options= fJProject.getOptions(false);
+		options.put(JavaCore.COMPILER_PB_UNUSED_LOCAL, JavaCore.ERROR);
+		fJProject.setOptions(options);
+
+		assertNotEquals(key, computeKey());
+	}
+
+	@Test
+	public void testClasspathChange() throws Exception {
+		String key= computeKey();
+		JavaProjectHelper.addSourceContainer(fJProject, "src2"); //$NON-NLS-1$
+
+		assertNotEquals(key, computeKey());
+	}
+
+	@Test
+	public void testUnchanged() throws Exception {
+		String key= computeKey();
+		CleanUpResultCache cache= CleanUpResultCache.getDefault();
+		assertFalse(cache.isUnchanged(key));
+		cache.putUnchanged(key);
+		assertTrue(cache.isUnchanged(key));
+
+		// restored from the state location
+		CleanUpResultCache.shutdown();
+		assertTrue(CleanUpResultCache.getDefault().isUnchanged(key));
+
+		fCu.getBuffer().setContents("package test1;\npublic class E {\n\tint i;\n}\n"); //$NON-NLS-1$
+		fCu.save(null, true);
+		assertFalse(CleanUpResultCache.getDefault().isUnchanged(computeKey()));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,17 @@
 package org.eclipse.jdt.ui.tests.quickfix;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,6 +35,7 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
@@ -45,12 +51,63 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+import org.eclipse.jdt.internal.corext.fix.IThreadSafeCleanUp;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 
 import org.eclipse.jdt.ui.JavaElementLabels;
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 public class CleanUpStressTest extends CleanUpTestCase {
 
+	/**
+	 * Records the threads the fixes are created in, without changing anything.
+	 */
+	private static class ThreadRecordingCleanUp implements ICleanUp {
+		final Set<Thread> fThreads= Collections.synchronizedSet(new HashSet<>());
+
+		@Override
+		public void setOptions(CleanUpOptions options) {
+		}
+
+		@Override
+		public String[] getStepDescriptions() {
+			return new String[0];
+		}
+
+		@Override
+		public CleanUpRequirements getRequirements() {
+			return new CleanUpRequirements(true, false, false, null);
+		}
+
+		@Override
+		public RefactoringStatus checkPreConditions(IJavaProject project, ICompilationUnit[] compilationUnits, IProgressMonitor monitor) {
+			return new RefactoringStatus();
+		}
+
+		@Override
+		public ICleanUpFix createFix(CleanUpContext context) {
+			fThreads.add(Thread.currentThread());
+			return null;
+		}
+
+		@Override
+		public RefactoringStatus checkPostConditions(IProgressMonitor monitor) {
+			return new RefactoringStatus();
+		}
+	}
+
+	private static class ThreadSafeRecordingCleanUp extends ThreadRecordingCleanUp implements IThreadSafeCleanUp {
+	}
+
 	@Rule
     public ProjectTestSetup projectSetup = new ProjectTestSetup();
 
@@ -5243,6 +5300,57 @@ public class CleanUpStressTest extends CleanUpTestCase {
 
 	@Test
 	public void testAllCleanUps() throws Exception {
+		ICompilationUnit[] units= enableAllCleanUps();
+		performRefactoring(units, null);
+
+		assertExpectedChanges(units);
+	}
+
+	@Test
+	public void testAllCleanUpsInParallel() throws Exception {
+		ICompilationUnit[] units= enableAllCleanUps();
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setParallelism(4);
+		performRefactoring(ref, units, JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps(), null);
+
+		assertExpectedChanges(units);
+	}
+
+	@Test
+	public void testNotThreadSafeCleanUpInParallel() throws Exception {
+		List<IJavaElement> cus= new ArrayList<>();
+		addAllCUs(getProject().getChildren(), cus);
+		ICompilationUnit[] units= cus.toArray(new ICompilationUnit[cus.size()]);
+
+		ThreadRecordingCleanUp notThreadSafe= new ThreadRecordingCleanUp();
+		ThreadRecordingCleanUp threadSafe= new ThreadSafeRecordingCleanUp();
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setParallelism(4);
+		performRefactoring(ref, units, new ICleanUp[] { threadSafe, notThreadSafe }, null);
+
+		// one clean up which is not thread safe keeps all fixes in the calling thread
+		assertEquals(Collections.singleton(Thread.currentThread()), notThreadSafe.fThreads);
+		assertEquals(Collections.singleton(Thread.currentThread()), threadSafe.fThreads);
+	}
+
+	@Test
+	public void testThreadSafeCleanUpInParallel() throws Exception {
+		List<IJavaElement> cus= new ArrayList<>();
+		addAllCUs(getProject().getChildren(), cus);
+		ICompilationUnit[] units= cus.toArray(new ICompilationUnit[cus.size()]);
+
+		ThreadRecordingCleanUp threadSafe= new ThreadSafeRecordingCleanUp();
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setParallelism(4);
+		performRefactoring(ref, units, new ICleanUp[] { threadSafe }, null);
+
+		assertFalse(threadSafe.fThreads.isEmpty());
+		assertTrue(threadSafe.fThreads.size() <= 4);
+		assertFalse(threadSafe.fThreads.contains(Thread.currentThread()));
+	}
+
+	private ICompilationUnit[] enableAllCleanUps() throws CoreException {
 		List<IJavaElement> cus= new ArrayList<>();
 		addAllCUs(getProject().getChildren(), cus);
 
@@ -5299,10 +5407,10 @@ public class CleanUpStressTest extends CleanUpTestCase {
 		enable(CleanUpConstants.REMOVE_REDUNDANT_MODIFIERS);
 		enable(CleanUpConstants.REMOVE_REDUNDANT_SEMICOLONS);
 
-		ICompilationUnit[] units= cus.toArray(new ICompilationUnit[cus.size()]);
-		performRefactoring(units, null);
-
+		return cus.toArray(new ICompilationUnit[cus.size()]);
+	}
 
+	private void assertExpectedChanges(ICompilationUnit[] units) throws JavaModelException {
 //		generateTable(units);
 		for (ICompilationUnit cu : units) {
 			String previewContent= getNormalizedContent(new Document(cu.getBuffer().getContents()));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2021 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,7 +36,9 @@ import org.junit.runners.Suite;
 	CleanUpAnnotationTest.class,
 	SaveParticipantTest.class,
 	CleanUpActionTest.class,
-	NullAnnotationsCleanUpTest1d8.class
+	NullAnnotationsCleanUpTest1d8.class,
+	CleanUpResultCacheTest.class,
+	TypeNameMatchIndexTest.class
 })
 public class CleanUpTestCaseSuite {
 }
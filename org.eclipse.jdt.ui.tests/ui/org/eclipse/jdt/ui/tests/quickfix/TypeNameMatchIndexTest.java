@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.util.TypeNameMatchIndex;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+/**
+ * Tests that the compilation units of a clean up share the type name search of their project.
+ */
+public class TypeNameMatchIndexTest extends CleanUpTestCase {
+
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	@Override
+	protected IJavaProject getProject() {
+		return projectSetup.getProject();
+	}
+
+	@Override
+	protected IClasspathEntry[] getDefaultClasspath() throws CoreException {
+		return projectSetup.getDefaultClasspath();
+	}
+
+	private IPackageFragment createTypes() throws Exception {
+		IPackageFragment pack2= fSourceFolder.createPackageFragment("test2", false, null);
+		pack2.createCompilationUnit("Foo.java", "package test2;\npublic class Foo {}\n", false, null);
+		pack2.createCompilationUnit("Bar.java", "package test2;\npublic class Bar {}\n", false, null);
+		return pack2;
+	}
+
+	private List<TypeNameMatch> findTypes(TypeNameMatchIndex index, String simpleName) throws Exception {
+		List<TypeNameMatch> result= new ArrayList<>();
+		index.findTypes(getProject(), false, Collections.singleton(simpleName), result, null);
+		return result;
+	}
+
+	@Test
+	public void testOrganizeImportsOfTwoUnits() throws Exception {
+		createTypes();
+
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String sample= "" //
+				+ "package test1;\n" //
+				+ "public class E1 {\n" //
+				+ "    ArrayList<Foo> foos;\n" //
+				+ "}\n";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", sample, false, null);
+
+		sample= "" //
+				+ "package test1;\n" //
+				+ "public class E2 {\n" //
+				+ "    Foo foo;\n" //
+				+ "    Bar bar;\n" //
+				+ "}\n";
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", sample, false, null);
+
+		enable(CleanUpConstants.ORGANIZE_IMPORTS);
+
+		sample= "" //
+				+ "package test1;\n" //
+				+ "\n" //
+				+ "import java.util.ArrayList;\n" //
+				+ "\n" //
+				+ "import test2.Foo;\n" //
+				+ "\n" //
+				+ "public class E1 {\n" //
+				+ "    ArrayList<Foo> foos;\n" //
+				+ "}\n";
+		String expected1= sample;
+
+		sample= "" //
+				+ "package test1;\n" //
+				+ "\n" //
+				+ "import test2.Bar;\n" //
+				+ "import test2.Foo;\n" //
+				+ "\n" //
+				+ "public class E2 {\n" //
+				+ "    Foo foo;\n" //
+				+ "    Bar bar;\n" //
+				+ "}\n";
+		String expected2= sample;
+
+		// the clean up joins the running batch and uses its index
+		TypeNameMatchIndex.beginBatch();
+		try {
+			TypeNameMatchIndex index= TypeNameMatchIndex.getShared();
+			assertNotNull(index);
+
+			assertRefactoringResultAsExpected(new ICompilationUnit[] { cu1, cu2 }, new String[] { expected1, expected2 }, null);
+
+			assertSame(index, TypeNameMatchIndex.getShared());
+		} finally {
+			TypeNameMatchIndex.endBatch();
+		}
+		assertNull(TypeNameMatchIndex.getShared());
+	}
+
+	@Test
+	public void testSharedSearch() throws Exception {
+		IPackageFragment pack2= createTypes();
+
+		TypeNameMatchIndex.beginBatch();
+		try {
+			TypeNameMatchIndex index= TypeNameMatchIndex.getShared();
+			List<TypeNameMatch> foo= findTypes(index, "Foo");
+			assertEquals(1, foo.size());
+			assertEquals("test2.Foo", foo.get(0).getFullyQualifiedName());
+
+			// found by the same search
+			List<TypeNameMatch> bar= findTypes(index, "Bar");
+			assertEquals(1, bar.size());
+			assertSame(foo.get(0), findTypes(index, "Foo").get(0));
+
+			// an added type discards the indexed types
+			pack2.createCompilationUnit("Baz.java", "package test2;\npublic class Baz {}\n", false, null);
+			List<TypeNameMatch> baz= findTypes(index, "Baz");
+			assertEquals(1, baz.size());
+			assertEquals("test2.Baz", baz.get(0).getFullyQualifiedName());
+		} finally {
+			TypeNameMatchIndex.endBatch();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,40 +13,291 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.dom;
 
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
+import org.eclipse.core.resources.IResource;
+
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.IBinding;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 /**
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * <p>
+ * The size of a subset is measured in bytes of source. The budget for a subset is derived
+ * from the free heap and adapted after each subset: it shrinks when the garbage collector
+ * was busy while parsing the subset and grows when it was not. The budget is shared by all
+ * batch parsers, so later operations start with what earlier ones have learned.
+ * </p>
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
-	private static final int MAX_AT_ONCE;
-	static {
-		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
+	/**
+	 * Statistics of a parsed subset of compilation units.
+	 */
+	public static final class BatchStatistics {
+
+		private final int fUnits;
+		private final long fSourceBytes;
+		private final long fBudget;
+		private final long fElapsedMillis;
+		private final long fGCMillis;
+
+		/**
+		 * public only for tests.
+		 *
+		 * @param units the number of compilation units in the batch
+		 * @param sourceBytes the estimated source size of the compilation units in bytes
+		 * @param budget the budget in bytes of source the batch has been sized with
+		 * @param elapsedMillis the time in ms spent to parse the batch
+		 * @param gcMillis the time in ms the garbage collectors were running
+		 */
+		public BatchStatistics(int units, long sourceBytes, long budget, long elapsedMillis, long gcMillis) {
+			fUnits= units;
+			fSourceBytes= sourceBytes;
+			fBudget= budget;
+			fElapsedMillis= elapsedMillis;
+			fGCMillis= gcMillis;
+		}
+
+		/**
+		 * @return the number of compilation units in the batch
+		 */
+		public int getUnits() {
+			return fUnits;
+		}
+
+		/**
+		 * @return the estimated source size of the compilation units in bytes
+		 */
+		public long getSourceBytes() {
+			return fSourceBytes;
+		}
+
+		/**
+		 * @return the budget in bytes of source the batch has been sized with, i.e. the shared
+		 *         budget divided by the parallelism
+		 */
+		public long getBudget() {
+			return fBudget;
+		}
+
+		/**
+		 * @return the time in ms spent to parse the batch, including the time spent in the requestor
+		 */
+		public long getElapsedMillis() {
+			return fElapsedMillis;
+		}
 
-		if      (maxMemory >= 2000) MAX_AT_ONCE= 400;
-		else if (maxMemory >= 1500) MAX_AT_ONCE= 300;
-		else if (maxMemory >= 1000) MAX_AT_ONCE= 200;
-		else if (maxMemory >=  500) MAX_AT_ONCE= 100;
-		else                        MAX_AT_ONCE=  25;
+		/**
+		 * @return the time in ms the garbage collectors were running while the batch was parsed
+		 */
+		public long getGCMillis() {
+			return fGCMillis;
+		}
+
+		/**
+		 * @return parsed compilation units per second
+		 */
+		public double getThroughput() {
+			return fUnits * 1000.0 / Math.max(1, fElapsedMillis);
+		}
+
+		@Override
+		public String toString() {
+			return "units: " + fUnits + ", source bytes: " + fSourceBytes + ", budget: " + fBudget + ", time (ms): " + fElapsedMillis //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ ", gc (ms): " + fGCMillis + ", units/s: " + Math.round(getThroughput()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Hands out the subsets to parse, sized by the current budget. Thread safe, so that
+	 * parallel parsers can take the next subset when they are done with the previous one.
+	 */
+	private static final class BatchQueue {
+
+		private final ICompilationUnit[][] fProjects;
+		private final int fParallelism;
+		private int fProject;
+		private int fCursor;
+
+		BatchQueue(ICompilationUnit[][] projects, int parallelism) {
+			fProjects= projects;
+			fParallelism= parallelism;
+		}
+
+		/**
+		 * @param sizes out parameter for the estimated source size of the result and the budget it
+		 *            has been sized with
+		 * @return the next subset, all from one project, or <code>null</code> if done
+		 */
+		synchronized ICompilationUnit[] next(long[] sizes) {
+			while (fProject < fProjects.length && fCursor == fProjects[fProject].length) {
+				fProject++;
+				fCursor= 0;
+			}
+			if (fProject == fProjects.length)
+				return null;
+
+			ICompilationUnit[] units= fProjects[fProject];
+			long budget= getBatchBudget() / fParallelism;
+			long bytes= getSourceSize(units[fCursor]);
+			int end= fCursor + 1;
+			while (end < units.length && end - fCursor < MAX_UNITS) {
+				long size= getSourceSize(units[end]);
+				if (bytes + size > budget)
+					break;
+				bytes+= size;
+				end++;
+			}
+
+			ICompilationUnit[] result= Arrays.copyOfRange(units, fCursor, end);
+			fCursor= end;
+			sizes[0]= bytes;
+			sizes[1]= budget;
+			return result;
+		}
+	}
+
+	/**
+	 * Upper bound for the number of compilation units in a subset.
+	 */
+	private static final int MAX_UNITS= 1000;
+
+	/**
+	 * Estimated heap used by an AST with bindings per byte of source.
+	 */
+	private static final int HEAP_PER_SOURCE_BYTE= 32;
+
+	/**
+	 * Part of the free heap that a subset may use.
+	 */
+	private static final int HEAP_SHARE_DIVISOR= 4;
+
+	/**
+	 * Assumed source size of compilation units whose size is not known, in bytes.
+	 */
+	private static final long DEFAULT_SOURCE_SIZE= 8 * 1024;
+
+	private static final long MIN_BUDGET= 64 * 1024;
+
+	/**
+	 * The learned budget for a subset, in bytes of source. Guarded by <code>ASTBatchParser.class</code>.
+	 */
+	private static long fgBudget= getHeapBudget();
+
+	private final List<BatchStatistics> fStatistics= Collections.synchronizedList(new ArrayList<>());
+
+	/**
+	 * Progress monitor that can be shared by the batches parsed in parallel. All calls are
+	 * synchronized on the wrapped monitor, clients that report progress to the same monitor
+	 * from <code>ASTRequestor.acceptAST</code> must synchronize on it as well. The monitor can be
+	 * aborted to stop all batches without canceling the wrapped monitor.
+	 */
+	private static final class SynchronizedProgressMonitor extends ProgressMonitorWrapper {
+
+		private final IProgressMonitor fLock;
+
+		private volatile boolean fAborted;
+
+		SynchronizedProgressMonitor(IProgressMonitor monitor) {
+			super(monitor);
+			fLock= monitor;
+		}
+
+		@Override
+		public void beginTask(String name, int totalWork) {
+			synchronized (fLock) {
+				super.beginTask(name, totalWork);
+			}
+		}
+
+		@Override
+		public void done() {
+			synchronized (fLock) {
+				super.done();
+			}
+		}
+
+		@Override
+		public void internalWorked(double work) {
+			synchronized (fLock) {
+				super.internalWorked(work);
+			}
+		}
+
+		@Override
+		public boolean isCanceled() {
+			if (fAborted)
+				return true;
+			synchronized (fLock) {
+				return super.isCanceled();
+			}
+		}
+
+		/**
+		 * Stops the batches, the parsers stop at the next compilation unit.
+		 */
+		void abort() {
+			fAborted= true;
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			synchronized (fLock) {
+				super.setCanceled(value);
+			}
+		}
+
+		@Override
+		public void setTaskName(String name) {
+			synchronized (fLock) {
+				super.setTaskName(name);
+			}
+		}
+
+		@Override
+		public void subTask(String name) {
+			synchronized (fLock) {
+				super.subTask(name);
+			}
+		}
+
+		@Override
+		public void worked(int work) {
+			synchronized (fLock) {
+				super.worked(work);
+			}
+		}
 	}
 
 	/**
@@ -76,27 +327,217 @@ public class ASTBatchParser {
 
 		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
 		try {
+			parseBatches(new BatchQueue(splitByProject(compilationUnits), 1), bindingKeys, requestor, monitor);
+		} finally {
+			monitor.done();
+		}
+	}
 
-			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
-					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, new SubProgressMonitor(monitor, units.length));
-				} else {
-					List<ICompilationUnit> list= Arrays.asList(units);
-					int end= 0;
-					int cursor= 0;
-					while (cursor < units.length) {
-						end= Math.min(end + MAX_AT_ONCE, units.length);
-						List<ICompilationUnit> toParse= list.subList(cursor, end);
-
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
-							new SubProgressMonitor(monitor, toParse.size()));
-						cursor= end;
+	/**
+	 * Creates ASTs for each compilation unit in <code>units</code> like
+	 * {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}, but parses
+	 * up to <code>parallelism</code> batches at the same time.
+	 * <p>
+	 * Each batch is created by its own parser, hence ASTs and bindings of different batches share
+	 * no state. <code>ASTRequestor.acceptAST</code> is called concurrently for units of different
+	 * batches, but always from the thread that parsed the batch. To keep the number of ASTs in
+	 * memory about the same as for the sequential case, the source budget of a batch is
+	 * divided by <code>parallelism</code>.
+	 * </p>
+	 * <p>
+	 * The calls to <code>monitor</code> are synchronized on <code>monitor</code>.
+	 * </p>
+	 * <p>
+	 * If parsing a batch or the requestor fails, the other batches are stopped, and the failure is
+	 * thrown once all batches have stopped. <code>requestor</code> is not called after this method
+	 * has returned.
+	 * </p>
+	 *
+	 * @param compilationUnits the compilation units to create ASTs for
+	 * @param bindingKeys the binding keys to create bindings for
+	 * @param requestor the thread safe AST requestor that collects abstract syntax trees and bindings
+	 * @param parallelism the maximal number of batches to parse at the same time
+	 * @param monitor the progress monitor used to report progress and request cancelation,
+	 *   or <code>null</code> if none
+	 */
+	public final void createASTs(ICompilationUnit[] compilationUnits, String[] bindingKeys, ASTRequestor requestor, int parallelism, IProgressMonitor monitor) {
+		if (parallelism <= 1) {
+			createASTs(compilationUnits, bindingKeys, requestor, monitor);
+			return;
+		}
+		if (compilationUnits.length == 0)
+			return;
+
+		if (monitor == null)
+			monitor= new NullProgressMonitor();
+
+		BatchQueue queue= new BatchQueue(splitByProject(compilationUnits), parallelism);
+		int threads= Math.min(parallelism, compilationUnits.length);
+
+		SynchronizedProgressMonitor sharedMonitor= new SynchronizedProgressMonitor(monitor);
+		sharedMonitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
+		AtomicInteger threadCount= new AtomicInteger();
+		ExecutorService executor= Executors.newFixedThreadPool(threads, r -> {
+			Thread thread= new Thread(r, "AST Batch Parser " + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		Throwable failure= null;
+		boolean interrupted= false;
+		try {
+			List<Future<?>> futures= new ArrayList<>(threads);
+			for (int i= 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					try {
+						parseBatches(queue, bindingKeys, requestor, sharedMonitor);
+					} catch (RuntimeException | Error e) {
+						sharedMonitor.abort();
+						throw e;
 					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					sharedMonitor.abort();
+					Throwable cause= e.getCause();
+					// the other batches fail with an OperationCanceledException once aborted
+					if (failure == null || failure instanceof OperationCanceledException && !(cause instanceof OperationCanceledException))
+						failure= cause;
+				} catch (InterruptedException e) {
+					sharedMonitor.abort();
+					interrupted= true;
+					if (failure == null)
+						failure= new OperationCanceledException();
 				}
 			}
 		} finally {
-			monitor.done();
+			executor.shutdown();
+			interrupted|= awaitTermination(executor);
+			sharedMonitor.done();
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+		if (failure != null)
+			throw new IllegalStateException(failure);
+	}
+
+	/**
+	 * Waits until all batches have stopped, so that the requestor is not called any more.
+	 *
+	 * @param executor the executor of the batches, already shut down
+	 * @return <code>true</code> if the current thread has been interrupted while waiting
+	 */
+	private static boolean awaitTermination(ExecutorService executor) {
+		boolean interrupted= false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.SECONDS))
+					return interrupted;
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the statistics of the subsets parsed by this parser so far, in the order in which
+	 * they have been completed.
+	 *
+	 * @return the batch statistics
+	 */
+	public final List<BatchStatistics> getBatchStatistics() {
+		synchronized (fStatistics) {
+			return new ArrayList<>(fStatistics);
+		}
+	}
+
+	private void parseBatches(BatchQueue queue, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		long[] sizes= new long[2];
+		ICompilationUnit[] batch;
+		while ((batch= queue.next(sizes)) != null) {
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+			long gcTimeBefore= getGCTime();
+			long start= System.currentTimeMillis();
+
+			createParser(batch[0].getJavaProject()).createASTs(batch, bindingKeys, requestor, new SubProgressMonitor(monitor, batch.length));
+
+			BatchStatistics statistics= new BatchStatistics(batch.length, sizes[0], sizes[1], System.currentTimeMillis() - start, getGCTime() - gcTimeBefore);
+			fStatistics.add(statistics);
+			synchronized (ASTBatchParser.class) {
+				fgBudget= adaptBudget(fgBudget, statistics);
+			}
+			if (JavaPlugin.DEBUG_AST_BATCH_PARSER) {
+				System.out.println("ASTBatchParser: " + statistics + ", next budget (bytes): " + getBatchBudget()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
+	/**
+	 * @return the budget for the next subset in bytes of source
+	 */
+	private static long getBatchBudget() {
+		synchronized (ASTBatchParser.class) {
+			// the learned budget must not exceed what the heap can take right now
+			fgBudget= Math.max(MIN_BUDGET, Math.min(fgBudget, getHeapBudget()));
+			return fgBudget;
+		}
+	}
+
+	/**
+	 * Shrinks the budget if the garbage collector took more than a quarter of the time
+	 * to parse the subset, grows it if it took less than a twentieth.
+	 * <p>
+	 * public only for tests.
+	 * </p>
+	 *
+	 * @param budget the shared budget in bytes of source
+	 * @param statistics the statistics of the parsed subset
+	 * @return the new shared budget
+	 */
+	public static long adaptBudget(long budget, BatchStatistics statistics) {
+		long elapsed= Math.max(1, statistics.getElapsedMillis());
+		if (statistics.getGCMillis() * 4 > elapsed)
+			return Math.max(MIN_BUDGET, budget / 2);
+		// only grow if the subset actually used the budget it has been sized with, small projects tell nothing
+		if (statistics.getGCMillis() * 20 < elapsed && statistics.getSourceBytes() * 2 >= statistics.getBudget())
+			return budget + budget / 2;
+		return budget;
+	}
+
+	private static long getHeapBudget() {
+		Runtime runtime= Runtime.getRuntime();
+		long free= runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+		return Math.max(MIN_BUDGET, free / HEAP_SHARE_DIVISOR / HEAP_PER_SOURCE_BYTE);
+	}
+
+	private static long getGCTime() {
+		long result= 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			long time= bean.getCollectionTime();
+			if (time > 0)
+				result+= time;
+		}
+		return result;
+	}
+
+	private static long getSourceSize(ICompilationUnit unit) {
+		IResource resource= unit.getResource();
+		if (resource != null) {
+			IPath location= resource.getLocation();
+			if (location != null) {
+				long length= new File(location.toOSString()).length();
+				if (length > 0)
+					return length;
+			}
 		}
+		return DEFAULT_SOURCE_SIZE;
 	}
 
 	/**
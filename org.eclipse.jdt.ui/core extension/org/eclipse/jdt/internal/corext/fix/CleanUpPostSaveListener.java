@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -327,6 +327,15 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
 			ICleanUp[] cleanUps= getCleanUps(unit.getJavaProject().getProject());
 
+			String resultCacheKey= null;
+			if (changedRegions == null && CleanUpResultCache.isEnabled()) {
+				Map<String, String> settings= CleanUpPreferenceUtil.loadSaveParticipantOptions(new ProjectScope(unit.getJavaProject().getProject()));
+				byte[] optionsKey= CleanUpResultCache.computeOptionsKey(unit.getJavaProject(), cleanUps, settings);
+				resultCacheKey= CleanUpResultCache.computeKey(optionsKey, unit);
+				if (resultCacheKey != null && CleanUpResultCache.getDefault().isUnchanged(resultCacheKey))
+					return;
+			}
+
 			long oldFileValue= unit.getResource().getModificationStamp();
 			long oldDocValue= getDocumentStamp((IFile)unit.getResource(), new SubProgressMonitor(monitor, 2));
 
@@ -416,6 +425,10 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 				manager.changePerformed(result, success);
 			}
 
+			if (resultCacheKey != null && undoEdits.isEmpty()) {
+				CleanUpResultCache.getDefault().putUnchanged(resultCacheKey);
+			}
+
 			if (undoEdits.size() > 0) {
     			UndoEdit[] undoEditArray= undoEdits.toArray(new UndoEdit[undoEdits.size()]);
     			CleanUpSaveUndo undo= new CleanUpSaveUndo(result.getName(), (IFile)unit.getResource(), undoEditArray, oldDocValue, oldFileValue);
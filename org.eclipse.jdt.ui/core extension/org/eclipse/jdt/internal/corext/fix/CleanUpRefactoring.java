@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 package org.eclipse.jdt.internal.corext.fix;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
@@ -78,6 +80,7 @@ import org.eclipse.jdt.internal.corext.refactoring.changes.MultiStateCompilation
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextEditUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
+import org.eclipse.jdt.internal.corext.util.TypeNameMatchIndex;
 
 import org.eclipse.jdt.ui.JavaElementLabels;
 import org.eclipse.jdt.ui.cleanup.CleanUpContext;
@@ -249,6 +252,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final List<ParseListElement> fUndoneElements;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
+		private final Hashtable<ICompilationUnit, Integer> fParseListIndex;
 		private final CleanUpRefactoringProgressMonitor fMonitor;
 
 		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
@@ -256,15 +260,24 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			fMonitor= monitor;
 			fUndoneElements= new ArrayList<>();
 			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
+			fParseListIndex= new Hashtable<>(parseList.size());
 			for (ParseListElement element : parseList) {
-				fCompilationUnitParseElementMap.put(element.getTarget().getCompilationUnit(), element);
+				ICompilationUnit unit= element.getTarget().getCompilationUnit();
+				fCompilationUnitParseElementMap.put(unit, element);
+				fParseListIndex.put(unit, Integer.valueOf(fParseListIndex.size()));
 			}
 		}
 
+		/*
+		 * Called concurrently for different compilation units if the clean up runs in parallel,
+		 * the state shared between the units and the monitor are guarded by the monitor.
+		 */
 		@Override
 		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
 
-			fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+			synchronized (fMonitor) {
+				fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+			}
 
 			ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
 			ParseListElement element= fCompilationUnitParseElementMap.get(primary);
@@ -278,11 +291,13 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 			ICleanUp[] rejectedCleanUps= calculateSolutions(context, element.getCleanUps());
 
-			if (rejectedCleanUps.length > 0) {
-				fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
-				fMonitor.reset();
-			} else {
-				fMonitor.flush();
+			synchronized (fMonitor) {
+				if (rejectedCleanUps.length > 0) {
+					fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
+					fMonitor.reset();
+				} else {
+					fMonitor.flush();
+				}
 			}
 		}
 
@@ -290,7 +305,12 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			acceptAST(source, null);
 		}
 
+		/**
+		 * @return the elements that need another iteration, in the order of the parse list, so
+		 *         that the result does not depend on the order in which the ASTs were accepted
+		 */
 		public List<ParseListElement> getUndoneElements() {
+			fUndoneElements.sort(Comparator.comparing(element -> fParseListIndex.get(element.getTarget().getCompilationUnit())));
 			return fUndoneElements;
 		}
 
@@ -313,12 +333,14 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private void integrateSolution(CleanUpChange solution, ICompilationUnit source) {
 			ICompilationUnit primary= source.getPrimary();
 
-			List<CleanUpChange> changes= fSolutions.get(primary);
-			if (changes == null) {
-				changes= new ArrayList<>();
-				fSolutions.put(primary, changes);
+			synchronized (fSolutions) {
+				List<CleanUpChange> changes= fSolutions.get(primary);
+				if (changes == null) {
+					changes= new ArrayList<>();
+					fSolutions.put(primary, changes);
+				}
+				changes.add(solution);
 			}
-			changes.add(solution);
 		}
 	}
 
@@ -396,7 +418,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					};
 					try {
 						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						int parallelism= isThreadSafe(fParseList) ? fParallelism : 1;
+						parser.createASTs(units, new String[0], requestor, parallelism, cuMonitor);
 					} catch (FixCalculationException e) {
 						throw e.getException();
 					}
@@ -428,6 +451,24 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			fWorkingCopies.clear();
 		}
 
+		/**
+		 * @param unit a compilation unit of a target
+		 * @return <code>true</code> if the clean ups have changed the unit
+		 */
+		public boolean isChanged(ICompilationUnit unit) {
+			return fSolutions.containsKey(unit.getPrimary());
+		}
+
+		private boolean isThreadSafe(List<ParseListElement> parseList) {
+			for (ParseListElement element : parseList) {
+				for (ICleanUp cleanUp : element.getCleanUps()) {
+					if (!(cleanUp instanceof IThreadSafeCleanUp))
+						return false;
+				}
+			}
+			return true;
+		}
+
 		private boolean requiresAST(ICleanUp[] cleanUps) {
 			for (ICleanUp cleanUp : cleanUps) {
 				if (cleanUp.getRequirements().requiresAST()) {
@@ -501,6 +542,15 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/**
+	 * Number of threads used to compute the fixes of a project, <code>1</code> to compute
+	 * them sequentially. Can be set with the system property
+	 * <code>jdt.cleanUpParallelism</code>, where <code>0</code> means one thread per processor.
+	 * More than one thread is only used if all enabled clean ups are thread safe, see
+	 * {@link IThreadSafeCleanUp}.
+	 */
+	private static final int DEFAULT_PARALLELISM= getDefaultParallelism();
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -509,6 +559,13 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fParallelism;
+
+	private Map<String, String> fCustomOptions;
+
+	private int fResultCacheLookups;
+	private int fResultCacheHits;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -518,12 +575,46 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= DEFAULT_PARALLELISM;
+	}
+
+	private static int getDefaultParallelism() {
+		int parallelism= Integer.getInteger("jdt.cleanUpParallelism", 1).intValue(); //$NON-NLS-1$
+		if (parallelism <= 0)
+			return Runtime.getRuntime().availableProcessors();
+		return parallelism;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the options the clean ups have been configured with if they are not read from the
+	 * profiles of the projects. The results of the clean ups are only cached if their options are
+	 * known, see {@link CleanUpResultCache}.
+	 *
+	 * @param options the options of the clean ups, or <code>null</code> if unknown
+	 */
+	public void setCustomOptions(Map<String, String> options) {
+		fCustomOptions= options;
+	}
+
+	/**
+	 * Sets the number of threads used to compute the fixes of the compilation units of a
+	 * project. The compilation units are parsed in independent batches, each thread computes
+	 * the fixes for the units of its batch. The resulting changes are the same as with the
+	 * sequential computation. With more than one thread, the clean ups are called concurrently
+	 * for units of different batches, so the fixes of a project are only computed in parallel if
+	 * all its clean ups implement {@link IThreadSafeCleanUp}.
+	 *
+	 * @param parallelism the number of threads, <code>1</code> to compute the fixes in the
+	 *            calling thread
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -624,6 +715,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 		ICleanUp[] cleanUps= getCleanUps();
 		pm.beginTask("", cuCount * 2 * fCleanUps.size() + 4 * cleanUps.length); //$NON-NLS-1$
+		fResultCacheLookups= 0;
+		fResultCacheHits= 0;
+		// organize imports looks up unresolved type names in one index per project
+		TypeNameMatchIndex.beginBatch();
 		try {
 			DynamicValidationStateChange change= new DynamicValidationStateChange(getName());
 			change.setSchedulingRule(getSchedulingRule());
@@ -631,15 +726,17 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				IJavaProject project= entry.getKey();
 				List<CleanUpTarget> targetsList= entry.getValue();
 				CleanUpTarget[] targets= targetsList.toArray(new CleanUpTarget[targetsList.size()]);
+				Map<String, String> options= fCustomOptions;
 				if (fUseOptionsFromProfile) {
-					result.merge(setOptionsFromProfile(project, cleanUps));
+					options= CleanUpPreferenceUtil.loadOptions(new ProjectScope(project.getProject()));
+					result.merge(setOptionsFromProfile(project, cleanUps, options));
 					if (result.hasFatalError())
 						return result;
 				}
 				result.merge(checkPreConditions(project, targets, new SubProgressMonitor(pm, 3 * cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
-				Change[] changes= cleanUpProject(project, targets, cleanUps, pm);
+				Change[] changes= cleanUpProject(project, targets, cleanUps, options, pm);
 				result.merge(checkPostConditions(new SubProgressMonitor(pm, cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
@@ -649,10 +746,18 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 			fChange= change;
 
+			if (JavaPlugin.DEBUG_CLEAN_UP_RESULT_CACHE && fResultCacheLookups > 0) {
+				System.out.println("CleanUpResultCache: " + fResultCacheHits + " of " + fResultCacheLookups //$NON-NLS-1$ //$NON-NLS-2$
+						+ " compilation units unchanged (" + 100 * fResultCacheHits / fResultCacheLookups + "% hit rate)"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+
 			List<IResource> files= new ArrayList<>();
 			findFilesToBeModified(change, files);
 			result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), pm));
 		} finally {
+			TypeNameMatchIndex.endBatch();
+			if (fResultCacheLookups > 0)
+				CleanUpResultCache.getDefault().save();
 			pm.done();
 		}
 
@@ -671,10 +776,19 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
-	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws CoreException {
+	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, Map<String, String> options, IProgressMonitor monitor) throws CoreException {
+		int ticks= 2 * targets.length * cleanUps.length;
+
+		// the keys of the targets to record in the result cache if the clean ups do not change them
+		Map<CleanUpTarget, String> resultCacheKeys= null;
+		if (options != null && CleanUpResultCache.isEnabled()) {
+			resultCacheKeys= new HashMap<>();
+			targets= removeUnchangedTargets(project, targets, cleanUps, options, resultCacheKeys);
+		}
+
 		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
 
-		SubProgressMonitor subMonitor= new SubProgressMonitor(monitor, 2 * targets.length * cleanUps.length);
+		SubProgressMonitor subMonitor= new SubProgressMonitor(monitor, ticks);
 		subMonitor.beginTask("", targets.length); //$NON-NLS-1$
 		subMonitor.subTask(Messages.format(FixMessages.CleanUpRefactoring_Parser_Startup_message, BasicElementLabels.getResourceName(project.getProject())));
 		try {
@@ -682,6 +796,15 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				iter.next(subMonitor);
 			}
 
+			if (resultCacheKeys != null) {
+				CleanUpResultCache cache= CleanUpResultCache.getDefault();
+				for (Entry<CleanUpTarget, String> entry : resultCacheKeys.entrySet()) {
+					if (!iter.isChanged(entry.getKey().getCompilationUnit())) {
+						cache.putUnchanged(entry.getValue());
+					}
+				}
+			}
+
 			return iter.getResult();
 		} finally {
 			iter.dispose();
@@ -689,8 +812,44 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
-	private RefactoringStatus setOptionsFromProfile(IJavaProject javaProject, ICleanUp[] cleanUps) {
-		Map<String, String> options= CleanUpPreferenceUtil.loadOptions(new ProjectScope(javaProject.getProject()));
+	/**
+	 * Removes the targets the clean ups did not change in a previous run, according to the
+	 * {@link CleanUpResultCache}. Targets with problems to fix are never removed.
+	 *
+	 * @param project the project of the targets
+	 * @param targets the targets
+	 * @param cleanUps the clean ups
+	 * @param options the options of the clean ups
+	 * @param keys a map to which the keys of the remaining cacheable targets are added
+	 * @return the remaining targets
+	 * @throws CoreException if the source of a target could not be read
+	 */
+	private CleanUpTarget[] removeUnchangedTargets(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, Map<String, String> options, Map<CleanUpTarget, String> keys) throws CoreException {
+		CleanUpResultCache cache= CleanUpResultCache.getDefault();
+		byte[] optionsKey= CleanUpResultCache.computeOptionsKey(project, cleanUps, options);
+
+		List<CleanUpTarget> result= new ArrayList<>(targets.length);
+		for (CleanUpTarget target : targets) {
+			String key= null;
+			if (!(target instanceof MultiFixTarget)) {
+				key= CleanUpResultCache.computeKey(optionsKey, target.getCompilationUnit());
+			}
+			if (key == null) {
+				result.add(target);
+				continue;
+			}
+			fResultCacheLookups++;
+			if (cache.isUnchanged(key)) {
+				fResultCacheHits++;
+			} else {
+				keys.put(target, key);
+				result.add(target);
+			}
+		}
+		return result.toArray(new CleanUpTarget[result.size()]);
+	}
+
+	private RefactoringStatus setOptionsFromProfile(IJavaProject javaProject, ICleanUp[] cleanUps, Map<String, String> options) {
 		if (options == null)
 			return RefactoringStatus.createFatalErrorStatus(Messages.format(FixMessages.CleanUpRefactoring_could_not_retrive_profile, BasicElementLabels.getResourceName(javaProject.getProject())));
 
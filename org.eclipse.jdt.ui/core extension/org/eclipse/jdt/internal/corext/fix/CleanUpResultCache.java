@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Persistent cache of the compilation units for which a clean up did not result in a change.
+ * <p>
+ * The entries are keyed by a digest of the source of the compilation unit, the compiler options
+ * and the code style preferences of its project, and the clean ups with their options. A clean up
+ * that finds a compilation unit in the cache does not need to parse it. The cache is bounded, the
+ * least recently used entries are evicted first. It is stored in the state location of the plug-in
+ * when the plug-in is stopped and after each clean up refactoring.
+ * </p>
+ * <p>
+ * The result of a clean up can also depend on other compilation units, for example when a super
+ * type changes. These changes do not invalidate a cached result. Therefore the cache is only used
+ * if enabled with the system property <code>jdt.cleanUpResultCache</code>, which fits repeated
+ * clean ups of mostly unchanged trees.
+ * </p>
+ */
+public final class CleanUpResultCache {
+
+	private static final String FILE_NAME= "cleanUpResultCache.dat"; //$NON-NLS-1$
+
+	/** Increment if the format of the file or of the keys changes */
+	private static final int VERSION= 1;
+
+	private static final int MAX_ENTRIES= 20000;
+
+	private static final boolean ENABLED= Boolean.getBoolean("jdt.cleanUpResultCache"); //$NON-NLS-1$
+
+	/** The code style preferences read by the clean ups */
+	private static final String[] PREFERENCE_KEYS= {
+			PreferenceConstants.ORGIMPORTS_IMPORTORDER,
+			PreferenceConstants.ORGIMPORTS_ONDEMANDTHRESHOLD,
+			PreferenceConstants.ORGIMPORTS_STATIC_ONDEMANDTHRESHOLD,
+			PreferenceConstants.ORGIMPORTS_IGNORELOWERCASE,
+			PreferenceConstants.CODEGEN_ADD_COMMENTS,
+			PreferenceConstants.CODEGEN_KEYWORD_THIS,
+			PreferenceConstants.CODEGEN_USE_OVERRIDE_ANNOTATION
+	};
+
+	private static CleanUpResultCache fgDefault;
+
+	/** The keys of the unchanged compilation units, in access order */
+	private final LinkedHashMap<String, Boolean> fEntries= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private boolean fDirty;
+
+	private CleanUpResultCache() {
+		load();
+	}
+
+	/**
+	 * @return <code>true</code> if clean ups should use the result cache
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	public static synchronized CleanUpResultCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new CleanUpResultCache();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Stores the cache if it has been used.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			fgDefault.save();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Computes the part of the keys that is shared by the compilation units of a project.
+	 *
+	 * @param project the project of the compilation units
+	 * @param cleanUps the clean ups to apply
+	 * @param options the options the clean ups are configured with
+	 * @return the digest of the project and clean up options
+	 * @throws JavaModelException if the class path of the project could not be read
+	 */
+	public static byte[] computeOptionsKey(IJavaProject project, ICleanUp[] cleanUps, Map<String, String> options) throws JavaModelException {
+		MessageDigest digest= createDigest();
+		update(digest, String.valueOf(VERSION));
+		update(digest, JavaPlugin.getDefault().getBundle().getVersion().toString());
+		for (ICleanUp cleanUp : cleanUps) {
+			update(digest, cleanUp.getClass().getName());
+		}
+		update(digest, new TreeMap<>(options));
+		update(digest, new TreeMap<>(project.getOptions(true)));
+		for (String key : PREFERENCE_KEYS) {
+			update(digest, key);
+			update(digest, String.valueOf(PreferenceConstants.getPreference(key, project)));
+		}
+		for (IClasspathEntry entry : project.getRawClasspath()) {
+			update(digest, entry.toString());
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Computes the key of a compilation unit.
+	 *
+	 * @param optionsKey the key computed by {@link #computeOptionsKey(IJavaProject, ICleanUp[], Map)}
+	 *            for the project of the unit
+	 * @param unit the compilation unit
+	 * @return the key, or <code>null</code> if the unit has no source
+	 * @throws JavaModelException if the source could not be read
+	 */
+	public static String computeKey(byte[] optionsKey, ICompilationUnit unit) throws JavaModelException {
+		String source= unit.getSource();
+		if (source == null)
+			return null;
+
+		MessageDigest digest= createDigest();
+		digest.update(optionsKey);
+		update(digest, unit.getElementName());
+		update(digest, source);
+		return Base64.getEncoder().encodeToString(digest.digest());
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, Map<String, String> map) {
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			update(digest, entry.getKey());
+			update(digest, entry.getValue());
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		byte[] bytes= String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+		int length= bytes.length;
+		digest.update(new byte[] { (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length });
+		digest.update(bytes);
+	}
+
+	/**
+	 * @param key the key of a compilation unit
+	 * @return <code>true</code> if the clean up did not change the compilation unit
+	 */
+	public synchronized boolean isUnchanged(String key) {
+		return fEntries.get(key) != null;
+	}
+
+	/**
+	 * Records that the clean up did not change a compilation unit.
+	 *
+	 * @param key the key of the compilation unit
+	 */
+	public synchronized void putUnchanged(String key) {
+		if (fEntries.put(key, Boolean.TRUE) == null) {
+			fDirty= true;
+		}
+	}
+
+	public synchronized void save() {
+		if (!fDirty)
+			return;
+
+		File file= getFile();
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeInt(fEntries.size());
+			// least recently used first, so that loading restores the order
+			for (String key : fEntries.keySet()) {
+				out.writeUTF(key);
+			}
+			fDirty= false;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	private void load() {
+		File file= getFile();
+		if (!file.exists())
+			return;
+
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION)
+				return;
+
+			int size= in.readInt();
+			for (int i= 0; i < size; i++) {
+				fEntries.put(in.readUTF(), Boolean.TRUE);
+			}
+		} catch (IOException e) {
+			// a damaged file is discarded with the next save
+			fEntries.clear();
+			fDirty= true;
+			JavaPlugin.log(e);
+		}
+	}
+
+	private static File getFile() {
+		return JavaPlugin.getDefault().getStateLocation().append(FILE_NAME).toFile();
+	}
+}
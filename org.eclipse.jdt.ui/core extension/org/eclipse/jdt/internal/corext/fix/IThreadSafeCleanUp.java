@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+/**
+ * A clean up which can create the fixes of different compilation units concurrently. The
+ * {@link CleanUpRefactoring} only computes the fixes of a project in parallel if all its clean ups
+ * implement this interface, see {@link CleanUpRefactoring#setParallelism(int)}.
+ * <p>
+ * {@link ICleanUp#createFix(org.eclipse.jdt.ui.cleanup.CleanUpContext)} must not modify state
+ * shared between the compilation units, all other methods are called from a single thread.
+ * </p>
+ */
+public interface IThreadSafeCleanUp extends ICleanUp {
+}
@@ -0,0 +1,518 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.corext.CorextMessages;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * In-memory index of the names of all types in the workspace scope, used by the open type dialog
+ * instead of querying the search engine for every pattern.
+ * <p>
+ * The index is built in the background from the search engine. It keeps the types sorted by their
+ * lower case simple names, so that prefix, exact and camel case patterns only look at the range of
+ * names that share the first characters of the pattern. Camel case candidates are further narrowed
+ * with a mask of the upper case letters of the names. The final match is done by the
+ * {@link TypeInfoFilter}, so that the results are the same as for the history elements.
+ * </p>
+ * <p>
+ * Changes of compilation units are applied by replacing the types of the changed units, which are
+ * merged into the sorted names in the background once there are many of them. Class path changes
+ * and changes of archives or packages discard the index and build it again. While the index is not
+ * available, {@link #search(TypeInfoFilter, Consumer, IProgressMonitor)} returns <code>false</code>
+ * and the search engine has to be used.
+ * </p>
+ */
+public class TypeNameIndex {
+
+	/** The family of the job that builds and updates the index */
+	public static final String FAMILY= TypeNameIndex.class.getName();
+
+	/**
+	 * The sorted types, immutable once built.
+	 */
+	private static final class Snapshot {
+
+		final TypeNameMatch[] fMatches;
+
+		final String[] fLowerCaseNames;
+
+		final int[] fUpperCaseMasks;
+
+		Snapshot(List<TypeNameMatch> matches) {
+			int size= matches.size();
+			String[] names= new String[size];
+			Integer[] order= new Integer[size];
+			for (int i= 0; i < size; i++) {
+				names[i]= matches.get(i).getSimpleTypeName().toLowerCase(Locale.ENGLISH);
+				order[i]= Integer.valueOf(i);
+			}
+			Arrays.sort(order, (i1, i2) -> names[i1.intValue()].compareTo(names[i2.intValue()]));
+
+			fMatches= new TypeNameMatch[size];
+			fLowerCaseNames= new String[size];
+			fUpperCaseMasks= new int[size];
+			for (int i= 0; i < size; i++) {
+				int index= order[i].intValue();
+				fMatches[i]= matches.get(index);
+				fLowerCaseNames[i]= names[index];
+				fUpperCaseMasks[i]= getUpperCaseMask(fMatches[i].getSimpleTypeName(), 0);
+			}
+		}
+
+		/**
+		 * @param prefix a lower case prefix
+		 * @return the index of the first name that is not smaller than the prefix
+		 */
+		int lowerBound(String prefix) {
+			int low= 0;
+			int high= fLowerCaseNames.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fLowerCaseNames[mid].compareTo(prefix) < 0) {
+					low= mid + 1;
+				} else {
+					high= mid;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * @param prefix a lower case prefix
+		 * @param start the lower bound of the prefix
+		 * @return the index after the last name that starts with the prefix
+		 */
+		int upperBound(String prefix, int start) {
+			int low= start;
+			int high= fLowerCaseNames.length;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fLowerCaseNames[mid].startsWith(prefix)) {
+					low= mid + 1;
+				} else {
+					high= mid;
+				}
+			}
+			return low;
+		}
+	}
+
+	private final class IndexJob extends Job {
+
+		public IndexJob() {
+			super(CorextMessages.TypeNameIndex_job_name);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				if (getSnapshot() == null) {
+					build(monitor);
+				} else {
+					processDirtyUnits();
+					if (getReplacedUnitCount() > MAX_REPLACED_UNITS) {
+						compact();
+					}
+				}
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (JavaModelException e) {
+				JavaPlugin.log(e);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return FAMILY.equals(family);
+		}
+	}
+
+	private final class DeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			processDelta(event.getDelta());
+		}
+
+		private void processDelta(IJavaElementDelta delta) {
+			IJavaElement element= delta.getElement();
+			int kind= delta.getKind();
+			int flags= delta.getFlags();
+			switch (element.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					break;
+				case IJavaElement.JAVA_PROJECT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+							| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+						invalidate();
+						return;
+					}
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+							| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_REORDER)) != 0) {
+						invalidate();
+						return;
+					}
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT:
+				case IJavaElement.CLASS_FILE:
+					if (kind != IJavaElementDelta.CHANGED) {
+						invalidate();
+						return;
+					}
+					break;
+				case IJavaElement.COMPILATION_UNIT:
+					ICompilationUnit unit= (ICompilationUnit) element;
+					if (JavaModelUtil.isPrimary(unit) && isTypeChange(delta)) {
+						markDirty(unit);
+					}
+					return;
+				default:
+					return;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				processDelta(child);
+			}
+		}
+
+		private boolean isTypeChange(IJavaElementDelta delta) {
+			if (delta.getKind() != IJavaElementDelta.CHANGED)
+				return true;
+			int flags= delta.getFlags();
+			if ((flags & IJavaElementDelta.F_PRIMARY_WORKING_COPY) != 0)
+				return true;
+			if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) == 0)
+				return false;
+			if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+				return true;
+			return hasTypeChange(delta);
+		}
+
+		private boolean hasTypeChange(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (child.getElement().getElementType() == IJavaElement.TYPE) {
+					if (child.getKind() != IJavaElementDelta.CHANGED || (child.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0 || hasTypeChange(child))
+						return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/** Number of replaced compilation units after which they are merged into the sorted names */
+	private static final int MAX_REPLACED_UNITS= 500;
+
+	/** Number of dirty compilation units after which the index is built again */
+	private static final int MAX_DIRTY_UNITS= 2000;
+
+	private static final long UPDATE_DELAY= 500;
+
+	private static TypeNameIndex fgDefault;
+
+	private final IndexJob fJob;
+
+	private final DeltaListener fListener;
+
+	/** The sorted types or <code>null</code> if the index needs to be built, guarded by <code>this</code> */
+	private Snapshot fSnapshot;
+
+	/** The current types of changed compilation units, which replace the ones in the snapshot, guarded by <code>this</code> */
+	private final Map<ICompilationUnit, TypeNameMatch[]> fReplacedUnits= new HashMap<>();
+
+	/** The changed compilation units, whose types still have to be read, guarded by <code>this</code> */
+	private final Set<ICompilationUnit> fDirtyUnits= new HashSet<>();
+
+	/** Incremented whenever the index is discarded, guarded by <code>this</code> */
+	private int fGeneration;
+
+	private TypeNameIndex() {
+		fJob= new IndexJob();
+		fListener= new DeltaListener();
+	}
+
+	/**
+	 * Returns the index and starts building it if it does not exist yet.
+	 *
+	 * @return the index
+	 */
+	public static synchronized TypeNameIndex getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new TypeNameIndex();
+			JavaCore.addElementChangedListener(fgDefault.fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			fgDefault.fJob.schedule();
+		}
+		return fgDefault;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault.fListener);
+			fgDefault.fJob.cancel();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Reports the types of the workspace scope that are accepted by
+	 * {@link TypeInfoFilter#matchesHistoryElement(TypeNameMatch)}. The types are reported in the
+	 * order of their simple names, ignoring case.
+	 *
+	 * @param filter the filter
+	 * @param requestor receives the matching types
+	 * @param monitor the progress monitor, only used for cancellation
+	 * @return <code>true</code> if the index was available, <code>false</code> if the search engine
+	 *         has to be used instead
+	 */
+	public boolean search(TypeInfoFilter filter, Consumer<TypeNameMatch> requestor, IProgressMonitor monitor) {
+		Snapshot snapshot;
+		Map<ICompilationUnit, TypeNameMatch[]> replacedUnits;
+		try {
+			processDirtyUnits();
+		} catch (JavaModelException e) {
+			JavaPlugin.log(e);
+			return false;
+		}
+		synchronized (this) {
+			snapshot= fSnapshot;
+			if (snapshot == null || !fDirtyUnits.isEmpty())
+				return false;
+			replacedUnits= new HashMap<>(fReplacedUnits);
+		}
+
+		String pattern= filter.getNamePattern();
+		String lowerCasePattern= pattern.toLowerCase(Locale.ENGLISH);
+		int matchKind= filter.getSearchFlags();
+		boolean isCamelCase= (matchKind & (SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH)) != 0;
+
+		String prefix;
+		if (isCamelCase) {
+			// the first character has to match, the following upper case characters start parts of the name
+			prefix= lowerCasePattern.substring(0, Math.min(1, lowerCasePattern.length()));
+		} else if (matchKind == SearchPattern.R_PATTERN_MATCH) {
+			int wildcard= indexOfWildcard(lowerCasePattern);
+			prefix= lowerCasePattern.substring(0, wildcard);
+		} else {
+			prefix= lowerCasePattern;
+		}
+		int patternMask= isCamelCase ? getUpperCaseMask(pattern, 1) : 0;
+
+		int start= snapshot.lowerBound(prefix);
+		int end= snapshot.upperBound(prefix, start);
+		for (int i= start; i < end; i++) {
+			if ((i & 0x3ff) == 0 && monitor != null && monitor.isCanceled())
+				return true;
+			if (patternMask != 0 && (snapshot.fUpperCaseMasks[i] & patternMask) != patternMask
+					&& !snapshot.fLowerCaseNames[i].startsWith(lowerCasePattern)) {
+				continue;
+			}
+			TypeNameMatch match= snapshot.fMatches[i];
+			if (!replacedUnits.isEmpty() && replacedUnits.containsKey(match.getType().getCompilationUnit()))
+				continue;
+			if (filter.matchesHistoryElement(match)) {
+				requestor.accept(match);
+			}
+		}
+		for (TypeNameMatch[] matches : replacedUnits.values()) {
+			for (TypeNameMatch match : matches) {
+				if (filter.matchesHistoryElement(match)) {
+					requestor.accept(match);
+				}
+			}
+		}
+		return true;
+	}
+
+	private static int indexOfWildcard(String pattern) {
+		for (int i= 0; i < pattern.length(); i++) {
+			char ch= pattern.charAt(i);
+			if (ch == '*' || ch == '?')
+				return i;
+		}
+		return pattern.length();
+	}
+
+	/**
+	 * @param name a type name or a pattern
+	 * @param start the index of the first character to consider
+	 * @return a mask with a bit for every upper case letter from <code>A</code> to <code>Z</code>
+	 */
+	private static int getUpperCaseMask(String name, int start) {
+		int mask= 0;
+		for (int i= start; i < name.length(); i++) {
+			char ch= name.charAt(i);
+			if (ch >= 'A' && ch <= 'Z') {
+				mask|= 1 << (ch - 'A');
+			}
+		}
+		return mask;
+	}
+
+	private synchronized Snapshot getSnapshot() {
+		return fSnapshot;
+	}
+
+	private synchronized int getReplacedUnitCount() {
+		return fReplacedUnits.size();
+	}
+
+	private synchronized void invalidate() {
+		fGeneration++;
+		fSnapshot= null;
+		fReplacedUnits.clear();
+		fDirtyUnits.clear();
+		fJob.cancel();
+		fJob.schedule(UPDATE_DELAY);
+	}
+
+	private void markDirty(ICompilationUnit unit) {
+		synchronized (this) {
+			if (fDirtyUnits.size() >= MAX_DIRTY_UNITS) {
+				invalidate();
+				return;
+			}
+			fDirtyUnits.add(unit.getPrimary());
+		}
+		fJob.schedule(UPDATE_DELAY);
+	}
+
+	private void build(IProgressMonitor monitor) throws JavaModelException {
+		int generation;
+		synchronized (this) {
+			generation= fGeneration;
+		}
+		List<TypeNameMatch> matches= new ArrayList<>();
+		TypeNameMatchRequestor requestor= new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				matches.add(match);
+			}
+		};
+		new SearchEngine((WorkingCopyOwner) null).searchAllTypeNames(null, SearchPattern.R_EXACT_MATCH, null, SearchPattern.R_PREFIX_MATCH,
+				IJavaSearchConstants.TYPE, SearchEngine.createWorkspaceScope(), requestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		Snapshot snapshot= new Snapshot(matches);
+		synchronized (this) {
+			// changes of compilation units during the build are still in the dirty units
+			if (generation == fGeneration) {
+				fSnapshot= snapshot;
+			}
+		}
+	}
+
+	/**
+	 * Reads the types of the changed compilation units.
+	 *
+	 * @throws JavaModelException if the types could not be read
+	 */
+	private void processDirtyUnits() throws JavaModelException {
+		ICompilationUnit[] units;
+		int generation;
+		synchronized (this) {
+			if (fSnapshot == null || fDirtyUnits.isEmpty())
+				return;
+			units= fDirtyUnits.toArray(new ICompilationUnit[fDirtyUnits.size()]);
+			generation= fGeneration;
+		}
+		for (ICompilationUnit unit : units) {
+			TypeNameMatch[] matches;
+			if (unit.exists()) {
+				IType[] types= unit.getAllTypes();
+				matches= new TypeNameMatch[types.length];
+				for (int i= 0; i < types.length; i++) {
+					matches[i]= SearchEngine.createTypeNameMatch(types[i], types[i].getFlags());
+				}
+			} else {
+				matches= new TypeNameMatch[0];
+			}
+			synchronized (this) {
+				if (generation != fGeneration)
+					return;
+				// the unit may have changed again while its types were read
+				fReplacedUnits.put(unit, matches);
+				fDirtyUnits.remove(unit);
+			}
+		}
+	}
+
+	/**
+	 * Merges the types of the replaced compilation units into the sorted names.
+	 */
+	private void compact() {
+		Snapshot snapshot;
+		Map<ICompilationUnit, TypeNameMatch[]> replacedUnits;
+		int generation;
+		synchronized (this) {
+			snapshot= fSnapshot;
+			replacedUnits= new HashMap<>(fReplacedUnits);
+			generation= fGeneration;
+		}
+		List<TypeNameMatch> matches= new ArrayList<>(snapshot.fMatches.length);
+		for (TypeNameMatch match : snapshot.fMatches) {
+			if (!replacedUnits.containsKey(match.getType().getCompilationUnit())) {
+				matches.add(match);
+			}
+		}
+		for (TypeNameMatch[] unitMatches : replacedUnits.values()) {
+			matches.addAll(Arrays.asList(unitMatches));
+		}
+		Snapshot compacted= new Snapshot(matches);
+		synchronized (this) {
+			if (generation != fGeneration)
+				return;
+			fSnapshot= compacted;
+			// keep the units that have been replaced again in the meantime
+			for (Map.Entry<ICompilationUnit, TypeNameMatch[]> entry : replacedUnits.entrySet()) {
+				if (fReplacedUnits.get(entry.getKey()) == entry.getValue()) {
+					fReplacedUnits.remove(entry.getKey());
+				}
+			}
+		}
+	}
+}
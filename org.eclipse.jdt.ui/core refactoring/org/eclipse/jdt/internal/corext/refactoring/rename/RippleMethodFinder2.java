@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -86,50 +86,70 @@ public class RippleMethodFinder2 {
 			return fImplementation.get(key);
 		}
 	}
+	/**
+	 * Union-find over the types declaring a ripple method. Types are interned to ids, so that the
+	 * representatives are kept in arrays and found with path compression and union by rank.
+	 */
 	private static class UnionFind {
-		HashMap<IType, IType> fElementToRepresentative= new HashMap<>();
+		private final HashMap<IType, Integer> fTypeToId= new HashMap<>();
+		private IType[] fTypes= new IType[16];
+		private int[] fParents= new int[16];
+		private byte[] fRanks= new byte[16];
+		private int fSize;
 
 		public void init(IType type) {
-			fElementToRepresentative.put(type, type);
+			if (fTypeToId.containsKey(type))
+				return;
+			if (fSize == fTypes.length) {
+				int length= fSize * 2;
+				fTypes= Arrays.copyOf(fTypes, length);
+				fParents= Arrays.copyOf(fParents, length);
+				fRanks= Arrays.copyOf(fRanks, length);
+			}
+			fTypeToId.put(type, Integer.valueOf(fSize));
+			fTypes[fSize]= type;
+			fParents[fSize]= fSize;
+			fSize++;
 		}
 
-		//path compression:
+		/**
+		 * @param element the type
+		 * @return the representative of the type, or <code>null</code> if the type does not declare
+		 *         a ripple method
+		 */
 		public IType find(IType element) {
-			IType root= element;
-			IType rep= fElementToRepresentative.get(root);
-			while (rep != null && ! rep.equals(root)) {
-				root= rep;
-				rep= fElementToRepresentative.get(root);
-			}
-			if (rep == null)
+			Integer id= fTypeToId.get(element);
+			if (id == null)
 				return null;
+			return fTypes[findRoot(id.intValue())];
+		}
 
-			rep= fElementToRepresentative.get(element);
-			while (! rep.equals(root)) {
-				IType temp= element;
-				element= rep;
-				fElementToRepresentative.put(temp, root);
-				rep= fElementToRepresentative.get(element);
+		private int findRoot(int id) {
+			int root= id;
+			while (fParents[root] != root)
+				root= fParents[root];
+			//path compression:
+			while (fParents[id] != root) {
+				int next= fParents[id];
+				fParents[id]= root;
+				id= next;
 			}
 			return root;
 		}
 
-//		//straightforward:
-//		public IType find(IType element) {
-//			IType current= element;
-//			IType rep= (IType) fElementToRepresentative.get(current);
-//			while (rep != null && ! rep.equals(current)) {
-//				current= rep;
-//				rep= (IType) fElementToRepresentative.get(current);
-//			}
-//			if (rep == null)
-//				return null;
-//			else
-//				return current;
-//		}
-
 		public void union(IType rep1, IType rep2) {
-			fElementToRepresentative.put(rep1, rep2);
+			int root1= findRoot(fTypeToId.get(rep1).intValue());
+			int root2= findRoot(fTypeToId.get(rep2).intValue());
+			if (root1 == root2)
+				return;
+			if (fRanks[root1] < fRanks[root2]) {
+				fParents[root1]= root2;
+			} else if (fRanks[root1] > fRanks[root2]) {
+				fParents[root2]= root1;
+			} else {
+				fParents[root1]= root2;
+				fRanks[root2]++;
+			}
 		}
 	}
 
@@ -304,10 +324,9 @@ public class RippleMethodFinder2 {
 			for (IType alienType : alienTypes) {
 				checkCanceled(pm);
 				Collection<IMethod> alienMethods= fTypeToMethod.get(alienType);
+				IType[] alienSubtypes= hierarchy(pm, owner, alienType).getAllSubtypes(alienType);
 				for (IMethod alienMethod : alienMethods) {
-					ITypeHierarchy hierarchy= hierarchy(pm, owner, alienType);
-
-					for (IType subtype : hierarchy.getAllSubtypes(alienType)) {
+					for (IType subtype : alienSubtypes) {
 						if (relatedSubTypes.contains(subtype)) {
 							if (JavaModelUtil.isVisibleInHierarchy(alienMethod, subtype.getPackageFragment())) {
 								marriedAlienTypeReps.add(fUnionFind.find(alienType));
@@ -351,17 +370,21 @@ public class RippleMethodFinder2 {
 	 * @throws JavaModelException if creating a type hierarchy fails
 	 */
 	private boolean couldHaveMarriedAlienTypes(IProgressMonitor pm, WorkingCopyOwner owner, ITypeHierarchy methodHierarchy, IType[] methodTypeSubtypes) throws JavaModelException {
+		if (methodTypeSubtypes.length == 0)
+			return false;
+
 		Set<IType> allTypesInMethodHierarchy= new HashSet<>(Arrays.asList(methodHierarchy.getAllClasses()));
 		allTypesInMethodHierarchy.addAll(Arrays.asList(methodHierarchy.getAllInterfaces()));
 
-
+		// one region hierarchy knows the supertypes of all sub-types, instead of one hierarchy per sub-type
+		checkCanceled(pm);
+		ITypeHierarchy subtypesHierarchy= createHierarchyOfTypes(new SubProgressMonitor(pm, 1), owner, Arrays.stream(methodTypeSubtypes));
+		Set<IType> checkedSuperTypes= new HashSet<>();
 		for (IType methodTypeSubtype : methodTypeSubtypes) {
 			checkCanceled(pm);
-			ITypeHierarchy subtypeHierarchy= methodTypeSubtype.newTypeHierarchy(owner, pm);
-			IType[] subtypeSuperTypes= subtypeHierarchy.getAllSupertypes(methodTypeSubtype);
+			IType[] subtypeSuperTypes= subtypesHierarchy.getAllSupertypes(methodTypeSubtype);
 			for (IType subtypeSuperType : subtypeSuperTypes) {
-				checkCanceled(pm);
-				if (!allTypesInMethodHierarchy.contains(subtypeSuperType)) {
+				if (!allTypesInMethodHierarchy.contains(subtypeSuperType) && checkedSuperTypes.add(subtypeSuperType)) {
 					if (definesSimilarMethod(subtypeSuperType, fMethod)) {
 						return true;
 					}
@@ -402,8 +425,13 @@ public class RippleMethodFinder2 {
 	private ITypeHierarchy hierarchy(IProgressMonitor pm, WorkingCopyOwner owner, IType type)
 			throws JavaModelException {
 		ITypeHierarchy hierarchy= getCachedHierarchy(type, owner, new SubProgressMonitor(pm, 1));
-		if (hierarchy == null)
-			hierarchy= type.newTypeHierarchy(owner, new SubProgressMonitor(pm, 1));
+		if (hierarchy == null) {
+			hierarchy= fRootHierarchies.get(type);
+			if (hierarchy == null) {
+				hierarchy= type.newTypeHierarchy(owner, new SubProgressMonitor(pm, 1));
+				fRootHierarchies.put(type, hierarchy);
+			}
+		}
 		return hierarchy;
 	}
 
@@ -501,8 +529,9 @@ public class RippleMethodFinder2 {
 		for (IType type : fTypeToMethod.fImplementation.keySet()) {
 			fUnionFind.init(type);
 		}
+		Set<IType> unitedTypes= new HashSet<>();
 		for (IType type : fTypeToMethod.fImplementation.keySet()) {
-			uniteWithSupertypes(type, type);
+			uniteWithSupertypes(type, type, unitedTypes, new HashSet<>());
 		}
 		fRootReps= new MultiMap<>();
 		for (IType type : fRootTypes) {
@@ -513,12 +542,26 @@ public class RippleMethodFinder2 {
 		fRootHierarchies= new HashMap<>();
 	}
 
-	private void uniteWithSupertypes(IType anchor, IType type) throws JavaModelException {
+	/**
+	 * Unites the anchor with the supertypes of the given type whose method it overrides.
+	 *
+	 * @param anchor the type declaring a ripple method
+	 * @param type the anchor or one of its supertypes that do not declare a ripple method
+	 * @param unitedTypes the anchors whose supertypes have already been united, so that the
+	 *            supertypes of a type are walked once in diamond shaped hierarchies
+	 * @param visitedTypes the types already walked for the anchor, to stop on cyclic hierarchies
+	 * @throws JavaModelException if a package fragment could not be accessed
+	 */
+	private void uniteWithSupertypes(IType anchor, IType type, Set<IType> unitedTypes, Set<IType> visitedTypes) throws JavaModelException {
+		if (anchor == type && !unitedTypes.add(anchor))
+			return;
+		if (!visitedTypes.add(type))
+			return;
 		for (IType supertype : fHierarchy.getSupertypes(type)) {
 			IType superRep= fUnionFind.find(supertype);
 			if (superRep == null) {
 				//Type doesn't declare method, but maybe supertypes?
-				uniteWithSupertypes(anchor, supertype);
+				uniteWithSupertypes(anchor, supertype, unitedTypes, visitedTypes);
 			} else {
 				//check whether method in supertype is really overridden:
 				Collection<IMethod> superMethods= fTypeToMethod.get(supertype);
@@ -528,7 +571,8 @@ public class RippleMethodFinder2 {
 						fUnionFind.union(rep, superRep);
 						// current type is no root anymore
 						fRootTypes.remove(anchor);
-						uniteWithSupertypes(supertype, supertype);
+						uniteWithSupertypes(supertype, supertype, unitedTypes, new HashSet<>());
+						break;
 					} else {
 						//Not overridden -> overriding chain ends here.
 					}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,7 @@ import org.eclipse.jdt.internal.core.manipulation.CodeTemplateContextType;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapperDynamic;
 import org.eclipse.jdt.internal.corext.fix.CleanUpRegistry;
+import org.eclipse.jdt.internal.corext.fix.CleanUpResultCache;
 import org.eclipse.jdt.internal.corext.template.java.AbstractJavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.JavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.JavaPostfixContextType;
@@ -104,6 +105,7 @@ import org.eclipse.jdt.internal.corext.template.java.SWTContextType;
 import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
 import org.eclipse.jdt.internal.corext.util.QualifiedTypeNameHistory;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.ui.IContextMenuConstants;
 import org.eclipse.jdt.ui.JavaUI;
@@ -165,6 +167,10 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 	public static boolean DEBUG_RESULT_COLLECTOR;
 
+	public static boolean DEBUG_AST_BATCH_PARSER;
+
+	public static boolean DEBUG_CLEAN_UP_RESULT_CACHE;
+
 	private static JavaPlugin fgJavaPlugin;
 
 	private static LinkedHashMap<String, Long> fgRepeatedMessages= new LinkedHashMap<String, Long>(20, 0.75f, true) {
@@ -463,6 +469,8 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 	/* package */ static void initializeAfterLoad(IProgressMonitor monitor) {
 		OpenTypeHistory.getInstance().checkConsistency(monitor);
+		// build the type name index of the open type dialog in the background
+		TypeNameIndex.getDefault();
 	}
 
 	/*
@@ -555,9 +563,12 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 			QualifiedTypeNameHistory.getDefault().save();
 
+			CleanUpResultCache.shutdown();
+
 			// must add here to guarantee that it is the first in the listener list
 
 			OpenTypeHistory.shutdown();
+			TypeNameIndex.shutdown();
 
 			JavaManipulation.setPreferenceNodeId(null);
 		} finally {
@@ -1132,6 +1143,8 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.ui/debug/ASTProvider", false); //$NON-NLS-1$
 		DEBUG_BREADCRUMB_ITEM_DROP_DOWN= options.getBooleanOption("org.eclipse.jdt.ui/debug/BreadcrumbItemDropDown", false); //$NON-NLS-1$
 		DEBUG_RESULT_COLLECTOR= options.getBooleanOption("org.eclipse.jdt.ui/debug/ResultCollector", false); //$NON-NLS-1$
+		DEBUG_AST_BATCH_PARSER= options.getBooleanOption("org.eclipse.jdt.ui/debug/ASTBatchParser", false); //$NON-NLS-1$
+		DEBUG_CLEAN_UP_RESULT_CACHE= options.getBooleanOption("org.eclipse.jdt.ui/debug/CleanUpResultCache", false); //$NON-NLS-1$
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -96,6 +96,7 @@ import org.eclipse.jdt.internal.corext.util.Strings;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 import org.eclipse.jdt.internal.corext.util.TypeInfoRequestorAdapter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.IVMInstallType;
@@ -486,6 +487,11 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 		typeSearchFilter.setMatchEverythingMode(true);
 
 		try {
+			// the index contains the types of the workspace scope, working set scopes are part of it
+			if (fAllowScopeSwitching || typeSearchFilter.isWorkspaceScope()) {
+				if (typeSearchFilter.searchIndex(requestor, progressMonitor))
+					return;
+			}
 			engine.searchAllTypeNames(packPattern == null ? null : packPattern.toCharArray(),
 					typeSearchFilter.getPackageFlags(),
 					typePattern.toCharArray(),
@@ -975,6 +981,26 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			return fTypeInfoFilter.matchesFilterExtension(type);
 		}
 
+		/**
+		 * @return <code>true</code> if the search scope is the workspace scope
+		 * @since 3.28
+		 */
+		public boolean isWorkspaceScope() {
+			return fTypeInfoFilter.isWorkspaceScope();
+		}
+
+		/**
+		 * Reports the matching types of the {@link TypeNameIndex} to the requestor.
+		 *
+		 * @param requestor the requestor
+		 * @param monitor the progress monitor
+		 * @return <code>true</code> if the index was available
+		 * @since 3.28
+		 */
+		public boolean searchIndex(TypeSearchRequestor requestor, IProgressMonitor monitor) {
+			return TypeNameIndex.getDefault().search(fTypeInfoFilter, requestor::acceptTypeNameMatch, monitor);
+		}
+
 		/**
 		 * Set filter to "match everything" mode.
 		 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -452,9 +452,11 @@ public class CleanUpRefactoringWizard extends RefactoringWizard {
 			CleanUpOptions options= null;
 			if (fUseCustomField.isSelected()) {
 				refactoring.setUseOptionsFromProfile(false);
+				refactoring.setCustomOptions(fCustomSettings);
 				options= new MapCleanUpOptions(fCustomSettings);
 			} else {
 				refactoring.setUseOptionsFromProfile(true);
+				refactoring.setCustomOptions(null);
 			}
 
 			refactoring.clearCleanUps();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@
 package org.eclipse.jdt.internal.ui.jarpackager;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -31,11 +32,13 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IContainer;
@@ -53,6 +56,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
+import org.eclipse.jdt.internal.jarpackager.JarEntryPipeline;
 import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
 
 import org.eclipse.jdt.ui.JavaUI;
@@ -260,6 +264,83 @@ public final class JarPackagerUtil {
 		JarPackagerUtilCore.calculateCrcAndSize(entry, stream, buffer);
 	}
 
+	/**
+	 * Adds the given resource to the pipeline. The entry gets the same time stamps as
+	 * {@link org.eclipse.jdt.ui.jarpackager.JarWriter3#write(IFile, IPath)} would use.
+	 *
+	 * @param pipeline the pipeline to add the entry to
+	 * @param resource the file to write
+	 * @param destinationPath the path in the jar file
+	 * @throws CoreException if writing this or a previously added entry failed
+	 */
+	public static void addEntry(JarEntryPipeline pipeline, final IFile resource, IPath destinationPath) throws CoreException {
+		long size= -1;
+		long now= System.currentTimeMillis();
+		long lastModified= now;
+		URI locationURI= resource.getLocationURI();
+		if (locationURI != null) {
+			IFileInfo info= EFS.getStore(locationURI).fetchInfo();
+			if (info.exists()) {
+				size= info.getLength();
+				lastModified= info.getLastModified();
+			}
+		}
+		long directoryTime= now;
+		URI parentLocation= resource.getParent().getLocationURI();
+		if (parentLocation != null) {
+			IFileInfo info= EFS.getStore(parentLocation).fetchInfo();
+			if (info.exists())
+				directoryTime= info.getLastModified();
+		}
+		final long time= lastModified;
+		pipeline.add(destinationPath.toString(), size, directoryTime, new JarEntryPipeline.EntryContent() {
+			@Override
+			public InputStream open() throws CoreException {
+				return resource.getContents(false);
+			}
+
+			@Override
+			public long getLastModified() {
+				return time;
+			}
+
+			@Override
+			public String getLabel() {
+				return BasicElementLabels.getPathLabel(resource.getFullPath(), false);
+			}
+		});
+	}
+
+	/**
+	 * Adds the given file of the local file system to the pipeline. The entry gets the same time
+	 * stamps as {@link org.eclipse.jdt.internal.ui.jarpackagerfat.JarWriter4#write(File, IPath)}
+	 * would use.
+	 *
+	 * @param pipeline the pipeline to add the entry to
+	 * @param file the file to write
+	 * @param destinationPath the path in the jar file
+	 * @throws CoreException if writing this or a previously added entry failed
+	 */
+	public static void addEntry(JarEntryPipeline pipeline, final File file, IPath destinationPath) throws CoreException {
+		pipeline.add(destinationPath.toString(), file.length(), JarEntryPipeline.CURRENT_TIME, new JarEntryPipeline.EntryContent() {
+			@Override
+			public InputStream open() throws IOException {
+				return new FileInputStream(file);
+			}
+
+			@Override
+			public long getLastModified() {
+				return file.lastModified();
+			}
+
+			@Override
+			public String getLabel() {
+				// Ensure full path is visible
+				return BasicElementLabels.getPathLabel(new Path(file.getAbsolutePath()), false);
+			}
+		});
+	}
+
 	/**
 	 * Opens the archive file at the given location.<br>
 	 * <em>Note: It is the caller's responsibility to close the returned
@@ -25,6 +25,8 @@ import org.eclipse.core.runtime.MultiStatus;
 
 import org.eclipse.core.resources.IFile;
 
+import org.eclipse.jdt.internal.jarpackager.JarEntryPipeline;
+
 import org.eclipse.jdt.ui.jarpackager.IManifestProvider;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 import org.eclipse.jdt.ui.jarpackager.JarWriter3;
@@ -40,6 +42,7 @@ public class PlainJarBuilder extends JarBuilder {
 
 	private JarPackageData fJarPackage;
 	private JarWriter3 fJarWriter;
+	private JarEntryPipeline fEntryPipeline;
 
 	@Override
 	public String getId() {
@@ -56,11 +59,13 @@ public class PlainJarBuilder extends JarBuilder {
 		super.open(jarPackage, displayShell, statusMsg);
 		fJarPackage= jarPackage;
 		fJarWriter= new JarWriter3(fJarPackage, displayShell);
+		fEntryPipeline= new JarEntryPipeline(fJarWriter.getJarOutputStream(), fJarWriter.getDirectories(),
+				fJarPackage.areDirectoryEntriesIncluded(), fJarPackage.isCompressed());
 	}
 
 	@Override
 	public void writeFile(IFile resource, IPath destinationPath) throws CoreException {
-		fJarWriter.write(resource, destinationPath);
+		JarPackagerUtil.addEntry(fEntryPipeline, resource, destinationPath);
 	}
 
 	@Override
@@ -70,8 +75,14 @@ public class PlainJarBuilder extends JarBuilder {
 
 	@Override
 	public void close() throws CoreException {
-		if (fJarWriter != null) {
-			fJarWriter.close();
+		try {
+			if (fEntryPipeline != null) {
+				fEntryPipeline.close();
+			}
+		} finally {
+			if (fJarWriter != null) {
+				fJarWriter.close();
+			}
 		}
 	}
 
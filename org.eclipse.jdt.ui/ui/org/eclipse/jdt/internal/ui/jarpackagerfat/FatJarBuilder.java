@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,10 +25,13 @@ import org.eclipse.core.runtime.MultiStatus;
 
 import org.eclipse.core.resources.IFile;
 
+import org.eclipse.jdt.internal.jarpackager.JarEntryPipeline;
+
 import org.eclipse.jdt.ui.jarpackager.IJarBuilderExtension;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 
 import org.eclipse.jdt.internal.ui.jarpackager.JarBuilder;
+import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
 /**
  * A builder which is able to handle referenced libraries.
@@ -39,11 +42,21 @@ public abstract class FatJarBuilder extends JarBuilder implements IJarBuilderExt
 
 	private JarPackageData fJarPackage;
 	private JarWriter4 fJarWriter;
+	private JarEntryPipeline fEntryPipeline;
 
 	protected JarWriter4 getJarWriter() {
 		return fJarWriter;
 	}
 
+	/**
+	 * Returns the pipeline that writes the files and archive entries to the jar writer.
+	 *
+	 * @return the entry pipeline
+	 */
+	protected JarEntryPipeline getEntryPipeline() {
+		return fEntryPipeline;
+	}
+
 	public abstract boolean isRemoveSigners();
 
 	public abstract boolean isMergeManifests();
@@ -55,22 +68,30 @@ public abstract class FatJarBuilder extends JarBuilder implements IJarBuilderExt
 		super.open(jarPackage, displayShell, status);
 		fJarPackage= jarPackage;
 		fJarWriter= new JarWriter4(fJarPackage, displayShell);
+		fEntryPipeline= new JarEntryPipeline(fJarWriter.getJarOutputStream(), fJarWriter.getDirectories(),
+				fJarPackage.areDirectoryEntriesIncluded(), fJarPackage.isCompressed());
 	}
 
 	@Override
 	public void writeFile(IFile resource, IPath destinationPath) throws CoreException {
-		fJarWriter.write(resource, destinationPath);
+		JarPackagerUtil.addEntry(fEntryPipeline, resource, destinationPath);
 	}
 
 	@Override
 	public void writeFile(File file, IPath destinationPath) throws CoreException {
-		fJarWriter.write(file, destinationPath);
+		JarPackagerUtil.addEntry(fEntryPipeline, file, destinationPath);
 	}
 
 	@Override
 	public void close() throws CoreException {
-		if (fJarWriter != null) {
-			fJarWriter.close();
+		try {
+			if (fEntryPipeline != null) {
+				fEntryPipeline.close();
+			}
+		} finally {
+			if (fJarWriter != null) {
+				fJarWriter.close();
+			}
 		}
 	}
 
@@ -20,10 +20,7 @@ import java.util.zip.ZipFile;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
-import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
-
 import org.eclipse.jdt.ui.jarpackager.IManifestProvider;
-import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 
 /**
  * A jar builder wich unpacks all referenced libraries into the generated jar.
@@ -61,10 +58,7 @@ public class UnpackFatJarBuilder extends FatJarBuilder {
 
 	@Override
 	public void writeArchive(ZipFile zipFile, IProgressMonitor progressMonitor) {
-		JarWriter4 JarWriter= getJarWriter();
-		JarPackageData JarPackage= JarWriter.getJarPackage();
-		JarPackagerUtilCore.writeArchive(zipFile, JarPackage.areDirectoryEntriesIncluded(),
-				JarPackage.isCompressed(), JarWriter.getJarOutputStream(), JarWriter.getDirectories(), getStatus(), progressMonitor);
+		getEntryPipeline().writeArchive(zipFile, getStatus(), progressMonitor);
 	}
 
 }
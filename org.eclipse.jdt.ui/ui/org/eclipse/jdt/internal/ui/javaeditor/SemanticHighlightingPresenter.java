@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,12 @@ import org.eclipse.jdt.internal.ui.text.JavaPresentationReconciler;
 public class SemanticHighlightingPresenter extends SemanticHighlightingPresenterCore
 	implements ITextPresentationListener, ITextInputListener, IDocumentListener {
 
+	/**
+	 * The added and removed positions are patched into the positions one by one if there are at
+	 * least this many times as many positions, otherwise all positions are merged.
+	 */
+	private static final int SMALL_DELTA_RATIO= 16;
+
 	/** The source viewer this semantic highlighting reconciler is installed on */
 	private JavaSourceViewer fSourceViewer;
 	/** The background presentation reconciler */
@@ -179,61 +185,12 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 
 		String positionCategory= getPositionCategory();
 
-		List<HighlightedPosition> removedPositionsList= Arrays.asList(removedPositions);
-
 		try {
 			synchronized (fPositionLock) {
-				List<Position> oldPositions= fPositions;
-				int newSize= Math.max(fPositions.size() + addedPositions.length - removedPositions.length, 10);
-
-				/*
-				 * The following loop is a kind of merge sort: it merges two List<Position>, each
-				 * sorted by position.offset, into one new list. The first of the two is the
-				 * previous list of positions (oldPositions), from which any deleted positions get
-				 * removed on the fly. The second of two is the list of added positions. The result
-				 * is stored in newPositions.
-				 */
-				List<Position> newPositions= new ArrayList<>(newSize);
-				Position position= null;
-				Position addedPosition= null;
-				for (int i= 0, j= 0, n= oldPositions.size(), m= addedPositions.length; i < n || position != null || j < m || addedPosition != null;) {
-					// loop variant: i + j < old(i + j)
-
-					// a) find the next non-deleted Position from the old list
-					while (position == null && i < n) {
-						position= oldPositions.get(i++);
-						if (position.isDeleted() || contain(removedPositionsList, position)) {
-							document.removePosition(positionCategory, position);
-							position= null;
-						}
-					}
-
-					// b) find the next Position from the added list
-					if (addedPosition == null && j < m) {
-						addedPosition= addedPositions[j++];
-						document.addPosition(positionCategory, addedPosition);
-					}
-
-					// c) merge: add the next of position/addedPosition with the lower offset
-					if (position != null) {
-						if (addedPosition != null)
-							if (position.getOffset() <= addedPosition.getOffset()) {
-								newPositions.add(position);
-								position= null;
-							} else {
-								newPositions.add(addedPosition);
-								addedPosition= null;
-							}
-						else {
-							newPositions.add(position);
-							position= null;
-						}
-					} else if (addedPosition != null) {
-						newPositions.add(addedPosition);
-						addedPosition= null;
-					}
-				}
-				fPositions= newPositions;
+				if (isSmallDelta(addedPositions.length + removedPositions.length))
+					updatePositions(document, positionCategory, addedPositions, removedPositions);
+				else
+					mergePositions(document, positionCategory, addedPositions, removedPositions);
 			}
 		} catch (BadPositionCategoryException | BadLocationException e) {
 			// Should not happen
@@ -247,6 +204,134 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 			fSourceViewer.invalidateTextPresentation();
 	}
 
+	/**
+	 * Returns whether the given number of added and removed positions is small compared to the
+	 * number of positions, so that they are better patched into the positions one by one than by
+	 * merging all positions.
+	 *
+	 * @param deltaSize the number of added and removed positions
+	 * @return <code>true</code> iff the positions should be patched
+	 */
+	private boolean isSmallDelta(int deltaSize) {
+		return deltaSize * SMALL_DELTA_RATIO <= fPositions.size();
+	}
+
+	/**
+	 * Patches the added and removed positions into the positions of this presenter and the
+	 * document. The work is proportional to the number of added and removed positions, except for
+	 * shifting the array of the positions.
+	 * <p>
+	 * NOTE: Must be called in the UI thread while holding the position lock.
+	 * </p>
+	 *
+	 * @param document the document
+	 * @param positionCategory the position category
+	 * @param addedPositions the added positions, ordered by offset
+	 * @param removedPositions the removed positions
+	 * @throws BadPositionCategoryException if the position category is not registered
+	 * @throws BadLocationException if an added position is not within the document
+	 */
+	private void updatePositions(IDocument document, String positionCategory, HighlightedPosition[] addedPositions, HighlightedPosition[] removedPositions) throws BadPositionCategoryException, BadLocationException {
+		for (HighlightedPosition position : removedPositions) {
+			document.removePosition(positionCategory, position);
+			int index= indexOf(fPositions, position);
+			if (index == -1) {
+				// deleted positions may be out of order
+				index= indexOfIdentical(fPositions, position);
+			}
+			if (index != -1)
+				fPositions.remove(index);
+		}
+		for (HighlightedPosition position : addedPositions) {
+			document.addPosition(positionCategory, position);
+			insertPosition(position);
+		}
+	}
+
+	/**
+	 * Merges the added positions into the positions of this presenter, and drops the removed and
+	 * the deleted positions. Also updates the positions of the document.
+	 * <p>
+	 * NOTE: Must be called in the UI thread while holding the position lock.
+	 * </p>
+	 *
+	 * @param document the document
+	 * @param positionCategory the position category
+	 * @param addedPositions the added positions, ordered by offset
+	 * @param removedPositions the removed positions, ordered by offset
+	 * @throws BadPositionCategoryException if the position category is not registered
+	 * @throws BadLocationException if an added position is not within the document
+	 */
+	private void mergePositions(IDocument document, String positionCategory, HighlightedPosition[] addedPositions, HighlightedPosition[] removedPositions) throws BadPositionCategoryException, BadLocationException {
+		List<HighlightedPosition> removedPositionsList= Arrays.asList(removedPositions);
+		List<Position> oldPositions= fPositions;
+		int newSize= Math.max(fPositions.size() + addedPositions.length - removedPositions.length, 10);
+
+		/*
+		 * The following loop is a kind of merge sort: it merges two List<Position>, each
+		 * sorted by position.offset, into one new list. The first of the two is the
+		 * previous list of positions (oldPositions), from which any deleted positions get
+		 * removed on the fly. The second of two is the list of added positions. The result
+		 * is stored in newPositions.
+		 */
+		List<Position> newPositions= new ArrayList<>(newSize);
+		Position position= null;
+		Position addedPosition= null;
+		for (int i= 0, j= 0, n= oldPositions.size(), m= addedPositions.length; i < n || position != null || j < m || addedPosition != null;) {
+			// loop variant: i + j < old(i + j)
+
+			// a) find the next non-deleted Position from the old list
+			while (position == null && i < n) {
+				position= oldPositions.get(i++);
+				if (position.isDeleted() || contain(removedPositionsList, position)) {
+					document.removePosition(positionCategory, position);
+					position= null;
+				}
+			}
+
+			// b) find the next Position from the added list
+			if (addedPosition == null && j < m) {
+				addedPosition= addedPositions[j++];
+				document.addPosition(positionCategory, addedPosition);
+			}
+
+			// c) merge: add the next of position/addedPosition with the lower offset
+			if (position != null) {
+				if (addedPosition != null)
+					if (position.getOffset() <= addedPosition.getOffset()) {
+						newPositions.add(position);
+						position= null;
+					} else {
+						newPositions.add(addedPosition);
+						addedPosition= null;
+					}
+				else {
+					newPositions.add(position);
+					position= null;
+				}
+			} else if (addedPosition != null) {
+				newPositions.add(addedPosition);
+				addedPosition= null;
+			}
+		}
+		fPositions= newPositions;
+	}
+
+	/**
+	 * Returns the index of the given position in the positions, comparing by identity.
+	 *
+	 * @param positions the positions
+	 * @param position the position
+	 * @return the index, or <code>-1</code> if not found
+	 */
+	private static int indexOfIdentical(List<Position> positions, Position position) {
+		for (int i= 0, n= positions.size(); i < n; i++) {
+			if (positions.get(i) == position)
+				return i;
+		}
+		return -1;
+	}
+
 //	private void checkOrdering(String s, List positions) {
 //		Position previous= null;
 //		for (int i= 0, n= positions.size(); i < n; i++) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.internal.ui.javaeditor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.swt.widgets.Display;
@@ -78,13 +79,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		protected boolean visitLiteral(Expression node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumesLiteral(fToken)) {
+			for (int i : fJobEnabledHighlightings) {
+				if (fJobSemanticHighlightings[i].consumesLiteral(fToken)) {
 					int offset= node.getStartPosition();
 					int length= node.getLength();
 					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
+						addPosition(offset, length, i);
 					break;
 				}
 			}
@@ -99,7 +99,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(ConstructorInvocation node) {
 			// XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
-			if (fJobDeprecatedMemberHighlighting != null) {
+			if (fJobDeprecatedMemberHighlighting != -1) {
 				IMethodBinding constructorBinding= node.resolveConstructorBinding();
 				if (constructorBinding != null && constructorBinding.isDeprecated()) {
 					int offset= node.getStartPosition();
@@ -118,7 +118,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SuperConstructorInvocation node) {
 			// XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
-			if (fJobDeprecatedMemberHighlighting != null) {
+			if (fJobDeprecatedMemberHighlighting != -1) {
 				IMethodBinding constructorBinding= node.resolveConstructorBinding();
 				if (constructorBinding != null && constructorBinding.isDeprecated()) {
 					int offset= node.getStartPosition();
@@ -139,7 +139,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
 						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
 						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
+							addPosition(offset, length, i);
 							return false;
 						}
 					}
@@ -158,7 +158,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
 						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
 						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
+							addPosition(offset, length, i);
 							return true;
 						}
 					}
@@ -177,7 +177,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
 						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
 						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
+							addPosition(offset, length, i);
 							return true;
 						}
 					}
@@ -196,7 +196,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
 							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
 							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
+								addPosition(offset, length, i);
 								return true;
 							}
 						}
@@ -226,7 +226,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
 						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
 						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
+							addPosition(offset, length, i);
 							return false;
 						}
 					}
@@ -241,13 +241,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SimpleName node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumes(fToken)) {
+			for (int i : fJobEnabledHighlightings) {
+				if (fJobSemanticHighlightings[i].consumes(fToken)) {
 					int offset= node.getStartPosition();
 					int length= node.getLength();
 					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
+						addPosition(offset, length, i);
 					break;
 				}
 			}
@@ -256,30 +255,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 
 		/**
-		 * Add a position with the given range and highlighting iff it does not exist already.
+		 * Add a position with the given range and highlighting. The positions are matched with the
+		 * existing positions once the AST has been visited, see {@link #diffPositions()}.
 		 * @param offset The range offset
 		 * @param length The range length
-		 * @param highlighting The highlighting
+		 * @param highlighting The index of the highlighting
 		 */
-		private void addPosition(int offset, int length, Highlighting highlighting) {
-			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
-				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position == null)
-					continue;
-				if (position.isEqual(offset, length, highlighting)) {
-					isExisting= true;
-					fRemovedPositions.set(i, null);
-					fNOfRemovedPositions--;
-					break;
-				}
-			}
-
-			if (!isExisting) {
-				Position position= fJobPresenter.createHighlightedPosition(offset, length, highlighting);
-				fAddedPositions.add(position);
-			}
+		private void addPosition(int offset, int length, int highlighting) {
+			int index= 3 * fNOfCollectedPositions;
+			if (index + 3 > fCollectedPositions.length)
+				fCollectedPositions= Arrays.copyOf(fCollectedPositions, 2 * fCollectedPositions.length);
+			fCollectedPositions[index]= offset;
+			fCollectedPositions[index + 1]= length;
+			fCollectedPositions[index + 2]= highlighting;
+			fNOfCollectedPositions++;
 		}
 
 		/**
@@ -289,14 +278,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
-				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position != null && position.isContained(offset, length)) {
-					fRemovedPositions.set(i, null);
-					fNOfRemovedPositions--;
-				}
-			}
+			int index= 2 * fNOfRetainedRanges;
+			if (index + 2 > fRetainedRanges.length)
+				fRetainedRanges= Arrays.copyOf(fRetainedRanges, 2 * fRetainedRanges.length);
+			fRetainedRanges[index]= offset;
+			fRetainedRanges[index + 1]= length;
+			fNOfRetainedRanges++;
 		}
 
 		@Override
@@ -309,7 +296,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
 							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
 							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
+								addPosition(offset, length, i);
 								return true;
 							}
 						}
@@ -340,8 +327,25 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private List<Position> fAddedPositions= new ArrayList<>();
 	/** Background job's removed highlighted positions */
 	private List<Position> fRemovedPositions= new ArrayList<>();
-	/** Number of removed positions */
-	private int fNOfRemovedPositions;
+
+	/**
+	 * Background job's collected positions, as triples of offset, length and highlighting index,
+	 * reused between reconciles.
+	 */
+	private int[] fCollectedPositions= new int[3 * 256];
+	/**
+	 * Number of collected positions
+	 */
+	private int fNOfCollectedPositions;
+	/**
+	 * Background job's ranges in which the existing positions are retained, as pairs of offset and
+	 * length.
+	 */
+	private int[] fRetainedRanges= new int[2 * 4];
+	/**
+	 * Number of retained ranges
+	 */
+	private int fNOfRetainedRanges;
 
 	/** Background job */
 	private Job fJob;
@@ -367,10 +371,16 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private Highlighting[] fJobHighlightings;
 
 	/**
+	 * Indices of the enabled highlightings - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 */
+	private int[] fJobEnabledHighlightings;
+
+	/**
+	 * Index of the deprecated member highlighting if enabled, <code>-1</code> otherwise.
 	 * XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
 	 * @since 3.5
 	 */
-	private Highlighting fJobDeprecatedMemberHighlighting;
+	private int fJobDeprecatedMemberHighlighting= -1;
 
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
@@ -412,14 +422,17 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			startReconcilingPositions();
 
 			if (!fJobPresenter.isCanceled()) {
-				fJobDeprecatedMemberHighlighting= null;
+				fJobDeprecatedMemberHighlighting= -1;
+				int[] enabledHighlightings= new int[fJobSemanticHighlightings.length];
+				int nOfEnabledHighlightings= 0;
 				for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
-						fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
-						break;
+					if (fJobHighlightings[i].isEnabled()) {
+						enabledHighlightings[nOfEnabledHighlightings++]= i;
+						if (fJobDeprecatedMemberHighlighting == -1 && fJobSemanticHighlightings[i] instanceof DeprecatedMemberHighlighting)
+							fJobDeprecatedMemberHighlighting= i;
 					}
 				}
+				fJobEnabledHighlightings= Arrays.copyOf(enabledHighlightings, nOfEnabledHighlightings);
 				reconcilePositions(subtrees);
 			}
 
@@ -435,7 +448,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fJobPresenter= null;
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
-			fJobDeprecatedMemberHighlighting= null;
+			fJobEnabledHighlightings= null;
+			fJobDeprecatedMemberHighlighting= -1;
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
 			}
@@ -456,7 +470,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private void startReconcilingPositions() {
 		fJobPresenter.addAllPositions(fRemovedPositions);
-		fNOfRemovedPositions= fRemovedPositions.size();
+		fNOfCollectedPositions= 0;
+		fNOfRetainedRanges= 0;
 	}
 
 	/**
@@ -471,13 +486,77 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
+		diffPositions();
+	}
+
+	/**
+	 * Matches the collected positions with the existing positions in <code>fRemovedPositions</code>,
+	 * which are ordered by offset. Highlighted positions are only created for the collected
+	 * positions which do not exist already, they are added to <code>fAddedPositions</code> in the
+	 * order of their offsets. The existing positions which are neither matched nor retained remain
+	 * in <code>fRemovedPositions</code>.
+	 */
+	private void diffPositions() {
+		int[] collected= fCollectedPositions;
+		int nOfCollected= fNOfCollectedPositions;
+
+		// sort by offset, the index of a position in the collected positions breaks ties
+		long[] order= new long[nOfCollected];
+		for (int k= 0; k < nOfCollected; k++)
+			order[k]= ((long) collected[3 * k] << 32) | k;
+		Arrays.sort(order);
+
 		List<Position> oldPositions= fRemovedPositions;
-		List<Position> newPositions= new ArrayList<>(fNOfRemovedPositions);
-		for (Position current : oldPositions) {
-			if (current != null)
-				newPositions.add(current);
+		int nOfOld= oldPositions.size();
+		boolean[] isMatched= new boolean[nOfOld];
+		int i= 0;
+		int previous= -1;
+		for (long key : order) {
+			int k= 3 * (int) key;
+			int offset= collected[k];
+			int length= collected[k + 1];
+			int highlighting= collected[k + 2];
+			if (previous != -1 && collected[previous] == offset && collected[previous + 1] == length && collected[previous + 2] == highlighting)
+				continue; // duplicate
+			previous= k;
+
+			while (i < nOfOld && oldPositions.get(i).getOffset() < offset)
+				i++;
+			boolean isExisting= false;
+			for (int j= i; j < nOfOld; j++) {
+				HighlightedPosition position= (HighlightedPosition) oldPositions.get(j);
+				if (position.getOffset() != offset)
+					break;
+				if (!isMatched[j] && position.isEqual(offset, length, fJobHighlightings[highlighting])) {
+					isMatched[j]= true;
+					isExisting= true;
+					break;
+				}
+			}
+
+			if (!isExisting)
+				fAddedPositions.add(fJobPresenter.createHighlightedPosition(offset, length, fJobHighlightings[highlighting]));
+		}
+
+		List<Position> removedPositions= new ArrayList<>(Math.max(10, nOfOld - nOfCollected));
+		for (int j= 0; j < nOfOld; j++) {
+			HighlightedPosition position= (HighlightedPosition) oldPositions.get(j);
+			if (!isMatched[j] && !isRetained(position))
+				removedPositions.add(position);
+		}
+		fRemovedPositions= removedPositions;
+	}
+
+	/**
+	 * @param position the position
+	 * @return <code>true</code> iff the position is contained in one of the retained ranges
+	 */
+	private boolean isRetained(HighlightedPosition position) {
+		for (int k= 0, n= 2 * fNOfRetainedRanges; k < n; k+= 2) {
+			if (position.isContained(fRetainedRanges[k], fRetainedRanges[k + 1]))
+				return true;
 		}
-		fRemovedPositions= newPositions;
+		return false;
 	}
 
 	/**
@@ -516,8 +595,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
-		fNOfRemovedPositions= 0;
 		fAddedPositions.clear();
+		fNOfCollectedPositions= 0;
+		fNOfRetainedRanges= 0;
 	}
 
 	/**
@@ -0,0 +1,442 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.search.ui.NewSearchUI;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+import org.eclipse.jdt.internal.corext.util.ReferenceSearchCache;
+
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Reference counts and sub-types of the elements shown with code minings, shared by all Java
+ * editors.
+ * <p>
+ * When the references of a field or method are counted, the references of the other fields and
+ * methods in the visible range of the editor that are not counted yet are searched in the same
+ * search. The matches are assigned to the elements by the name found at the match. Matches that
+ * cannot be assigned make the batch fall back to a search for the single element. The searches for
+ * the elements of one compilation unit run one at a time, so that an element searched in a batch
+ * is not searched again meanwhile.
+ * </p>
+ * <p>
+ * Reference counts are discarded as described in {@link ReferenceSearchCache}. The sub-types of
+ * types are discarded when types are added, removed or change their super types, and when all
+ * reference counts are discarded.
+ * </p>
+ */
+final class JavaCodeMiningCache {
+
+	private static final int MAX_ENTRIES= 2000;
+
+	private static final int MAX_BATCH_SIZE= 32;
+
+	private static JavaCodeMiningCache fgDefault;
+
+	/**
+	 * @return the shared cache
+	 */
+	static synchronized JavaCodeMiningCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new JavaCodeMiningCache();
+			JavaCore.addElementChangedListener(fgDefault.fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	private static final class Key {
+		private final IJavaElement fElement;
+		private final boolean fInsideJRE;
+		private final boolean fIgnoreInaccurate;
+
+		Key(IJavaElement element, boolean insideJRE, boolean ignoreInaccurate) {
+			fElement= element;
+			fInsideJRE= insideJRE;
+			fIgnoreInaccurate= ignoreInaccurate;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fElement, Boolean.valueOf(fInsideJRE), Boolean.valueOf(fIgnoreInaccurate));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fInsideJRE == other.fInsideJRE && fIgnoreInaccurate == other.fIgnoreInaccurate && fElement.equals(other.fElement);
+		}
+	}
+
+	/**
+	 * Counts the references in compilation units and class files.
+	 */
+	private static class CountingRequestor extends SearchRequestor {
+		private final boolean fIgnoreInaccurate;
+		long fCount;
+		final Set<ICompilationUnit> fUnits= new HashSet<>();
+
+		CountingRequestor(boolean ignoreInaccurate) {
+			fIgnoreInaccurate= ignoreInaccurate;
+		}
+
+		@Override
+		public void acceptSearchMatch(SearchMatch match) throws CoreException {
+			IJavaElement element= getReferencingElement(match, fIgnoreInaccurate);
+			if (element != null)
+				add(element);
+		}
+
+		void add(IJavaElement element) {
+			fCount++;
+			IJavaElement unit= element.getAncestor(IJavaElement.COMPILATION_UNIT);
+			if (unit != null)
+				fUnits.add(((ICompilationUnit) unit).getPrimary());
+		}
+	}
+
+	/**
+	 * Counts the references of several elements and assigns every match to the element whose name
+	 * is found at the match.
+	 */
+	private static final class BatchRequestor extends SearchRequestor {
+		private final boolean fIgnoreInaccurate;
+		private final Map<String, CountingRequestor> fRequestors;
+		private final ReferenceSearchCache.NameReader fNameReader= new ReferenceSearchCache.NameReader();
+		private boolean fAmbiguous;
+
+		BatchRequestor(List<IJavaElement> elements, boolean ignoreInaccurate) {
+			fIgnoreInaccurate= ignoreInaccurate;
+			fRequestors= new HashMap<>(elements.size() * 2);
+			for (IJavaElement element : elements)
+				fRequestors.put(element.getElementName(), new CountingRequestor(ignoreInaccurate));
+		}
+
+		@Override
+		public void acceptSearchMatch(SearchMatch match) throws CoreException {
+			if (fAmbiguous)
+				return;
+			IJavaElement element= getReferencingElement(match, fIgnoreInaccurate);
+			if (element == null)
+				return;
+			CountingRequestor requestor= fRequestors.get(fNameReader.getNameAt(element, match.getOffset(), match.getLength()));
+			if (requestor == null) {
+				fAmbiguous= true;
+				return;
+			}
+			requestor.add(element);
+		}
+
+		boolean isAmbiguous() {
+			return fAmbiguous;
+		}
+
+		CountingRequestor getRequestor(IJavaElement element) {
+			return fRequestors.get(element.getElementName());
+		}
+	}
+
+	/**
+	 * The lock of the searches for the elements of one compilation unit or class file.
+	 */
+	private static final class SearchLock {
+		/** the number of threads holding or waiting for the lock, guarded by {@link JavaCodeMiningCache#fSearchLocks} */
+		int fUsers;
+	}
+
+	private final ReferenceSearchCache<Key, Long> fReferences= new ReferenceSearchCache<>(MAX_ENTRIES);
+
+	/** All sub-types of types, guarded by <code>this</code> */
+	private final LRUMap<IType, IType[]> fSubtypes= new LRUMap<>(MAX_ENTRIES);
+
+	/** incremented whenever the sub-types are discarded, guarded by <code>this</code> */
+	private long fSubtypesGeneration;
+
+	/** The locks of the searches by compilation unit or class file, guarded by itself */
+	private final Map<IOpenable, SearchLock> fSearchLocks= new HashMap<>();
+
+	private final IElementChangedListener fListener= event -> {
+		IJavaElementDelta delta= event.getDelta();
+		if (!fReferences.elementChanged(delta) || affectsTypeHierarchies(delta)) {
+			clearSubtypes();
+		}
+	};
+
+	private JavaCodeMiningCache() {
+	}
+
+	/**
+	 * Returns the number of references to an element in compilation units and class files.
+	 *
+	 * @param element the element
+	 * @param siblings supplies the elements whose references are likely to be counted next, which
+	 *            may be searched together with the element; only asked for if the references of
+	 *            the element are not known
+	 * @param monitor the progress monitor
+	 * @return the number of references
+	 * @throws CoreException if the search failed
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	long countReferences(IJavaElement element, Supplier<List<IJavaElement>> siblings, IProgressMonitor monitor) throws CoreException {
+		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		if (pattern == null) {
+			return 0;
+		}
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		boolean insideJRE= factory.isInsideJRE(element);
+		boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
+		Key key= new Key(element, insideJRE, ignoreInaccurate);
+		Long count= fReferences.get(key);
+		if (count != null) {
+			return count.longValue();
+		}
+
+		IOpenable openable= getOpenable(element);
+		SearchLock lock= acquireSearchLock(openable);
+		try {
+			synchronized (lock) {
+				long generation= fReferences.getGeneration();
+				count= fReferences.get(key);
+				if (count != null) {
+					return count.longValue();
+				}
+				checkCanceled(monitor);
+				IJavaSearchScope scope= factory.createWorkspaceScope(insideJRE);
+
+				List<IJavaElement> batch= createBatch(element, siblings, insideJRE, ignoreInaccurate);
+				if (batch.size() > 1) {
+					BatchRequestor requestor= new BatchRequestor(batch, ignoreInaccurate);
+					for (int i= 1; i < batch.size(); i++) {
+						pattern= SearchPattern.createOrPattern(pattern, SearchPattern.createPattern(batch.get(i), IJavaSearchConstants.REFERENCES));
+					}
+					search(pattern, scope, requestor, monitor);
+					if (!requestor.isAmbiguous()) {
+						for (IJavaElement each : batch) {
+							put(new Key(each, insideJRE, ignoreInaccurate), requestor.getRequestor(each), generation);
+						}
+						return requestor.getRequestor(element).fCount;
+					}
+					pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+				}
+
+				CountingRequestor requestor= new CountingRequestor(ignoreInaccurate);
+				search(pattern, scope, requestor, monitor);
+				put(key, requestor, generation);
+				return requestor.fCount;
+			}
+		} finally {
+			releaseSearchLock(openable, lock);
+		}
+	}
+
+	/**
+	 * Returns all sub-types of a type.
+	 *
+	 * @param type the type
+	 * @param monitor the progress monitor
+	 * @return the sub-types
+	 * @throws JavaModelException if the type hierarchy could not be created
+	 */
+	IType[] getAllSubtypes(IType type, IProgressMonitor monitor) throws JavaModelException {
+		long generation;
+		synchronized (this) {
+			IType[] subtypes= fSubtypes.get(type);
+			if (subtypes != null) {
+				return subtypes;
+			}
+			generation= fSubtypesGeneration;
+		}
+		IType[] subtypes= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		synchronized (this) {
+			if (generation == fSubtypesGeneration) {
+				fSubtypes.put(type, subtypes);
+			}
+		}
+		return subtypes;
+	}
+
+	/**
+	 * Discards all reference counts and sub-types.
+	 */
+	void clear() {
+		fReferences.clear();
+		clearSubtypes();
+	}
+
+	private synchronized void clearSubtypes() {
+		fSubtypesGeneration++;
+		fSubtypes.clear();
+	}
+
+	private void put(Key key, CountingRequestor requestor, long generation) {
+		fReferences.put(key, Long.valueOf(requestor.fCount), key.fElement.getElementName(), requestor.fUnits, generation);
+	}
+
+	private static IOpenable getOpenable(IJavaElement element) {
+		IOpenable openable= element.getOpenable();
+		return openable instanceof ICompilationUnit ? ((ICompilationUnit) openable).getPrimary() : openable;
+	}
+
+	private SearchLock acquireSearchLock(IOpenable openable) {
+		synchronized (fSearchLocks) {
+			SearchLock lock= fSearchLocks.computeIfAbsent(openable, o -> new SearchLock());
+			lock.fUsers++;
+			return lock;
+		}
+	}
+
+	private void releaseSearchLock(IOpenable openable, SearchLock lock) {
+		synchronized (fSearchLocks) {
+			if (--lock.fUsers == 0) {
+				fSearchLocks.remove(openable);
+			}
+		}
+	}
+
+	private List<IJavaElement> createBatch(IJavaElement element, Supplier<List<IJavaElement>> siblings, boolean insideJRE, boolean ignoreInaccurate) throws JavaModelException {
+		List<IJavaElement> batch= new ArrayList<>();
+		batch.add(element);
+		if (!isBatchable(element)) {
+			return batch;
+		}
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		Set<String> names= new HashSet<>();
+		names.add(element.getElementName());
+		for (IJavaElement sibling : siblings.get()) {
+			if (batch.size() == MAX_BATCH_SIZE) {
+				break;
+			}
+			// matches are told apart by name only
+			if (isBatchable(sibling) && !names.contains(sibling.getElementName()) && factory.isInsideJRE(sibling) == insideJRE
+					&& !fReferences.containsKey(new Key(sibling, insideJRE, ignoreInaccurate))) {
+				names.add(sibling.getElementName());
+				batch.add(sibling);
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * @param element the element
+	 * @return whether the references of the element can be found together with those of other
+	 *         elements
+	 * @throws JavaModelException if the element does not exist
+	 */
+	private static boolean isBatchable(IJavaElement element) throws JavaModelException {
+		if (element.getAncestor(IJavaElement.COMPILATION_UNIT) == null) {
+			return false;
+		}
+		switch (element.getElementType()) {
+			case IJavaElement.FIELD:
+				return true;
+			case IJavaElement.METHOD:
+				// super(..) and this(..) calls do not contain the name of the constructor
+				return !((IMethod) element).isConstructor();
+			default:
+				// qualified type references do not start with the name of the type
+				return false;
+		}
+	}
+
+	private static IJavaElement getReferencingElement(SearchMatch match, boolean ignoreInaccurate) {
+		if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+			return null;
+		}
+		Object o= match.getElement();
+		if (o instanceof IJavaElement) {
+			IJavaElement e= (IJavaElement) o;
+			if (e.getAncestor(IJavaElement.COMPILATION_UNIT) != null
+					|| e.getAncestor(IJavaElement.CLASS_FILE) != null) {
+				return e;
+			}
+		}
+		return null;
+	}
+
+	private static void search(SearchPattern pattern, IJavaSearchScope scope, SearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, requestor, monitor);
+		checkCanceled(monitor);
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor != null && monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * @param delta the delta
+	 * @return whether types may have been added or removed or may have changed their super types
+	 */
+	private static boolean affectsTypeHierarchies(IJavaElementDelta delta) {
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind != IJavaElementDelta.CHANGED) {
+					return true;
+				}
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+					return true; // the changed types are not known
+				}
+				break;
+			case IJavaElement.TYPE:
+				if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0) {
+					return true;
+				}
+				break;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsTypeHierarchies(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
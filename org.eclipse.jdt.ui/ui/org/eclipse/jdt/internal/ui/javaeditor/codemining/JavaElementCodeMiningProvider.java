@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 Angelo Zerr and others.
+ * Copyright (c) 2018, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,18 +18,27 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.swt.custom.StyledText;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.JFaceTextUtil;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.ICodeMining;
+import org.eclipse.jface.text.source.ILineRange;
 import org.eclipse.jface.text.source.ISourceViewerExtension5;
 
 import org.eclipse.ui.texteditor.ITextEditor;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
@@ -67,6 +76,15 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 
 	private final boolean editorEnabled;
 
+	/**
+	 * The range of the document that is visible in the viewer, or <code>null</code> if it is not
+	 * known yet. Read in the UI thread, used by the reference minings to batch their searches.
+	 */
+	private volatile IRegion visibleRegion;
+
+	/** Whether the visible region is tracked, only accessed in the UI thread */
+	private boolean visibleRegionTracked;
+
 	public JavaElementCodeMiningProvider() {
 		editorEnabled= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_CODEMINING_ENABLED);
 		showAtLeastOne= editorEnabled && JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_CODEMINING_AT_LEAST_ONE);
@@ -90,6 +108,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				return CompletableFuture.completedFuture(Collections.emptyList());
 			}
 		}
+		trackVisibleRegion(viewer);
 		return CompletableFuture.supplyAsync(() -> {
 			monitor.isCanceled();
 			ITextEditor textEditor= super.getAdapter(ITextEditor.class);
@@ -100,7 +119,9 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 			try {
 				IJavaElement[] elements= unit.getChildren();
 				List<ICodeMining> minings= new ArrayList<>(elements.length);
-				collectMinings(unit, textEditor, unit.getChildren(), minings, viewer, monitor);
+				// the elements with reference minings, whose references are counted together
+				List<IJavaElement> referenceElements= new ArrayList<>();
+				collectMinings(unit, textEditor, unit.getChildren(), minings, referenceElements, viewer, monitor);
 				// interrupt if editor was marked to be reconciled in the meantime
 				if (viewer instanceof ISourceViewerExtension5) {
 					ISourceViewerExtension5 codeMiningViewer= (ISourceViewerExtension5)viewer;
@@ -124,12 +145,13 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 	 * @param textEditor the Java editor
 	 * @param elements the java elements to track
 	 * @param minings the current list of minings to update
+	 * @param referenceElements the current list of elements with reference minings to update
 	 * @param viewer the viewer
 	 * @param monitor the monitor
 	 * @throws JavaModelException thrown when java model error
 	 */
 	private void collectMinings(ITypeRoot unit, ITextEditor textEditor, IJavaElement[] elements,
-			List<ICodeMining> minings, ITextViewer viewer, IProgressMonitor monitor) throws JavaModelException {
+			List<ICodeMining> minings, List<IJavaElement> referenceElements, ITextViewer viewer, IProgressMonitor monitor) throws JavaModelException {
 
 		// Only Java editor is supported, see bug 541811
 		if(!(textEditor instanceof JavaEditor)) {
@@ -146,7 +168,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				return;
 			}
 			if (element.getElementType() == IJavaElement.TYPE) {
-				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, viewer, monitor);
+				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, referenceElements, viewer, monitor);
 			} else if ((element.getElementType() != IJavaElement.METHOD)
 					&& (element.getElementType() != IJavaElement.FIELD)) {
 				continue;
@@ -158,7 +180,8 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 							|| (showReferencesOnFields && (element.getElementType() == IJavaElement.FIELD)) // Show references on fields
 					) {
 						minings.add(new JavaReferenceCodeMining(element, (JavaEditor) textEditor, viewer.getDocument(),
-								this, showAtLeastOne));
+								this, showAtLeastOne, () -> getVisibleElements(referenceElements)));
+						referenceElements.add(element);
 					}
 				} catch (BadLocationException e) {
 					// Should never occur
@@ -187,4 +210,64 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 		}
 	}
 
+	/**
+	 * Starts to track the visible region of the viewer, and updates it. Does nothing outside of
+	 * the UI thread, where the last known visible region is used.
+	 *
+	 * @param viewer the viewer
+	 */
+	private void trackVisibleRegion(ITextViewer viewer) {
+		StyledText textWidget= viewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed() || textWidget.getDisplay().getThread() != Thread.currentThread()) {
+			return;
+		}
+		if (!visibleRegionTracked) {
+			// also notified when the viewer is resized
+			viewer.addViewportListener(verticalOffset -> updateVisibleRegion(viewer));
+			visibleRegionTracked= true;
+		}
+		updateVisibleRegion(viewer);
+	}
+
+	private void updateVisibleRegion(ITextViewer viewer) {
+		IDocument document= viewer.getDocument();
+		ILineRange lines= JFaceTextUtil.getVisibleModelLines(viewer);
+		if (document == null || lines == null || lines.getNumberOfLines() <= 0) {
+			visibleRegion= null;
+			return;
+		}
+		try {
+			int start= document.getLineOffset(lines.getStartLine());
+			IRegion lastLine= document.getLineInformation(lines.getStartLine() + lines.getNumberOfLines() - 1);
+			visibleRegion= new Region(start, lastLine.getOffset() + lastLine.getLength() - start);
+		} catch (BadLocationException e) {
+			visibleRegion= null;
+		}
+	}
+
+	/**
+	 * Returns the elements whose names are in the visible region of the viewer.
+	 *
+	 * @param elements the elements
+	 * @return the visible elements, none if the visible region is not known
+	 */
+	private List<IJavaElement> getVisibleElements(List<IJavaElement> elements) {
+		IRegion region= visibleRegion;
+		if (region == null) {
+			return Collections.emptyList();
+		}
+		List<IJavaElement> visibleElements= new ArrayList<>();
+		for (IJavaElement element : elements) {
+			try {
+				ISourceRange nameRange= ((ISourceReference) element).getNameRange();
+				if (nameRange != null && nameRange.getOffset() >= region.getOffset() && nameRange.getOffset() <= region.getOffset() + region.getLength()) {
+					visibleElements.add(element);
+				}
+			} catch (JavaModelException e) {
+				// not batched
+			}
+		}
+		return visibleElements;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Angelo Zerr and others.
+ * Copyright (c) 2019, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.swt.events.MouseEvent;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jface.viewers.StructuredSelection;
 
@@ -77,6 +78,9 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	protected CompletableFuture<Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
 		return CompletableFuture.runAsync(() -> {
 			try {
+				if (monitor.isCanceled()) {
+					return;
+				}
 				IJavaElement element= super.getElement();
 				if (element instanceof IType) {
 					// for a type, count types implementing this type and show type hierarchy
@@ -125,6 +129,8 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 				}
 			} catch (CoreException e1) {
 				// Should never occur
+			} catch (OperationCanceledException e) {
+				// the minings are computed again
 			}
 		});
 	}
@@ -162,7 +168,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws JavaModelException throws when Java error
 	 */
 	private static long countTypeImplementations(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		IType[] results= JavaCodeMiningCache.getDefault().getAllSubtypes(type, monitor);
 		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).count();
 	}
 
@@ -175,7 +181,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws JavaModelException throws when Java error
 	 */
 	private static IType getTypeImplementation(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		IType[] results= JavaCodeMiningCache.getDefault().getAllSubtypes(type, monitor);
 		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).findFirst().get();
 	}
 
@@ -192,7 +198,8 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 			return 0;
 		}
 		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		// the methods of a type share the sub-types of the type
+		IType[] results= JavaCodeMiningCache.getDefault().getAllSubtypes(type, monitor);
 		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
 		long count= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).count();
 		return count;
@@ -208,7 +215,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 */
 	private static IMethod getMethodImplementation(IMethod method, IProgressMonitor monitor) throws CoreException {
 		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+		IType[] results= JavaCodeMiningCache.getDefault().getAllSubtypes(type, monitor);
 		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
 		Optional<IType> foundType= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).findFirst();
 		return foundType.get().getMethod(method.getElementName(), method.getParameterTypes());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2020 Angelo Zerr and others.
+ * Copyright (c) 2018, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,15 +15,17 @@
 package org.eclipse.jdt.internal.ui.javaeditor.codemining;
 
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.MouseEvent;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 
@@ -36,8 +38,6 @@ import org.eclipse.ui.IEditorPart;
 
 import org.eclipse.ui.texteditor.ITextEditor;
 
-import org.eclipse.search.ui.NewSearchUI;
-
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -54,7 +54,6 @@ import org.eclipse.jdt.ui.actions.FindReferencesAction;
 
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
-import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
 
 /**
  * Java reference code mining.
@@ -67,14 +66,30 @@ public class JavaReferenceCodeMining extends AbstractJavaElementLineHeaderCodeMi
 
 	private final boolean showReferencesAtLeastOne;
 
+	private final Supplier<List<IJavaElement>> siblings;
+
 	private Consumer<MouseEvent> action;
 
+	/**
+	 * Creates a reference code mining.
+	 *
+	 * @param element the element to count the references of
+	 * @param editor the Java editor
+	 * @param document the document
+	 * @param provider the code mining provider
+	 * @param showReferencesAtLeastOne whether to hide the mining when there are no references
+	 * @param siblings supplies the elements in the visible range of the editor with reference
+	 *            minings, whose references may be counted together with those of this element
+	 * @throws JavaModelException if the name range of the element could not be accessed
+	 * @throws BadLocationException if the line of the element could not be computed
+	 */
 	public JavaReferenceCodeMining(IJavaElement element, JavaEditor editor, IDocument document,
-			ICodeMiningProvider provider, boolean showReferencesAtLeastOne)
+			ICodeMiningProvider provider, boolean showReferencesAtLeastOne, Supplier<List<IJavaElement>> siblings)
 			throws JavaModelException, BadLocationException {
 		super(element, document, provider, null);
 		this.editor= editor;
 		this.showReferencesAtLeastOne= showReferencesAtLeastOne;
+		this.siblings= siblings;
 	}
 
 	@SuppressWarnings("boxing")
@@ -82,10 +97,11 @@ public class JavaReferenceCodeMining extends AbstractJavaElementLineHeaderCodeMi
 	protected CompletableFuture<Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
 		return CompletableFuture.runAsync(() -> {
 			try {
-				monitor.isCanceled();
+				if (monitor.isCanceled()) {
+					return;
+				}
 				IJavaElement element= super.getElement();
-				long refCount= countReferences(element, monitor);
-				monitor.isCanceled();
+				long refCount= countReferences(element, siblings, monitor);
 				action= refCount > 0 ? e -> {
 					if (refCount == 1 && ((e.stateMask & SWT.CTRL) == SWT.CTRL || (e.stateMask & SWT.COMMAND) == SWT.COMMAND)) {
 						// Ctrl + Click is done, open the referenced element in the Java Editor
@@ -115,6 +131,8 @@ public class JavaReferenceCodeMining extends AbstractJavaElementLineHeaderCodeMi
 				}
 			} catch (CoreException e) {
 				// Should never occur
+			} catch (OperationCanceledException e) {
+				// the minings are computed again
 			}
 		});
 	}
@@ -128,43 +146,18 @@ public class JavaReferenceCodeMining extends AbstractJavaElementLineHeaderCodeMi
 	 * Return the number of references for the given java element.
 	 *
 	 * @param element the java element.
+	 * @param siblings supplies the java elements whose references may be counted at the same time
 	 * @param monitor the monitor
 	 * @return he number of references for the given java element.
 	 * @throws JavaModelException throws when java error.
 	 * @throws CoreException throws when java error.
 	 */
-	private static long countReferences(IJavaElement element, IProgressMonitor monitor)
+	private static long countReferences(IJavaElement element, Supplier<List<IJavaElement>> siblings, IProgressMonitor monitor)
 			throws JavaModelException, CoreException {
 		if (element == null) {
 			return 0;
 		}
-		final AtomicLong count= new AtomicLong(0);
-		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
-		if (pattern == null) {
-			return 0;
-		}
-		SearchEngine engine= new SearchEngine();
-		final boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
-		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-				createSearchScope(element), new SearchRequestor() {
-
-					@Override
-					public void acceptSearchMatch(SearchMatch match) throws CoreException {
-						if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
-							return;
-						}
-						Object o= match.getElement();
-						if (o instanceof IJavaElement) {
-							IJavaElement e= (IJavaElement)o;
-							if (e.getAncestor(IJavaElement.COMPILATION_UNIT) != null
-									|| e.getAncestor(IJavaElement.CLASS_FILE) != null) {
-								count.incrementAndGet();
-							}
-						}
-					}
-				}, monitor);
-
-		return count.get();
+		return JavaCodeMiningCache.getDefault().countReferences(element, siblings, monitor);
 	}
 
 	/**
@@ -203,21 +196,6 @@ public class JavaReferenceCodeMining extends AbstractJavaElementLineHeaderCodeMi
 		return matches[0];
 	}
 
-	/**
-	 * Create Java workspace scope.
-	 *
-	 * @param element IJavaElement to search references for
-	 *
-	 * @return the Java workspace scope.
-	 * @throws JavaModelException when java error.
-	 */
-	private static IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
-		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
-		boolean isInsideJRE = factory.isInsideJRE(element);
-		IJavaSearchScope scope= factory.createWorkspaceScope(isInsideJRE);
-		return scope;
-	}
-
 	/**
 	 * Create Java source search scope.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,12 @@ package org.eclipse.jdt.internal.ui.packageview;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -89,6 +93,12 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	private boolean fShowLibrariesNode;
 	private boolean fFoldPackages;
 
+	/**
+	 * The time the updates may block the display thread before the remaining updates are run
+	 * asynchronously, in nanoseconds: one frame at 60 frames per second.
+	 */
+	private static final long FRAME_TIME= 16_000_000;
+
 	private Collection<Runnable> fPendingUpdates;
 
 	private UIJob fUpdateJob;
@@ -155,7 +165,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			}
 			//Are we in the UIThread? If so spin it until we are done
 			if (!hasPendingUpdates && ctrl.getDisplay().getThread() == Thread.currentThread() && !fViewer.isBusy()) {
-				runUpdates(runnables);
+				runUpdatesInFrame(runnables);
 			} else {
 				synchronized (this) {
 					if (fPendingUpdates == null) {
@@ -177,7 +187,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 					if (viewer != null && viewer.isBusy()) {
 						schedule(100); // reschedule when viewer is busy: bug 184991
 					} else {
-						runPendingUpdates();
+						runPendingUpdatesInFrame();
 					}
 					return Status.OK_STATUS;
 				}
@@ -204,13 +214,156 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		}
 	}
 
+	private void runPendingUpdatesInFrame() {
+		Collection<Runnable> pendingUpdates;
+		synchronized (this) {
+			pendingUpdates= fPendingUpdates;
+			fPendingUpdates= null;
+		}
+		if (pendingUpdates != null && fViewer != null) {
+			Control control= fViewer.getControl();
+			if (control != null && !control.isDisposed()) {
+				runUpdatesInFrame(pendingUpdates);
+			}
+		}
+	}
+
 	private void runUpdates(Collection<Runnable> runnables) {
-		Iterator<Runnable> runnableIterator = runnables.iterator();
-		while (runnableIterator.hasNext()){
-			runnableIterator.next().run();
+		for (Runnable update : coalesceUpdates(runnables)) {
+			update.run();
 		}
 	}
 
+	/**
+	 * Runs the updates until the time of a frame is used up, and posts the remaining updates. Must
+	 * be called in the display thread.
+	 *
+	 * @param runnables the updates
+	 */
+	private void runUpdatesInFrame(Collection<Runnable> runnables) {
+		List<Runnable> updates= coalesceUpdates(runnables);
+		long end= System.nanoTime() + FRAME_TIME;
+		for (int i= 0; i < updates.size(); i++) {
+			if (i > 0 && System.nanoTime() - end > 0) {
+				List<Runnable> remaining= new ArrayList<>(updates.subList(i, updates.size()));
+				synchronized (this) {
+					if (fPendingUpdates != null) {
+						remaining.addAll(fPendingUpdates);
+					}
+					fPendingUpdates= remaining;
+				}
+				postAsyncUpdate(fViewer.getControl().getDisplay());
+				return;
+			}
+			updates.get(i).run();
+		}
+	}
+
+	/**
+	 * Merges the updates: an element is refreshed once, and refreshes, additions, removals and
+	 * icon updates are dropped if they only affect items below elements that are refreshed. As a
+	 * removal removes all items of an element, only the last removal of an element and the
+	 * additions of the element after it are kept. The order of the remaining updates is kept.
+	 * Elements of collapsed subtrees usually have no items, their updates do nothing when run.
+	 *
+	 * @param runnables the updates
+	 * @return the merged updates
+	 */
+	private List<Runnable> coalesceUpdates(Collection<Runnable> runnables) {
+		Map<Object, Boolean> refreshRoots= new HashMap<>();
+		Map<Object, RemoveUpdate> lastRemoves= new HashMap<>();
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof RefreshUpdate) {
+				RefreshUpdate update= (RefreshUpdate) runnable;
+				for (Object element : update.fElements) {
+					if (element != null) {
+						refreshRoots.merge(element, Boolean.valueOf(update.fUpdateLabels), Boolean::logicalOr);
+					}
+				}
+			} else if (runnable instanceof RemoveUpdate) {
+				RemoveUpdate update= (RemoveUpdate) runnable;
+				lastRemoves.put(update.fElement, update);
+			}
+		}
+
+		List<Runnable> result= new ArrayList<>(runnables.size());
+		Set<Object> refreshed= new HashSet<>();
+		Set<List<Object>> updated= new HashSet<>();
+		Set<Object> removed= new HashSet<>();
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof RefreshUpdate) {
+				for (Object element : ((RefreshUpdate) runnable).fElements) {
+					if (element == null) {
+						result.add(new RefreshUpdate(Collections.singletonList(null), ((RefreshUpdate) runnable).fUpdateLabels));
+					} else if (refreshed.add(element)) {
+						boolean updateLabels= refreshRoots.get(element).booleanValue();
+						if (!isBelowRefreshRoot(element, updateLabels, refreshRoots)) {
+							result.add(new RefreshUpdate(Collections.singletonList(element), updateLabels));
+						}
+					}
+				}
+			} else if (runnable instanceof AddUpdate) {
+				AddUpdate update= (AddUpdate) runnable;
+				if (lastRemoves.containsKey(update.fElement) && !removed.contains(update.fElement)) {
+					continue; // undone by a later removal
+				}
+				if (updated.add(Arrays.asList(AddUpdate.class, update.fParent, update.fElement)) && !refreshRoots.containsKey(update.fParent)
+						&& !isBelowRefreshRoot(update.fParent, false, refreshRoots)) {
+					result.add(update);
+				}
+			} else if (runnable instanceof RemoveUpdate) {
+				RemoveUpdate update= (RemoveUpdate) runnable;
+				if (lastRemoves.get(update.fElement) != update) {
+					continue; // removed again later
+				}
+				removed.add(update.fElement);
+				if (!isBelowRefreshRoot(update.fElement, false, refreshRoots)) {
+					result.add(update);
+				}
+			} else if (runnable instanceof IconUpdate) {
+				IconUpdate update= (IconUpdate) runnable;
+				if (updated.add(Arrays.asList(IconUpdate.class, update.fElement)) && !Boolean.TRUE.equals(refreshRoots.get(update.fElement))
+						&& !isBelowRefreshRoot(update.fElement, true, refreshRoots)) {
+					result.add(update);
+				}
+			} else {
+				result.add(runnable);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Tests whether all items of an element are below the items of refreshed elements. A refresh
+	 * also updates the labels of the items below if requested.
+	 *
+	 * @param element the element
+	 * @param updateLabels <code>true</code> if the labels have to be updated
+	 * @param refreshRoots the refreshed elements, mapped to whether their labels are updated
+	 * @return <code>true</code> if the element is updated by the refreshes
+	 */
+	private boolean isBelowRefreshRoot(Object element, boolean updateLabels, Map<Object, Boolean> refreshRoots) {
+		Widget[] items= fViewer.testFindItems(element);
+		if (items.length == 0)
+			return false;
+		boolean isInputRefreshed= covers(refreshRoots.get(fInput), updateLabels);
+		for (Widget item : items) {
+			if (!(item instanceof TreeItem))
+				return false;
+			boolean isCovered= isInputRefreshed;
+			for (TreeItem parentItem= ((TreeItem) item).getParentItem(); parentItem != null && !isCovered; parentItem= parentItem.getParentItem()) {
+				isCovered= covers(refreshRoots.get(parentItem.getData()), updateLabels);
+			}
+			if (!isCovered)
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean covers(Boolean refreshedLabels, boolean updateLabels) {
+		return refreshedLabels != null && (refreshedLabels.booleanValue() || !updateLabels);
+	}
+
 
 	private boolean inputDeleted(Collection<Runnable> runnables) {
 		if (fInput == null)
@@ -837,7 +990,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	 * @param runnables the resulting view changes as runnables (type {@link Runnable})
 	 */
 	 private void postUpdateIcon(final IJavaElement element, Collection<Runnable> runnables) {
-		 runnables.add(() -> fViewer.update(element, new String[]{IBasicPropertyConstants.P_IMAGE}));
+		 runnables.add(new IconUpdate(element));
 	 }
 
 	/**
@@ -949,46 +1102,101 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
+		runnables.add(new RefreshUpdate(new ArrayList<>(toRefresh), updateLabels));
+	}
+
+	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
+		runnables.add(new AddUpdate(parent, element));
+	}
+
+	protected void postRemove(final Object element, Collection<Runnable> runnables) {
+		runnables.add(new RemoveUpdate(element));
+	}
+
+	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
 		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
+			fViewer.refresh(root, true);
+			// trigger a synthetic selection change so that action refresh their
+			// enable state.
+			fViewer.setSelection(fViewer.getSelection());
+		});
+	}
+
+
+	/**
+	 * The viewer updates posted by this content provider. They are known to
+	 * {@link PackageExplorerContentProvider#coalesceUpdates(Collection)}, other runnables are run
+	 * as they are.
+	 */
+	private final class RefreshUpdate implements Runnable {
+		private final List<Object> fElements;
+		private final boolean fUpdateLabels;
+
+		RefreshUpdate(List<Object> elements, boolean updateLabels) {
+			fElements= elements;
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			for (Object element : fElements) {
 				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
+					fViewer.refresh(element, fUpdateLabels);
 				}
 			}
-		});
+		}
 	}
 
-	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Widget item : fViewer.testFindItems(element)) {
+	private final class AddUpdate implements Runnable {
+		private final Object fParent;
+		private final Object fElement;
+
+		AddUpdate(Object parent, Object element) {
+			fParent= parent;
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			for (Widget item : fViewer.testFindItems(fElement)) {
 				if (item instanceof TreeItem && !item.isDisposed()) {
 					TreeItem parentItem= ((TreeItem) item).getParentItem();
-					if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
+					if (parentItem != null && !parentItem.isDisposed() && fParent.equals(parentItem.getData())) {
 						return; // no add, element already added (most likely by a refresh)
 					}
 				}
 			}
-			fViewer.add(parent, element);
-		});
+			fViewer.add(fParent, fElement);
+		}
 	}
 
-	protected void postRemove(final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			if (fViewer.testFindItems(element).length > 0) {
-				fViewer.remove(element);
+	private final class RemoveUpdate implements Runnable {
+		private final Object fElement;
+
+		RemoveUpdate(Object element) {
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			if (fViewer.testFindItems(fElement).length > 0) {
+				fViewer.remove(fElement);
 			}
-		});
+		}
 	}
 
-	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			fViewer.refresh(root, true);
-			// trigger a synthetic selection change so that action refresh their
-			// enable state.
-			fViewer.setSelection(fViewer.getSelection());
-		});
-	}
+	private final class IconUpdate implements Runnable {
+		private final Object fElement;
+
+		IconUpdate(Object element) {
+			fElement= element;
+		}
 
+		@Override
+		public void run() {
+			fViewer.update(fElement, new String[] { IBasicPropertyConstants.P_IMAGE });
+		}
+	}
 
 	/*
 	 * @see org.eclipse.jface.util.IPropertyChangeListener#propertyChange(org.eclipse.jface.util.PropertyChangeEvent)
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2022 Darmstadt University of Technology and others
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,8 +15,9 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -54,6 +55,12 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 	public static final String CATEGORY_ID= "org.eclipse.jdt.ui.javaChainProposalCategory"; //$NON-NLS-1$
 
+	/**
+	 * Runs the call chain searches, so that a search can be abandoned when it exceeds the timeout.
+	 * Shared by all invocations, its threads end when they are idle.
+	 */
+	private static final ExecutorService SEARCH_EXECUTOR= createSearchExecutor();
+
 	private JavaContentAssistInvocationContext ctx;
 
 	private CompletionProposalCollector collector;
@@ -165,9 +172,9 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 		final List<ChainType> expectedTypes= ChainElementAnalyzer.resolveBindingsForExpectedTypes(ctx.getProject(), ctx.getCoreContext());
 		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType);
-		final ExecutorService executor= Executors.newSingleThreadExecutor();
+		Future<?> future= null;
 		try {
-			Future<?> future= executor.submit(() -> {
+			future= SEARCH_EXECUTOR.submit(() -> {
 				if (findEntrypoints()) {
 					finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
 				}
@@ -176,12 +183,23 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 			future.get(timeout, TimeUnit.SECONDS);
 		} catch (final Exception e) {
 			finder.cancel();
-			executor.shutdownNow();
+			if (future != null)
+				future.cancel(true);
 			setError("Timeout during call chain computation."); //$NON-NLS-1$
 		}
 		return buildCompletionProposals(finder.getChains());
 	}
 
+	private static ExecutorService createSearchExecutor() {
+		ThreadPoolExecutor executor= new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread thread= new Thread(r, "Chain Completion Search"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	private List<ICompletionProposal> buildCompletionProposals(final List<Chain> chains) {
 		final List<ICompletionProposal> proposals= new LinkedList<>();
 		for (final Chain chain : chains) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -344,6 +344,22 @@ public final class CompletionProposalCategory {
 		return result;
 	}
 
+	/**
+	 * Returns whether any of the computers of this category that contribute to the given partition
+	 * requires the UI thread.
+	 *
+	 * @param partition the partition type where to invocation occurred
+	 * @return <code>true</code> if the proposals of this category must be computed in the UI thread
+	 * @see CompletionProposalComputerDescriptor#requiresUIThread()
+	 */
+	boolean requiresUIThread(String partition) {
+		for (CompletionProposalComputerDescriptor desc : fRegistry.getProposalComputerDescriptors(partition)) {
+			if (desc.getCategory() == this && desc.requiresUIThread())
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Safely computes context information objects of all computers of this category through their
 	 * extension. If an extension is disabled, throws an exception or otherwise does not adhere to
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,15 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -229,6 +238,24 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 
 	private static final Comparator<CompletionProposalCategory> ORDER_COMPARATOR= (d1, d2) -> d1.getSortOrder() - d2.getSortOrder();
 
+	/**
+	 * The time in milliseconds that a category computing its proposals concurrently to other
+	 * categories may take. The proposals of a category that takes longer are dropped.
+	 */
+	private static final long CATEGORY_TIMEOUT= 5000;
+
+	/**
+	 * The executor that computes the proposals of categories which do not require the UI thread,
+	 * shared by all processors.
+	 */
+	private static ExecutorService fgCategoryExecutor;
+
+	/**
+	 * The categories whose proposals are being computed on the category executor. While a
+	 * computation that timed out is still running, the category is computed on the calling thread.
+	 */
+	private static final Set<CompletionProposalCategory> fgBusyCategories= ConcurrentHashMap.newKeySet();
+
 	private final List<CompletionProposalCategory> fCategories;
 	private final String fPartition;
 	private final ContentAssistant fAssistant;
@@ -259,6 +286,12 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private boolean fNeedsSortingAfterFiltering;
 
+	/**
+	 * The time each category took to compute its proposals, reported when
+	 * {@link JavaPlugin#DEBUG_RESULT_COLLECTOR} is set.
+	 */
+	private final StringBuilder fCategoryStats= new StringBuilder();
+
 
 	public ContentAssistProcessor(ContentAssistant assistant, String partition) {
 		Assert.isNotNull(partition);
@@ -306,6 +339,7 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			System.err.println("Code Assist (setup):\t" + (setup - start) ); //$NON-NLS-1$
 			System.err.println("Code Assist (collect):\t" + (collect - setup) ); //$NON-NLS-1$
 			System.err.println("Code Assist (sort):\t" + (filter - collect) ); //$NON-NLS-1$
+			System.err.print(fCategoryStats);
 		}
 
 		return result;
@@ -314,6 +348,7 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	private void clearState() {
 		fErrorMessage=null;
 		fNumberOfComputedResults= 0;
+		fCategoryStats.setLength(0);
 	}
 
 	/**
@@ -329,12 +364,40 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
-		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+		List<CategoryComputation> computations= new ArrayList<>(providers.size());
+		for (CompletionProposalCategory cat : providers)
+			computations.add(new CategoryComputation(cat));
+
+		// categories that do not require the UI thread run concurrently with each other and with the remaining ones
+		if (providers.size() > 1 && isConcurrentComputationEnabled()) {
+			for (CategoryComputation computation : computations) {
+				CompletionProposalCategory cat= computation.fCategory;
+				if (cat.isEnabled() && cat.hasComputers(fPartition) && !cat.requiresUIThread(fPartition))
+					computation.submit(context);
+			}
+		}
+		for (CategoryComputation computation : computations) {
+			if (!computation.fConcurrent)
+				computation.compute(context, new SubProgressMonitor(monitor, 1));
+		}
+
+		for (CategoryComputation computation : computations) {
+			CompletionProposalCategory cat= computation.fCategory;
+			List<ICompletionProposal> computed= computation.getProposals();
+			if (computation.fConcurrent)
+				monitor.worked(1);
 			proposals.addAll(computed);
 			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
 			if (fErrorMessage == null) {
-				fErrorMessage= cat.getErrorMessage();
+				fErrorMessage= computation.fTimedOut
+						? Messages.format(JavaTextMessages.ContentAssistProcessor_category_timeout, cat.getDisplayName())
+						: cat.getErrorMessage();
+			}
+			if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
+				fCategoryStats.append("Code Assist (").append(cat.getId()).append("):\t").append(computation.fTime); //$NON-NLS-1$ //$NON-NLS-2$
+				if (computation.fTimedOut)
+					fCategoryStats.append(" (timed out)"); //$NON-NLS-1$
+				fCategoryStats.append('\n');
 			}
 		}
 		if (fNeedsSortingAfterFiltering && !needsSortingAfterFiltering) {
@@ -344,6 +407,99 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	/**
+	 * The computation of the proposals of a category, either on the calling thread or on the
+	 * {@link #getCategoryExecutor() category executor}.
+	 */
+	private final class CategoryComputation {
+		final CompletionProposalCategory fCategory;
+		private final NullProgressMonitor fCancelMonitor= new NullProgressMonitor();
+		boolean fConcurrent;
+		private Future<List<ICompletionProposal>> fFuture;
+		private List<ICompletionProposal> fProposals;
+		private long fStart;
+		/** the time in milliseconds the computation took, or the time waited for it if it timed out */
+		long fTime;
+		boolean fTimedOut;
+
+		CategoryComputation(CompletionProposalCategory category) {
+			fCategory= category;
+		}
+
+		void submit(ContentAssistInvocationContext context) {
+			if (!fgBusyCategories.add(fCategory)) {
+				// still computing the proposals of an earlier invocation, compute them on the calling thread
+				return;
+			}
+			fStart= System.currentTimeMillis();
+			fConcurrent= true;
+			fFuture= getCategoryExecutor().submit(() -> {
+				try {
+					if (fCancelMonitor.isCanceled())
+						return Collections.emptyList();
+					List<ICompletionProposal> computed= fCategory.computeCompletionProposals(context, fPartition, new SubProgressMonitor(fCancelMonitor, 1));
+					fTime= System.currentTimeMillis() - fStart;
+					return computed;
+				} finally {
+					fgBusyCategories.remove(fCategory);
+				}
+			});
+		}
+
+		void compute(ContentAssistInvocationContext context, SubProgressMonitor monitor) {
+			fStart= System.currentTimeMillis();
+			fProposals= fCategory.computeCompletionProposals(context, fPartition, monitor);
+			fTime= System.currentTimeMillis() - fStart;
+		}
+
+		List<ICompletionProposal> getProposals() {
+			if (!fConcurrent)
+				return fProposals;
+			long remaining= fStart + CATEGORY_TIMEOUT - System.currentTimeMillis();
+			try {
+				return fFuture.get(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// the computation is not interrupted, since computers may not expect that, but its proposals are dropped
+				fCancelMonitor.setCanceled(true);
+				fTimedOut= true;
+				fTime= System.currentTimeMillis() - fStart;
+			} catch (ExecutionException e) {
+				JavaPlugin.log(e.getCause());
+			} catch (InterruptedException e) {
+				fCancelMonitor.setCanceled(true);
+				Thread.currentThread().interrupt();
+			}
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Tells whether categories may compute their proposals concurrently. This is the case when
+	 * code assist may compute proposals outside of the UI thread.
+	 *
+	 * @return <code>true</code> if categories that do not require the UI thread are computed
+	 *         concurrently
+	 * @see PreferenceConstants#CODEASSIST_NONUITHREAD_COMPUTATION
+	 */
+	private static boolean isConcurrentComputationEnabled() {
+		return JavaPlugin.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION);
+	}
+
+	private static synchronized ExecutorService getCategoryExecutor() {
+		if (fgCategoryExecutor == null) {
+			int threads= Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+			AtomicInteger threadCount= new AtomicInteger();
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread thread= new Thread(r, "Java Content Assist " + threadCount.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fgCategoryExecutor= executor;
+		}
+		return fgCategoryExecutor;
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
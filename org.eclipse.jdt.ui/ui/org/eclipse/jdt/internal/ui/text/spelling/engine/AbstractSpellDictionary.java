@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -21,20 +22,27 @@ import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URISyntaxException;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.URIUtil;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 
@@ -59,9 +67,9 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * Byte array wrapper
 	 * @since 3.6
 	 */
-	private static class ByteArrayWrapper {
+	static class ByteArrayWrapper {
 
-		private byte[] byteArray;
+		final byte[] byteArray;
 
 		public ByteArrayWrapper(byte[] byteArray) {
 			this.byteArray= byteArray;
@@ -111,9 +119,22 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	/** The phonetic distance algorithm */
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
+	/**
+	 * The maximal number of candidates per phonetic hash that are ranked for proposals.
+	 * See https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
+	 */
+	private static final int MAX_RANKED_CANDIDATES= 500;
+
 	/** The mapping from phonetic hashes to word lists */
 	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
 
+	/**
+	 * The memory-mapped index of the word list, or <code>null</code> if the word list is held in
+	 * {@link #fHashBuckets}. Words added after the index has been mapped go to
+	 * {@link #fHashBuckets}.
+	 */
+	private volatile SpellDictionaryIndex fIndex;
+
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
 
@@ -156,7 +177,67 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			JavaPlugin.log(e);
 			return null;
 		}
-		return fHashBuckets.get(hashBytes);
+		Object candidates= fHashBuckets.get(hashBytes);
+		SpellDictionaryIndex index= fIndex;
+		if (index == null)
+			return candidates;
+
+		ArrayList<String> indexed= new ArrayList<>(BUCKET_CAPACITY);
+		index.collectWords(hashBytes.byteArray, indexed, Integer.MAX_VALUE);
+		if (indexed.isEmpty())
+			return candidates;
+		ArrayList<byte[]> result= new ArrayList<>(indexed.size() + BUCKET_CAPACITY);
+		try {
+			for (String word : indexed)
+				result.add(word.getBytes(UTF_8));
+		} catch (UnsupportedEncodingException e) {
+			JavaPlugin.log(e);
+			return candidates;
+		}
+		if (candidates instanceof byte[]) {
+			result.add((byte[]) candidates);
+		} else if (candidates != null) {
+			@SuppressWarnings("unchecked")
+			ArrayList<byte[]> candidateList= (ArrayList<byte[]>) candidates;
+			result.addAll(candidateList);
+		}
+		return result;
+	}
+
+	/**
+	 * Adds the words with the given phonetic hash, first those from the index, then those
+	 * added to this dictionary later.
+	 *
+	 * @param hash the phonetic hash
+	 * @param result the list to add the words to
+	 * @param limit the maximal number of words to add
+	 */
+	private void collectCandidates(final String hash, final List<String> result, final int limit) {
+		byte[] hashBytes;
+		try {
+			hashBytes= hash.getBytes(UTF_8);
+		} catch (UnsupportedEncodingException e) {
+			JavaPlugin.log(e);
+			return;
+		}
+		SpellDictionaryIndex index= fIndex;
+		if (index != null)
+			index.collectWords(hashBytes, result, limit);
+
+		final Object candidates= fHashBuckets.get(new ByteArrayWrapper(hashBytes));
+		try {
+			if (candidates instanceof byte[]) {
+				if (result.size() < limit)
+					result.add(new String((byte[]) candidates, UTF_8));
+			} else if (candidates != null) {
+				@SuppressWarnings("unchecked")
+				final ArrayList<byte[]> candidateList= (ArrayList<byte[]>) candidates;
+				for (int i= 0; i < candidateList.size() && result.size() < limit; i++)
+					result.add(new String(candidateList.get(i), UTF_8));
+			}
+		} catch (UnsupportedEncodingException e) {
+			JavaPlugin.log(e);
+		}
 	}
 
 	/**
@@ -180,44 +261,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		final StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 		final HashSet<RankedWordProposal> result= new HashSet<>(BUCKET_CAPACITY * hashs.size());
 
+		final ArrayList<String> candidates= new ArrayList<>(BUCKET_CAPACITY);
 		for (String hash2 : hashs) {
 
 			hash= hash2;
 
-			final Object candidates= getCandidates(hash);
-			if (candidates == null)
-				continue;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				if (distance < DISTANCE_THRESHOLD) {
-					buffer.setLength(0);
-					buffer.append(candidate);
-					if (sentence)
-						buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-					result.add(new RankedWordProposal(buffer.toString(), -distance));
-				}
-				continue;
-			}
-
-			@SuppressWarnings("unchecked")
-			final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
-			for (int offset= 0; offset < candidateSize; offset++) {
+			candidates.clear();
+			collectCandidates(hash, candidates, MAX_RANKED_CANDIDATES);
+			for (String candidate : candidates) {
 
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
 				distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 				if (distance < DISTANCE_THRESHOLD) {
@@ -255,37 +307,11 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
-			distance= fDistanceAlgorithm.getDistance(word, candidate);
-			buffer.append(candidate);
-			if (sentence)
-				buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-			result.add(new RankedWordProposal(buffer.toString(), -distance));
-			return;
-		}
-
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
+		final ArrayList<String> candidates= new ArrayList<>(BUCKET_CAPACITY);
+		collectCandidates(fHashProvider.getHash(word), candidates, Integer.MAX_VALUE);
+		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidates.size());
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
+		for (String candidate : candidates) {
 			distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 			if (distance <= minimum) {
@@ -314,7 +340,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		SpellDictionaryIndex index= fIndex;
+		return fHashBuckets.isEmpty() && (index == null || index.isEmpty());
 	}
 
 	/**
@@ -461,6 +488,16 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *                   The word to hash in the dictionary
 	 */
 	protected final void hashWord(final String word) {
+		hashWord(fHashBuckets, word);
+	}
+
+	/**
+	 * Hashes the word into the given buckets.
+	 *
+	 * @param buckets the mapping from phonetic hashes to word lists
+	 * @param word the word to hash
+	 */
+	private void hashWord(final Map<ByteArrayWrapper, Object> buckets, final String word) {
 
 		final String hash= fHashProvider.getHash(word);
 		ByteArrayWrapper hashBytes;
@@ -473,10 +510,10 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			return;
 		}
 
-		Object bucket= fHashBuckets.get(hashBytes);
+		Object bucket= buckets.get(hashBytes);
 
 		if (bucket == null) {
-			fHashBuckets.put(hashBytes, wordBytes);
+			buckets.put(hashBytes, wordBytes);
 		} else if (bucket instanceof ArrayList) {
 			@SuppressWarnings("unchecked")
 			ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
@@ -485,7 +522,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
 			list.add(bucket);
 			list.add(wordBytes);
-			fHashBuckets.put(hashBytes, list);
+			buckets.put(hashBytes, list);
 		}
 	}
 
@@ -506,32 +543,32 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return false;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return false;
-			}
-			if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
-				return true;
-			return false;
-		}
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
+		final String hash= fHashProvider.getHash(word);
+		byte[] hashBytes;
 		byte[] wordBytes;
 		byte[] lowercaseWordBytes;
 		try {
+			hashBytes= hash.getBytes(UTF_8);
 			wordBytes= word.getBytes(UTF_8);
 			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
 			return false;
 		}
+
+		SpellDictionaryIndex index= fIndex;
+		if (index != null && index.contains(hashBytes, wordBytes, lowercaseWordBytes))
+			return true;
+
+		final Object candidates= fHashBuckets.get(new ByteArrayWrapper(hashBytes));
+		if (candidates == null)
+			return false;
+		else if (candidates instanceof byte[]) {
+			byte[] candidate= (byte[])candidates;
+			return Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes);
+		}
+		@SuppressWarnings("unchecked")
+		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
 		for (byte[] candidate : candidateList) {
 			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
 				return true;
@@ -590,12 +627,24 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			 return fLoaded;
 
 		if (url != null) {
+			String indexKey= getIndexKey(url);
+			File indexFile= indexKey != null ? getIndexFile(url) : null;
+			if (indexFile != null) {
+				SpellDictionaryIndex index= SpellDictionaryIndex.open(indexFile, indexKey);
+				if (index != null) {
+					fIndex= index;
+					fMustLoad= false;
+					return true;
+				}
+			}
+
 			InputStream stream= null;
 			int line= 0;
 			try {
 				stream= url.openStream();
 				if (stream != null) {
 					String word= null;
+					Map<ByteArrayWrapper, Object> words= new HashMap<>(getInitialSize(), LOAD_FACTOR);
 
 					// Setup a reader with a decoder in order to read over malformed input if needed.
 					CharsetDecoder decoder= Charset.forName(getEncoding()).newDecoder();
@@ -624,9 +673,10 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 							}
 							doRead= word != null;
 							if (doRead)
-								hashWord(word);
+								hashWord(words, word);
 						}
 					}
+					addWords(words, indexFile, indexKey);
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -659,6 +709,97 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Adds the words read from the word list. Writes and maps an index for them if possible, so
+	 * that the next time the dictionary is loaded, the word list does not have to be read again
+	 * and the words do not occupy the heap.
+	 *
+	 * @param words the words from the word list
+	 * @param indexFile the index file, or <code>null</code> if the word list can't be indexed
+	 * @param indexKey the key of the word list
+	 */
+	private void addWords(Map<ByteArrayWrapper, Object> words, File indexFile, String indexKey) {
+		if (indexFile != null) {
+			try {
+				SpellDictionaryIndex.write(indexFile, indexKey, words);
+				SpellDictionaryIndex index= SpellDictionaryIndex.open(indexFile, indexKey);
+				if (index != null) {
+					fIndex= index;
+					return;
+				}
+			} catch (IOException e) {
+				// e.g. the previous index is still mapped, keep the words in memory
+			}
+		}
+		if (fHashBuckets.isEmpty()) {
+			fHashBuckets.putAll(words);
+		} else {
+			for (Object bucket : words.values()) {
+				if (bucket instanceof byte[]) {
+					hashWord(new String((byte[]) bucket, StandardCharsets.UTF_8));
+				} else {
+					@SuppressWarnings("unchecked")
+					ArrayList<byte[]> bucketList= (ArrayList<byte[]>) bucket;
+					for (byte[] word : bucketList)
+						hashWord(new String(word, StandardCharsets.UTF_8));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the key that identifies the current content of the word list.
+	 *
+	 * @param url the URL of the word list
+	 * @return the key, or <code>null</code> if the modification time or size of the word list
+	 *         are not known
+	 */
+	private String getIndexKey(URL url) {
+		long lastModified;
+		long length;
+		try {
+			if ("file".equals(url.getProtocol())) { //$NON-NLS-1$
+				File file= URIUtil.toFile(URIUtil.toURI(url));
+				if (file == null)
+					return null;
+				lastModified= file.lastModified();
+				length= file.length();
+			} else {
+				URLConnection connection= url.openConnection();
+				lastModified= connection.getLastModified();
+				length= connection.getContentLengthLong();
+			}
+		} catch (IOException | URISyntaxException e) {
+			return null;
+		}
+		if (lastModified <= 0 || length <= 0)
+			return null;
+		return url.toExternalForm() + '|' + lastModified + '|' + length + '|' + getEncoding() + '|' + fHashProvider.getClass().getName();
+	}
+
+	/**
+	 * Returns the location of the index of a word list. The index file is named by the SHA-1
+	 * digest of the URL.
+	 *
+	 * @param url the URL of the word list
+	 * @return the index file in the state location, or <code>null</code> if not available
+	 */
+	private static File getIndexFile(URL url) {
+		JavaPlugin plugin= JavaPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		try {
+			byte[] digest= MessageDigest.getInstance("SHA-1").digest(url.toExternalForm().getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			StringBuilder name= new StringBuilder(digest.length * 2 + 6);
+			for (byte b : digest)
+				name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			name.append(".index"); //$NON-NLS-1$
+			return plugin.getStateLocation().append("spelling").append(name.toString()).toFile(); //$NON-NLS-1$
+		} catch (IllegalStateException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
@@ -698,6 +839,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		fLoaded= false;
 		fMustLoad= true;
 		fHashBuckets.clear();
+		fIndex= null;
 	}
 
 	@Override
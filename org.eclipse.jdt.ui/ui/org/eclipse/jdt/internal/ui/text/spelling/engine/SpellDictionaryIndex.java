@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.AbstractSpellDictionary.ByteArrayWrapper;
+
+/**
+ * Read-only, memory-mapped index of a word list, keyed by phonetic hash.
+ * <p>
+ * The index is an open addressing hash table of offsets to buckets. A bucket holds the
+ * phonetic hash and the UTF-8 encoded words with that hash. Lookups read directly from the
+ * mapped file, so the words don't occupy the Java heap. All reads use absolute positions, so
+ * an index can be used by several threads.
+ * </p>
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version, int keyLength, byte[] key, int wordCount, int tableSize,
+ * int[tableSize] bucketOffsets (0 if empty),
+ * buckets: short hashLength, byte[] hash, int count, (short wordLength, byte[] word)*
+ * </pre>
+ * The key identifies the word list the index has been built from, an index whose key does
+ * not match is stale.
+ * </p>
+ */
+final class SpellDictionaryIndex {
+
+	private static final int MAGIC= 0x4A535049;
+
+	private static final int VERSION= 1;
+
+	private final ByteBuffer fBuffer;
+	private final int fWordCount;
+	private final int fTableSize;
+	private final int fTableOffset;
+
+	private SpellDictionaryIndex(ByteBuffer buffer, int wordCount, int tableSize, int tableOffset) {
+		fBuffer= buffer;
+		fWordCount= wordCount;
+		fTableSize= tableSize;
+		fTableOffset= tableOffset;
+	}
+
+	/**
+	 * Maps an index file.
+	 *
+	 * @param file the index file
+	 * @param key the key of the word list the index must have been built from
+	 * @return the index, or <code>null</code> if the file does not exist, is stale or corrupt
+	 */
+	static SpellDictionaryIndex open(File file, String key) {
+		if (!file.isFile())
+			return null;
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			MappedByteBuffer buffer= channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+				return null;
+			byte[] expectedKey= key.getBytes(StandardCharsets.UTF_8);
+			int keyLength= buffer.getInt(8);
+			if (keyLength != expectedKey.length)
+				return null;
+			for (int i= 0; i < keyLength; i++) {
+				if (buffer.get(12 + i) != expectedKey[i])
+					return null;
+			}
+			int offset= 12 + keyLength;
+			int wordCount= buffer.getInt(offset);
+			int tableSize= buffer.getInt(offset + 4);
+			int tableOffset= offset + 8;
+			if (Integer.bitCount(tableSize) != 1 || !isValid(buffer, wordCount, tableSize, tableOffset))
+				return null;
+			return new SpellDictionaryIndex(buffer, wordCount, tableSize, tableOffset);
+		} catch (IOException | IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks that the table and the buckets fit into the file, so that a truncated or otherwise
+	 * corrupt file is rebuilt instead of failing on lookups.
+	 *
+	 * @param buffer the mapped file
+	 * @param wordCount the number of words recorded in the header
+	 * @param tableSize the size of the table
+	 * @param tableOffset the offset of the table
+	 * @return <code>true</code> if every table entry points to a bucket, the buckets end at the
+	 *         end of the file and contain <code>wordCount</code> words
+	 */
+	private static boolean isValid(ByteBuffer buffer, int wordCount, int tableSize, int tableOffset) {
+		int size= buffer.limit();
+		if (wordCount < 0 || tableSize <= 0 || tableSize > (size - tableOffset) / 4)
+			return false;
+		int bucketsOffset= tableOffset + tableSize * 4;
+
+		// the buckets are written one after the other, in the order of their offsets
+		int[] buckets= new int[tableSize];
+		int bucketCount= 0;
+		int words= 0;
+		int position= bucketsOffset;
+		while (position < size) {
+			if (bucketCount == tableSize - 1)
+				return false; // lookups need an empty slot
+			buckets[bucketCount++]= position;
+			if (size - position < 2)
+				return false;
+			position+= 2 + (buffer.getShort(position) & 0xFFFF);
+			if (size - position < 4)
+				return false;
+			int count= buffer.getInt(position);
+			position+= 4;
+			if (count <= 0 || count > wordCount - words)
+				return false;
+			words+= count;
+			for (int i= 0; i < count; i++) {
+				if (size - position < 2)
+					return false;
+				position+= 2 + (buffer.getShort(position) & 0xFFFF);
+				if (position > size)
+					return false;
+			}
+		}
+		if (words != wordCount)
+			return false;
+
+		int used= 0;
+		for (int slot= 0; slot < tableSize; slot++) {
+			int bucket= buffer.getInt(tableOffset + slot * 4);
+			if (bucket == 0)
+				continue;
+			if (Arrays.binarySearch(buckets, 0, bucketCount, bucket) < 0)
+				return false;
+			used++;
+		}
+		return used == bucketCount;
+	}
+
+	/**
+	 * Writes an index file. The file is written next to the target and then moved into place.
+	 *
+	 * @param file the index file
+	 * @param key the key of the word list
+	 * @param buckets the buckets from the phonetic hash to a word (<code>byte[]</code>) or a list
+	 *            of words (<code>ArrayList&lt;byte[]&gt;</code>)
+	 * @throws IOException if the file could not be written
+	 */
+	static void write(File file, String key, Map<ByteArrayWrapper, Object> buckets) throws IOException {
+		int tableSize= Integer.highestOneBit(Math.max(1, buckets.size() * 2 - 1)) << 1;
+		byte[] keyBytes= key.getBytes(StandardCharsets.UTF_8);
+		int tableOffset= 12 + keyBytes.length + 8;
+
+		int[] table= new int[tableSize];
+		List<byte[]> hashes= new ArrayList<>(buckets.size());
+		List<List<byte[]>> words= new ArrayList<>(buckets.size());
+		int wordCount= 0;
+		int offset= tableOffset + tableSize * 4;
+		for (Entry<ByteArrayWrapper, Object> entry : buckets.entrySet()) {
+			byte[] hash= entry.getKey().byteArray;
+			List<byte[]> bucket= toList(entry.getValue());
+
+			int slot= hash(hash) & (tableSize - 1);
+			while (table[slot] != 0)
+				slot= (slot + 1) & (tableSize - 1);
+			table[slot]= offset;
+
+			hashes.add(hash);
+			words.add(bucket);
+			wordCount+= bucket.size();
+			offset+= 2 + hash.length + 4;
+			for (byte[] word : bucket)
+				offset+= 2 + word.length;
+		}
+
+		File parent= file.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		File tmpFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(keyBytes.length);
+			out.write(keyBytes);
+			out.writeInt(wordCount);
+			out.writeInt(tableSize);
+			for (int element : table)
+				out.writeInt(element);
+			for (int i= 0; i < hashes.size(); i++) {
+				byte[] hash= hashes.get(i);
+				out.writeShort(hash.length);
+				out.write(hash);
+				List<byte[]> bucket= words.get(i);
+				out.writeInt(bucket.size());
+				for (byte[] word : bucket) {
+					out.writeShort(word.length);
+					out.write(word);
+				}
+			}
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<byte[]> toList(Object bucket) {
+		if (bucket instanceof byte[]) {
+			List<byte[]> list= new ArrayList<>(1);
+			list.add((byte[]) bucket);
+			return list;
+		}
+		return (List<byte[]>) bucket;
+	}
+
+	private static int hash(byte[] bytes) {
+		int hash= 0x811C9DC5;
+		for (byte b : bytes) {
+			hash^= b;
+			hash*= 0x01000193;
+		}
+		return hash;
+	}
+
+	/**
+	 * @return <code>true</code> if the index contains no words
+	 */
+	boolean isEmpty() {
+		return fWordCount == 0;
+	}
+
+	/**
+	 * Tells whether the bucket of the given phonetic hash contains one of the given words.
+	 *
+	 * @param hash the UTF-8 encoded phonetic hash
+	 * @param word the UTF-8 encoded word
+	 * @param alternative the UTF-8 encoded alternative spelling of the word, e.g. the lower
+	 *            case form
+	 * @return <code>true</code> if the word or its alternative is contained
+	 */
+	boolean contains(byte[] hash, byte[] word, byte[] alternative) {
+		int bucket= findBucket(hash);
+		if (bucket == 0)
+			return false;
+		int position= bucket + 2 + hash.length;
+		int count= fBuffer.getInt(position);
+		position+= 4;
+		for (int i= 0; i < count; i++) {
+			int length= fBuffer.getShort(position) & 0xFFFF;
+			position+= 2;
+			if (equals(position, length, word) || equals(position, length, alternative))
+				return true;
+			position+= length;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the words of the bucket of the given phonetic hash.
+	 *
+	 * @param hash the UTF-8 encoded phonetic hash
+	 * @param result the list to add the words to
+	 * @param limit the maximal number of words to add
+	 */
+	void collectWords(byte[] hash, List<String> result, int limit) {
+		int bucket= findBucket(hash);
+		if (bucket == 0)
+			return;
+		int position= bucket + 2 + hash.length;
+		int count= Math.min(limit, fBuffer.getInt(position));
+		position+= 4;
+		byte[] bytes= new byte[64];
+		for (int i= 0; i < count; i++) {
+			int length= fBuffer.getShort(position) & 0xFFFF;
+			position+= 2;
+			if (bytes.length < length)
+				bytes= new byte[length];
+			for (int j= 0; j < length; j++)
+				bytes[j]= fBuffer.get(position + j);
+			result.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+			position+= length;
+		}
+	}
+
+	private int findBucket(byte[] hash) {
+		int slot= hash(hash) & (fTableSize - 1);
+		while (true) {
+			int bucket= fBuffer.getInt(fTableOffset + slot * 4);
+			if (bucket == 0 || equals(bucket + 2, fBuffer.getShort(bucket) & 0xFFFF, hash))
+				return bucket;
+			slot= (slot + 1) & (fTableSize - 1);
+		}
+	}
+
+	private boolean equals(int position, int length, byte[] bytes) {
+		if (length != bytes.length)
+			return false;
+		for (int i= 0; i < length; i++) {
+			if (fBuffer.get(position + i) != bytes[i])
+				return false;
+		}
+		return true;
+	}
+}
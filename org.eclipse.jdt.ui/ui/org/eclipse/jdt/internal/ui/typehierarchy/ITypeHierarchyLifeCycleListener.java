@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,4 +29,17 @@ public interface ITypeHierarchyLifeCycleListener {
 	 */
 	void typeHierarchyChanged(TypeHierarchyLifeCycle typeHierarchyProvider, IType[] changedTypes);
 
+	/**
+	 * The type hierarchy has been updated without being refreshed: sub types have been added,
+	 * removed, or moved to other super types. The default implementation handles this like a change
+	 * of the full hierarchy.
+	 *
+	 * @param typeHierarchyProvider the type hierarchy that changed
+	 * @param parentTypes the types whose sub types changed
+	 * @since 3.28
+	 */
+	default void subtypesChanged(TypeHierarchyLifeCycle typeHierarchyProvider, IType[] parentTypes) {
+		typeHierarchyChanged(typeHierarchyProvider, null);
+	}
+
 }
@@ -0,0 +1,711 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.typehierarchy;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+
+/**
+ * A type hierarchy on a focus type that is patched when compilation units change, instead of
+ * being recomputed.
+ * <p>
+ * The hierarchy is a copy of the graph of a hierarchy computed by Java core. When compilation
+ * units change, {@link #update(Map, Set)} adds the new sub types of the focus type that are
+ * declared in new compilation units or that are local or anonymous, removes deleted sub types that
+ * have no remaining sub types, and moves sub types whose super types changed. All other changes,
+ * for example changes of the super types of the focus type, require a refresh.
+ * </p>
+ * <p>
+ * The hierarchy does not report changes to its listeners, the changes are reported by
+ * {@link TypeHierarchyLifeCycle}. All methods can be called from any thread.
+ * </p>
+ *
+ * @since 3.28
+ */
+public class IncrementalTypeHierarchy implements ITypeHierarchy {
+
+	private static final IType[] NO_TYPES= new IType[0];
+
+	private final ITypeHierarchy fBase;
+
+	/** The types of the hierarchy, guarded by <code>this</code> */
+	private final Set<IType> fTypes= new LinkedHashSet<>();
+	private final Map<IType, Integer> fFlags= new HashMap<>();
+	private final Map<IType, IType> fSuperclasses= new HashMap<>();
+	private final Map<IType, IType[]> fSuperInterfaces= new HashMap<>();
+	private final Map<IType, List<IType>> fSubtypes= new HashMap<>();
+	private final Set<IType> fRootClasses= new LinkedHashSet<>();
+	private final Set<IType> fRootInterfaces= new LinkedHashSet<>();
+
+	/** The types of the hierarchy by their compilation units */
+	private final Map<ICompilationUnit, Set<IType>> fTypesByUnit= new HashMap<>();
+
+	/**
+	 * The source names of the super types and the imports the super types have been resolved with,
+	 * to detect changes of the super types without resolving them
+	 */
+	private final Map<IType, String> fSupertypeKeys= new HashMap<>();
+
+	/**
+	 * Creates a hierarchy that is a copy of the given hierarchy.
+	 *
+	 * @param base the hierarchy of a focus type, computed by Java core
+	 */
+	public IncrementalTypeHierarchy(ITypeHierarchy base) {
+		fBase= base;
+		copyBase();
+	}
+
+	private synchronized void copyBase() {
+		fTypes.clear();
+		fFlags.clear();
+		fSuperclasses.clear();
+		fSuperInterfaces.clear();
+		fSubtypes.clear();
+		fTypesByUnit.clear();
+		fSupertypeKeys.clear();
+		for (IType type : fBase.getAllTypes()) {
+			addType(type, fBase.getCachedFlags(type), fBase.getSuperclass(type), fBase.getSuperInterfaces(type));
+		}
+		fRootClasses.clear();
+		fRootClasses.addAll(Arrays.asList(fBase.getRootClasses()));
+		fRootInterfaces.clear();
+		fRootInterfaces.addAll(Arrays.asList(fBase.getRootInterfaces()));
+	}
+
+	private void addType(IType type, int flags, IType superclass, IType[] superInterfaces) {
+		fTypes.add(type);
+		fFlags.put(type, Integer.valueOf(flags));
+		ICompilationUnit unit= type.getCompilationUnit();
+		if (unit != null) {
+			fTypesByUnit.computeIfAbsent(unit, k -> new HashSet<>()).add(type);
+		}
+		link(type, superclass, superInterfaces);
+	}
+
+	private void removeType(IType type) {
+		unlink(type);
+		fTypes.remove(type);
+		fFlags.remove(type);
+		fSubtypes.remove(type);
+		fSupertypeKeys.remove(type);
+		fRootClasses.remove(type);
+		fRootInterfaces.remove(type);
+		ICompilationUnit unit= type.getCompilationUnit();
+		if (unit != null) {
+			Set<IType> types= fTypesByUnit.get(unit);
+			if (types != null && types.remove(type) && types.isEmpty()) {
+				fTypesByUnit.remove(unit);
+			}
+		}
+	}
+
+	private void link(IType type, IType superclass, IType[] superInterfaces) {
+		if (superclass != null) {
+			fSuperclasses.put(type, superclass);
+			fSubtypes.computeIfAbsent(superclass, k -> new ArrayList<>()).add(type);
+		}
+		fSuperInterfaces.put(type, superInterfaces);
+		for (IType superInterface : superInterfaces) {
+			fSubtypes.computeIfAbsent(superInterface, k -> new ArrayList<>()).add(type);
+		}
+	}
+
+	private void unlink(IType type) {
+		IType superclass= fSuperclasses.remove(type);
+		if (superclass != null) {
+			removeSubtype(superclass, type);
+		}
+		IType[] superInterfaces= fSuperInterfaces.remove(type);
+		if (superInterfaces != null) {
+			for (IType superInterface : superInterfaces) {
+				removeSubtype(superInterface, type);
+			}
+		}
+	}
+
+	private void removeSubtype(IType supertype, IType type) {
+		List<IType> subtypes= fSubtypes.get(supertype);
+		if (subtypes != null && subtypes.remove(type) && subtypes.isEmpty()) {
+			fSubtypes.remove(supertype);
+		}
+	}
+
+	/**
+	 * Updates the hierarchy after compilation units changed.
+	 *
+	 * @param units the changed primary compilation units, mapped to <code>true</code> if they have
+	 *            been added
+	 * @param changedParents receives the types whose sub types changed
+	 * @return <code>true</code> if the hierarchy has been updated, <code>false</code> if it has to
+	 *         be refreshed
+	 * @throws JavaModelException if a compilation unit could not be read
+	 */
+	public synchronized boolean update(Map<ICompilationUnit, Boolean> units, Set<IType> changedParents) throws JavaModelException {
+		IType focus= fBase.getType();
+		Set<IType> subtree= new HashSet<>();
+		subtree.add(focus);
+		collectAllSubtypes(focus, subtree);
+		Set<String> subtreeNames= new HashSet<>();
+		for (IType type : subtree) {
+			subtreeNames.add(type.getElementName());
+		}
+
+		List<IType> removedTypes= new ArrayList<>();
+		List<IType> pendingTypes= new ArrayList<>();
+		for (Map.Entry<ICompilationUnit, Boolean> entry : units.entrySet()) {
+			ICompilationUnit unit= entry.getKey();
+			List<IType> types= new ArrayList<>();
+			String importsKey= ""; //$NON-NLS-1$
+			if (unit.exists()) {
+				collectTypes(unit.getChildren(), types);
+				importsKey= getImportsKey(unit);
+			}
+			Set<IType> oldTypes= fTypesByUnit.get(unit);
+			if (oldTypes != null) {
+				for (IType type : oldTypes) {
+					if (!types.contains(type)) {
+						removedTypes.add(type);
+					}
+				}
+			}
+			for (IType type : types) {
+				if (!fTypes.contains(type)) {
+					pendingTypes.add(type);
+				} else if (!updateSupertypes(type, importsKey, focus, subtree, changedParents)) {
+					return false;
+				}
+			}
+		}
+
+		if (!removeTypes(removedTypes, focus, subtree, changedParents))
+			return false;
+
+		return addTypes(pendingTypes, units, subtree, subtreeNames, changedParents);
+	}
+
+	private boolean updateSupertypes(IType type, String importsKey, IType focus, Set<IType> subtree, Set<IType> changedParents) throws JavaModelException {
+		int flags= type.getFlags();
+		int oldFlags= fFlags.get(type).intValue();
+		if (Flags.isInterface(flags) != Flags.isInterface(oldFlags))
+			return false;
+		fFlags.put(type, Integer.valueOf(flags)); // the labels are updated by the life cycle
+
+		String key= getSupertypeKey(type, importsKey);
+		if (key.equals(fSupertypeKeys.get(type)))
+			return true;
+
+		IType[] supertypes= resolveSupertypes(type);
+		if (supertypes == null)
+			return false;
+		fSupertypeKeys.put(type, key);
+
+		IType superclass= supertypes[0];
+		IType[] superInterfaces= Arrays.copyOfRange(supertypes, 1, supertypes.length);
+		IType oldSuperclass= fSuperclasses.get(type);
+		IType[] oldSuperInterfaces= fSuperInterfaces.get(type);
+		if ((superclass == null ? oldSuperclass == null : superclass.equals(oldSuperclass))
+				&& new HashSet<>(Arrays.asList(superInterfaces)).equals(new HashSet<>(Arrays.asList(oldSuperInterfaces))))
+			return true;
+
+		// only sub types of the focus type can be moved, and only inside the sub types
+		if (type.equals(focus) || !subtree.contains(type))
+			return false;
+		Set<IType> typeSubtree= new HashSet<>();
+		typeSubtree.add(type);
+		collectAllSubtypes(type, typeSubtree);
+		boolean isSubtype= false;
+		for (IType supertype : supertypes) {
+			if (supertype != null) {
+				if (typeSubtree.contains(supertype))
+					return false; // cycle
+				isSubtype|= subtree.contains(supertype);
+			}
+		}
+		if (!isSubtype)
+			return false;
+
+		addParents(type, changedParents);
+		unlink(type);
+		link(type, superclass, superInterfaces);
+		addParents(type, changedParents);
+		return true;
+	}
+
+	private boolean removeTypes(List<IType> removedTypes, IType focus, Set<IType> subtree, Set<IType> changedParents) {
+		Set<IType> removed= new HashSet<>(removedTypes);
+		for (IType type : removedTypes) {
+			if (type.equals(focus) || !subtree.contains(type))
+				return false;
+			List<IType> subtypes= fSubtypes.get(type);
+			if (subtypes != null && !removed.containsAll(subtypes))
+				return false; // the remaining sub types would have to be resolved again
+		}
+		for (IType type : removedTypes) {
+			addParents(type, changedParents);
+		}
+		for (IType type : removedTypes) {
+			removeType(type);
+			subtree.remove(type);
+		}
+		changedParents.removeAll(removed);
+		return true;
+	}
+
+	private boolean addTypes(List<IType> pendingTypes, Map<ICompilationUnit, Boolean> units, Set<IType> subtree, Set<String> subtreeNames,
+			Set<IType> changedParents) throws JavaModelException {
+		Map<IType, IType[]> resolved= new HashMap<>();
+		boolean added= true;
+		while (added) {
+			added= false;
+			for (Iterator<IType> iter= pendingTypes.iterator(); iter.hasNext();) {
+				IType type= iter.next();
+				if (!mayBeSubtype(type, subtreeNames))
+					continue;
+
+				IType[] supertypes= resolved.get(type);
+				if (supertypes == null) {
+					supertypes= resolveSupertypes(type);
+					if (supertypes == null)
+						return false;
+					resolved.put(type, supertypes);
+				}
+				boolean isSubtype= false;
+				for (IType supertype : supertypes) {
+					isSubtype|= supertype != null && subtree.contains(supertype);
+				}
+				if (!isSubtype)
+					continue;
+
+				// a new type can not have sub types yet, an existing type may have sub types anywhere
+				boolean isNewUnit= Boolean.TRUE.equals(units.get(type.getCompilationUnit()));
+				if (!isNewUnit && !type.isLocal() && !type.isAnonymous())
+					return false;
+
+				addType(type, type.getFlags(), supertypes[0], Arrays.copyOfRange(supertypes, 1, supertypes.length));
+				fSupertypeKeys.put(type, getSupertypeKey(type, getImportsKey(type.getCompilationUnit())));
+				addParents(type, changedParents);
+				subtree.add(type);
+				subtreeNames.add(type.getElementName());
+				iter.remove();
+				added= true;
+			}
+		}
+		return true;
+	}
+
+	private void addParents(IType type, Set<IType> changedParents) {
+		IType superclass= fSuperclasses.get(type);
+		if (superclass != null) {
+			changedParents.add(superclass);
+		}
+		IType[] superInterfaces= fSuperInterfaces.get(type);
+		if (superInterfaces != null) {
+			changedParents.addAll(Arrays.asList(superInterfaces));
+		}
+	}
+
+	/*
+	 * Checks the simple names of the super types, to avoid resolving the super types of all changed types.
+	 */
+	private static boolean mayBeSubtype(IType type, Set<String> subtreeNames) throws JavaModelException {
+		String superclassName= type.getSuperclassName();
+		if (superclassName != null) {
+			if (subtreeNames.contains(getSimpleName(superclassName)))
+				return true;
+		} else if (subtreeNames.contains(getImplicitSuperclassName(type))) {
+			return true;
+		}
+		for (String name : type.getSuperInterfaceNames()) {
+			if (subtreeNames.contains(getSimpleName(name)))
+				return true;
+		}
+		return type.isAnnotation() && subtreeNames.contains("Annotation"); //$NON-NLS-1$
+	}
+
+	private static String getSimpleName(String typeName) {
+		return Signature.getSimpleName(Signature.getTypeErasure(typeName));
+	}
+
+	private static String getImplicitSuperclassName(IType type) throws JavaModelException {
+		if (type.isInterface())
+			return null;
+		if (type.isEnum())
+			return "Enum"; //$NON-NLS-1$
+		if (type.isRecord())
+			return "Record"; //$NON-NLS-1$
+		return "Object"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Resolves the super types of a type like the type hierarchy of Java core.
+	 *
+	 * @param type the type
+	 * @return the superclass or <code>null</code>, followed by the super interfaces, or
+	 *         <code>null</code> if a super type could not be resolved
+	 * @throws JavaModelException if the type could not be read
+	 */
+	private static IType[] resolveSupertypes(IType type) throws JavaModelException {
+		List<IType> supertypes= new ArrayList<>();
+		String superclassName= type.getSuperclassName();
+		if (type.isAnonymous()) {
+			// the instantiated type can be a class or an interface
+			IType superclass= null;
+			List<String> names= new ArrayList<>();
+			if (superclassName != null) {
+				names.add(superclassName);
+			}
+			names.addAll(Arrays.asList(type.getSuperInterfaceNames()));
+			for (String name : names) {
+				IType supertype= resolveType(type, name);
+				if (supertype == null)
+					return null;
+				if (supertype.isInterface()) {
+					supertypes.add(supertype);
+				} else {
+					superclass= supertype;
+				}
+			}
+			if (superclass == null) {
+				superclass= findType(type, "java.lang.Object"); //$NON-NLS-1$
+				if (superclass == null)
+					return null;
+			}
+			supertypes.add(0, superclass);
+		} else {
+			IType superclass= null;
+			if (superclassName != null) {
+				superclass= resolveType(type, superclassName);
+				if (superclass == null)
+					return null;
+			} else if (!type.isInterface() && !"java.lang.Object".equals(type.getFullyQualifiedName())) { //$NON-NLS-1$
+				superclass= findType(type, "java.lang." + getImplicitSuperclassName(type)); //$NON-NLS-1$
+				if (superclass == null)
+					return null;
+			}
+			supertypes.add(superclass);
+			for (String name : type.getSuperInterfaceNames()) {
+				IType superInterface= resolveType(type, name);
+				if (superInterface == null)
+					return null;
+				supertypes.add(superInterface);
+			}
+			if (type.isAnnotation()) {
+				IType annotation= findType(type, "java.lang.annotation.Annotation"); //$NON-NLS-1$
+				if (annotation == null)
+					return null;
+				supertypes.add(annotation);
+			}
+		}
+		return supertypes.toArray(new IType[supertypes.size()]);
+	}
+
+	private static IType resolveType(IType type, String typeName) throws JavaModelException {
+		// local and anonymous types are resolved in the scope of their enclosing member type
+		IType context= type;
+		while (context != null && (context.isLocal() || context.isAnonymous())) {
+			context= context.getDeclaringType();
+		}
+		if (context == null)
+			return null;
+		String[][] resolved= context.resolveType(Signature.getTypeErasure(typeName));
+		if (resolved == null || resolved.length != 1)
+			return null;
+		return type.getJavaProject().findType(resolved[0][0], resolved[0][1]);
+	}
+
+	private static IType findType(IType type, String fullyQualifiedName) throws JavaModelException {
+		return type.getJavaProject().findType(fullyQualifiedName);
+	}
+
+	private static String getSupertypeKey(IType type, String importsKey) throws JavaModelException {
+		StringBuilder buf= new StringBuilder(importsKey);
+		buf.append(';').append(type.getSuperclassName());
+		for (String name : type.getSuperInterfaceNames()) {
+			buf.append(',').append(name);
+		}
+		return buf.toString();
+	}
+
+	private static String getImportsKey(ICompilationUnit unit) throws JavaModelException {
+		StringBuilder buf= new StringBuilder();
+		for (IImportDeclaration declaration : unit.getImports()) {
+			buf.append(declaration.getElementName()).append(';');
+		}
+		return buf.toString();
+	}
+
+	private static void collectTypes(IJavaElement[] elements, List<IType> types) throws JavaModelException {
+		for (IJavaElement element : elements) {
+			switch (element.getElementType()) {
+				case IJavaElement.TYPE:
+					if (!((IType) element).isLambda()) {
+						types.add((IType) element);
+					}
+					//$FALL-THROUGH$
+				case IJavaElement.FIELD:
+				case IJavaElement.METHOD:
+				case IJavaElement.INITIALIZER:
+					// local and anonymous types
+					collectTypes(((IParent) element).getChildren(), types);
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	private void collectAllSubtypes(IType type, Set<IType> result) {
+		Deque<IType> queue= new ArrayDeque<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			List<IType> subtypes= fSubtypes.get(queue.remove());
+			if (subtypes != null) {
+				for (IType subtype : subtypes) {
+					if (result.add(subtype)) {
+						queue.add(subtype);
+					}
+				}
+			}
+		}
+	}
+
+	private boolean isInterface(IType type) {
+		Integer flags= fFlags.get(type);
+		return flags != null && Flags.isInterface(flags.intValue());
+	}
+
+	private IType[] getTypes(boolean interfaces) {
+		List<IType> result= new ArrayList<>();
+		for (IType type : fTypes) {
+			if (isInterface(type) == interfaces) {
+				result.add(type);
+			}
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	private IType[] getSubtypes(IType type, boolean classes, boolean interfaces) {
+		List<IType> subtypes= fSubtypes.get(type);
+		if (subtypes == null)
+			return NO_TYPES;
+		List<IType> result= new ArrayList<>(subtypes.size());
+		for (IType subtype : subtypes) {
+			if (isInterface(subtype) ? interfaces : classes) {
+				result.add(subtype);
+			}
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	private void collectAllSupertypes(IType type, Set<IType> result) {
+		IType superclass= fSuperclasses.get(type);
+		if (superclass != null && result.add(superclass)) {
+			collectAllSupertypes(superclass, result);
+		}
+		IType[] superInterfaces= fSuperInterfaces.get(type);
+		if (superInterfaces != null) {
+			for (IType superInterface : superInterfaces) {
+				if (result.add(superInterface)) {
+					collectAllSupertypes(superInterface, result);
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized boolean contains(IType type) {
+		return fTypes.contains(type);
+	}
+
+	@Override
+	public boolean exists() {
+		return fBase.exists();
+	}
+
+	@Override
+	public synchronized IType[] getAllClasses() {
+		return getTypes(false);
+	}
+
+	@Override
+	public synchronized IType[] getAllInterfaces() {
+		return getTypes(true);
+	}
+
+	@Override
+	public synchronized IType[] getAllSubtypes(IType type) {
+		Set<IType> result= new LinkedHashSet<>();
+		collectAllSubtypes(type, result);
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public synchronized IType[] getAllSuperclasses(IType type) {
+		List<IType> result= new ArrayList<>();
+		IType superclass= getSuperclass(type);
+		while (superclass != null && !result.contains(superclass)) {
+			result.add(superclass);
+			superclass= getSuperclass(superclass);
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public synchronized IType[] getAllSuperInterfaces(IType type) {
+		Set<IType> supertypes= new LinkedHashSet<>();
+		collectAllSupertypes(type, supertypes);
+		List<IType> result= new ArrayList<>();
+		for (IType supertype : supertypes) {
+			if (isInterface(supertype)) {
+				result.add(supertype);
+			}
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public synchronized IType[] getAllSupertypes(IType type) {
+		Set<IType> result= new LinkedHashSet<>();
+		collectAllSupertypes(type, result);
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public synchronized IType[] getAllTypes() {
+		return fTypes.toArray(new IType[fTypes.size()]);
+	}
+
+	@Override
+	public synchronized int getCachedFlags(IType type) {
+		Integer flags= fFlags.get(type);
+		return flags != null ? flags.intValue() : -1;
+	}
+
+	@Override
+	public synchronized IType[] getExtendingInterfaces(IType type) {
+		if (!isInterface(type))
+			return NO_TYPES;
+		return getSubtypes(type, false, true);
+	}
+
+	@Override
+	public synchronized IType[] getImplementingClasses(IType type) {
+		if (!isInterface(type))
+			return NO_TYPES;
+		return getSubtypes(type, true, false);
+	}
+
+	@Override
+	public synchronized IType[] getRootClasses() {
+		return fRootClasses.toArray(new IType[fRootClasses.size()]);
+	}
+
+	@Override
+	public synchronized IType[] getRootInterfaces() {
+		return fRootInterfaces.toArray(new IType[fRootInterfaces.size()]);
+	}
+
+	@Override
+	public synchronized IType[] getSubclasses(IType type) {
+		if (isInterface(type))
+			return NO_TYPES;
+		return getSubtypes(type, true, true);
+	}
+
+	@Override
+	public synchronized IType[] getSubtypes(IType type) {
+		return getSubtypes(type, true, true);
+	}
+
+	@Override
+	public synchronized IType getSuperclass(IType type) {
+		if (isInterface(type))
+			return null;
+		return fSuperclasses.get(type);
+	}
+
+	@Override
+	public synchronized IType[] getSuperInterfaces(IType type) {
+		IType[] superInterfaces= fSuperInterfaces.get(type);
+		return superInterfaces != null ? superInterfaces.clone() : NO_TYPES;
+	}
+
+	@Override
+	public synchronized IType[] getSupertypes(IType type) {
+		IType superclass= getSuperclass(type);
+		IType[] superInterfaces= getSuperInterfaces(type);
+		if (superclass == null)
+			return superInterfaces;
+		IType[] result= new IType[superInterfaces.length + 1];
+		result[0]= superclass;
+		System.arraycopy(superInterfaces, 0, result, 1, superInterfaces.length);
+		return result;
+	}
+
+	@Override
+	public IType getType() {
+		return fBase.getType();
+	}
+
+	@Override
+	public void refresh(IProgressMonitor monitor) throws JavaModelException {
+		fBase.refresh(monitor);
+		copyBase();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Stores the hierarchy as computed by Java core, without the incremental changes.
+	 * </p>
+	 */
+	@Override
+	public void store(OutputStream outputStream, IProgressMonitor monitor) throws JavaModelException {
+		fBase.store(outputStream, monitor);
+	}
+
+	@Override
+	public void addTypeHierarchyChangedListener(ITypeHierarchyChangedListener listener) {
+		fBase.addTypeHierarchyChangedListener(listener);
+	}
+
+	@Override
+	public void removeTypeHierarchyChangedListener(ITypeHierarchyChangedListener listener) {
+		fBase.removeTypeHierarchyChangedListener(listener);
+	}
+}
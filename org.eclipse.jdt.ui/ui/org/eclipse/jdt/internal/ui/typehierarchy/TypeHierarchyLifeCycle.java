@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,11 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -149,6 +153,13 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	private void fireSubtypesChange(IType[] parentTypes) {
+		for (int i= fChangeListeners.size()-1; i>=0; i--) {
+			ITypeHierarchyLifeCycleListener curr= fChangeListeners.get(i);
+			curr.subtypesChanged(this, parentTypes);
+		}
+	}
+
 	/**
 	 * Refreshes the type hierarchy for the java element if it exists.
 	 *
@@ -291,6 +302,9 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			IType type= (IType)elements[0];
 			if (fIsSuperTypesOnly) {
 				return type.newSupertypeHierarchy(pm);
+			} else if (fTypeHierarchyViewPart != null) {
+				// the view keeps its hierarchy while the workspace changes, see elementChanged
+				return new IncrementalTypeHierarchy(type.newTypeHierarchy(pm));
 			} else {
 				return type.newTypeHierarchy(pm);
 			}
@@ -332,7 +346,9 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			if (pm != null && pm.isCanceled())
 				throw new OperationCanceledException();
 		}
-		fHierarchy.addTypeHierarchyChangedListener(this);
+		if (!(fHierarchy instanceof IncrementalTypeHierarchy)) {
+			fHierarchy.addTypeHierarchyChangedListener(this);
+		}
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
 	}
@@ -358,6 +374,12 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		if (fHierarchyRefreshNeeded) {
 			return;
 		} else {
+			ITypeHierarchy hierarchy= fHierarchy;
+			if (hierarchy instanceof IncrementalTypeHierarchy && event.getType() == ElementChangedEvent.POST_CHANGE
+					&& !updateHierarchy((IncrementalTypeHierarchy) hierarchy, event.getDelta())) {
+				typeHierarchyChanged(hierarchy);
+				return;
+			}
 			ArrayList<IType> changedTypes= new ArrayList<>();
 			processDelta(event.getDelta(), changedTypes);
 			if (changedTypes.size() > 0) {
@@ -366,6 +388,81 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/**
+	 * Patches an incremental hierarchy with the changed compilation units.
+	 *
+	 * @param hierarchy the hierarchy
+	 * @param delta the delta of the change
+	 * @return <code>false</code> if the hierarchy has to be refreshed
+	 * @since 3.28
+	 */
+	private boolean updateHierarchy(IncrementalTypeHierarchy hierarchy, IJavaElementDelta delta) {
+		Map<ICompilationUnit, Boolean> units= new LinkedHashMap<>();
+		if (!collectChangedUnits(delta, units)) {
+			return false;
+		}
+		if (units.isEmpty()) {
+			return true;
+		}
+		Set<IType> changedParents= new LinkedHashSet<>();
+		try {
+			if (!hierarchy.update(units, changedParents)) {
+				return false;
+			}
+		} catch (JavaModelException e) {
+			JavaPlugin.log(e);
+			return false;
+		}
+		if (!changedParents.isEmpty()) {
+			fireSubtypesChange(changedParents.toArray(new IType[changedParents.size()]));
+		}
+		return true;
+	}
+
+	/*
+	 * Collects the changed primary compilation units, mapped to whether they have been added.
+	 * Returns false if the change requires a refresh, for example if a class path changed.
+	 */
+	private static boolean collectChangedUnits(IJavaElementDelta delta, Map<ICompilationUnit, Boolean> units) {
+		IJavaElement element= delta.getElement();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_REORDER
+								| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					return false;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					return false;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (JavaModelUtil.isPrimary(cu) && (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) != 0)) {
+					units.put(cu, Boolean.valueOf(delta.getKind() == IJavaElementDelta.ADDED));
+				}
+				return true;
+			case IJavaElement.CLASS_FILE:
+				return false;
+			default:
+				return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!collectChangedUnits(child, units)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/*
 	 * Assume that the hierarchy is intact (no refresh needed)
 	 */
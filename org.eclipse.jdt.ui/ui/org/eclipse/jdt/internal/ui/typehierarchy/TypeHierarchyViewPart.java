@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.help.IContextProvider;
 
@@ -202,6 +204,13 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 	private boolean fIsEnableMemberFilter;
 	private boolean fIsRefreshRunnablePosted;
 
+	/**
+	 * The types whose sub types changed since the last update of the viewers, guarded by itself.
+	 *
+	 * @since 3.28
+	 */
+	private final Set<IType> fChangedParentTypes= new LinkedHashSet<>();
+
 	private int fCurrentViewerIndex;
 	private TypeHierarchyViewer[] fAllViewers;
 
@@ -269,7 +278,17 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 		fRestoreStateJob= null;
 
 		fHierarchyLifeCycle= new TypeHierarchyLifeCycle(this);
-		fTypeHierarchyLifeCycleListener= this::doTypeHierarchyChanged;
+		fTypeHierarchyLifeCycleListener= new ITypeHierarchyLifeCycleListener() {
+			@Override
+			public void typeHierarchyChanged(TypeHierarchyLifeCycle typeHierarchy, IType[] changedTypes) {
+				doTypeHierarchyChanged(typeHierarchy, changedTypes);
+			}
+
+			@Override
+			public void subtypesChanged(TypeHierarchyLifeCycle typeHierarchy, IType[] parentTypes) {
+				doSubtypesChanged(parentTypes);
+			}
+		};
 		fHierarchyLifeCycle.addChangedListener(fTypeHierarchyLifeCycleListener);
 
 		fPropertyChangeListener= this::doPropertyChange;
@@ -1545,6 +1564,64 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 		}
 	}
 
+	/**
+	 * Called from ITypeHierarchyLifeCycleListener when sub types have been added, removed or moved
+	 * without refreshing the hierarchy. Can be called from any thread
+	 *
+	 * @param parentTypes the types whose sub types changed
+	 * @since 3.28
+	 */
+	protected void doSubtypesChanged(IType[] parentTypes) {
+		if (!fIsVisible) {
+			fNeedRefresh= true;
+			return;
+		}
+		Display display= getDisplay();
+		synchronized (fChangedParentTypes) {
+			if (display == null) {
+				fChangedParentTypes.clear();
+				return;
+			}
+			boolean isPosted= !fChangedParentTypes.isEmpty();
+			fChangedParentTypes.addAll(Arrays.asList(parentTypes));
+			if (isPosted) {
+				return;
+			}
+		}
+		display.asyncExec(() -> {
+			IType[] changedParentTypes;
+			synchronized (fChangedParentTypes) {
+				changedParentTypes= fChangedParentTypes.toArray(new IType[fChangedParentTypes.size()]);
+				fChangedParentTypes.clear();
+			}
+			if (fPagebook != null && !fPagebook.isDisposed()) {
+				doSubtypesChangedOnViewers(changedParentTypes);
+			}
+		});
+	}
+
+	/**
+	 * Refreshes the children of the given types in the hierarchy viewer.
+	 *
+	 * @param parentTypes the types whose sub types changed
+	 * @since 3.28
+	 */
+	protected void doSubtypesChangedOnViewers(IType[] parentTypes) {
+		if (fHierarchyLifeCycle.getHierarchy() == null) {
+			return;
+		}
+		fMethodsViewer.refresh();
+		TypeHierarchyViewer viewer= getCurrentViewer();
+		if (viewer.isMethodFiltering()) {
+			// the types shown depend on the members of all sub types
+			updateHierarchyViewer(false);
+		} else {
+			for (IType parentType : parentTypes) {
+				viewer.refresh(parentType);
+			}
+		}
+	}
+
 	protected void doTypeHierarchyChangedOnViewers(IType[] changedTypes) {
 		if (fHierarchyLifeCycle.getHierarchy() == null || !fHierarchyLifeCycle.getHierarchy().exists()) {
 			clearInput();
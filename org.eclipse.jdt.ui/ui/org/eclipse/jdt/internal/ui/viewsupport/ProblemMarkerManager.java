@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ListenerList;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.resources.IProject;
@@ -57,9 +58,13 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private static class ProjectErrorVisitor implements IResourceDeltaVisitor {
 
 		private HashSet<IResource> fChangedElements;
+		private HashSet<IResource> fOpenedOrClosedProjects;
+		private HashSet<IResource> fChangedProblemResources;
 
-		public ProjectErrorVisitor(HashSet<IResource> changedElements) {
+		public ProjectErrorVisitor(HashSet<IResource> changedElements, HashSet<IResource> openedOrClosedProjects, HashSet<IResource> changedProblemResources) {
 			fChangedElements= changedElements;
+			fOpenedOrClosedProjects= openedOrClosedProjects;
+			fChangedProblemResources= changedProblemResources;
 		}
 
 		@Override
@@ -67,6 +72,9 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 			IResource res= delta.getResource();
 			if (res instanceof IProject && delta.getKind() == IResourceDelta.CHANGED) {
 				IProject project= (IProject) res;
+				if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
+					fOpenedOrClosedProjects.add(project);
+				}
 				if (!project.isAccessible()) {
 					// only track open Java projects
 					return false;
@@ -83,9 +91,22 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 				while (resource.getType() != IResource.ROOT && fChangedElements.add(resource)) {
 					resource= resource.getParent();
 				}
+			} else if (kind == IResourceDelta.CHANGED && hasProblemMarkerDelta(delta)) {
+				// problem markers have moved or have changed otherwise
+				fChangedProblemResources.add(resource);
 			}
 		}
 
+		private boolean hasProblemMarkerDelta(IResourceDelta delta) {
+			if ((delta.getFlags() & IResourceDelta.MARKERS) != 0) {
+				for (IMarkerDelta markerDelta : delta.getMarkerDeltas()) {
+					if (markerDelta.isSubtypeOf(IMarker.PROBLEM))
+						return true;
+				}
+			}
+			return false;
+		}
+
 		private boolean isErrorDelta(IResourceDelta delta) {
 			if ((delta.getFlags() & IResourceDelta.MARKERS) != 0) {
 				for (IMarkerDelta markerDelta : delta.getMarkerDeltas()) {
@@ -109,6 +130,8 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private final Set<IResource> fResourcesWithMarkerChanges= ConcurrentHashMap.newKeySet();
 	private final Set<IResource> fResourcesWithAnnotationChanges= ConcurrentHashMap.newKeySet();
 
+	private final ProblemSeverityCache fSeverityCache= new ProblemSeverityCache();
+
 	private final Throttler throttledUpdates= new Throttler(PlatformUI.getWorkbench().getDisplay(), Duration.ofMillis(250), this::runPendingUpdates);
 
 	public ProblemMarkerManager() {
@@ -120,15 +143,28 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
 		HashSet<IResource> changedElements= new HashSet<>();
+		HashSet<IResource> openedOrClosedProjects= new HashSet<>();
+		HashSet<IResource> changedProblemResources= new HashSet<>();
 
 		try {
 			IResourceDelta delta= event.getDelta();
 			if (delta != null)
-				delta.accept(new ProjectErrorVisitor(changedElements));
+				delta.accept(new ProjectErrorVisitor(changedElements, openedOrClosedProjects, changedProblemResources));
 		} catch (CoreException e) {
 			JavaPlugin.log(e.getStatus());
 		}
 
+		// the cached severities must be up to date before the listeners are notified
+		for (IResource project : openedOrClosedProjects) {
+			fSeverityCache.invalidateSubtree((IContainer) project);
+		}
+		if (!changedElements.isEmpty()) {
+			fSeverityCache.invalidate(changedElements);
+		}
+		if (!changedProblemResources.isEmpty()) {
+			fSeverityCache.invalidateTextProblems(changedProblemResources);
+		}
+
 		if (fResourcesWithMarkerChanges.addAll(changedElements)) {
 			fireChanges();
 		}
@@ -153,6 +189,16 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	}
 
 
+	/**
+	 * Returns the cached problem severities of resources. The cache is only in use while listeners
+	 * are registered, as it is kept up to date by the marker changes reported to them.
+	 *
+	 * @return the problem severity cache
+	 */
+	public ProblemSeverityCache getSeverityCache() {
+		return fSeverityCache;
+	}
+
 	/**
 	 * Adds a listener for problem marker changes.
 	 * @param listener the listener to add
@@ -161,6 +207,7 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().addResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().addGlobalAnnotationModelListener(this);
+			fSeverityCache.setEnabled(true);
 		}
 		fListeners.add(listener);
 	}
@@ -174,6 +221,7 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().removeGlobalAnnotationModelListener(this);
+			fSeverityCache.setEnabled(false);
 		}
 	}
 
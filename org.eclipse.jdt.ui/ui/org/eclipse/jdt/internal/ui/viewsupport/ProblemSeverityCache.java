@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * Rollup of the maximum problem marker severities of resources, kept up to date by the
+ * {@link ProblemMarkerManager}.
+ * <p>
+ * The severity of a container is rolled up from the markers of its direct members and the
+ * severities of its sub-containers, so that a container is computed once and only its changed
+ * sub-containers are computed again after a build. The severities are keyed by resource path and
+ * are computed on first access. When the markers of a resource change, the resource and its
+ * ancestors are invalidated from the marker deltas the problem marker manager receives.
+ * </p>
+ * <p>
+ * The cache is only used while the problem marker manager listens to resource changes. Otherwise
+ * all queries are answered from the markers directly.
+ * </p>
+ */
+public class ProblemSeverityCache {
+
+	private static final int[] NO_PROBLEMS= new int[0];
+
+	private static final int MAX_TEXT_PROBLEMS= 200;
+
+	/** Maximum severity of the subtree of a resource, by resource path */
+	private final Map<IPath, Integer> fSeverities= new ConcurrentHashMap<>();
+
+	/**
+	 * Start offsets and severities of the text problem markers of files, by resource path,
+	 * guarded by <code>this</code>
+	 */
+	private final LinkedHashMap<IPath, int[]> fTextProblems= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IPath, int[]> eldest) {
+			return size() > MAX_TEXT_PROBLEMS;
+		}
+	};
+
+	/** Incremented on every invalidation, so that values computed before are not stored */
+	private volatile int fStamp;
+
+	private volatile boolean fEnabled;
+
+	ProblemSeverityCache() {
+	}
+
+	/**
+	 * Returns the maximum severity of the problem markers of a resource, like
+	 * <code>resource.findMaxProblemSeverity(IMarker.PROBLEM, true, depth)</code>.
+	 *
+	 * @param resource the resource
+	 * @param depth the depth, one of the <code>IResource.DEPTH_*</code> constants
+	 * @return the maximum severity, or <code>-1</code> if there are no problem markers
+	 * @throws CoreException if the markers could not be read
+	 */
+	public int findMaxProblemSeverity(IResource resource, int depth) throws CoreException {
+		boolean isContainer= resource instanceof IContainer;
+		if (!fEnabled || isContainer && depth != IResource.DEPTH_INFINITE) {
+			return resource.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+		}
+		int stamp= fStamp;
+		if (isContainer) {
+			return getSubtreeSeverity((IContainer) resource, stamp);
+		}
+		IPath path= resource.getFullPath();
+		Integer cached= fSeverities.get(path);
+		if (cached != null) {
+			return cached.intValue();
+		}
+		int severity= resource.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		storeSeverity(path, severity, stamp);
+		return severity;
+	}
+
+	/**
+	 * Returns the start offsets and the severities of the text problem markers on a file. Only
+	 * markers with a severity of info, warning or error are returned.
+	 *
+	 * @param file the file
+	 * @return pairs of the character start and the severity of the markers, the character start is
+	 *         <code>-1</code> if the marker has none
+	 * @throws CoreException if the markers could not be read
+	 */
+	public int[] getTextProblems(IResource file) throws CoreException {
+		IPath path= file.getFullPath();
+		int stamp= fStamp;
+		if (fEnabled) {
+			synchronized (this) {
+				int[] cached= fTextProblems.get(path);
+				if (cached != null) {
+					return cached;
+				}
+			}
+		}
+		IMarker[] markers= file.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		int[] problems= NO_PROBLEMS;
+		if (markers.length > 0) {
+			int count= 0;
+			int[] buffer= new int[markers.length * 2];
+			for (IMarker marker : markers) {
+				if (marker.isSubtypeOf(IMarker.TEXT)) {
+					int severity= marker.getAttribute(IMarker.SEVERITY, -1);
+					if (severity == IMarker.SEVERITY_INFO || severity == IMarker.SEVERITY_WARNING || severity == IMarker.SEVERITY_ERROR) {
+						buffer[count++]= marker.getAttribute(IMarker.CHAR_START, -1);
+						buffer[count++]= severity;
+					}
+				}
+			}
+			if (count > 0) {
+				problems= new int[count];
+				System.arraycopy(buffer, 0, problems, 0, count);
+			}
+		}
+		synchronized (this) {
+			if (fEnabled && stamp == fStamp) {
+				fTextProblems.put(path, problems);
+			}
+		}
+		return problems;
+	}
+
+	private int getSubtreeSeverity(IContainer container, int stamp) throws CoreException {
+		IPath path= container.getFullPath();
+		Integer cached= fSeverities.get(path);
+		if (cached != null) {
+			return cached.intValue();
+		}
+		// markers on the container and on its direct members
+		int severity= container.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_ONE);
+		if (severity != IMarker.SEVERITY_ERROR) {
+			for (IResource member : container.members(IContainer.INCLUDE_HIDDEN | IContainer.INCLUDE_TEAM_PRIVATE_MEMBERS)) {
+				if (member instanceof IContainer && member.isAccessible()) {
+					severity= Math.max(severity, getSubtreeSeverity((IContainer) member, stamp));
+					if (severity == IMarker.SEVERITY_ERROR) {
+						break;
+					}
+				}
+			}
+		}
+		storeSeverity(path, severity, stamp);
+		return severity;
+	}
+
+	private synchronized void storeSeverity(IPath path, int severity, int stamp) {
+		if (fEnabled && stamp == fStamp) {
+			fSeverities.put(path, Integer.valueOf(severity));
+		}
+	}
+
+	/**
+	 * Invalidates the severities of resources whose problem markers have changed. The ancestors
+	 * of a resource must be passed as well, except for the workspace root, which is always
+	 * invalidated.
+	 *
+	 * @param resources the changed resources
+	 */
+	synchronized void invalidate(Collection<IResource> resources) {
+		fStamp++;
+		fSeverities.remove(Path.ROOT);
+		for (IResource resource : resources) {
+			IPath path= resource.getFullPath();
+			fSeverities.remove(path);
+			fTextProblems.remove(path);
+		}
+	}
+
+	/**
+	 * Invalidates the cached text problems of files with changed problem markers, including
+	 * markers whose positions have changed only.
+	 *
+	 * @param files the files whose problem markers have changed
+	 */
+	synchronized void invalidateTextProblems(Collection<IResource> files) {
+		fStamp++;
+		for (IResource file : files) {
+			fTextProblems.remove(file.getFullPath());
+		}
+	}
+
+	/**
+	 * Invalidates the severities of a container, of its ancestors and of all resources below it.
+	 *
+	 * @param container the container
+	 */
+	synchronized void invalidateSubtree(IContainer container) {
+		fStamp++;
+		IPath path= container.getFullPath();
+		fSeverities.keySet().removeIf(path::isPrefixOf);
+		fTextProblems.keySet().removeIf(path::isPrefixOf);
+		for (IPath parent= path; parent.segmentCount() > 0; ) {
+			parent= parent.removeLastSegments(1);
+			fSeverities.remove(parent);
+		}
+	}
+
+	/**
+	 * Enables or disables the cache. A disabled cache forgets all severities.
+	 *
+	 * @param enabled <code>true</code> while marker changes are reported to the cache
+	 */
+	synchronized void setEnabled(boolean enabled) {
+		fEnabled= enabled;
+		fStamp++;
+		fSeverities.clear();
+		fTextProblems.clear();
+	}
+}
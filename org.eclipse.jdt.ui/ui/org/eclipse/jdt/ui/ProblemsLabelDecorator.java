@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -82,6 +82,7 @@ import org.eclipse.jdt.internal.ui.JavaPluginImages;
 import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageImageDescriptor;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityCache;
 
 /**
  * LabelDecorator that decorates an element's image with error and warning overlays that
@@ -597,7 +598,7 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 				return ERRORTICK_BUILDPATH_ERROR;
 			}
 		}
-		severity= res.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+		severity= getSeverityCache().findMaxProblemSeverity(res, depth);
 		return convertToTick(severity);
 	}
 
@@ -606,21 +607,20 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 			return 0;
 		}
 		int severity= -1;
-		IMarker[] markers= res.findMarkers(IMarker.PROBLEM, true, depth);
-		if (markers != null && markers.length > 0) {
-			for (int i= 0; i < markers.length && (severity != IMarker.SEVERITY_ERROR); i++) {
-				IMarker curr= markers[i];
-				if (isMarkerInRange(curr, sourceElement)) {
-					int val= curr.getAttribute(IMarker.SEVERITY, -1);
-					if (val == IMarker.SEVERITY_INFO || val == IMarker.SEVERITY_WARNING || val == IMarker.SEVERITY_ERROR) {
-						severity= Math.max(severity, val);
-					}
-				}
+		// pairs of the start offset and the severity of the text problem markers of the file
+		int[] problems= getSeverityCache().getTextProblems(res);
+		for (int i= 0; i < problems.length && (severity != IMarker.SEVERITY_ERROR); i+= 2) {
+			if (isInside(problems[i], sourceElement)) {
+				severity= Math.max(severity, problems[i + 1]);
 			}
 		}
 		return convertToTick(severity);
 	}
 
+	private static ProblemSeverityCache getSeverityCache() {
+		return JavaPlugin.getDefault().getProblemMarkerManager().getSeverityCache();
+	}
+
 	private static int convertToTick(int severity) {
 		switch (severity) {
 		case IMarker.SEVERITY_ERROR:
@@ -676,6 +676,9 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 
 	private int findMaxProblemSeverity (IResource res, String type, boolean includeSubtypes, int depth) throws CoreException {
 		try {
+			if (IMarker.PROBLEM.equals(type) && includeSubtypes) {
+				return getSeverityCache().findMaxProblemSeverity(res, depth);
+			}
 			return res.findMaxProblemSeverity(type, includeSubtypes, depth);
 		} catch (CoreException e) {
 			if (e.getStatus().getCode() == IResourceStatus.RESOURCE_NOT_FOUND) {
@@ -686,14 +689,6 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		}
 	}
 
-	private boolean isMarkerInRange(IMarker marker, ISourceReference sourceElement) throws CoreException {
-		if (marker.isSubtypeOf(IMarker.TEXT)) {
-			int pos= marker.getAttribute(IMarker.CHAR_START, -1);
-			return isInside(pos, sourceElement);
-		}
-		return false;
-	}
-
 	private IAnnotationModel isInJavaAnnotationModel(ICompilationUnit original) {
 		if (original.isWorkingCopy()) {
 			FileEditorInput editorInput= new FileEditorInput((IFile) original.getResource());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2011 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,11 +27,14 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
@@ -73,9 +76,11 @@ import org.eclipse.jdt.ui.PreferenceConstants;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
+import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.text.DocumentCharacterIterator;
+import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
 
 /**
  * Updates the projection model of a class file or compilation unit.
@@ -365,7 +370,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					updateChanged(createContext(false), delta);
 				} finally {
 					fUpdatingCount--;
 				}
@@ -700,11 +705,161 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		}
 	}
 
+	/**
+	 * The range of the document from a start offset to an end offset.
+	 *
+	 */
+	private static final class DirtyRange {
+		int start;
+		int end;
+
+		DirtyRange(int start, int end) {
+			this.start= start;
+			this.end= end;
+		}
+
+		/**
+		 * Moves the range along with a document change, such that it covers the same text.
+		 *
+		 * @param offset the offset of the replaced text
+		 * @param length the length of the replaced text
+		 * @param textLength the length of the inserted text
+		 */
+		void update(int offset, int length, int textLength) {
+			int replacedEnd= offset + length;
+			int delta= textLength - length;
+			if (start > offset)
+				start= start >= replacedEnd ? start + delta : offset;
+			if (end > offset)
+				end= end >= replacedEnd ? end + delta : offset + textLength;
+		}
+
+		void add(int otherStart, int otherEnd) {
+			start= Math.min(start, otherStart);
+			end= Math.max(end, otherEnd);
+		}
+	}
+
+	/**
+	 * Tracks the ranges of the document that have been changed since the folding structure was
+	 * last computed from a reconciled compilation unit. The ranges are kept in the coordinates of
+	 * the current document.
+	 * <p>
+	 * A range is taken over from the editor when a reconcile starts, and it is only forgotten
+	 * if the document has not changed again until the folding structure of the reconciled
+	 * compilation unit has been updated.
+	 * </p>
+	 *
+	 */
+	private static final class DirtyRegionTracker implements IDocumentListener, IJavaReconcilingListener {
+		private final IDocument fDocument;
+		private final CompilationUnitEditor fReconciledEditor;
+
+		/** The range changed since the last reconcile started, guarded by <code>this</code> */
+		private DirtyRange fDirty;
+		/** The range changed before the last reconcile started, guarded by <code>this</code> */
+		private DirtyRange fReconcilingDirty;
+		/** The thread of the running reconcile, guarded by <code>this</code> */
+		private Thread fReconcilerThread;
+
+		DirtyRegionTracker(IDocument document, CompilationUnitEditor editor) {
+			fDocument= document;
+			fReconciledEditor= editor;
+			fDocument.addDocumentListener(this);
+			fReconciledEditor.addReconcileListener(this);
+		}
+
+		void dispose() {
+			fReconciledEditor.removeReconcileListener(this);
+			fDocument.removeDocumentListener(this);
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int length= event.getLength();
+			int textLength= event.getText() == null ? 0 : event.getText().length();
+			if (fReconcilingDirty != null)
+				fReconcilingDirty.update(offset, length, textLength);
+			if (fDirty != null) {
+				fDirty.update(offset, length, textLength);
+				fDirty.add(offset, offset + textLength);
+			} else {
+				fDirty= new DirtyRange(offset, offset + textLength);
+			}
+		}
+
+		@Override
+		public synchronized void aboutToBeReconciled() {
+			if (fDirty != null) {
+				if (fReconcilingDirty != null)
+					fReconcilingDirty.add(fDirty.start, fDirty.end);
+				else
+					fReconcilingDirty= fDirty;
+				fDirty= null;
+			}
+			fReconcilerThread= Thread.currentThread();
+		}
+
+		@Override
+		public synchronized void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+			fReconcilerThread= null;
+		}
+
+		/**
+		 * Tells whether the caller runs in the reconcile of the editor, i.e. whether the
+		 * compilation unit reflects the document up to the {@link #getDirtyRegion() dirty region}.
+		 *
+		 * @return <code>true</code> if called while the editor is being reconciled
+		 */
+		synchronized boolean isReconciling() {
+			return fReconcilerThread == Thread.currentThread();
+		}
+
+		/**
+		 * Returns the region that covers all changes since the folding structure was last
+		 * computed from a reconciled compilation unit.
+		 *
+		 * @return the changed region, or <code>null</code> if no change is known
+		 */
+		synchronized IRegion getDirtyRegion() {
+			if (fReconcilingDirty == null) {
+				if (fDirty == null)
+					return null;
+				return new Region(fDirty.start, fDirty.end - fDirty.start);
+			}
+			int start= fReconcilingDirty.start;
+			int end= fReconcilingDirty.end;
+			if (fDirty != null) {
+				start= Math.min(start, fDirty.start);
+				end= Math.max(end, fDirty.end);
+			}
+			return new Region(start, end - start);
+		}
+
+		/**
+		 * Forgets the changes that the reconciled compilation unit reflects, unless the document
+		 * has been changed during the reconcile.
+		 */
+		synchronized void reconciledChangesProcessed() {
+			if (fDirty == null)
+				fReconcilingDirty= null;
+		}
+	}
+
 	/* context and listeners */
 	private JavaEditor fEditor;
 	private ProjectionListener fProjectionListener;
 	private IJavaElement fInput;
 	private IElementChangedListener fElementListener;
+	/**
+	 * Tracks the changed regions of a compilation unit editor, or <code>null</code>.
+	 */
+	private volatile DirtyRegionTracker fDirtyRegionTracker;
 
 	/* preferences */
 	private boolean fCollapseJavadoc= false;
@@ -831,6 +986,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			JavaCore.removeElementChangedListener(fElementListener);
 			fElementListener= null;
 		}
+		uninstallDirtyRegionTracker();
 	}
 
 	/*
@@ -840,12 +996,38 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 	public final void initialize() {
 		fUpdatingCount++;
 		try {
-			update(createInitialContext());
+			FoldingStructureComputationContext ctx= createInitialContext();
+			if (ctx != null)
+				installDirtyRegionTracker(ctx.getDocument());
+			update(ctx);
 		} finally {
 			fUpdatingCount--;
 		}
 	}
 
+	/**
+	 * Starts tracking the changes of the given document, unless it is already tracked.
+	 *
+	 * @param document the document of the editor
+	 */
+	private void installDirtyRegionTracker(IDocument document) {
+		DirtyRegionTracker tracker= fDirtyRegionTracker;
+		if (tracker != null && tracker.fDocument == document)
+			return;
+
+		uninstallDirtyRegionTracker();
+		if (fEditor instanceof CompilationUnitEditor)
+			fDirtyRegionTracker= new DirtyRegionTracker(document, (CompilationUnitEditor) fEditor);
+	}
+
+	private void uninstallDirtyRegionTracker() {
+		DirtyRegionTracker tracker= fDirtyRegionTracker;
+		if (tracker != null) {
+			fDirtyRegionTracker= null;
+			tracker.dispose();
+		}
+	}
+
 	private FoldingStructureComputationContext createInitialContext() {
 		initializePreferences();
 		fInput= getInputElement();
@@ -887,7 +1069,44 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		fCollapseHeaderComments= store.getBoolean(PreferenceConstants.EDITOR_FOLDING_HEADERS);
 	}
 
+	/**
+	 * Updates the folding structure after the input element has changed. If the change comes from
+	 * a reconcile of the editor and the changed region of the document is known, only the members
+	 * in that region are folded anew.
+	 *
+	 * @param ctx the context, may be <code>null</code>
+	 * @param delta the delta of the input element
+	 */
+	private void updateChanged(FoldingStructureComputationContext ctx, IJavaElementDelta delta) {
+		if (ctx == null)
+			return;
+
+		DirtyRegionTracker tracker= fDirtyRegionTracker;
+		if (tracker == null || !tracker.isReconciling()) {
+			update(ctx);
+			return;
+		}
+
+		IRegion dirty= null;
+		// coarse deltas are sent when the unit has been replaced as a whole
+		if ((delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) != 0)
+			dirty= alignToLines(tracker.getDirtyRegion(), ctx.getDocument());
+		update(ctx, dirty);
+		tracker.reconciledChangesProcessed();
+	}
+
 	private void update(FoldingStructureComputationContext ctx) {
+		update(ctx, null);
+	}
+
+	/**
+	 * Updates the annotation model with the computed folding structure.
+	 *
+	 * @param ctx the context, may be <code>null</code>
+	 * @param dirty the region that contains all changes since the last update, aligned to lines,
+	 *            or <code>null</code> to update the whole folding structure
+	 */
+	private void update(FoldingStructureComputationContext ctx, IRegion dirty) {
 		if (ctx == null)
 			return;
 
@@ -895,9 +1114,13 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		List<JavaProjectionAnnotation> deletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> updates= new ArrayList<>();
 
-		computeFoldingStructure(ctx);
+		Set<IJavaElement> visited= null;
+		if (dirty != null)
+			visited= computeFoldingStructure(ctx, dirty);
+		if (visited == null)
+			computeFoldingStructure(ctx);
 		Map<JavaProjectionAnnotation, Position> newStructure= ctx.fMap;
-		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
+		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx, dirty, visited);
 
 		Iterator<JavaProjectionAnnotation> e= newStructure.keySet().iterator();
 		while (e.hasNext()) {
@@ -983,6 +1206,115 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		}
 	}
 
+	/**
+	 * Computes the folding structure of the elements whose source ranges intersect the dirty
+	 * region. The children of the other elements are not visited. Changes before the first type
+	 * can affect the header comment and are not handled.
+	 *
+	 * @param ctx the context
+	 * @param dirty the region that contains all changes since the last update
+	 * @return the visited elements, or <code>null</code> if the whole folding structure needs to
+	 *         be computed
+	 */
+	private Set<IJavaElement> computeFoldingStructure(FoldingStructureComputationContext ctx, IRegion dirty) {
+		if (!(fInput instanceof ISourceReference) || !(fInput instanceof IParent))
+			return null;
+		try {
+			IJavaElement[] children= ((IParent) fInput).getChildren();
+			IType firstType= null;
+			for (IJavaElement child : children) {
+				if (child instanceof IType) {
+					firstType= (IType) child;
+					break;
+				}
+			}
+			if (firstType == null)
+				return null;
+			ISourceRange firstTypeRange= firstType.getSourceRange();
+			if (!SourceRange.isAvailable(firstTypeRange) || dirty.getOffset() < firstTypeRange.getOffset())
+				return null;
+
+			String source= ((ISourceReference) fInput).getSource();
+			if (source == null)
+				return null;
+
+			ctx.getScanner().setSource(source.toCharArray());
+			Set<IJavaElement> visited= new HashSet<>();
+			computeFoldingStructure(children, ctx, dirty, visited);
+			return visited;
+		} catch (JavaModelException x) {
+			return null;
+		}
+	}
+
+	private void computeFoldingStructure(IJavaElement[] elements, FoldingStructureComputationContext ctx, IRegion dirty, Set<IJavaElement> visited) throws JavaModelException {
+		int dirtyEnd= dirty.getOffset() + dirty.getLength();
+		for (IJavaElement element : elements) {
+			if (!(element instanceof ISourceReference))
+				continue;
+
+			ISourceRange range= ((ISourceReference) element).getSourceRange();
+			boolean isFirstType= !ctx.hasFirstType() && element instanceof IType;
+			if (!SourceRange.isAvailable(range) || range.getOffset() > dirtyEnd || range.getOffset() + range.getLength() < dirty.getOffset()) {
+				if (isFirstType)
+					ctx.setFirstType((IType) element);
+				continue;
+			}
+
+			visited.add(element);
+			computeFoldingStructure(element, ctx);
+
+			if (element instanceof IParent)
+				computeFoldingStructure(((IParent) element).getChildren(), ctx, dirty, visited);
+		}
+	}
+
+	/**
+	 * Extends a region to the start of its first line and the end of its last line, including the
+	 * line delimiter.
+	 *
+	 * @param region the region, may be <code>null</code>
+	 * @param document the document
+	 * @return the aligned region, or <code>null</code> if <code>region</code> is <code>null</code>
+	 *         or not inside the document
+	 */
+	private static IRegion alignToLines(IRegion region, IDocument document) {
+		if (region == null)
+			return null;
+		try {
+			int startLine= document.getLineOfOffset(region.getOffset());
+			int endLine= document.getLineOfOffset(region.getOffset() + region.getLength());
+			int start= document.getLineOffset(startLine);
+			int end= document.getLineOffset(endLine) + document.getLineLength(endLine);
+			return new Region(start, end - start);
+		} catch (BadLocationException x) {
+			// concurrent modification
+			return null;
+		}
+	}
+
+	/**
+	 * Tells whether an existing folding annotation is affected by the changes in a dirty region.
+	 * This is the case if its element has been visited, since all folding annotations of a visited
+	 * element are computed anew, or if its position overlaps the region.
+	 *
+	 * @param annotation the annotation
+	 * @param position the position of the annotation
+	 * @param dirty the dirty region
+	 * @param visited the visited elements
+	 * @return <code>true</code> if the annotation is affected
+	 */
+	private static boolean isAffected(JavaProjectionAnnotation annotation, Position position, IRegion dirty, Set<IJavaElement> visited) {
+		if (visited.contains(annotation.getElement()))
+			return true;
+
+		int offset= position.getOffset();
+		int dirtyEnd= dirty.getOffset() + dirty.getLength();
+		if (position.getLength() == 0)
+			return dirty.getOffset() <= offset && offset <= dirtyEnd;
+		return offset < dirtyEnd && dirty.getOffset() < offset + position.getLength();
+	}
+
 	private void computeFoldingStructure(IJavaElement[] elements, FoldingStructureComputationContext ctx) throws JavaModelException {
 		for (IJavaElement element : elements) {
 			computeFoldingStructure(element, ctx);
@@ -1391,7 +1723,17 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		return null;
 	}
 
-	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx) {
+	/**
+	 * Collects the existing folding annotations by element.
+	 *
+	 * @param ctx the context
+	 * @param dirty the dirty region, or <code>null</code> to collect all annotations
+	 * @param visited the elements whose folding structure has been computed anew, or
+	 *            <code>null</code> to collect all annotations
+	 * @return the annotations with their positions, sorted by offset
+	 * @see #isAffected(JavaProjectionAnnotation, Position, IRegion, Set)
+	 */
+	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx, IRegion dirty, Set<IJavaElement> visited) {
 		Map<IJavaElement, List<Tuple>> map= new HashMap<>();
 		ProjectionAnnotationModel model= ctx.getModel();
 		Iterator<Annotation> e= model.getAnnotationIterator();
@@ -1401,6 +1743,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 				JavaProjectionAnnotation java= (JavaProjectionAnnotation) annotation;
 				Position position= model.getPosition(java);
 				Assert.isNotNull(position);
+				if (visited != null && !isAffected(java, position, dirty, visited))
+					continue;
 				List<Tuple> list= map.get(java.getElement());
 				if (list == null) {
 					list= new ArrayList<>(2);
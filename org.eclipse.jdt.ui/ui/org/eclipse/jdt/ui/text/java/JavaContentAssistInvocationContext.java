@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,6 +40,10 @@ import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory.RHSHistory;
  * <p>
  * Clients may use but not subclass this class.
  * </p>
+ * <p>
+ * The values computed on demand are shared by all computers of an invocation, including those that
+ * run concurrently because they do not require the UI thread.
+ * </p>
  *
  * @since 3.2
  *
@@ -53,7 +57,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	private boolean fCUComputed= false;
 
 	private CompletionProposalLabelProvider fLabelProvider;
-	private CompletionProposalCollector fCollector;
+	private volatile CompletionProposalCollector fCollector;
 	private RHSHistory fRHSHistory;
 	private IType fType;
 
@@ -103,7 +107,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return the compilation unit that content assist is invoked in, possibly <code>null</code>
 	 */
-	public ICompilationUnit getCompilationUnit() {
+	public synchronized ICompilationUnit getCompilationUnit() {
 		if (!fCUComputed) {
 			fCUComputed= true;
 			if (fCollector != null) {
@@ -139,7 +143,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return the available keyword proposals
 	 */
-	public IJavaCompletionProposal[] getKeywordProposals() {
+	public synchronized IJavaCompletionProposal[] getKeywordProposals() {
 		if (fKeywordProposals == null) {
 			if (fCollector != null && !fCollector.isIgnored(CompletionProposal.KEYWORD) && fCollector.getContext() != null) {
 				// use the existing collector if it exists, collects keywords, and has already been invoked
@@ -164,7 +168,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return the core completion context if available, <code>null</code> otherwise
 	 */
-	public CompletionContext getCoreContext() {
+	public synchronized CompletionContext getCoreContext() {
 		if (fCollector != null) {
 			CompletionContext context= fCollector.getContext();
 			if (context != null) {
@@ -205,7 +209,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return the content assist type history for the expected type
 	 */
-	private RHSHistory getRHSHistory() {
+	private synchronized RHSHistory getRHSHistory() {
 		if (fRHSHistory == null) {
 			CompletionContext context= getCoreContext();
 			if (context != null) {
@@ -232,7 +236,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return the expected type if any, <code>null</code> otherwise
 	 */
-	public IType getExpectedType() {
+	public synchronized IType getExpectedType() {
 		if (fType == null && getCompilationUnit() != null) {
 			CompletionContext context= getCoreContext();
 			if (context != null) {
@@ -257,7 +261,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return a label provider that can be used to compute proposal labels
 	 */
-	public CompletionProposalLabelProvider getLabelProvider() {
+	public synchronized CompletionProposalLabelProvider getLabelProvider() {
 		if (fLabelProvider == null) {
 			if (fCollector != null) {
 				fLabelProvider= fCollector.getLabelProvider();
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+import org.eclipse.ltk.internal.core.refactoring.BufferValidationService;
+
+public class BufferValidationServiceTest {
+
+	private static class TestWatcher implements BufferValidationService.IWatcher {
+		final List<String> fEvents= new ArrayList<>();
+
+		@Override
+		public void bufferCreated(IFileBuffer buffer) {
+			fEvents.add("created " + buffer.getLocation());
+		}
+
+		@Override
+		public void bufferDisposed(IFileBuffer buffer) {
+			fEvents.add("disposed " + buffer.getLocation());
+		}
+	}
+
+	private SimpleTestProject fProject;
+	private IPath fPathA;
+	private IPath fPathB;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		IFile fileA= fProject.createFile(fProject.getProject(), "A.txt", "a");
+		IFile fileB= fProject.createFile(fProject.getProject(), "B.txt", "b");
+		fPathA= fileA.getFullPath();
+		fPathB= fileB.getFullPath();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete();
+	}
+
+	private static void connectAndDisconnect(IPath path) throws Exception {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(path, LocationKind.IFILE, null);
+		manager.disconnect(path, LocationKind.IFILE, null);
+	}
+
+	@Test
+	public void testEventsRoutedByPath() throws Exception {
+		TestWatcher watcherA= new TestWatcher();
+		TestWatcher watcherB= new TestWatcher();
+		BufferValidationService service= BufferValidationService.getDefault();
+		service.addWatcher(fPathA, watcherA);
+		service.addWatcher(fPathB, watcherB);
+		try {
+			connectAndDisconnect(fPathA);
+
+			assertEquals(List.of("created " + fPathA, "disposed " + fPathA), watcherA.fEvents);
+			assertEquals(List.of(), watcherB.fEvents);
+		} finally {
+			service.removeWatcher(fPathA, watcherA);
+			service.removeWatcher(fPathB, watcherB);
+		}
+	}
+
+	@Test
+	public void testSeveralWatchersOfOnePath() throws Exception {
+		TestWatcher watcher1= new TestWatcher();
+		TestWatcher watcher2= new TestWatcher();
+		TestWatcher watcher3= new TestWatcher();
+		BufferValidationService service= BufferValidationService.getDefault();
+		service.addWatcher(fPathA, watcher1);
+		service.addWatcher(fPathA, watcher2);
+		service.addWatcher(fPathA, watcher3);
+		try {
+			connectAndDisconnect(fPathA);
+			service.removeWatcher(fPathA, watcher2);
+			connectAndDisconnect(fPathA);
+
+			assertEquals(4, watcher1.fEvents.size());
+			assertEquals(2, watcher2.fEvents.size());
+			assertEquals(4, watcher3.fEvents.size());
+		} finally {
+			service.removeWatcher(fPathA, watcher1);
+			service.removeWatcher(fPathA, watcher3);
+		}
+	}
+
+	@Test
+	public void testRemovedWatcher() throws Exception {
+		TestWatcher watcher= new TestWatcher();
+		BufferValidationService service= BufferValidationService.getDefault();
+		service.addWatcher(fPathA, watcher);
+		service.removeWatcher(fPathA, watcher);
+		// removing twice, or from another path, has no effect
+		service.removeWatcher(fPathA, watcher);
+		service.removeWatcher(fPathB, watcher);
+
+		connectAndDisconnect(fPathA);
+
+		assertEquals(List.of(), watcher.fEvents);
+	}
+}
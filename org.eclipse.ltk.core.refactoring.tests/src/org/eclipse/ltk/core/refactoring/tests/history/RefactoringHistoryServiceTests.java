@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -31,6 +36,7 @@ import org.junit.Test;
 import org.osgi.service.prefs.BackingStoreException;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 
 import org.eclipse.core.resources.IFolder;
@@ -53,6 +59,7 @@ import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringDescriptorProxyAdapter;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryImplementation;
+import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryManager;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryService;
 
 public class RefactoringHistoryServiceTests {
@@ -581,6 +588,89 @@ public class RefactoringHistoryServiceTests {
 		assertEquals("Refactoring history has wrong size", 0, proxies.length);
 	}
 
+	@Test
+	public void testReadProjectHistory7() throws Exception {
+		// a history folder added and removed by someone else, e.g. a version control system
+		final File root= getHistoryFolder();
+		final long stamp= STAMP_FACTOR * 100000L;
+		RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		assertEquals("Refactoring history has wrong size", RefactoringHistoryServiceTests.TOTAL_PROJECT_NUMBER, history.getDescriptors().length);
+		waitForNewModificationTime(root);
+		final File folder= writeIndexEntry(stamp, "An external refactoring");
+		history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		RefactoringDescriptorProxy[] proxies= history.getDescriptors();
+		assertEquals("Refactoring history has wrong size", RefactoringHistoryServiceTests.TOTAL_PROJECT_NUMBER + 1, proxies.length);
+		assertEquals("Wrong refactoring descriptor proxy", stamp, proxies[0].getTimeStamp());
+		deleteFolder(folder.getParentFile().getParentFile());
+		history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		assertEquals("Refactoring history has wrong size", RefactoringHistoryServiceTests.TOTAL_PROJECT_NUMBER, history.getDescriptors().length);
+	}
+
+	@Test
+	public void testReadProjectHistory8() throws Exception {
+		// only a nested index file changed by someone else, its folders stay the same
+		final File root= getHistoryFolder();
+		final long stamp= STAMP_FACTOR + 1;
+		RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		assertEquals("Refactoring history has wrong size", RefactoringHistoryServiceTests.TOTAL_PROJECT_NUMBER, history.getDescriptors().length);
+		final long modified= root.lastModified();
+		final File folder= new File(root, RefactoringHistoryManager.stampToPath(stamp).toOSString());
+		assertTrue("History folder must exist", new File(folder, RefactoringHistoryService.NAME_INDEX_FILE).isFile());
+		final long folderModified= folder.lastModified();
+		writeIndexEntry(stamp, "An external refactoring");
+		assertEquals("Root folder must not change", modified, root.lastModified());
+		assertEquals("History folder must not change", folderModified, folder.lastModified());
+		history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		RefactoringDescriptorProxy[] proxies= history.getDescriptors();
+		assertEquals("Refactoring history has wrong size", RefactoringHistoryServiceTests.TOTAL_PROJECT_NUMBER + 1, proxies.length);
+		assertEquals("Wrong refactoring descriptor proxy", "An external refactoring", proxies[proxies.length - 2].getDescription());
+	}
+
+	@Test
+	public void testReadProjectHistory9() throws Exception {
+		// a history file deleted by someone else after its descriptors have been resolved
+		RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		RefactoringDescriptorProxy proxy= history.getDescriptors()[0];
+		assertNotNull("Refactoring descriptor must be resolved", proxy.requestDescriptor(null));
+		final File folder= new File(getHistoryFolder(), RefactoringHistoryManager.stampToPath(proxy.getTimeStamp()).toOSString());
+		assertTrue("History file must be deleted", new File(folder, RefactoringHistoryService.NAME_HISTORY_FILE).delete());
+		assertNull("Refactoring descriptor must not be resolved", proxy.requestDescriptor(null));
+	}
+
+	/**
+	 * Waits until a change of the folder results in a different modification time, given a
+	 * granularity of the file system of at most one second.
+	 *
+	 * @param folder the folder
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private static void waitForNewModificationTime(File folder) throws InterruptedException {
+		while (System.currentTimeMillis() - folder.lastModified() <= 1000)
+			Thread.sleep(50);
+	}
+
+	private File getHistoryFolder() {
+		return fProject.getProject().getFolder(RefactoringHistoryService.NAME_HISTORY_FOLDER).getLocation().toFile();
+	}
+
+	private File writeIndexEntry(long stamp, String description) throws IOException {
+		final IPath path= RefactoringHistoryManager.stampToPath(stamp).append(RefactoringHistoryService.NAME_INDEX_FILE);
+		final File file= new File(getHistoryFolder(), path.toOSString());
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), (stamp + "\t" + description + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		return file.getParentFile();
+	}
+
+	private void deleteFolder(File folder) {
+		for (File file : folder.listFiles()) {
+			if (file.isDirectory())
+				deleteFolder(file);
+			else
+				file.delete();
+		}
+		folder.delete();
+	}
+
 	@Test
 	public void testReadRefactoringHistory0() throws Exception {
 		setUpWorkspaceRefactorings();
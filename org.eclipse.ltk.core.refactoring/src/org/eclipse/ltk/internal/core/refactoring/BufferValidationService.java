@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferListener;
+
+/**
+ * Watches the file buffers of the files that buffer validation states depend on.
+ * <p>
+ * A single file buffer listener is registered for all states, as long as at least one state is
+ * watched. Buffer events are dispatched to the states watching the location of the buffer only, so
+ * the cost of an event does not grow with the number of states created by a large change.
+ * </p>
+ */
+public final class BufferValidationService {
+
+	/**
+	 * A buffer validation state interested in the file buffer of its file.
+	 */
+	public interface IWatcher {
+		void bufferCreated(IFileBuffer buffer);
+		void bufferDisposed(IFileBuffer buffer);
+	}
+
+	private static final IWatcher[] NO_WATCHERS= new IWatcher[0];
+
+	private static final BufferValidationService fgDefault= new BufferValidationService();
+
+	public static BufferValidationService getDefault() {
+		return fgDefault;
+	}
+
+	/** Watchers by location, either a single watcher or an array of watchers */
+	private final Map<IPath, Object> fWatchers= new HashMap<>();
+
+	private final IFileBufferListener fListener= new IFileBufferListener() {
+		@Override
+		public void bufferCreated(IFileBuffer buffer) {
+			for (IWatcher watcher : getWatchers(buffer.getLocation()))
+				watcher.bufferCreated(buffer);
+		}
+		@Override
+		public void bufferDisposed(IFileBuffer buffer) {
+			for (IWatcher watcher : getWatchers(buffer.getLocation()))
+				watcher.bufferDisposed(buffer);
+		}
+		@Override
+		public void bufferContentAboutToBeReplaced(IFileBuffer buffer) {
+		}
+		@Override
+		public void bufferContentReplaced(IFileBuffer buffer) {
+		}
+		@Override
+		public void stateChanging(IFileBuffer buffer) {
+		}
+		@Override
+		public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
+		}
+		@Override
+		public void stateValidationChanged(IFileBuffer buffer, boolean isStateValidated) {
+		}
+		@Override
+		public void underlyingFileMoved(IFileBuffer buffer, IPath path) {
+		}
+		@Override
+		public void underlyingFileDeleted(IFileBuffer buffer) {
+		}
+		@Override
+		public void stateChangeFailed(IFileBuffer buffer) {
+		}
+	};
+
+	private int fWatcherCount;
+
+	private BufferValidationService() {
+	}
+
+	/**
+	 * Starts watching the file buffer at the given location.
+	 *
+	 * @param location the full path of the file
+	 * @param watcher the watcher to notify
+	 */
+	public synchronized void addWatcher(IPath location, IWatcher watcher) {
+		Object existing= fWatchers.get(location);
+		if (existing == null) {
+			fWatchers.put(location, watcher);
+		} else if (existing instanceof IWatcher) {
+			fWatchers.put(location, new IWatcher[] { (IWatcher) existing, watcher });
+		} else {
+			IWatcher[] watchers= (IWatcher[]) existing;
+			IWatcher[] newWatchers= new IWatcher[watchers.length + 1];
+			System.arraycopy(watchers, 0, newWatchers, 0, watchers.length);
+			newWatchers[watchers.length]= watcher;
+			fWatchers.put(location, newWatchers);
+		}
+		if (fWatcherCount++ == 0)
+			FileBuffers.getTextFileBufferManager().addFileBufferListener(fListener);
+	}
+
+	/**
+	 * Stops watching the file buffer at the given location. Has no effect if the watcher is not
+	 * registered for the location.
+	 *
+	 * @param location the full path of the file
+	 * @param watcher the watcher to remove
+	 */
+	public synchronized void removeWatcher(IPath location, IWatcher watcher) {
+		Object existing= fWatchers.get(location);
+		if (existing == watcher) {
+			fWatchers.remove(location);
+		} else if (existing instanceof IWatcher[]) {
+			IWatcher[] watchers= (IWatcher[]) existing;
+			int index= indexOf(watchers, watcher);
+			if (index == -1)
+				return;
+			if (watchers.length == 2) {
+				fWatchers.put(location, watchers[1 - index]);
+			} else {
+				IWatcher[] newWatchers= new IWatcher[watchers.length - 1];
+				System.arraycopy(watchers, 0, newWatchers, 0, index);
+				System.arraycopy(watchers, index + 1, newWatchers, index, newWatchers.length - index);
+				fWatchers.put(location, newWatchers);
+			}
+		} else {
+			return;
+		}
+		if (--fWatcherCount == 0)
+			FileBuffers.getTextFileBufferManager().removeFileBufferListener(fListener);
+	}
+
+	private synchronized IWatcher[] getWatchers(IPath location) {
+		Object existing= location != null ? fWatchers.get(location) : null;
+		if (existing == null)
+			return NO_WATCHERS;
+		if (existing instanceof IWatcher)
+			return new IWatcher[] { (IWatcher) existing };
+		// arrays are never modified once published
+		return (IWatcher[]) existing;
+	}
+
+	private static int indexOf(IWatcher[] watchers, IWatcher watcher) {
+		for (int i= 0; i < watchers.length; i++) {
+			if (watchers[i] == watcher)
+				return i;
+		}
+		return -1;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,6 @@ import org.eclipse.core.resources.IResource;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IFileBuffer;
-import org.eclipse.core.filebuffers.IFileBufferListener;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.filebuffers.LocationKind;
@@ -197,7 +196,7 @@ public abstract class BufferValidationState {
 class NoStampValidationState extends BufferValidationState {
 
 	private IDocumentListener fDocumentListener;
-	private FileBufferListener fFileBufferListener;
+	private FileBufferWatcher fFileBufferWatcher;
 	private boolean fChanged;
 	private long fContentStamp= IResource.NULL_STAMP;
 
@@ -211,11 +210,11 @@ class NoStampValidationState extends BufferValidationState {
 		}
 	}
 
-	class FileBufferListener implements IFileBufferListener {
+	class FileBufferWatcher implements BufferValidationService.IWatcher {
 		@Override
 		public void bufferCreated(IFileBuffer buffer) {
 			// begin https://bugs.eclipse.org/bugs/show_bug.cgi?id=67821
-			if (buffer.getLocation().equals(fFile.getFullPath()) && buffer instanceof ITextFileBuffer) {
+			if (buffer instanceof ITextFileBuffer) {
 				ITextFileBuffer textBuffer= (ITextFileBuffer)buffer;
 				if (fDocumentListener == null)
 					fDocumentListener= new DocumentChangedListener();
@@ -226,7 +225,7 @@ class NoStampValidationState extends BufferValidationState {
 		@Override
 		public void bufferDisposed(IFileBuffer buffer) {
 			// begin fix https://bugs.eclipse.org/bugs/show_bug.cgi?id=67821
-			if (fDocumentListener != null && buffer.getLocation().equals(fFile.getFullPath())) {
+			if (fDocumentListener != null) {
 				if (buffer instanceof ITextFileBuffer) {
 					ITextFileBuffer textBuffer= (ITextFileBuffer)buffer;
 					textBuffer.getDocument().removeDocumentListener(fDocumentListener);
@@ -236,37 +235,13 @@ class NoStampValidationState extends BufferValidationState {
 			}
 			// end fix https://bugs.eclipse.org/bugs/show_bug.cgi?id=67821
 		}
-		@Override
-		public void bufferContentAboutToBeReplaced(IFileBuffer buffer) {
-		}
-		@Override
-		public void bufferContentReplaced(IFileBuffer buffer) {
-		}
-		@Override
-		public void stateChanging(IFileBuffer buffer) {
-		}
-		@Override
-		public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
-		}
-		@Override
-		public void stateValidationChanged(IFileBuffer buffer, boolean isStateValidated) {
-		}
-		@Override
-		public void underlyingFileMoved(IFileBuffer buffer, IPath path) {
-		}
-		@Override
-		public void underlyingFileDeleted(IFileBuffer buffer) {
-		}
-		@Override
-		public void stateChangeFailed(IFileBuffer buffer) {
-		}
 	}
 
 	public NoStampValidationState(IFile file) {
 		super(file);
 		fContentStamp= file.getModificationStamp();
-		fFileBufferListener= new FileBufferListener();
-		FileBuffers.getTextFileBufferManager().addFileBufferListener(fFileBufferListener);
+		fFileBufferWatcher= new FileBufferWatcher();
+		BufferValidationService.getDefault().addWatcher(fFile.getFullPath(), fFileBufferWatcher);
 		fDocumentListener= new DocumentChangedListener();
 		getDocument().addDocumentListener(fDocumentListener);
 	}
@@ -291,10 +266,10 @@ class NoStampValidationState extends BufferValidationState {
 
 	@Override
 	public void dispose() {
-		if (fFileBufferListener != null) {
-			FileBuffers.getTextFileBufferManager().removeFileBufferListener(fFileBufferListener);
+		if (fFileBufferWatcher != null) {
+			BufferValidationService.getDefault().removeWatcher(fFile.getFullPath(), fFileBufferWatcher);
 			// fix https://bugs.eclipse.org/bugs/show_bug.cgi?id=67821
-			fFileBufferListener= null;
+			fFileBufferWatcher= null;
 		}
 		if (fDocumentListener != null) {
 			getDocument().removeDocumentListener(fDocumentListener);
@@ -306,8 +281,8 @@ class NoStampValidationState extends BufferValidationState {
 	private void documentChanged() {
 		fChanged= true;
 		getDocument().removeDocumentListener(fDocumentListener);
-		FileBuffers.getTextFileBufferManager().removeFileBufferListener(fFileBufferListener);
-		fFileBufferListener= null;
+		BufferValidationService.getDefault().removeWatcher(fFile.getFullPath(), fFileBufferWatcher);
+		fFileBufferWatcher= null;
 		fDocumentListener= null;
 	}
 }
@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+
+/**
+ * In-memory index of a refactoring history store, sorted by time stamp.
+ * <p>
+ * The refactoring history is stored as a tree of week folders, each with a text index and an
+ * XML history file. Collecting the descriptors of a time range from that tree requires visiting
+ * and reading every index file. This index holds the time stamps and descriptions of all
+ * descriptors of the tree in sorted arrays, so that time range queries are a binary search
+ * followed by a scan of the result.
+ * </p>
+ * <p>
+ * The index remembers the modification time and size of all folders and index files of the
+ * tree. Once the index has been checked against the whole tree, a query compares the stats of
+ * these folders and index files, without listing the folders or reading the files. Adding or
+ * removing a week folder or an index file changes the modification time of its parent folder,
+ * changing an index file changes its own stat. If any of them has changed, or if the index has
+ * just been read from its snapshot, the folders of the tree are listed again and only the index
+ * files that have changed are read again. Changes made by the history manager itself are applied
+ * incrementally.
+ * The index can be saved to a binary snapshot file, so that it survives restarts.
+ * </p>
+ */
+final class RefactoringHistoryIndex {
+
+	/** The magic number of snapshot files */
+	private static final int MAGIC= 0x52484958;
+
+	/** The version of the snapshot file format */
+	private static final int VERSION= 1;
+
+	/** The stat of a missing file */
+	private static final long[] MISSING= { 0, -1 };
+
+	/** The initial capacity of the entry arrays */
+	private static final int INITIAL_CAPACITY= 64;
+
+	/**
+	 * Returns the stat of the file store, consisting of the modification time and the length, or
+	 * <code>-1</code> as length if it does not exist.
+	 *
+	 * @param info
+	 *            the file info
+	 * @return the stat
+	 */
+	private static long[] stat(final IFileInfo info) {
+		if (!info.exists())
+			return MISSING;
+		return new long[] { info.getLastModified(), info.isDirectory() ? 0 : info.getLength() };
+	}
+
+	/**
+	 * Creates an index by reading the refactoring history tree.
+	 *
+	 * @param root
+	 *            the root of the history tree
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the index
+	 * @throws CoreException
+	 *             if an error occurs while reading the tree
+	 */
+	static RefactoringHistoryIndex create(final IFileStore root, final IProgressMonitor monitor) throws CoreException {
+		final RefactoringHistoryIndex index= new RefactoringHistoryIndex(root.toURI().toString());
+		index.refresh(root, monitor);
+		return index;
+	}
+
+	/**
+	 * Reads an index from a snapshot file.
+	 *
+	 * @param file
+	 *            the snapshot file
+	 * @param root
+	 *            the root of the history tree the snapshot must have been taken from
+	 * @return the index, or <code>null</code> if the snapshot does not exist, belongs to another
+	 *         history tree or is corrupt
+	 */
+	static RefactoringHistoryIndex read(final File file, final IFileStore root) {
+		if (!file.isFile())
+			return null;
+		final String location= root.toURI().toString();
+		try (DataInputStream input= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION || !location.equals(input.readUTF()))
+				return null;
+			final RefactoringHistoryIndex index= new RefactoringHistoryIndex(location);
+			final int files= input.readInt();
+			for (int i= 0; i < files; i++) {
+				final String path= input.readUTF();
+				index.fFiles.put(path, new long[] { input.readLong(), input.readLong() });
+			}
+			final int size= input.readInt();
+			index.fStamps= new long[Math.max(size, INITIAL_CAPACITY)];
+			index.fDescriptions= new String[index.fStamps.length];
+			for (int i= 0; i < size; i++) {
+				index.fStamps[i]= input.readLong();
+				index.fDescriptions[i]= input.readUTF().intern();
+			}
+			index.fSize= size;
+			return index;
+		} catch (IOException | RuntimeException exception) {
+			return null;
+		}
+	}
+
+	/** The stats of the folders and index files, keyed by their path relative to the root */
+	private final Map<String, long[]> fFiles= new LinkedHashMap<>();
+
+	/** The location of the history tree */
+	private final String fLocation;
+
+	/** The time stamps, sorted ascending */
+	private long[] fStamps= new long[INITIAL_CAPACITY];
+
+	/** The descriptions, in the order of the time stamps */
+	private String[] fDescriptions= new String[INITIAL_CAPACITY];
+
+	/** The number of entries */
+	private int fSize= 0;
+
+	/**
+	 * Has the index been checked against the whole tree since it has been created or read? If
+	 * so, only the remembered folders and index files need to be checked.
+	 */
+	private boolean fValidated= false;
+
+	/**
+	 * Creates a new empty index.
+	 *
+	 * @param location
+	 *            the location of the history tree
+	 */
+	private RefactoringHistoryIndex(final String location) {
+		fLocation= location;
+	}
+
+	/**
+	 * Adds an entry to the index.
+	 *
+	 * @param stamp
+	 *            the time stamp
+	 * @param description
+	 *            the description
+	 */
+	synchronized void add(final long stamp, final String description) {
+		final int position= upperBound(stamp);
+		for (int offset= lowerBound(stamp); offset < position; offset++) {
+			if (fDescriptions[offset].equals(description))
+				return;
+		}
+		if (fSize == fStamps.length) {
+			fStamps= Arrays.copyOf(fStamps, fSize * 2);
+			fDescriptions= Arrays.copyOf(fDescriptions, fSize * 2);
+		}
+		System.arraycopy(fStamps, position, fStamps, position + 1, fSize - position);
+		System.arraycopy(fDescriptions, position, fDescriptions, position + 1, fSize - position);
+		fStamps[position]= stamp;
+		fDescriptions[position]= description.intern();
+		fSize++;
+	}
+
+	/**
+	 * Adds proxies for the entries in the given time range.
+	 *
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the workspace
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param collection
+	 *            the collection of proxies to fill in
+	 */
+	synchronized void collect(final String project, final long start, final long end, final Collection<RefactoringDescriptorProxy> collection) {
+		for (int offset= lowerBound(start); offset < fSize && fStamps[offset] <= end; offset++)
+			collection.add(new DefaultRefactoringDescriptorProxy(fDescriptions[offset], project, fStamps[offset]));
+	}
+
+	/**
+	 * Is the index empty?
+	 *
+	 * @return <code>true</code> if the index contains no entries, <code>false</code> otherwise
+	 */
+	synchronized boolean isEmpty() {
+		return fSize == 0;
+	}
+
+	/**
+	 * Brings the index up to date with the history tree.
+	 * <p>
+	 * If the index has been checked against the tree before and none of the folders and index
+	 * files of the tree has changed, the index is considered current. Otherwise, the folders of the tree are listed, and the
+	 * entries of the index files which have been added, changed or deleted are updated.
+	 * </p>
+	 *
+	 * @param root
+	 *            the root of the history tree
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return <code>true</code> if the index has changed, <code>false</code> otherwise
+	 * @throws CoreException
+	 *             if an error occurs while reading the tree
+	 */
+	synchronized boolean refresh(final IFileStore root, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 10);
+			if (fValidated && isTreeCurrent(root))
+				return false;
+			fValidated= false;
+			final Map<String, long[]> files= new LinkedHashMap<>();
+			final boolean changed= refresh(root, Path.EMPTY, files, new SubProgressMonitor(monitor, 10));
+			boolean removed= false;
+			for (Entry<String, long[]> entry : fFiles.entrySet()) {
+				final IPath path= Path.fromPortableString(entry.getKey());
+				if (!files.containsKey(entry.getKey()) && RefactoringHistoryService.NAME_INDEX_FILE.equalsIgnoreCase(path.lastSegment())) {
+					removeEntries(path.removeLastSegments(1));
+					removed= true;
+				}
+			}
+			if (changed)
+				sort();
+			fFiles.clear();
+			fFiles.putAll(files);
+			fValidated= true;
+			return changed || removed;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Is the index current with respect to a history folder, its index file and its parent
+	 * folders?
+	 *
+	 * @param root
+	 *            the root of the history tree
+	 * @param folder
+	 *            the path of the history folder, relative to the root
+	 * @return <code>true</code> if none of them has changed since the index has been created or
+	 *         updated, <code>false</code> otherwise
+	 * @throws CoreException
+	 *             if an error occurs while accessing the tree
+	 */
+	synchronized boolean isCurrent(final IFileStore root, final IPath folder) throws CoreException {
+		IPath path= Path.EMPTY;
+		if (!isCurrent(root, path))
+			return false;
+		for (String segment : folder.segments()) {
+			path= path.append(segment);
+			if (!isCurrent(root, path))
+				return false;
+		}
+		return isCurrent(root, path.append(RefactoringHistoryService.NAME_INDEX_FILE));
+	}
+
+	/**
+	 * Removes an entry from the index.
+	 *
+	 * @param stamp
+	 *            the time stamp
+	 * @param description
+	 *            the description
+	 */
+	synchronized void remove(final long stamp, final String description) {
+		final int end= upperBound(stamp);
+		for (int offset= lowerBound(stamp); offset < end; offset++) {
+			if (fDescriptions[offset].equals(description)) {
+				System.arraycopy(fStamps, offset + 1, fStamps, offset, fSize - offset - 1);
+				System.arraycopy(fDescriptions, offset + 1, fDescriptions, offset, fSize - offset - 1);
+				fSize--;
+				fDescriptions[fSize]= null;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Updates the remembered stats of a history folder, its index file and its parent folders
+	 * after they have been changed by the history manager.
+	 *
+	 * @param root
+	 *            the root of the history tree
+	 * @param folder
+	 *            the path of the history folder, relative to the root
+	 * @throws CoreException
+	 *             if an error occurs while accessing the tree
+	 */
+	synchronized void update(final IFileStore root, final IPath folder) throws CoreException {
+		IPath path= Path.EMPTY;
+		updateStat(root, path);
+		for (String segment : folder.segments()) {
+			path= path.append(segment);
+			updateStat(root, path);
+		}
+		updateStat(root, path.append(RefactoringHistoryService.NAME_INDEX_FILE));
+		// files of deleted folders are missing now, their stats have become irrelevant
+		for (Iterator<long[]> iterator= fFiles.values().iterator(); iterator.hasNext();) {
+			if (iterator.next()[1] < 0)
+				iterator.remove();
+		}
+		if (fFiles.isEmpty())
+			fFiles.put(Path.EMPTY.toPortableString(), MISSING);
+	}
+
+	/**
+	 * Writes a snapshot of the index. The snapshot is written next to the target and then moved
+	 * into place.
+	 *
+	 * @param file
+	 *            the snapshot file
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	synchronized void write(final File file) throws IOException {
+		final File parent= file.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		final File temporary= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeUTF(fLocation);
+			output.writeInt(fFiles.size());
+			for (Entry<String, long[]> entry : fFiles.entrySet()) {
+				output.writeUTF(entry.getKey());
+				output.writeLong(entry.getValue()[0]);
+				output.writeLong(entry.getValue()[1]);
+			}
+			output.writeInt(fSize);
+			for (int offset= 0; offset < fSize; offset++) {
+				output.writeLong(fStamps[offset]);
+				output.writeUTF(fDescriptions[offset]);
+			}
+		}
+		Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static IFileStore getStore(final IFileStore root, final String path) {
+		return path.isEmpty() ? root : root.getFileStore(Path.fromPortableString(path));
+	}
+
+	private int lowerBound(final long stamp) {
+		int low= 0;
+		int high= fSize;
+		while (low < high) {
+			final int middle= (low + high) >>> 1;
+			if (fStamps[middle] < stamp)
+				low= middle + 1;
+			else
+				high= middle;
+		}
+		return low;
+	}
+
+	private int upperBound(final long stamp) {
+		int low= 0;
+		int high= fSize;
+		while (low < high) {
+			final int middle= (low + high) >>> 1;
+			if (fStamps[middle] <= stamp)
+				low= middle + 1;
+			else
+				high= middle;
+		}
+		return low;
+	}
+
+	/**
+	 * Lists a folder of the history tree and reads its index files that have changed.
+	 *
+	 * @param store
+	 *            the folder or file
+	 * @param path
+	 *            the path of the folder or file, relative to the root
+	 * @param files
+	 *            the map of the current stats to fill in
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return <code>true</code> if an index file has been read, <code>false</code> otherwise
+	 * @throws CoreException
+	 *             if an error occurs while reading the tree
+	 */
+	private boolean refresh(final IFileStore store, final IPath path, final Map<String, long[]> files, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 10);
+			final IFileInfo info= store.fetchInfo(EFS.NONE, null);
+			final String key= path.toPortableString();
+			if (!info.exists()) {
+				if (path.isEmpty())
+					files.put(key, MISSING);
+				return false;
+			}
+			if (info.isDirectory()) {
+				files.put(key, stat(info));
+				final IFileStore[] stores= store.childStores(EFS.NONE, null);
+				final IProgressMonitor subMonitor= new SubProgressMonitor(monitor, 10);
+				boolean changed= false;
+				try {
+					subMonitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, stores.length);
+					for (IFileStore child : stores) {
+						if (monitor.isCanceled())
+							throw new OperationCanceledException();
+						changed|= refresh(child, path.append(child.getName()), files, new SubProgressMonitor(subMonitor, 1));
+					}
+				} finally {
+					subMonitor.done();
+				}
+				return changed;
+			} else if (RefactoringHistoryService.NAME_INDEX_FILE.equalsIgnoreCase(store.getName())) {
+				final long[] actual= stat(info);
+				files.put(key, actual);
+				final long[] expected= fFiles.get(key);
+				// an unknown modification time cannot be used to detect changes
+				if (expected != null && expected[0] != EFS.NONE && Arrays.equals(expected, actual))
+					return false;
+				removeEntries(path.removeLastSegments(1));
+				try (InputStream stream= store.openInputStream(EFS.NONE, null)) {
+					for (RefactoringDescriptorProxy proxy : RefactoringHistoryManager.readRefactoringDescriptorProxies(stream, null, 0, Long.MAX_VALUE))
+						append(proxy.getTimeStamp(), proxy.getDescription());
+				} catch (IOException exception) {
+					throw new CoreException(new Status(IStatus.ERROR, RefactoringCore.ID_PLUGIN, IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
+				}
+				return true;
+			}
+			return false;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Removes the entries stored in a history folder.
+	 *
+	 * @param folder
+	 *            the path of the history folder, relative to the root
+	 */
+	private void removeEntries(final IPath folder) {
+		int size= 0;
+		for (int offset= 0; offset < fSize; offset++) {
+			if (!folder.equals(RefactoringHistoryManager.stampToPath(fStamps[offset]))) {
+				fStamps[size]= fStamps[offset];
+				fDescriptions[size]= fDescriptions[offset];
+				size++;
+			}
+		}
+		Arrays.fill(fDescriptions, size, fSize, null);
+		fSize= size;
+	}
+
+	private boolean isCurrent(final IFileStore root, final IPath path) throws CoreException {
+		final String key= path.toPortableString();
+		final long[] expected= fFiles.getOrDefault(key, MISSING);
+		if (expected[1] >= 0 && expected[0] == EFS.NONE)
+			return false;
+		return Arrays.equals(expected, stat(getStore(root, key).fetchInfo(EFS.NONE, null)));
+	}
+
+	/**
+	 * Is the index current with respect to all folders and index files of the tree?
+	 *
+	 * @param root
+	 *            the root of the history tree
+	 * @return <code>true</code> if none of them has changed since the index has been created or
+	 *         updated, <code>false</code> otherwise
+	 * @throws CoreException
+	 *             if an error occurs while accessing the tree
+	 */
+	private boolean isTreeCurrent(final IFileStore root) throws CoreException {
+		if (fFiles.isEmpty())
+			return false;
+		for (String key : fFiles.keySet()) {
+			if (!isCurrent(root, Path.fromPortableString(key)))
+				return false;
+		}
+		return true;
+	}
+
+	private void append(final long stamp, final String description) {
+		if (fSize == fStamps.length) {
+			fStamps= Arrays.copyOf(fStamps, fSize * 2);
+			fDescriptions= Arrays.copyOf(fDescriptions, fSize * 2);
+		}
+		fStamps[fSize]= stamp;
+		fDescriptions[fSize]= description;
+		fSize++;
+	}
+
+	private void sort() {
+		final Integer[] order= new Integer[fSize];
+		for (int offset= 0; offset < fSize; offset++)
+			order[offset]= Integer.valueOf(offset);
+		Arrays.sort(order, (first, second) -> Long.compare(fStamps[first.intValue()], fStamps[second.intValue()]));
+		final long[] stamps= new long[Math.max(fSize, INITIAL_CAPACITY)];
+		final String[] descriptions= new String[stamps.length];
+		int size= 0;
+		for (Integer element : order) {
+			final int offset= element.intValue();
+			if (size > 0 && stamps[size - 1] == fStamps[offset] && descriptions[size - 1].equals(fDescriptions[offset]))
+				continue;
+			stamps[size]= fStamps[offset];
+			descriptions[size]= fDescriptions[offset];
+			size++;
+		}
+		fStamps= stamps;
+		fDescriptions= descriptions;
+		fSize= size;
+	}
+
+	private void updateStat(final IFileStore root, final IPath path) throws CoreException {
+		fFiles.put(path.toPortableString(), stat(getStore(root, path.toPortableString()).fetchInfo(EFS.NONE, null)));
+	}
+}
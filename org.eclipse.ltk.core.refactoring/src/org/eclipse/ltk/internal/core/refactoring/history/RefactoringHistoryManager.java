@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.ltk.internal.core.refactoring.history;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -32,6 +33,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -101,6 +103,26 @@ public final class RefactoringHistoryManager {
 	/** The calendar instance */
 	private static final Calendar fgCalendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00")); //$NON-NLS-1$
 
+	/** The name of the folder in the state location holding the history index snapshots */
+	private static final String NAME_SNAPSHOT_FOLDER= ".refactoringIndexes"; //$NON-NLS-1$
+
+	/** Maximal number of cached history indexes */
+	private static final int MAX_INDEXES= 16;
+
+	/** The history index cache, keyed by the root of the history tree */
+	private static final Map<IFileStore, RefactoringHistoryIndex> fgIndexes= new LinkedHashMap<IFileStore, RefactoringHistoryIndex>(MAX_INDEXES, 0.75f, true) {
+
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IFileStore, RefactoringHistoryIndex> entry) {
+			return size() > MAX_INDEXES;
+		}
+	};
+
+	/** Maximal number of cached session descriptors */
+	private static final int MAX_SESSIONS= 8;
+
 	/**
 	 * Checks whether the argument map is well-formed.
 	 * <p>
@@ -146,6 +168,83 @@ public final class RefactoringHistoryManager {
 		return new CoreException(new Status(IStatus.ERROR, RefactoringCore.ID_PLUGIN, IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
 	}
 
+	/**
+	 * Returns the current index of the specified refactoring history tree.
+	 * <p>
+	 * The index is taken from the cache or from its snapshot and brought up to date with the
+	 * history tree, or is created by reading the history tree if there is none.
+	 * </p>
+	 *
+	 * @param store
+	 *            the root of the history tree
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the index
+	 * @throws CoreException
+	 *             if an error occurs while reading the history tree
+	 */
+	private static RefactoringHistoryIndex getIndex(final IFileStore store, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 100);
+			synchronized (fgIndexes) {
+				RefactoringHistoryIndex index= fgIndexes.get(store);
+				final File snapshot= getSnapshotFile(store);
+				if (index == null && snapshot != null)
+					index= RefactoringHistoryIndex.read(snapshot, store);
+				if (index == null) {
+					index= RefactoringHistoryIndex.create(store, new SubProgressMonitor(monitor, 100, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+					writeSnapshot(snapshot, index);
+				} else if (index.refresh(store, new SubProgressMonitor(monitor, 100, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)))
+					writeSnapshot(snapshot, index);
+				fgIndexes.put(store, index);
+				return index;
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Returns the snapshot file of the index of the specified refactoring
+	 * history tree.
+	 *
+	 * @param store
+	 *            the root of the history tree
+	 * @return the snapshot file, or <code>null</code> if no snapshot can be
+	 *         stored
+	 */
+	private static File getSnapshotFile(final IFileStore store) {
+		final RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+		if (plugin == null)
+			return null;
+		final String name= Integer.toHexString(store.toURI().toString().hashCode()) + ".index"; //$NON-NLS-1$
+		return plugin.getStateLocation().append(NAME_SNAPSHOT_FOLDER).append(name).toFile();
+	}
+
+	/**
+	 * Writes a snapshot of the index, or deletes the snapshot if the index is
+	 * empty.
+	 *
+	 * @param snapshot
+	 *            the snapshot file, or <code>null</code>
+	 * @param index
+	 *            the index
+	 */
+	private static void writeSnapshot(final File snapshot, final RefactoringHistoryIndex index) {
+		if (snapshot == null)
+			return;
+		if (index.isEmpty()) {
+			snapshot.delete();
+			return;
+		}
+		try {
+			index.write(snapshot);
+		} catch (IOException exception) {
+			// The snapshot is optional, the index is re-created on the next start
+			snapshot.delete();
+		}
+	}
+
 	/**
 	 * Escapes the specified string for the history index.
 	 *
@@ -718,8 +817,55 @@ public final class RefactoringHistoryManager {
 		writer.flush();
 	}
 
-	/** The cached session descriptor, or <code>null</code> */
-	private RefactoringSessionDescriptor fCachedDescriptor= null;
+	/**
+	 * A session descriptor read from a history file, together with the modification time and
+	 * length the file had when it has been read.
+	 */
+	private static final class CachedSession {
+
+		/** The session descriptor */
+		private final RefactoringSessionDescriptor fDescriptor;
+
+		/** The length of the history file */
+		private final long fLength;
+
+		/** The modification time of the history file */
+		private final long fModified;
+
+		private CachedSession(final RefactoringSessionDescriptor descriptor, final IFileInfo info) {
+			fDescriptor= descriptor;
+			fModified= info.getLastModified();
+			fLength= info.getLength();
+		}
+
+		/**
+		 * Is the session still the content of the history file?
+		 *
+		 * @param info
+		 *            the current file info of the history file
+		 * @return <code>true</code> if the file has not changed since the session has been read,
+		 *         <code>false</code> otherwise
+		 */
+		private boolean isCurrent(final IFileInfo info) {
+			// an unknown modification time cannot be used to detect changes
+			return info.exists() && fModified != EFS.NONE && fModified == info.getLastModified() && fLength == info.getLength();
+		}
+	}
+
+	/**
+	 * The cached session descriptors, keyed by the file store of the history entry. History files
+	 * may be changed outside of the manager, e.g. by version control, so an entry is only used
+	 * while its file has not changed.
+	 */
+	private final Map<IFileStore, CachedSession> fCachedSessions= Collections.synchronizedMap(new LinkedHashMap<IFileStore, CachedSession>(MAX_SESSIONS, 0.75f, true) {
+
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IFileStore, CachedSession> entry) {
+			return size() > MAX_SESSIONS;
+		}
+	});
 
 	/** The cached document, or <code>null</code> */
 	private Document fCachedDocument= null;
@@ -727,9 +873,6 @@ public final class RefactoringHistoryManager {
 	/** The cached path, or <code>null</code> */
 	private IPath fCachedPath= null;
 
-	/** The cached file store, or <code>null</code> */
-	private IFileStore fCachedStore= null;
-
 	/** The history file store */
 	private final IFileStore fHistoryStore;
 
@@ -776,6 +919,7 @@ public final class RefactoringHistoryManager {
 			final long stamp= descriptor.getTimeStamp();
 			if (stamp >= 0) {
 				final IPath path= stampToPath(stamp);
+				final RefactoringHistoryIndex historyIndex= beginIndexUpdate(path);
 				final IFileStore folder= fHistoryStore.getFileStore(path);
 				final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
 				final IFileStore index= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
@@ -821,6 +965,7 @@ public final class RefactoringHistoryManager {
 								writeIndexEntry(index, set.toArray(new RefactoringDescriptorProxy[set.size()]), EFS.NONE, new SubProgressMonitor(monitor, 3, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
 							} else
 								writeIndexEntry(index, proxies, EFS.APPEND, new SubProgressMonitor(monitor, 5, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+							endIndexUpdate(historyIndex, path, proxies, true);
 						}
 					} catch (ParserConfigurationException | IOException | SAXException exception) {
 						throw createCoreException(exception);
@@ -838,6 +983,7 @@ public final class RefactoringHistoryManager {
 						final Document result= transformDescriptor(descriptor, false);
 						writeHistoryEntry(history, result, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
 							writeIndexEntry(index, proxies, EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+						endIndexUpdate(historyIndex, path, proxies, true);
 					} catch (IOException exception) {
 						throw createCoreException(exception);
 					}
@@ -848,6 +994,65 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Detaches the index of the managed history before a history folder is
+	 * changed.
+	 * <p>
+	 * The index is not available to other readers until
+	 * {@link #endIndexUpdate(RefactoringHistoryIndex, IPath, RefactoringDescriptorProxy[], boolean)}
+	 * has been called. If the change fails, the index is re-created the next
+	 * time it is needed.
+	 * </p>
+	 *
+	 * @param path
+	 *            the path of the history folder
+	 * @return the index, or <code>null</code> if it is not cached or has not
+	 *         been current
+	 * @throws CoreException
+	 *             if an error occurs while accessing the history folder
+	 */
+	private RefactoringHistoryIndex beginIndexUpdate(final IPath path) throws CoreException {
+		synchronized (fgIndexes) {
+			final RefactoringHistoryIndex index= fgIndexes.remove(fHistoryStore);
+			if (index != null && index.isCurrent(fHistoryStore, path))
+				return index;
+			return null;
+		}
+	}
+
+	/**
+	 * Applies a change of a history folder to the index of the managed history
+	 * and attaches it again.
+	 *
+	 * @param index
+	 *            the index returned by {@link #beginIndexUpdate(IPath)}, or
+	 *            <code>null</code>
+	 * @param path
+	 *            the path of the history folder
+	 * @param proxies
+	 *            the refactoring descriptors which have been added or removed
+	 * @param add
+	 *            <code>true</code> if the descriptors have been added,
+	 *            <code>false</code> if they have been removed
+	 * @throws CoreException
+	 *             if an error occurs while accessing the history folder
+	 */
+	private void endIndexUpdate(final RefactoringHistoryIndex index, final IPath path, final RefactoringDescriptorProxy[] proxies, final boolean add) throws CoreException {
+		if (index == null)
+			return;
+		synchronized (fgIndexes) {
+			for (RefactoringDescriptorProxy proxy : proxies) {
+				if (add)
+					index.add(proxy.getTimeStamp(), proxy.getDescription());
+				else
+					index.remove(proxy.getTimeStamp(), proxy.getDescription());
+			}
+			index.update(fHistoryStore, path);
+			fgIndexes.put(fHistoryStore, index);
+			writeSnapshot(getSnapshotFile(fHistoryStore), index);
+		}
+	}
+
 	/**
 	 * Returns the cached refactoring history document.
 	 *
@@ -875,26 +1080,45 @@ public final class RefactoringHistoryManager {
 	}
 
 	/**
-	 * Returns the cached refactoring session descriptor.
+	 * Returns the cached refactoring session descriptor of a history file.
 	 *
 	 * @param store
 	 *            the file store of the descriptor
+	 * @param info
+	 *            the current file info of the store
+	 * @return the cached refactoring session descriptor, or <code>null</code> if none is cached or
+	 *         the file has changed since it has been read
+	 */
+	private RefactoringSessionDescriptor getCachedSession(final IFileStore store, final IFileInfo info) {
+		final CachedSession session= fCachedSessions.get(store);
+		if (session == null)
+			return null;
+		if (!session.isCurrent(info)) {
+			fCachedSessions.remove(store);
+			return null;
+		}
+		return session.fDescriptor;
+	}
+
+	/**
+	 * Reads a refactoring session descriptor and caches it.
+	 *
+	 * @param store
+	 *            the file store of the descriptor
+	 * @param info
+	 *            the file info of the store before it has been opened
 	 * @param projectName
 	 *            project name, or <code>null</code> for the workspace
 	 * @param input
 	 *            the input stream where to read the descriptor
-	 * @return the cached refactoring session descriptor
+	 * @return the refactoring session descriptor
 	 * @throws CoreException
 	 *             if an error occurs while reading the session
 	 */
-	private RefactoringSessionDescriptor getCachedSession(final IFileStore store, String projectName, final InputStream input) throws CoreException {
-		if (store.equals(fCachedStore) && fCachedDescriptor != null)
-			return fCachedDescriptor;
-		final RefactoringSessionDescriptor descriptor;
+	private RefactoringSessionDescriptor readSession(final IFileStore store, final IFileInfo info, String projectName, final InputStream input) throws CoreException {
 		try {
-			descriptor= new RefactoringSessionReader(false, projectName).readSession(new InputSource(input));
-			fCachedDescriptor= descriptor;
-			fCachedStore= store;
+			final RefactoringSessionDescriptor descriptor= new RefactoringSessionReader(false, projectName).readSession(new InputSource(input));
+			fCachedSessions.put(store, new CachedSession(descriptor, info));
 			return descriptor;
 		} catch (CoreException e) {
 			throw new CoreException(new MultiStatus(
@@ -923,10 +1147,10 @@ public final class RefactoringHistoryManager {
 			final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 			try {
 				if (fHistoryStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+					getIndex(fHistoryStore, new SubProgressMonitor(monitor, 80)).collect(fProjectName, start, end, set);
 				final IFileStore store= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
 				if (store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(store, null, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+					getIndex(store, new SubProgressMonitor(monitor, 80)).collect(null, start, end, set);
 			} catch (CoreException exception) {
 				RefactoringCorePlugin.log(exception);
 			}
@@ -959,6 +1183,7 @@ public final class RefactoringHistoryManager {
 	private void removeRefactoringDescriptors(final RefactoringDescriptorProxy[] proxies, final IPath path, final IProgressMonitor monitor, final String task) throws CoreException {
 		try {
 			monitor.beginTask(task, 5);
+			final RefactoringHistoryIndex historyIndex= beginIndexUpdate(path);
 			final IFileStore folder= fHistoryStore.getFileStore(path);
 			final IFileStore index= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
 			if (index.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
@@ -1019,6 +1244,7 @@ public final class RefactoringHistoryManager {
 					}
 				}
 			}
+			endIndexUpdate(historyIndex, path, proxies, false);
 		} finally {
 			monitor.done();
 		}
@@ -1084,15 +1310,17 @@ public final class RefactoringHistoryManager {
 				try {
 					final IFileStore folder= fHistoryStore.getFileStore(stampToPath(stamp));
 					final IFileStore file= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
-					if (file.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
+					final IFileInfo info= file.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+					RefactoringSessionDescriptor descriptor= getCachedSession(file, info);
+					if (descriptor == null && info.exists()) {
 						input= new BufferedInputStream(file.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)));
-						final RefactoringSessionDescriptor descriptor= getCachedSession(file, fProjectName, input);
-						if (descriptor != null) {
-							final RefactoringDescriptor[] descriptors= descriptor.getRefactorings();
-							for (RefactoringDescriptor refactoringDescriptor : descriptors) {
-								if (refactoringDescriptor.getTimeStamp() == stamp) {
-									return refactoringDescriptor;
-								}
+						descriptor= readSession(file, info, fProjectName, input);
+					}
+					if (descriptor != null) {
+						final RefactoringDescriptor[] descriptors= descriptor.getRefactorings();
+						for (RefactoringDescriptor refactoringDescriptor : descriptors) {
+							if (refactoringDescriptor.getTimeStamp() == stamp) {
+								return refactoringDescriptor;
 							}
 						}
 					}
@@ -1131,6 +1359,7 @@ public final class RefactoringHistoryManager {
 			final long stamp= proxy.getTimeStamp();
 			if (stamp >= 0) {
 				final IPath path= stampToPath(stamp);
+				final RefactoringHistoryIndex historyIndex= beginIndexUpdate(path);
 				final IFileStore folder= fHistoryStore.getFileStore(path);
 				final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
 				if (history.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
@@ -1155,6 +1384,7 @@ public final class RefactoringHistoryManager {
 							}
 						}
 						writeHistoryEntry(history, document, new SubProgressMonitor(monitor, 40, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+						endIndexUpdate(historyIndex, path, new RefactoringDescriptorProxy[0], true);
 					} catch (ParserConfigurationException | IOException | SAXException exception) {
 						throw createCoreException(exception);
 					} finally {
@@ -1197,8 +1427,7 @@ public final class RefactoringHistoryManager {
 				} finally {
 					fCachedDocument= null;
 					fCachedPath= null;
-					fCachedDescriptor= null;
-					fCachedStore= null;
+					fCachedSessions.remove(file);
 				if (output != null) {
 					try {
 						output.close();